@@ -218,6 +218,23 @@ public interface ISupervisorRPCHandler {
 		invokeAllOtherNodes(desc, 0, ISupervisorData.VOID, null);
 	}
 
+	/**
+	 * Streams each other node's result to onResult as soon as it arrives instead
+	 * of waiting for the slowest node. The timeout applies to every node
+	 * individually. If quorum is above zero the call completes as soon as that
+	 * many nodes have succeeded, and later results are discarded. onResult is never
+	 * called concurrently, and onComplete is called once after the last result.
+	 */
+	<In extends ISupervisorData, Out extends ISupervisorData> void invokeAllOtherNodesStreaming(
+			@Nonnull ProcedureDesc<In, Out> desc, int timeout, int quorum, @Nonnull In input,
+			@Nonnull Consumer<? super NodeResult<Out>> onResult, @Nullable Runnable onComplete);
+
+	default <Out extends ISupervisorData> void invokeAllOtherNodesStreaming(
+			@Nonnull ProcedureDesc<SupervisorDataVoid, Out> desc, int timeout, int quorum,
+			@Nonnull Consumer<? super NodeResult<Out>> onResult, @Nullable Runnable onComplete) {
+		invokeAllOtherNodesStreaming(desc, timeout, quorum, ISupervisorData.VOID, onResult, onComplete);
+	}
+
 	@Nullable
 	IntSet toIntSet(@Nullable Collection<NodeResult<SupervisorDataVoid>> collection);
 
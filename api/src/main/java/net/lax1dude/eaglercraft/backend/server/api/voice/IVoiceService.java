@@ -56,6 +56,14 @@ public interface IVoiceService<PlayerObject> {
 	@Nonnull
 	IVoiceChannel createVoiceChannel();
 
+	@Nonnull
+	default IVoiceChannel createShardedVoiceChannel(int shardCapacity) {
+		return createShardedVoiceChannel(shardCapacity, null);
+	}
+
+	@Nonnull
+	IVoiceChannel createShardedVoiceChannel(int shardCapacity, @Nullable IVoicePartitioner<PlayerObject> partitioner);
+
 	@Nonnull
 	IVoiceChannel getGlobalVoiceChannel();
 
@@ -53,6 +53,12 @@ public interface IBasePlayerRPC<PlayerObject> {
 
 	void removeCloseListener(@Nonnull IRPCCloseHandler handler);
 
+	boolean isWritable();
+
+	void addWritabilityListener(@Nonnull IRPCWritabilityHandler handler);
+
+	void removeWritabilityListener(@Nonnull IRPCWritabilityHandler handler);
+
 	void setBaseRequestTimeout(int seconds);
 
 	int getBaseRequestTimeout();
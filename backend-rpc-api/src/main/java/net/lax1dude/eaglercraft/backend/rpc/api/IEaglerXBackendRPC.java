@@ -25,10 +25,12 @@ import javax.annotation.Nullable;
 
 import net.lax1dude.eaglercraft.backend.rpc.api.internal.factory.EaglerXBackendRPCFactory;
 import net.lax1dude.eaglercraft.backend.rpc.api.internal.factory.IEaglerRPCFactory;
+import net.lax1dude.eaglercraft.backend.rpc.api.notifications.INotificationBadge;
 import net.lax1dude.eaglercraft.backend.rpc.api.notifications.INotificationBuilder;
 import net.lax1dude.eaglercraft.backend.rpc.api.pause_menu.IPauseMenuBuilder;
 import net.lax1dude.eaglercraft.backend.rpc.api.skins.ISkinImageLoader;
 import net.lax1dude.eaglercraft.backend.rpc.api.voice.IVoiceService;
+import net.lax1dude.eaglercraft.backend.rpc.api.webview.EnumWebViewPerms;
 
 public interface IEaglerXBackendRPC<PlayerObject> extends IRPCAttributeHolder {
 
@@ -116,6 +118,66 @@ public interface IEaglerXBackendRPC<PlayerObject> extends IRPCAttributeHolder {
 	@Nonnull
 	Collection<IEaglerPlayer<PlayerObject>> getAllEaglerPlayers();
 
+	default void redirectPlayersToWebSocket(@Nonnull Collection<IEaglerPlayer<PlayerObject>> players,
+			@Nonnull String webSocketURI) {
+		for (IEaglerPlayer<PlayerObject> player : players) {
+			IEaglerPlayerRPC<PlayerObject> rpc = player.getHandle().getIfOpen();
+			if (rpc != null && rpc.isRedirectPlayerSupported()) {
+				rpc.redirectPlayerToWebSocket(webSocketURI);
+			}
+		}
+	}
+
+	default void showNotificationBadge(@Nonnull Collection<IEaglerPlayer<PlayerObject>> players,
+			@Nonnull INotificationBadge badge) {
+		for (IEaglerPlayer<PlayerObject> player : players) {
+			IEaglerPlayerRPC<PlayerObject> rpc = player.getHandle().getIfOpen();
+			if (rpc != null && rpc.isNotificationSupported()) {
+				rpc.showNotificationBadge(badge);
+			}
+		}
+	}
+
+	default void hideNotificationBadge(@Nonnull Collection<IEaglerPlayer<PlayerObject>> players,
+			@Nonnull UUID badgeUUID) {
+		for (IEaglerPlayer<PlayerObject> player : players) {
+			IEaglerPlayerRPC<PlayerObject> rpc = player.getHandle().getIfOpen();
+			if (rpc != null && rpc.isNotificationSupported()) {
+				rpc.hideNotificationBadge(badgeUUID);
+			}
+		}
+	}
+
+	default void displayWebViewURL(@Nonnull Collection<IEaglerPlayer<PlayerObject>> players, @Nonnull String title,
+			@Nonnull String url, @Nullable Set<EnumWebViewPerms> permissions) {
+		for (IEaglerPlayer<PlayerObject> player : players) {
+			IEaglerPlayerRPC<PlayerObject> rpc = player.getHandle().getIfOpen();
+			if (rpc != null && rpc.isDisplayWebViewSupported()) {
+				rpc.displayWebViewURL(title, url, permissions);
+			}
+		}
+	}
+
+	default void displayWebViewBlob(@Nonnull Collection<IEaglerPlayer<PlayerObject>> players, @Nonnull String title,
+			@Nonnull SHA1Sum hash, @Nullable Set<EnumWebViewPerms> permissions) {
+		for (IEaglerPlayer<PlayerObject> player : players) {
+			IEaglerPlayerRPC<PlayerObject> rpc = player.getHandle().getIfOpen();
+			if (rpc != null && rpc.isDisplayWebViewSupported()) {
+				rpc.displayWebViewBlob(title, hash, permissions);
+			}
+		}
+	}
+
+	default void displayWebViewBlob(@Nonnull Collection<IEaglerPlayer<PlayerObject>> players, @Nonnull String title,
+			@Nonnull String alias, @Nullable Set<EnumWebViewPerms> permissions) {
+		for (IEaglerPlayer<PlayerObject> player : players) {
+			IEaglerPlayerRPC<PlayerObject> rpc = player.getHandle().getIfOpen();
+			if (rpc != null && rpc.isDisplayWebViewSupported()) {
+				rpc.displayWebViewBlob(title, alias, permissions);
+			}
+		}
+	}
+
 	@Nonnull
 	IScheduler getScheduler();
 
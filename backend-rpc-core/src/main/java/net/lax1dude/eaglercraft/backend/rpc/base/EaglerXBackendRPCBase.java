@@ -224,7 +224,7 @@ public abstract class EaglerXBackendRPCBase<PlayerObject> extends RPCAttributeHo
 	}
 
 	protected void createTimeoutLoop(long resolution) {
-		timeoutLoop = new FutureTimeoutLoop(platform.getScheduler(), resolution);
+		timeoutLoop = new FutureTimeoutLoop(platform.getScheduler(), platform.logger(), resolution);
 	}
 
 	protected void cancelTimeoutLoop() {
@@ -16,10 +16,14 @@
 
 package net.lax1dude.eaglercraft.backend.rpc.base;
 
+import net.lax1dude.eaglercraft.backend.util.HashedTimingWheel;
+
 public interface IRPCFutureExpiring<V> extends IRPCFutureAbstract<V> {
 
 	long expiresAt();
 
 	boolean fireTimeoutExceptionInternal(Throwable value);
 
+	void setTimeoutHandle(HashedTimingWheel.Timeout<IRPCFutureExpiring<?>> handle);
+
 }
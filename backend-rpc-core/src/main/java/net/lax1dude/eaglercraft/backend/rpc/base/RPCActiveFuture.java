@@ -18,6 +18,8 @@ package net.lax1dude.eaglercraft.backend.rpc.base;
 
 import com.google.common.util.concurrent.AbstractFuture;
 
+import net.lax1dude.eaglercraft.backend.util.HashedTimingWheel;
+
 public class RPCActiveFuture<V> extends AbstractFuture<V> implements IRPCFutureExpiring<V> {
 
 	public static <V> RPCActiveFuture<V> create(SchedulerExecutors executors, long now, int expiresAfter) {
@@ -27,6 +29,7 @@ public class RPCActiveFuture<V> extends AbstractFuture<V> implements IRPCFutureE
 	private final SchedulerExecutors executors;
 	private final long expiresAt;
 	private boolean timedOut;
+	private volatile HashedTimingWheel.Timeout<IRPCFutureExpiring<?>> timeoutHandle;
 
 	RPCActiveFuture(SchedulerExecutors executors, long expiresAt) {
 		this.executors = executors;
@@ -43,6 +46,22 @@ public class RPCActiveFuture<V> extends AbstractFuture<V> implements IRPCFutureE
 		return expiresAt;
 	}
 
+	@Override
+	public void setTimeoutHandle(HashedTimingWheel.Timeout<IRPCFutureExpiring<?>> handle) {
+		timeoutHandle = handle;
+		if (isDone()) {
+			handle.cancel();
+		}
+	}
+
+	@Override
+	protected void afterDone() {
+		HashedTimingWheel.Timeout<IRPCFutureExpiring<?>> handle = timeoutHandle;
+		if (handle != null) {
+			handle.cancel();
+		}
+	}
+
 	public boolean fireCompleteInternal(V value) {
 		return set(value);
 	}
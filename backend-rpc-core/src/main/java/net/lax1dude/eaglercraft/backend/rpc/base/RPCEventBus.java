@@ -16,13 +16,13 @@
 
 package net.lax1dude.eaglercraft.backend.rpc.base;
 
-import java.util.Set;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 
-import com.google.common.collect.Sets;
-
 import net.lax1dude.eaglercraft.backend.rpc.adapter.IPlatformLogger;
 import net.lax1dude.eaglercraft.backend.rpc.adapter.IPlatformScheduler;
 import net.lax1dude.eaglercraft.backend.rpc.api.EnumExecutorType;
@@ -33,11 +33,81 @@ import net.lax1dude.eaglercraft.backend.rpc.api.IRPCEventHandler;
 
 public class RPCEventBus<PlayerObject> {
 
+	private static final VarHandle SYNC_SCHEDULED_HANDLE;
+
+	static {
+		try {
+			MethodHandles.Lookup l = MethodHandles.lookup();
+			SYNC_SCHEDULED_HANDLE = l.findVarHandle(RPCEventBus.class, "syncScheduled", int.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private static final IRPCEventHandler<?, ?>[] EMPTY = new IRPCEventHandler<?, ?>[0];
+
+	private static class HandlerList {
+
+		private final IRPCEventHandler<?, ?>[] all;
+		private final IRPCEventHandler<?, ?>[] tiny;
+		private final IRPCEventHandler<?, ?>[] sync;
+		private final IRPCEventHandler<?, ?>[] async;
+
+		private HandlerList(IRPCEventHandler<?, ?>[] all) {
+			this.all = all;
+			this.tiny = filter(all, EnumExecutorType.TINY);
+			this.sync = filter(all, EnumExecutorType.SYNC);
+			this.async = filter(all, EnumExecutorType.ASYNC);
+		}
+
+		private static IRPCEventHandler<?, ?>[] filter(IRPCEventHandler<?, ?>[] all, EnumExecutorType type) {
+			int cnt = 0;
+			for (int i = 0; i < all.length; ++i) {
+				if (executorOf(all[i]) == type) {
+					++cnt;
+				}
+			}
+			if (cnt == 0) {
+				return EMPTY;
+			}
+			IRPCEventHandler<?, ?>[] ret = new IRPCEventHandler<?, ?>[cnt];
+			cnt = 0;
+			for (int i = 0; i < all.length; ++i) {
+				if (executorOf(all[i]) == type) {
+					ret[cnt++] = all[i];
+				}
+			}
+			return ret;
+		}
+
+		private static EnumExecutorType executorOf(IRPCEventHandler<?, ?> handler) {
+			EnumExecutorType type = handler.getExecutor();
+			return type == EnumExecutorType.SYNC || type == EnumExecutorType.ASYNC ? type : EnumExecutorType.TINY;
+		}
+
+	}
+
+	private static class SyncBatch {
+
+		private final IRPCEventHandler<?, ?>[] handlers;
+		private final IPlatformLogger logger;
+		private final IRPCEvent event;
+
+		private SyncBatch(IRPCEventHandler<?, ?>[] handlers, IPlatformLogger logger, IRPCEvent event) {
+			this.handlers = handlers;
+			this.logger = logger;
+			this.event = event;
+		}
+
+	}
+
 	private final IEaglerPlayerRPC<PlayerObject> owner;
 	private final IPlatformScheduler scheduler;
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
 	private int subscribed = 0;
-	private Set<IRPCEventHandler<PlayerObject, ? extends IRPCEvent>>[] handlers = new Set[EnumSubscribeEvents.total];
+	private volatile HandlerList[] handlers = new HandlerList[EnumSubscribeEvents.total];
+	private final Queue<SyncBatch> syncQueue = new ConcurrentLinkedQueue<>();
+	private volatile int syncScheduled = 0;
+	private final Runnable syncTask = this::runSyncBatches;
 
 	public RPCEventBus(IEaglerPlayerRPC<PlayerObject> owner, IPlatformScheduler scheduler) {
 		this.owner = owner;
@@ -58,107 +128,119 @@ public class RPCEventBus<PlayerObject> {
 
 		@Override
 		public void run() {
-			try {
-				handler.handleEvent(owner, event.getEventType(), event);
-			} catch (Exception ex) {
-				logger.error("Caught exception while dispatching RPC event to handler: " + handler, ex);
-			}
+			invoke(handler, logger, event);
 		}
 
 	}
 
-	public <T extends IRPCEvent> void dispatchEvent(T event, IPlatformLogger logger) {
-		EnumSubscribeEvents eventType = event.getEventType();
-		Object[] tmp;
-		lock.readLock().lock();
+	private <T extends IRPCEvent> void invoke(IRPCEventHandler<PlayerObject, T> handler, IPlatformLogger logger,
+			T event) {
 		try {
-			Set<IRPCEventHandler<PlayerObject, ? extends IRPCEvent>> h = handlers[eventType.getId()];
-			if (h == null) {
-				return;
-			}
-			tmp = h.toArray();
-		} finally {
-			lock.readLock().unlock();
+			handler.handleEvent(owner, event.getEventType(), event);
+		} catch (Exception ex) {
+			logger.error("Caught exception while dispatching RPC event to handler: " + handler, ex);
 		}
-		for (int i = 0; i < tmp.length; ++i) {
-			IRPCEventHandler<PlayerObject, T> handler = (IRPCEventHandler<PlayerObject, T>) tmp[i];
-			RPCEventWrapper<T> evt = new RPCEventWrapper<>(handler, logger, event);
-			EnumExecutorType type = handler.getExecutor();
-			if (type == EnumExecutorType.SYNC) {
-				scheduler.execute(evt);
-			} else if (type == EnumExecutorType.ASYNC) {
-				scheduler.executeAsync(evt);
-			} else {
-				evt.run();
-			}
+	}
+
+	public <T extends IRPCEvent> void dispatchEvent(T event, IPlatformLogger logger) {
+		HandlerList h = handlers[event.getEventType().getId()];
+		if (h != null) {
+			dispatch(h, event, logger);
 		}
 	}
 
 	public <I, T extends IRPCEvent> void dispatchLazyEvent(EnumSubscribeEvents eventType, I event, Function<I, T> conv,
 			IPlatformLogger logger) {
-		Object[] tmp;
-		lock.readLock().lock();
-		try {
-			Set<IRPCEventHandler<PlayerObject, ? extends IRPCEvent>> h = handlers[eventType.getId()];
-			if (h == null) {
-				return;
+		HandlerList h = handlers[eventType.getId()];
+		if (h != null) {
+			dispatch(h, conv.apply(event), logger);
+		}
+	}
+
+	private <T extends IRPCEvent> void dispatch(HandlerList h, T event, IPlatformLogger logger) {
+		IRPCEventHandler<?, ?>[] arr = h.sync;
+		if (arr.length > 0) {
+			syncQueue.add(new SyncBatch(arr, logger, event));
+			if ((int) SYNC_SCHEDULED_HANDLE.compareAndExchange(this, 0, 1) == 0) {
+				scheduler.execute(syncTask);
 			}
-			tmp = h.toArray();
-		} finally {
-			lock.readLock().unlock();
-		}
-		int j = tmp.length;
-		if (j > 0) {
-			T evtObj = conv.apply(event);
-			for (int i = 0; i < j; ++i) {
-				IRPCEventHandler<PlayerObject, T> handler = (IRPCEventHandler<PlayerObject, T>) tmp[i];
-				RPCEventWrapper<T> evt = new RPCEventWrapper<>(handler, logger, evtObj);
-				EnumExecutorType type = handler.getExecutor();
-				if (type == EnumExecutorType.SYNC) {
-					scheduler.execute(evt);
-				} else if (type == EnumExecutorType.ASYNC) {
-					scheduler.executeAsync(evt);
-				} else {
-					evt.run();
+		}
+		arr = h.async;
+		for (int i = 0; i < arr.length; ++i) {
+			scheduler.executeAsync(
+					new RPCEventWrapper<>((IRPCEventHandler<PlayerObject, T>) arr[i], logger, event));
+		}
+		arr = h.tiny;
+		for (int i = 0; i < arr.length; ++i) {
+			invoke((IRPCEventHandler<PlayerObject, T>) arr[i], logger, event);
+		}
+	}
+
+	private void runSyncBatches() {
+		for (;;) {
+			SyncBatch batch;
+			while ((batch = syncQueue.poll()) != null) {
+				IRPCEventHandler<?, ?>[] arr = batch.handlers;
+				for (int i = 0; i < arr.length; ++i) {
+					invoke((IRPCEventHandler<PlayerObject, IRPCEvent>) arr[i], batch.logger, batch.event);
 				}
 			}
+			SYNC_SCHEDULED_HANDLE.setVolatile(this, 0);
+			if (syncQueue.isEmpty() || (int) SYNC_SCHEDULED_HANDLE.compareAndExchange(this, 0, 1) != 0) {
+				return;
+			}
 		}
 	}
 
-	public int addEventListener(EnumSubscribeEvents eventType,
+	public synchronized int addEventListener(EnumSubscribeEvents eventType,
 			IRPCEventHandler<PlayerObject, ? extends IRPCEvent> handler) {
 		int id = eventType.getId();
-		lock.writeLock().lock();
-		try {
-			Set<IRPCEventHandler<PlayerObject, ? extends IRPCEvent>> h = handlers[id];
-			if (h == null) {
-				handlers[id] = h = Sets.newIdentityHashSet();
-				h.add(handler);
-				return subscribed |= eventType.getBit();
-			} else {
-				h.add(handler);
-				return -1;
+		HandlerList[] newHandlers = handlers.clone();
+		HandlerList h = newHandlers[id];
+		if (h == null) {
+			newHandlers[id] = new HandlerList(new IRPCEventHandler<?, ?>[] { handler });
+			handlers = newHandlers;
+			return subscribed |= eventType.getBit();
+		} else {
+			IRPCEventHandler<?, ?>[] all = h.all;
+			for (int i = 0; i < all.length; ++i) {
+				if (all[i] == handler) {
+					return -1;
+				}
 			}
-		} finally {
-			lock.writeLock().unlock();
+			all = Arrays.copyOf(all, all.length + 1);
+			all[all.length - 1] = handler;
+			newHandlers[id] = new HandlerList(all);
+			handlers = newHandlers;
+			return -1;
 		}
 	}
 
-	public int removeEventListener(EnumSubscribeEvents eventType,
+	public synchronized int removeEventListener(EnumSubscribeEvents eventType,
 			IRPCEventHandler<PlayerObject, ? extends IRPCEvent> handler) {
 		int id = eventType.getId();
-		lock.writeLock().lock();
-		try {
-			Set<IRPCEventHandler<PlayerObject, ? extends IRPCEvent>> h = handlers[id];
-			if (h != null && h.remove(handler) && h.isEmpty()) {
-				handlers[id] = null;
-				return subscribed ^= eventType.getBit();
-			} else {
+		HandlerList h = handlers[id];
+		if (h == null) {
+			return -1;
+		}
+		IRPCEventHandler<?, ?>[] all = h.all;
+		for (int i = 0; i < all.length; ++i) {
+			if (all[i] == handler) {
+				HandlerList[] newHandlers = handlers.clone();
+				if (all.length == 1) {
+					newHandlers[id] = null;
+					handlers = newHandlers;
+					return subscribed ^= eventType.getBit();
+				}
+				IRPCEventHandler<?, ?>[] newAll = new IRPCEventHandler<?, ?>[all.length - 1];
+				System.arraycopy(all, 0, newAll, 0, i);
+				System.arraycopy(all, i + 1, newAll, i, all.length - i - 1);
+				newHandlers[id] = new HandlerList(newAll);
+				handlers = newHandlers;
 				return -1;
 			}
-		} finally {
-			lock.writeLock().unlock();
 		}
+		return -1;
 	}
 
 }
@@ -16,15 +16,15 @@
 
 package net.lax1dude.eaglercraft.backend.rpc.base;
 
-import java.util.concurrent.ConcurrentMap;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.util.RequestIdTable;
 
 public class RPCRequestFuture<V> extends RPCActiveFuture<V> {
 
-	protected final Integer requestId;
-	protected final ConcurrentMap<Integer, RPCRequestFuture<?>> map;
+	protected final int requestId;
+	protected final RequestIdTable<RPCRequestFuture<?>> map;
 
-	public RPCRequestFuture(SchedulerExecutors exec, long expiresAt, Integer requestId,
-			ConcurrentMap<Integer, RPCRequestFuture<?>> map) {
+	public RPCRequestFuture(SchedulerExecutors exec, long expiresAt, int requestId,
+			RequestIdTable<RPCRequestFuture<?>> map) {
 		super(exec, expiresAt);
 		this.requestId = requestId;
 		this.map = map;
@@ -57,7 +57,7 @@ public class RPCRequestFuture<V> extends RPCActiveFuture<V> {
 	}
 
 	protected void eaglerCleanup() {
-		map.remove(requestId);
+		map.remove(requestId, this);
 	}
 
 }
@@ -25,6 +25,7 @@ import net.lax1dude.eaglercraft.backend.rpc.api.IBasePlayerRPC;
 import net.lax1dude.eaglercraft.backend.rpc.api.IEaglerPlayerRPC;
 import net.lax1dude.eaglercraft.backend.rpc.api.IRPCCloseHandler;
 import net.lax1dude.eaglercraft.backend.rpc.api.IRPCFuture;
+import net.lax1dude.eaglercraft.backend.rpc.api.IRPCWritabilityHandler;
 import net.lax1dude.eaglercraft.backend.rpc.api.data.TexturesData;
 import net.lax1dude.eaglercraft.backend.rpc.api.skins.EnumPresetCapes;
 import net.lax1dude.eaglercraft.backend.rpc.api.skins.EnumPresetSkins;
@@ -117,6 +118,25 @@ public class BasePlayerRPCLocal<PlayerObject> implements IBasePlayerRPC<PlayerOb
 		}
 	}
 
+	@Override
+	public boolean isWritable() {
+		return isOpen();
+	}
+
+	@Override
+	public void addWritabilityListener(IRPCWritabilityHandler handler) {
+		if (handler == null) {
+			throw new NullPointerException("handler");
+		}
+	}
+
+	@Override
+	public void removeWritabilityListener(IRPCWritabilityHandler handler) {
+		if (handler == null) {
+			throw new NullPointerException("handler");
+		}
+	}
+
 	void fireCloseListeners() {
 		Object[] handlers;
 		synchronized (this) {
@@ -18,15 +18,14 @@ package net.lax1dude.eaglercraft.backend.rpc.base.remote;
 
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
-import com.google.common.collect.MapMaker;
-
 import net.lax1dude.eaglercraft.backend.rpc.adapter.IPlatformLogger;
 import net.lax1dude.eaglercraft.backend.rpc.api.IBasePlayer;
 import net.lax1dude.eaglercraft.backend.rpc.api.IBasePlayerRPC;
@@ -34,6 +33,7 @@ import net.lax1dude.eaglercraft.backend.rpc.api.IEaglerPlayerRPC;
 import net.lax1dude.eaglercraft.backend.rpc.api.IRPCCloseHandler;
 import net.lax1dude.eaglercraft.backend.rpc.api.IRPCEvent;
 import net.lax1dude.eaglercraft.backend.rpc.api.IRPCFuture;
+import net.lax1dude.eaglercraft.backend.rpc.api.IRPCWritabilityHandler;
 import net.lax1dude.eaglercraft.backend.rpc.api.RPCException;
 import net.lax1dude.eaglercraft.backend.rpc.api.RPCResponseException;
 import net.lax1dude.eaglercraft.backend.rpc.api.RPCTimeoutException;
@@ -44,6 +44,7 @@ import net.lax1dude.eaglercraft.backend.rpc.api.skins.EnumSkinModel;
 import net.lax1dude.eaglercraft.backend.rpc.api.skins.IEaglerPlayerCape;
 import net.lax1dude.eaglercraft.backend.rpc.api.skins.IEaglerPlayerSkin;
 import net.lax1dude.eaglercraft.backend.rpc.base.RPCFailedFuture;
+import net.lax1dude.eaglercraft.backend.rpc.base.RPCImmediateFuture;
 import net.lax1dude.eaglercraft.backend.rpc.base.RPCRequestFuture;
 import net.lax1dude.eaglercraft.backend.rpc.base.remote.message.BackendRPCMessageController;
 import net.lax1dude.eaglercraft.backend.rpc.base.remote.message.BackendRPCProtocolHandler;
@@ -58,6 +59,7 @@ import net.lax1dude.eaglercraft.backend.rpc.protocol.EaglerBackendRPCProtocol;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.EaglerBackendRPCPacket;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCGetCapeByURLV2;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCGetSkinByURLV2;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCMultiTargetV3;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCRequestPlayerInfo;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCResetPlayerMulti;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCSendRawMessage;
@@ -67,22 +69,52 @@ import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCSetPla
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCSetPlayerSkinPresetV2;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCSetPlayerTexturesPresetV2;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCSetPlayerTexturesV2;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCSubscribeEvents;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.server.SPacketRPCFlowCreditV3;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.util.IInteger;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.util.IIntegerTuple;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.util.RequestIdTable;
 
 public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController implements IBasePlayerRPC<PlayerObject> {
 
 	protected final PlayerInstanceRemote<PlayerObject> player;
 	protected final int minecraftProtocol;
 	protected final int supervisorNodeId;
+	protected final long proxyInstanceId;
 	protected final BackendRPCProtocolHandler handler;
 
 	protected int baseRequestTimeout = 10;
 
-	protected final ConcurrentMap<Integer, RPCRequestFuture<?>> requestMap = (new MapMaker()).concurrencyLevel(4)
-			.initialCapacity(32).makeMap();
+	protected static final int REQUEST_WINDOW = 64;
+
+	protected final RequestIdTable<RPCRequestFuture<?>> requestMap = new RequestIdTable<>(REQUEST_WINDOW,
+			RPCRequestFuture::getRequestId);
 
 	protected Set<IRPCCloseHandler> closeListeners;
+	protected Set<IRPCWritabilityHandler> writabilityListeners;
+
+	protected static final int MAX_PENDING_BYTES = SPacketRPCFlowCreditV3.WINDOW_SIZE * 4;
+
+	private static class PendingPacket {
+
+		private final byte[] data;
+		private final int cost;
+
+		private PendingPacket(byte[] data, int cost) {
+			this.data = data;
+			this.cost = cost;
+		}
+
+	}
+
+	protected final boolean flowControl;
+	private int flowCredits = SPacketRPCFlowCreditV3.WINDOW_SIZE;
+	private int flowPendingBytes;
+	private ArrayDeque<PendingPacket> flowPending;
+
+	protected final boolean cacheEnabled;
+	protected final RPCCachedValue<IEaglerPlayerSkin> skinCache = new RPCCachedValue<>();
+	protected final RPCCachedValue<IEaglerPlayerCape> capeCache = new RPCCachedValue<>();
 
 	protected boolean open = true;
 
@@ -100,12 +132,35 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 	}
 
 	public BasePlayerRPC(PlayerInstanceRemote<PlayerObject> player, EaglerBackendRPCProtocol protocol,
-			DataSerializationContext serializeCtx, int minecraftProtocol, int supervisorNodeId) {
+			DataSerializationContext serializeCtx, int minecraftProtocol, int supervisorNodeId, long proxyInstanceId) {
 		super(protocol, serializeCtx);
 		this.player = player;
 		this.minecraftProtocol = minecraftProtocol;
 		this.supervisorNodeId = supervisorNodeId;
+		this.proxyInstanceId = proxyInstanceId;
 		this.handler = new BackendV2RPCProtocolHandler(this);
+		this.cacheEnabled = protocol == EaglerBackendRPCProtocol.V3;
+		this.flowControl = protocol == EaglerBackendRPCProtocol.V3;
+	}
+
+	protected int getInternalSubscribeBits() {
+		return cacheEnabled ? CPacketRPCSubscribeEvents.SUBSCRIBE_EVENT_TEXTURES_CHANGED_V3 : 0;
+	}
+
+	void handleCreated() {
+		int bits = getInternalSubscribeBits();
+		if (bits != 0) {
+			writeOutboundPacket(new CPacketRPCSubscribeEvents(bits));
+		}
+	}
+
+	public void handleTexturesChanged(boolean skin, boolean cape) {
+		if (skin) {
+			skinCache.invalidate();
+		}
+		if (cape) {
+			capeCache.invalidate();
+		}
 	}
 
 	protected int genRequest() {
@@ -114,17 +169,17 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 
 	protected <T> RPCRequestFuture<T> createRequest(int expiresAfter) {
 		long now = System.nanoTime();
-		Integer reqId = genRequest();
+		int reqId = genRequest();
 		RPCRequestFuture<T> future = new RPCRequestFuture<T>(getServerAPI().schedulerExecutors(),
 				now + expiresAfter * 1000000000l, reqId, requestMap);
-		requestMap.put(reqId, future);
+		requestMap.put(future);
 		getServerAPI().timeoutLoop().addFuture(future);
 		return future;
 	}
 
 	protected <T> RPCRequestFuture<T> createRequest(int expiresAfter, Function<?, T> resultMapper) {
 		long now = System.nanoTime();
-		Integer reqId = genRequest();
+		int reqId = genRequest();
 		RPCRequestFuture<T> future = new RPCRequestFuture<T>(getServerAPI().schedulerExecutors(),
 				now + expiresAfter * 1000000000l, reqId, requestMap) {
 			@Override
@@ -141,7 +196,7 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 				return super.fireResponseInternal(res);
 			}
 		};
-		requestMap.put(reqId, future);
+		requestMap.put(future);
 		getServerAPI().timeoutLoop().addFuture(future);
 		return future;
 	}
@@ -154,6 +209,76 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 		writeOutboundPacket(packet);
 	}
 
+	protected void writeFlowControlledPacket(EaglerBackendRPCPacket packet) {
+		if (!flowControl) {
+			writeOutboundPacket(packet);
+			return;
+		}
+		byte[] data = serializeOutboundPacket(packet);
+		if (data != null) {
+			writeFlowControlledMessage(packet, data);
+		}
+	}
+
+	private void writeFlowControlledMessage(EaglerBackendRPCPacket packet, byte[] data) {
+		int cost = SPacketRPCFlowCreditV3.packetCost(packet);
+		boolean stalled = false;
+		synchronized (this) {
+			if (!open) {
+				return;
+			}
+			if (flowPending == null && flowCredits >= SPacketRPCFlowCreditV3.requiredCredit(cost)) {
+				flowCredits -= cost;
+				writeOutboundMessage(data);
+				return;
+			}
+			if (flowPendingBytes + cost <= MAX_PENDING_BYTES) {
+				if (flowPending == null) {
+					flowPending = new ArrayDeque<>();
+					stalled = true;
+				}
+				flowPending.add(new PendingPacket(data, cost));
+				flowPendingBytes += cost;
+				data = null;
+			}
+		}
+		if (stalled) {
+			getServerAPI().stalledPlayers.incrementAndGet();
+			fireWritabilityListeners(false);
+		} else if (data != null) {
+			getServerAPI().droppedPackets.incrementAndGet();
+			logger().error("Dropped " + packet.getClass().getSimpleName() + " for player \"" + player.getUsername()
+					+ "\", the backend RPC channel is stalled and " + flowPendingBytes + " bytes are already queued");
+		}
+	}
+
+	public void handleFlowCredit(int credits) {
+		if (!flowControl) {
+			return;
+		}
+		synchronized (this) {
+			flowCredits += credits;
+			ArrayDeque<PendingPacket> pending = flowPending;
+			if (pending == null) {
+				return;
+			}
+			PendingPacket pkt;
+			while ((pkt = pending.peek()) != null
+					&& flowCredits >= SPacketRPCFlowCreditV3.requiredCredit(pkt.cost)) {
+				pending.poll();
+				flowCredits -= pkt.cost;
+				flowPendingBytes -= pkt.cost;
+				writeOutboundMessage(pkt.data);
+			}
+			if (!pending.isEmpty()) {
+				return;
+			}
+			flowPending = null;
+		}
+		getServerAPI().stalledPlayers.decrementAndGet();
+		fireWritabilityListeners(true);
+	}
+
 	@Override
 	protected BackendRPCProtocolHandler handler() {
 		return handler;
@@ -169,6 +294,22 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 		player.player.sendData(player.server.getChannelRPCName(), data);
 	}
 
+	final void writeFlowControlledInternal(EaglerBackendRPCPacket packet, byte[] data) {
+		if (flowControl) {
+			writeFlowControlledMessage(packet, data);
+		} else {
+			writeOutboundMessage(data);
+		}
+	}
+
+	final byte[] serializeOutboundPacketInternal(EaglerBackendRPCPacket packet) {
+		return serializeOutboundPacket(packet);
+	}
+
+	final void writeMultiTargetInternal(List<UUID> targets, byte[] payload) {
+		writeFlowControlledPacket(new CPacketRPCMultiTargetV3(targets, payload));
+	}
+
 	@Override
 	protected final IPlatformLogger logger() {
 		return player.logger();
@@ -214,6 +355,10 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 		return supervisorNodeId;
 	}
 
+	long getProxyInstanceId() {
+		return proxyInstanceId;
+	}
+
 	@Override
 	public synchronized void addCloseListener(IRPCCloseHandler handler) {
 		if (handler == null) {
@@ -235,18 +380,70 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 		}
 	}
 
+	@Override
+	public synchronized boolean isWritable() {
+		return open && flowPending == null;
+	}
+
+	@Override
+	public synchronized void addWritabilityListener(IRPCWritabilityHandler handler) {
+		if (handler == null) {
+			throw new NullPointerException("handler");
+		}
+		if (writabilityListeners == null) {
+			writabilityListeners = Collections.newSetFromMap(new HashMap<>(4));
+		}
+		writabilityListeners.add(handler);
+	}
+
+	@Override
+	public synchronized void removeWritabilityListener(IRPCWritabilityHandler handler) {
+		if (handler == null) {
+			throw new NullPointerException("handler");
+		}
+		if (writabilityListeners != null && writabilityListeners.remove(handler) && writabilityListeners.isEmpty()) {
+			writabilityListeners = null;
+		}
+	}
+
+	private void fireWritabilityListeners(boolean writable) {
+		Object[] handlers;
+		synchronized (this) {
+			if (writabilityListeners == null) {
+				return;
+			}
+			handlers = writabilityListeners.toArray();
+		}
+		player.getEaglerXBackendRPC().getScheduler().execute(() -> {
+			for (int i = 0; i < handlers.length; ++i) {
+				IRPCWritabilityHandler handler = (IRPCWritabilityHandler) handlers[i];
+				try {
+					handler.handleWritabilityChanged(writable);
+				} catch (Exception ex) {
+					player.logger().error("Caught exception while calling RPC writability listener", ex);
+				}
+			}
+		});
+	}
+
 	void fireCloseListeners() {
-		open = false;
-		Object[] handlers = requestMap.values().toArray();
-		requestMap.clear();
-		for (int i = 0; i < handlers.length; ++i) {
-			RPCRequestFuture<?> handler = (RPCRequestFuture<?>) handlers[i];
+		boolean stalled;
+		synchronized (this) {
+			open = false;
+			stalled = flowPending != null;
+			flowPending = null;
+			flowPendingBytes = 0;
+		}
+		if (stalled) {
+			getServerAPI().stalledPlayers.decrementAndGet();
+		}
+		requestMap.drain((handler) -> {
 			try {
 				handler.fireTimeoutExceptionInternal(
 						new RPCTimeoutException("Player left before the request was completed"));
 			} catch (Exception ex) {
 			}
-		}
+		});
 		Object[] handlers2;
 		synchronized (this) {
 			if (closeListeners == null) {
@@ -255,7 +452,7 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 			handlers2 = closeListeners.toArray();
 		}
 		player.getEaglerXBackendRPC().getScheduler().execute(() -> {
-			for (int i = 0; i < handlers.length; ++i) {
+			for (int i = 0; i < handlers2.length; ++i) {
 				IRPCCloseHandler handler = (IRPCCloseHandler) handlers2[i];
 				try {
 					handler.handleClosed();
@@ -296,7 +493,15 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 	@Override
 	public IRPCFuture<IEaglerPlayerSkin> getPlayerSkin(int timeoutSec) {
 		if (open) {
-			RPCRequestFuture<IEaglerPlayerSkin> ret = createRequest(timeoutSec, PLAYER_SKIN_HANDLER);
+			Function<Object, IEaglerPlayerSkin> handler = PLAYER_SKIN_HANDLER;
+			if (cacheEnabled) {
+				IEaglerPlayerSkin skin = skinCache.get();
+				if (skin != null) {
+					return RPCImmediateFuture.create(getServerAPI().schedulerExecutors(), skin);
+				}
+				handler = skinCache.wrapHandler(handler);
+			}
+			RPCRequestFuture<IEaglerPlayerSkin> ret = createRequest(timeoutSec, handler);
 			writeOutboundPacket(new CPacketRPCRequestPlayerInfo(ret.getRequestId(),
 					CPacketRPCRequestPlayerInfo.REQUEST_PLAYER_SKIN_DATA));
 			return ret;
@@ -311,6 +516,7 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 			throw new NullPointerException("skin");
 		}
 		if (open) {
+			skinCache.invalidate();
 			if (!skin.isSuccess()) {
 				writeOutboundPacket(new CPacketRPCSetPlayerSkinPresetV2(notifyOthers, -1));
 			} else if (skin.isSkinPreset()) {
@@ -355,7 +561,15 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 	@Override
 	public IRPCFuture<IEaglerPlayerCape> getPlayerCape(int timeoutSec) {
 		if (open) {
-			RPCRequestFuture<IEaglerPlayerCape> ret = createRequest(timeoutSec, PLAYER_CAPE_HANDLER);
+			Function<Object, IEaglerPlayerCape> handler = PLAYER_CAPE_HANDLER;
+			if (cacheEnabled) {
+				IEaglerPlayerCape cape = capeCache.get();
+				if (cape != null) {
+					return RPCImmediateFuture.create(getServerAPI().schedulerExecutors(), cape);
+				}
+				handler = capeCache.wrapHandler(handler);
+			}
+			RPCRequestFuture<IEaglerPlayerCape> ret = createRequest(timeoutSec, handler);
 			writeOutboundPacket(new CPacketRPCRequestPlayerInfo(ret.getRequestId(),
 					CPacketRPCRequestPlayerInfo.REQUEST_PLAYER_CAPE_DATA));
 			return ret;
@@ -370,6 +584,7 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 			throw new NullPointerException("cape");
 		}
 		if (open) {
+			capeCache.invalidate();
 			if (!cape.isSuccess()) {
 				writeOutboundPacket(new CPacketRPCSetPlayerCapePresetV2(notifyOthers, -1));
 			} else if (cape.isCapePreset()) {
@@ -413,7 +628,26 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 	@Override
 	public IRPCFuture<TexturesData> getPlayerTextures(int timeoutSec) {
 		if (open) {
-			RPCRequestFuture<TexturesData> ret = createRequest(timeoutSec, PLAYER_TEXTURES_HANDLER);
+			Function<Object, TexturesData> handler = PLAYER_TEXTURES_HANDLER;
+			if (cacheEnabled) {
+				IEaglerPlayerSkin skin = skinCache.get();
+				IEaglerPlayerCape cape = capeCache.get();
+				if (skin != null && cape != null) {
+					return RPCImmediateFuture.create(getServerAPI().schedulerExecutors(),
+							TexturesData.create(skin, cape));
+				}
+				int skinEpoch = skinCache.epoch();
+				int capeEpoch = capeCache.epoch();
+				handler = (res) -> {
+					TexturesData data = PLAYER_TEXTURES_HANDLER.apply(res);
+					if (data != null) {
+						skinCache.update(skinEpoch, data.getSkin());
+						capeCache.update(capeEpoch, data.getCape());
+					}
+					return data;
+				};
+			}
+			RPCRequestFuture<TexturesData> ret = createRequest(timeoutSec, handler);
 			writeOutboundPacket(new CPacketRPCRequestPlayerInfo(ret.getRequestId(),
 					CPacketRPCRequestPlayerInfo.REQUEST_PLAYER_TEXTURE_DATA));
 			return ret;
@@ -431,6 +665,8 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 			throw new NullPointerException("cape");
 		}
 		if (open) {
+			skinCache.invalidate();
+			capeCache.invalidate();
 			if (skin.isSkinPreset() && cape.isCapePreset()) {
 				writeOutboundPacket(new CPacketRPCSetPlayerTexturesPresetV2(notifyOthers,
 						skin.isSuccess() ? skin.getPresetSkinId() : -1,
@@ -463,6 +699,7 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 	@Override
 	public void resetPlayerSkin(boolean notifyOthers) {
 		if (open) {
+			skinCache.invalidate();
 			writeOutboundPacket(new CPacketRPCResetPlayerMulti(true, false, false, notifyOthers));
 		} else {
 			printClosedError();
@@ -472,6 +709,7 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 	@Override
 	public void resetPlayerCape(boolean notifyOthers) {
 		if (open) {
+			capeCache.invalidate();
 			writeOutboundPacket(new CPacketRPCResetPlayerMulti(false, true, false, notifyOthers));
 		} else {
 			printClosedError();
@@ -481,6 +719,8 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 	@Override
 	public void resetPlayerTextures(boolean notifyOthers) {
 		if (open) {
+			skinCache.invalidate();
+			capeCache.invalidate();
 			writeOutboundPacket(new CPacketRPCResetPlayerMulti(true, true, false, notifyOthers));
 		} else {
 			printClosedError();
@@ -579,7 +819,7 @@ public class BasePlayerRPC<PlayerObject> extends BackendRPCMessageController imp
 	@Override
 	public void sendRawCustomPayloadPacket(String channel, byte[] data) {
 		if (open) {
-			writeOutboundPacket(new CPacketRPCSendRawMessage(channel, data));
+			writeFlowControlledPacket(new CPacketRPCSendRawMessage(channel, data));
 		} else {
 			printClosedError();
 		}
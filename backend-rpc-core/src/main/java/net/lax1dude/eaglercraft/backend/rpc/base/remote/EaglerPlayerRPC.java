@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 import com.google.common.collect.ImmutableMap;
 
@@ -39,6 +40,7 @@ import net.lax1dude.eaglercraft.backend.rpc.api.IRPCFuture;
 import net.lax1dude.eaglercraft.backend.rpc.api.SHA1Sum;
 import net.lax1dude.eaglercraft.backend.rpc.api.data.BrandData;
 import net.lax1dude.eaglercraft.backend.rpc.api.data.CookieData;
+import net.lax1dude.eaglercraft.backend.rpc.api.data.VoiceChangeEvent;
 import net.lax1dude.eaglercraft.backend.rpc.api.data.WebViewStateData;
 import net.lax1dude.eaglercraft.backend.rpc.api.notifications.INotificationBadge;
 import net.lax1dude.eaglercraft.backend.rpc.api.notifications.IconDef;
@@ -82,10 +84,13 @@ public class EaglerPlayerRPC<PlayerObject> extends BasePlayerRPC<PlayerObject>
 	protected RPCEventBus<PlayerObject> eventBus;
 	protected int subscribedEvents;
 	protected final boolean webviewCap;
+	protected final RPCCachedValue<BrandData> brandCache = new RPCCachedValue<>();
+	protected final RPCCachedValue<EnumVoiceState> voiceCache = new RPCCachedValue<>();
 
 	public EaglerPlayerRPC(PlayerInstanceRemote<PlayerObject> player, EaglerBackendRPCProtocol protocol,
 			DataSerializationContext serializeCtx, SPacketRPCEnabledSuccessEaglerV2 enablePacket) {
-		super(player, protocol, serializeCtx, enablePacket.minecraftProtocol, enablePacket.supervisorNode);
+		super(player, protocol, serializeCtx, enablePacket.minecraftProtocol, enablePacket.supervisorNode,
+				enablePacket.proxyInstanceId);
 		this.eaglerHandshake = enablePacket.eaglerHandshake;
 		this.eaglerProtocol = enablePacket.eaglerProtocol;
 		this.eaglerRewindProtocol = enablePacket.eaglerRewindProtocol;
@@ -105,6 +110,14 @@ public class EaglerPlayerRPC<PlayerObject> extends BasePlayerRPC<PlayerObject>
 		}
 	}
 
+	@Override
+	protected int getInternalSubscribeBits() {
+		return cacheEnabled
+				? (CPacketRPCSubscribeEvents.SUBSCRIBE_EVENT_TEXTURES_CHANGED_V3
+						| CPacketRPCSubscribeEvents.SUBSCRIBE_EVENT_TOGGLE_VOICE)
+				: 0;
+	}
+
 	@Override
 	public IEaglerPlayer<PlayerObject> getPlayer() {
 		return player;
@@ -239,10 +252,21 @@ public class EaglerPlayerRPC<PlayerObject> extends BasePlayerRPC<PlayerObject>
 		}
 	}
 
+	private static final Function<Object, BrandData> BRAND_DATA_HANDLER = (res) -> (BrandData) res;
+
 	@Override
 	public IRPCFuture<BrandData> getBrandData(int timeoutSec) {
 		if (open) {
-			RPCRequestFuture<BrandData> ret = createRequest(timeoutSec);
+			RPCRequestFuture<BrandData> ret;
+			if (cacheEnabled) {
+				BrandData brand = brandCache.get();
+				if (brand != null) {
+					return RPCImmediateFuture.create(getServerAPI().schedulerExecutors(), brand);
+				}
+				ret = createRequest(timeoutSec, brandCache.wrapHandler(BRAND_DATA_HANDLER));
+			} else {
+				ret = createRequest(timeoutSec);
+			}
 			writeOutboundPacket(new CPacketRPCRequestPlayerInfo(ret.getRequestId(),
 					CPacketRPCRequestPlayerInfo.REQUEST_PLAYER_CLIENT_BRAND_DATA));
 			return ret;
@@ -263,10 +287,21 @@ public class EaglerPlayerRPC<PlayerObject> extends BasePlayerRPC<PlayerObject>
 		}
 	}
 
+	private static final Function<Object, EnumVoiceState> VOICE_STATE_HANDLER = (res) -> (EnumVoiceState) res;
+
 	@Override
 	public IRPCFuture<EnumVoiceState> getVoiceState(int timeoutSec) {
 		if (open) {
-			RPCRequestFuture<EnumVoiceState> ret = createRequest(timeoutSec);
+			RPCRequestFuture<EnumVoiceState> ret;
+			if (cacheEnabled) {
+				EnumVoiceState state = voiceCache.get();
+				if (state != null) {
+					return RPCImmediateFuture.create(getServerAPI().schedulerExecutors(), state);
+				}
+				ret = createRequest(timeoutSec, voiceCache.wrapHandler(VOICE_STATE_HANDLER));
+			} else {
+				ret = createRequest(timeoutSec);
+			}
 			writeOutboundPacket(new CPacketRPCRequestPlayerInfo(ret.getRequestId(),
 					CPacketRPCRequestPlayerInfo.REQUEST_PLAYER_CLIENT_VOICE_STATUS));
 			return ret;
@@ -293,7 +328,7 @@ public class EaglerPlayerRPC<PlayerObject> extends BasePlayerRPC<PlayerObject>
 			throw new NullPointerException("data");
 		}
 		if (open) {
-			writeOutboundPacket(new CPacketRPCInjectRawBinaryFrameV2(data));
+			writeFlowControlledPacket(new CPacketRPCInjectRawBinaryFrameV2(data));
 		} else {
 			printClosedError();
 		}
@@ -336,7 +371,7 @@ public class EaglerPlayerRPC<PlayerObject> extends BasePlayerRPC<PlayerObject>
 			}
 		}
 		if (open) {
-			writeOutboundPacket(new CPacketRPCSubscribeEvents(i));
+			writeOutboundPacket(new CPacketRPCSubscribeEvents(i | getInternalSubscribeBits()));
 		} else {
 			printClosedError();
 		}
@@ -364,6 +399,9 @@ public class EaglerPlayerRPC<PlayerObject> extends BasePlayerRPC<PlayerObject>
 
 	@Override
 	public void fireRemoteEvent(IRPCEvent event) {
+		if (cacheEnabled && event instanceof VoiceChangeEvent voiceEvent) {
+			voiceCache.push(voiceEvent.getNewState());
+		}
 		RPCEventBus<PlayerObject> eventBus = this.eventBus;
 		if (eventBus != null) {
 			eventBus.dispatchEvent(event, logger());
@@ -422,7 +460,7 @@ public class EaglerPlayerRPC<PlayerObject> extends BasePlayerRPC<PlayerObject>
 		}
 		if (webviewCap) {
 			if (open) {
-				writeOutboundPacket(new CPacketRPCSendWebViewMessage(channelName,
+				writeFlowControlledPacket(new CPacketRPCSendWebViewMessage(channelName,
 						CPacketRPCSendWebViewMessage.MESSAGE_TYPE_STRING, data.getBytes(StandardCharsets.UTF_8)));
 			} else {
 				printClosedError();
@@ -442,7 +480,7 @@ public class EaglerPlayerRPC<PlayerObject> extends BasePlayerRPC<PlayerObject>
 		}
 		if (webviewCap) {
 			if (open) {
-				writeOutboundPacket(new CPacketRPCSendWebViewMessage(channelName,
+				writeFlowControlledPacket(new CPacketRPCSendWebViewMessage(channelName,
 						CPacketRPCSendWebViewMessage.MESSAGE_TYPE_STRING, data));
 			} else {
 				printClosedError();
@@ -462,7 +500,7 @@ public class EaglerPlayerRPC<PlayerObject> extends BasePlayerRPC<PlayerObject>
 		}
 		if (webviewCap) {
 			if (open) {
-				writeOutboundPacket(new CPacketRPCSendWebViewMessage(channelName,
+				writeFlowControlledPacket(new CPacketRPCSendWebViewMessage(channelName,
 						CPacketRPCSendWebViewMessage.MESSAGE_TYPE_BINARY, data));
 			} else {
 				printClosedError();
@@ -22,6 +22,8 @@ import java.util.Collections;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Interner;
@@ -35,9 +37,12 @@ import net.lax1dude.eaglercraft.backend.rpc.adapter.IPlatform.InitRemoteMode;
 import net.lax1dude.eaglercraft.backend.rpc.api.IBasePlayer;
 import net.lax1dude.eaglercraft.backend.rpc.api.IEaglerPlayer;
 import net.lax1dude.eaglercraft.backend.rpc.api.IPacketImageLoader;
+import net.lax1dude.eaglercraft.backend.rpc.api.SHA1Sum;
+import net.lax1dude.eaglercraft.backend.rpc.api.notifications.INotificationBadge;
 import net.lax1dude.eaglercraft.backend.rpc.api.notifications.INotificationBuilder;
 import net.lax1dude.eaglercraft.backend.rpc.api.pause_menu.IPauseMenuBuilder;
 import net.lax1dude.eaglercraft.backend.rpc.api.skins.ISkinImageLoader;
+import net.lax1dude.eaglercraft.backend.rpc.api.webview.EnumWebViewPerms;
 import net.lax1dude.eaglercraft.backend.rpc.base.EaglerXBackendRPCBase;
 import net.lax1dude.eaglercraft.backend.rpc.base.remote.config.BackendRPCConfigLoader;
 import net.lax1dude.eaglercraft.backend.rpc.base.remote.config.ConfigDataRoot;
@@ -48,6 +53,11 @@ import net.lax1dude.eaglercraft.backend.rpc.base.remote.voice.IVoiceServiceImpl;
 import net.lax1dude.eaglercraft.backend.rpc.base.remote.voice.VoiceServiceDisabled;
 import net.lax1dude.eaglercraft.backend.rpc.base.remote.voice.VoiceServiceRemote;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.EaglerBackendRPCProtocol;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCDisplayWebViewAliasV2;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCDisplayWebViewBlobV2;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCDisplayWebViewURLV2;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCNotifBadgeHide;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCRedirectPlayer;
 import net.lax1dude.eaglercraft.backend.voice.protocol.EaglerVCProtocol;
 
 public class EaglerXBackendRPCRemote<PlayerObject> extends EaglerXBackendRPCBase<PlayerObject> {
@@ -68,6 +78,9 @@ public class EaglerXBackendRPCRemote<PlayerObject> extends EaglerXBackendRPCBase
 	private IVoiceServiceImpl<PlayerObject> voiceService;
 	private boolean modernChannelNames;
 
+	final AtomicInteger stalledPlayers = new AtomicInteger();
+	final AtomicLong droppedPackets = new AtomicLong();
+
 	@Override
 	protected void load0(Init<PlayerObject> platf) {
 		componentClass = platform.getComponentHelper().getComponentType();
@@ -290,6 +303,93 @@ public class EaglerXBackendRPCRemote<PlayerObject> extends EaglerXBackendRPCBase
 		return ImmutableList.copyOf(eaglerPlayerMap.values());
 	}
 
+	@Override
+	public void redirectPlayersToWebSocket(Collection<IEaglerPlayer<PlayerObject>> players, String webSocketURI) {
+		if (players == null) {
+			throw new NullPointerException("players");
+		}
+		if (webSocketURI == null) {
+			throw new NullPointerException("webSocketURI");
+		}
+		MultiTargetHelper.sendPacket(players, EaglerPlayerRPC::isRedirectPlayerSupported,
+				new CPacketRPCRedirectPlayer(webSocketURI));
+	}
+
+	@Override
+	public void showNotificationBadge(Collection<IEaglerPlayer<PlayerObject>> players, INotificationBadge badge) {
+		if (players == null) {
+			throw new NullPointerException("players");
+		}
+		if (badge == null) {
+			throw new NullPointerException("badge");
+		}
+		MultiTargetHelper.sendPacket(players, EaglerPlayerRPC::isNotificationSupported,
+				NotificationBadgeWrapper.unwrap(badge));
+	}
+
+	@Override
+	public void hideNotificationBadge(Collection<IEaglerPlayer<PlayerObject>> players, UUID badgeUUID) {
+		if (players == null) {
+			throw new NullPointerException("players");
+		}
+		if (badgeUUID == null) {
+			throw new NullPointerException("badgeUUID");
+		}
+		MultiTargetHelper.sendPacket(players, EaglerPlayerRPC::isNotificationSupported,
+				new CPacketRPCNotifBadgeHide(badgeUUID));
+	}
+
+	@Override
+	public void displayWebViewURL(Collection<IEaglerPlayer<PlayerObject>> players, String title, String url,
+			Set<EnumWebViewPerms> permissions) {
+		if (players == null) {
+			throw new NullPointerException("players");
+		}
+		if (title == null) {
+			throw new NullPointerException("title");
+		}
+		if (url == null) {
+			throw new NullPointerException("url");
+		}
+		MultiTargetHelper.sendPacket(players, EaglerPlayerRPC::isDisplayWebViewSupported,
+				new CPacketRPCDisplayWebViewURLV2(permissions != null ? EnumWebViewPerms.toBits(permissions) : 0,
+						title, url));
+	}
+
+	@Override
+	public void displayWebViewBlob(Collection<IEaglerPlayer<PlayerObject>> players, String title, SHA1Sum hash,
+			Set<EnumWebViewPerms> permissions) {
+		if (players == null) {
+			throw new NullPointerException("players");
+		}
+		if (title == null) {
+			throw new NullPointerException("title");
+		}
+		if (hash == null) {
+			throw new NullPointerException("hash");
+		}
+		MultiTargetHelper.sendPacket(players, EaglerPlayerRPC::isDisplayWebViewSupported,
+				new CPacketRPCDisplayWebViewBlobV2(permissions != null ? EnumWebViewPerms.toBits(permissions) : 0,
+						title, hash.asBytes()));
+	}
+
+	@Override
+	public void displayWebViewBlob(Collection<IEaglerPlayer<PlayerObject>> players, String title, String alias,
+			Set<EnumWebViewPerms> permissions) {
+		if (players == null) {
+			throw new NullPointerException("players");
+		}
+		if (title == null) {
+			throw new NullPointerException("title");
+		}
+		if (alias == null) {
+			throw new NullPointerException("alias");
+		}
+		MultiTargetHelper.sendPacket(players, EaglerPlayerRPC::isDisplayWebViewSupported,
+				new CPacketRPCDisplayWebViewAliasV2(permissions != null ? EnumWebViewPerms.toBits(permissions) : 0,
+						title, alias));
+	}
+
 	@Override
 	public UUID intern(UUID uuid) {
 		return uuidInterner.intern(uuid);
@@ -308,4 +408,12 @@ public class EaglerXBackendRPCRemote<PlayerObject> extends EaglerXBackendRPCBase
 		return channelVoiceName;
 	}
 
+	public int getStalledPlayerCount() {
+		return stalledPlayers.get();
+	}
+
+	public long getDroppedPacketCount() {
+		return droppedPackets.get();
+	}
+
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.rpc.base.remote;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import net.lax1dude.eaglercraft.backend.rpc.api.IEaglerPlayer;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.EaglerBackendRPCProtocol;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.EaglerBackendRPCPacket;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCMultiTargetV3;
+
+class MultiTargetHelper {
+
+	static <PlayerObject> void sendPacket(Collection<IEaglerPlayer<PlayerObject>> players,
+			Predicate<EaglerPlayerRPC<PlayerObject>> filter, EaglerBackendRPCPacket packet) {
+		byte[] payload = null;
+		Map<Long, List<EaglerPlayerRPC<PlayerObject>>> proxies = null;
+		for (IEaglerPlayer<PlayerObject> player : players) {
+			EaglerPlayerRPC<PlayerObject> rpc = (EaglerPlayerRPC<PlayerObject>) player.getHandle().getIfOpen();
+			if (rpc == null || !rpc.open || !filter.test(rpc)) {
+				continue;
+			}
+			long proxyId = rpc.getProxyInstanceId();
+			if (proxyId != 0l && rpc.getProtocol() == EaglerBackendRPCProtocol.V3) {
+				if (proxies == null) {
+					proxies = new HashMap<>();
+				}
+				proxies.computeIfAbsent(proxyId, (k) -> new ArrayList<>()).add(rpc);
+			} else {
+				// Without a proxy instance ID there is no way to know if two players share a proxy
+				if (payload == null) {
+					payload = rpc.serializeOutboundPacketInternal(packet);
+					if (payload == null) {
+						return;
+					}
+				}
+				rpc.writeFlowControlledInternal(packet, payload);
+			}
+		}
+		if (proxies != null) {
+			for (List<EaglerPlayerRPC<PlayerObject>> lst : proxies.values()) {
+				EaglerPlayerRPC<PlayerObject> carrier = lst.get(0);
+				if (payload == null) {
+					payload = carrier.serializeOutboundPacketInternal(packet);
+					if (payload == null) {
+						return;
+					}
+				}
+				int l = lst.size();
+				if (l == 1) {
+					carrier.writeFlowControlledInternal(packet, payload);
+					continue;
+				}
+				for (int i = 0; i < l; i += CPacketRPCMultiTargetV3.MAX_TARGETS) {
+					int j = Math.min(i + CPacketRPCMultiTargetV3.MAX_TARGETS, l);
+					List<UUID> targets = new ArrayList<>(j - i);
+					for (int k = i; k < j; ++k) {
+						targets.add(lst.get(k).getPlayer().getUniqueId());
+					}
+					carrier.writeMultiTargetInternal(targets, payload);
+				}
+			}
+		}
+	}
+
+}
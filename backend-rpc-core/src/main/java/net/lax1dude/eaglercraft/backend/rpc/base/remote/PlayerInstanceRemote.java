@@ -204,17 +204,18 @@ public class PlayerInstanceRemote<PlayerObject> extends RPCAttributeHolder
 			return;
 		}
 		if (pkt instanceof SPacketRPCEnabledSuccessEaglerV2 pktt) {
-			if (pktt.selectedRPCProtocol == 2) {
-				handleContextCreate(res, new EaglerPlayerRPC<PlayerObject>(this, EaglerBackendRPCProtocol.V2,
-						serializationContext, pktt));
+			if (pktt.selectedRPCProtocol == 2 || pktt.selectedRPCProtocol == 3) {
+				handleContextCreate(res, new EaglerPlayerRPC<PlayerObject>(this,
+						EaglerBackendRPCProtocol.getByID(pktt.selectedRPCProtocol), serializationContext, pktt));
 			} else {
 				logger().error("Unexpected RPC protocol version in enable response!");
 				res.fireExceptionInternal(new RPCException("Unexpected RPC protocol version in enable response!"));
 			}
 		} else if (pkt instanceof SPacketRPCEnabledSuccessVanillaV2 pktt) {
-			if (pktt.selectedRPCProtocol == 2) {
-				handleContextCreate(res, new BasePlayerRPC<PlayerObject>(this, EaglerBackendRPCProtocol.V2,
-						serializationContext, pktt.minecraftProtocol, pktt.supervisorNode));
+			if (pktt.selectedRPCProtocol == 2 || pktt.selectedRPCProtocol == 3) {
+				handleContextCreate(res, new BasePlayerRPC<PlayerObject>(this,
+						EaglerBackendRPCProtocol.getByID(pktt.selectedRPCProtocol),
+						serializationContext, pktt.minecraftProtocol, pktt.supervisorNode, pktt.proxyInstanceId));
 			} else {
 				logger().error("Unexpected RPC protocol version in enable response!");
 				res.fireExceptionInternal(new RPCException("Unexpected RPC protocol version in enable response!"));
@@ -258,6 +259,7 @@ public class PlayerInstanceRemote<PlayerObject> extends RPCAttributeHolder
 			throw ret;
 		}
 		CONTEXT_HANDLE.setRelease(this, context);
+		context.handleCreated();
 		res.fireCompleteInternal(context);
 	}
 
@@ -295,8 +297,9 @@ public class PlayerInstanceRemote<PlayerObject> extends RPCAttributeHolder
 	private void beginHandshake(RPCActiveFuture<IBasePlayerRPC<PlayerObject>> future) {
 		byte[] data;
 		try {
-			data = BackendRPCMessageController.serializeINIT(
-					new CPacketRPCEnabled(new int[] { EaglerBackendRPCProtocol.V2.vers }), serializationContext);
+			data = BackendRPCMessageController.serializeINIT(new CPacketRPCEnabled(
+					new int[] { EaglerBackendRPCProtocol.V2.vers, EaglerBackendRPCProtocol.V3.vers }),
+					serializationContext);
 		} catch (IOException e) {
 			logger().error("Failed to write RPC init message!", e);
 			future.fireExceptionInternal(new RPCException("Failed to write RPC init message!", e));
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.rpc.base.remote;
+
+import java.util.function.Function;
+
+class RPCCachedValue<T> {
+
+	private volatile T value;
+	private int epoch;
+
+	T get() {
+		return value;
+	}
+
+	synchronized int epoch() {
+		return epoch;
+	}
+
+	synchronized void update(int expectEpoch, T newValue) {
+		if (epoch == expectEpoch) {
+			value = newValue;
+		}
+	}
+
+	synchronized void push(T newValue) {
+		++epoch;
+		value = newValue;
+	}
+
+	Function<Object, T> wrapHandler(Function<Object, T> handler) {
+		int e = epoch();
+		return (res) -> {
+			T ret = handler.apply(res);
+			if (ret != null) {
+				update(e, ret);
+			}
+			return ret;
+		};
+	}
+
+	synchronized void invalidate() {
+		++epoch;
+		value = null;
+	}
+
+}
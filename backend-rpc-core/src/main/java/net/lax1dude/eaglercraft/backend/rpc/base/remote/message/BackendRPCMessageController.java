@@ -55,14 +55,14 @@ public abstract class BackendRPCMessageController {
 			if (packet.length == 0) {
 				throw new IOException("Empty packet recieved");
 			}
-			if (serializeCtx.aquireInputStream()) {
+			DataSerializationContext ctx = serializeCtx.aquireInputContext();
+			if (ctx != null) {
 				try {
-					serializeCtx.byteInputStreamSingleton.feedBuffer(packet);
-					pkt = protocol.readPacket(serializeCtx.inputStreamSingleton,
-							EaglerBackendRPCProtocol.SERVER_TO_CLIENT);
+					ctx.byteInputStreamSingleton.feedBuffer(packet);
+					pkt = protocol.readPacket(ctx.inputStreamSingleton, EaglerBackendRPCProtocol.SERVER_TO_CLIENT);
 				} finally {
-					serializeCtx.byteInputStreamSingleton.feedBuffer(null);
-					serializeCtx.releaseInputStream();
+					ctx.byteInputStreamSingleton.feedBuffer(null);
+					ctx.releaseInputStream();
 				}
 			} else {
 				ReusableByteArrayInputStream tmp = new ReusableByteArrayInputStream();
@@ -81,20 +81,19 @@ public abstract class BackendRPCMessageController {
 		}
 	}
 
-	protected void writeOutboundPacket(EaglerBackendRPCPacket packet) {
+	protected byte[] serializeOutboundPacket(EaglerBackendRPCPacket packet) {
 		int len = packet.length() + 1;
 		byte[] ret;
 		try {
-			if (serializeCtx.aquireOutputStream()) {
+			DataSerializationContext ctx = serializeCtx.aquireOutputContext();
+			if (ctx != null) {
 				try {
-					serializeCtx.byteOutputStreamSingleton
-							.feedBuffer(len == 0 ? serializeCtx.outputTempBuffer : new byte[len]);
-					protocol.writePacket(serializeCtx.outputStreamSingleton, EaglerBackendRPCProtocol.CLIENT_TO_SERVER,
-							packet);
-					ret = len == 0 ? serializeCtx.byteOutputStreamSingleton.returnBufferCopied()
-							: serializeCtx.byteOutputStreamSingleton.returnBuffer();
+					ctx.byteOutputStreamSingleton.feedBuffer(len == 0 ? ctx.outputTempBuffer : new byte[len]);
+					protocol.writePacket(ctx.outputStreamSingleton, EaglerBackendRPCProtocol.CLIENT_TO_SERVER, packet);
+					ret = len == 0 ? ctx.returnTempBufferCopied() : ctx.byteOutputStreamSingleton.returnBuffer();
 				} finally {
-					serializeCtx.releaseOutputStream();
+					ctx.byteOutputStreamSingleton.feedBuffer(null);
+					ctx.releaseOutputStream();
 				}
 			} else {
 				ReusableByteArrayOutputStream bao = new ReusableByteArrayOutputStream();
@@ -104,13 +103,20 @@ public abstract class BackendRPCMessageController {
 			}
 		} catch (Exception ex) {
 			onException(ex);
-			return;
+			return null;
 		}
 		if (len != 0 && ret.length != len) {
 			logger().warn("Packet " + packet.getClass().getSimpleName() + " was the wrong length after serialization, "
 					+ ret.length + " != " + len);
 		}
-		writeOutboundMessage(ret);
+		return ret;
+	}
+
+	protected void writeOutboundPacket(EaglerBackendRPCPacket packet) {
+		byte[] ret = serializeOutboundPacket(packet);
+		if (ret != null) {
+			writeOutboundMessage(ret);
+		}
 	}
 
 	public static EaglerBackendRPCPacket deserializeINIT(byte[] packet, DataSerializationContext serializeCtx)
@@ -118,14 +124,15 @@ public abstract class BackendRPCMessageController {
 		if (packet.length == 0) {
 			throw new IOException("Empty packet recieved");
 		}
-		if (serializeCtx.aquireInputStream()) {
+		DataSerializationContext ctx = serializeCtx.aquireInputContext();
+		if (ctx != null) {
 			try {
-				serializeCtx.byteInputStreamSingleton.feedBuffer(packet);
-				return EaglerBackendRPCProtocol.INIT.readPacket(serializeCtx.inputStreamSingleton,
+				ctx.byteInputStreamSingleton.feedBuffer(packet);
+				return EaglerBackendRPCProtocol.INIT.readPacket(ctx.inputStreamSingleton,
 						EaglerBackendRPCProtocol.SERVER_TO_CLIENT);
 			} finally {
-				serializeCtx.byteInputStreamSingleton.feedBuffer(null);
-				serializeCtx.releaseInputStream();
+				ctx.byteInputStreamSingleton.feedBuffer(null);
+				ctx.releaseInputStream();
 			}
 		} else {
 			ReusableByteArrayInputStream tmp = new ReusableByteArrayInputStream();
@@ -139,16 +146,16 @@ public abstract class BackendRPCMessageController {
 			throws IOException {
 		int len = packet.length() + 1;
 		byte[] ret;
-		if (serializeCtx.aquireOutputStream()) {
+		DataSerializationContext ctx = serializeCtx.aquireOutputContext();
+		if (ctx != null) {
 			try {
-				serializeCtx.byteOutputStreamSingleton
-						.feedBuffer(len == 0 ? serializeCtx.outputTempBuffer : new byte[len]);
-				EaglerBackendRPCProtocol.INIT.writePacket(serializeCtx.outputStreamSingleton,
+				ctx.byteOutputStreamSingleton.feedBuffer(len == 0 ? ctx.outputTempBuffer : new byte[len]);
+				EaglerBackendRPCProtocol.INIT.writePacket(ctx.outputStreamSingleton,
 						EaglerBackendRPCProtocol.CLIENT_TO_SERVER, packet);
-				ret = len == 0 ? serializeCtx.byteOutputStreamSingleton.returnBufferCopied()
-						: serializeCtx.byteOutputStreamSingleton.returnBuffer();
+				ret = len == 0 ? ctx.returnTempBufferCopied() : ctx.byteOutputStreamSingleton.returnBuffer();
 			} finally {
-				serializeCtx.releaseOutputStream();
+				ctx.byteOutputStreamSingleton.feedBuffer(null);
+				ctx.releaseOutputStream();
 			}
 		} else {
 			ReusableByteArrayOutputStream bao = new ReusableByteArrayOutputStream();
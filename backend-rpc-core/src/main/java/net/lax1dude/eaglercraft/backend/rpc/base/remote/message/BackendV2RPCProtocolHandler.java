@@ -91,6 +91,14 @@ public class BackendV2RPCProtocolHandler extends BackendRPCProtocolHandler {
 				VoiceChangeEvent.create(mapVoiceState(packet.oldVoiceState), mapVoiceState(packet.newVoiceState)));
 	}
 
+	public void handleServer(SPacketRPCEventTexturesChangedV3 packet) {
+		rpcContext.handleTexturesChanged(packet.skinChanged, packet.capeChanged);
+	}
+
+	public void handleServer(SPacketRPCFlowCreditV3 packet) {
+		rpcContext.handleFlowCredit(packet.credits);
+	}
+
 	private EnumVoiceState mapVoiceState(int i) {
 		return switch (i) {
 		default -> EnumVoiceState.SERVER_DISABLE;
@@ -27,7 +27,12 @@ public class DataSerializationContext {
 	public final ReusableByteArrayOutputStream byteOutputStreamSingleton = new ReusableByteArrayOutputStream();
 	public final DataInputStream inputStreamSingleton = new DataInputStream(byteInputStreamSingleton);
 	public final DataOutputStream outputStreamSingleton = new DataOutputStream(byteOutputStreamSingleton);
-	public final byte[] outputTempBuffer = new byte[512];
+	public byte[] outputTempBuffer = new byte[512];
+
+	public static final int MAX_TEMP_BUFFER = 65536;
+
+	private static final ThreadLocal<DataSerializationContext> THREAD_LOCAL = ThreadLocal
+			.withInitial(DataSerializationContext::new);
 
 	private volatile int inputStreamLock;
 	private volatile int outputStreamLock;
@@ -61,4 +66,31 @@ public class DataSerializationContext {
 		OS_LOCK_HANDLE.setRelease(this, 0);
 	}
 
+	public final DataSerializationContext aquireInputContext() {
+		if (aquireInputStream()) {
+			return this;
+		}
+		DataSerializationContext ctx = THREAD_LOCAL.get();
+		return ctx.aquireInputStream() ? ctx : null;
+	}
+
+	public final DataSerializationContext aquireOutputContext() {
+		if (aquireOutputStream()) {
+			return this;
+		}
+		DataSerializationContext ctx = THREAD_LOCAL.get();
+		return ctx.aquireOutputStream() ? ctx : null;
+	}
+
+	public final byte[] returnTempBufferCopied() {
+		byte[] ret = byteOutputStreamSingleton.returnBufferCopied();
+		if (byteOutputStreamSingleton.hasGrown()) {
+			byte[] grown = byteOutputStreamSingleton.getCurrentBuffer();
+			if (grown.length <= MAX_TEMP_BUFFER) {
+				outputTempBuffer = grown;
+			}
+		}
+		return ret;
+	}
+
 }
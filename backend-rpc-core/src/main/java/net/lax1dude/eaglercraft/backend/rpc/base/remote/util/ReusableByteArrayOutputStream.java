@@ -44,6 +44,10 @@ public class ReusableByteArrayOutputStream extends OutputStream {
 		return Arrays.copyOf(currentBuffer, idx);
 	}
 
+	public byte[] getCurrentBuffer() {
+		return currentBuffer;
+	}
+
 	private void growBuffer(int i) {
 		int ii = currentBuffer.length;
 		int iii = i - ii;
@@ -46,7 +46,8 @@ abstract class SerializationContext {
 		if (packet.length == 0) {
 			throw new IOException("Empty packet recieved");
 		}
-		if (ctx.aquireInputStream()) {
+		DataSerializationContext ctx = this.ctx.aquireInputContext();
+		if (ctx != null) {
 			try {
 				ctx.byteInputStreamSingleton.feedBuffer(packet);
 				return protocol.readPacket(ctx.inputStreamSingleton, EaglerVCProtocol.CLIENT_TO_SERVER);
@@ -64,13 +65,14 @@ abstract class SerializationContext {
 	byte[] serialize(EaglerVCProtocol protocol, EaglerVCPacket packet) throws IOException {
 		int len = packet.length() + 1;
 		byte[] ret;
-		if (ctx.aquireOutputStream()) {
+		DataSerializationContext ctx = this.ctx.aquireOutputContext();
+		if (ctx != null) {
 			try {
 				ctx.byteOutputStreamSingleton.feedBuffer(len == 0 ? ctx.outputTempBuffer : new byte[len]);
 				protocol.writePacket(ctx.outputStreamSingleton, EaglerBackendRPCProtocol.SERVER_TO_CLIENT, packet);
-				ret = len == 0 ? ctx.byteOutputStreamSingleton.returnBufferCopied()
-						: ctx.byteOutputStreamSingleton.returnBuffer();
+				ret = len == 0 ? ctx.returnTempBufferCopied() : ctx.byteOutputStreamSingleton.returnBuffer();
 			} finally {
+				ctx.byteOutputStreamSingleton.feedBuffer(null);
 				ctx.releaseOutputStream();
 			}
 		} else {
@@ -107,6 +107,53 @@ public enum EaglerBackendRPCProtocol {
 			define_SERVER_(0x0C, SPacketRPCEventWebViewOpenClose.class),
 			define_SERVER_(0x0D, SPacketRPCEventWebViewMessage.class),
 			define_SERVER_(0x0E, SPacketRPCEventToggledVoice.class)
+	), V3(3,
+			// client-to-server
+			define_CLIENT_(0x01, CPacketRPCDisabled.class),
+			define_CLIENT_(0x02, CPacketRPCRequestPlayerInfo.class),
+			define_CLIENT_(0x03, CPacketRPCSubscribeEvents.class),
+			define_CLIENT_(0x04, CPacketRPCSetPlayerSkin.class),
+			define_CLIENT_(0x05, CPacketRPCSetPlayerSkinPresetV2.class),
+			define_CLIENT_(0x06, CPacketRPCSetPlayerCape.class),
+			define_CLIENT_(0x07, CPacketRPCSetPlayerCapePresetV2.class),
+			define_CLIENT_(0x08, CPacketRPCSetPlayerTexturesV2.class),
+			define_CLIENT_(0x09, CPacketRPCSetPlayerTexturesPresetV2.class),
+			define_CLIENT_(0x0A, CPacketRPCSetPlayerCookie.class),
+			define_CLIENT_(0x0B, CPacketRPCSetPlayerFNAWEn.class),
+			define_CLIENT_(0x0C, CPacketRPCSetPauseMenuCustom.class),
+			define_CLIENT_(0x0D, CPacketRPCRedirectPlayer.class),
+			define_CLIENT_(0x0E, CPacketRPCResetPlayerMulti.class),
+			define_CLIENT_(0x0F, CPacketRPCSendWebViewMessage.class),
+			define_CLIENT_(0x10, CPacketRPCNotifIconRegister.class),
+			define_CLIENT_(0x11, CPacketRPCNotifIconRelease.class),
+			define_CLIENT_(0x12, CPacketRPCNotifBadgeShow.class),
+			define_CLIENT_(0x13, CPacketRPCNotifBadgeHide.class),
+			define_CLIENT_(0x14, CPacketRPCSendRawMessage.class),
+			define_CLIENT_(0x15, CPacketRPCInjectRawBinaryFrameV2.class),
+			define_CLIENT_(0x16, CPacketRPCDisplayWebViewURLV2.class),
+			define_CLIENT_(0x17, CPacketRPCDisplayWebViewBlobV2.class),
+			define_CLIENT_(0x18, CPacketRPCDisplayWebViewAliasV2.class),
+			define_CLIENT_(0x19, CPacketRPCGetSkinByURLV2.class),
+			define_CLIENT_(0x1A, CPacketRPCGetCapeByURLV2.class),
+			define_CLIENT_(0x1B, CPacketRPCMultiTargetV3.class),
+			
+			// server-to-client
+			define_SERVER_(0x01, SPacketRPCResponseTypeNull.class),
+			define_SERVER_(0x02, SPacketRPCResponseTypeBytes.class),
+			define_SERVER_(0x03, SPacketRPCResponseTypeIntegerSingleV2.class),
+			define_SERVER_(0x04, SPacketRPCResponseTypeIntegerTupleV2.class),
+			define_SERVER_(0x05, SPacketRPCResponseTypeString.class),
+			define_SERVER_(0x06, SPacketRPCResponseTypeBrandDataV2.class),
+			define_SERVER_(0x07, SPacketRPCResponseTypeUUID.class),
+			define_SERVER_(0x08, SPacketRPCResponseTypeCookie.class),
+			define_SERVER_(0x09, SPacketRPCResponseTypeVoiceStatus.class),
+			define_SERVER_(0x0A, SPacketRPCResponseTypeWebViewStatusV2.class),
+			define_SERVER_(0x0B, SPacketRPCResponseTypeError.class),
+			define_SERVER_(0x0C, SPacketRPCEventWebViewOpenClose.class),
+			define_SERVER_(0x0D, SPacketRPCEventWebViewMessage.class),
+			define_SERVER_(0x0E, SPacketRPCEventToggledVoice.class),
+			define_SERVER_(0x0F, SPacketRPCEventTexturesChangedV3.class),
+			define_SERVER_(0x10, SPacketRPCFlowCreditV3.class)
 	);
 
 	public static final String CHANNEL_NAME = "EAG|1.8-RPC";
@@ -201,6 +248,7 @@ public enum EaglerBackendRPCProtocol {
 		case 0 -> INIT;
 		case 1 -> V1;
 		case 2 -> V2;
+		case 3 -> V3;
 		default -> null;
 		};
 	}
@@ -129,6 +129,10 @@ public interface EaglerBackendRPCHandler {
 		throw new WrongRPCPacketException();
 	}
 
+	default void handleClient(CPacketRPCMultiTargetV3 packet) {
+		throw new WrongRPCPacketException();
+	}
+
 	default void handleServer(SPacketRPCEnabledSuccess packet) {
 		throw new WrongRPCPacketException();
 	}
@@ -205,4 +209,12 @@ public interface EaglerBackendRPCHandler {
 		throw new WrongRPCPacketException();
 	}
 
+	default void handleServer(SPacketRPCEventTexturesChangedV3 packet) {
+		throw new WrongRPCPacketException();
+	}
+
+	default void handleServer(SPacketRPCFlowCreditV3 packet) {
+		throw new WrongRPCPacketException();
+	}
+
 }
\ No newline at end of file
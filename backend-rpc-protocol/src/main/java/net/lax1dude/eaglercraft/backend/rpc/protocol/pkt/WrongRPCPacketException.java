@@ -26,4 +26,8 @@ public class WrongRPCPacketException extends RuntimeException {
 		super(msg);
 	}
 
+	public WrongRPCPacketException(String msg, Throwable cause) {
+		super(msg, cause);
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.UUID;
+
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.EaglerBackendRPCHandler;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.EaglerBackendRPCPacket;
+
+public class CPacketRPCMultiTargetV3 implements EaglerBackendRPCPacket {
+
+	public static final int MAX_TARGETS = 1024;
+
+	public Collection<UUID> targets;
+	public byte[] payload;
+
+	public CPacketRPCMultiTargetV3() {
+	}
+
+	public CPacketRPCMultiTargetV3(Collection<UUID> targets, byte[] payload) {
+		this.targets = targets;
+		this.payload = payload;
+	}
+
+	@Override
+	public void readPacket(DataInput buffer) throws IOException {
+		int cnt = buffer.readUnsignedShort();
+		if (cnt > MAX_TARGETS) {
+			throw new IOException("Too many targets in packet! (Max is " + MAX_TARGETS + ", got " + cnt + " total)");
+		}
+		targets = new ArrayList<>(cnt);
+		for (int i = 0; i < cnt; ++i) {
+			targets.add(new UUID(buffer.readLong(), buffer.readLong()));
+		}
+		payload = new byte[buffer.readUnsignedShort()];
+		buffer.readFully(payload);
+	}
+
+	@Override
+	public void writePacket(DataOutput buffer) throws IOException {
+		int cnt = targets.size();
+		if (cnt > MAX_TARGETS) {
+			throw new IOException("Too many targets in packet! (Max is " + MAX_TARGETS + ", got " + cnt + " total)");
+		}
+		if (payload.length > 65535) {
+			throw new IOException("Payload cannot be longer than 65535 bytes!");
+		}
+		buffer.writeShort(cnt);
+		if (targets instanceof RandomAccess) {
+			List<UUID> vigg = (List<UUID>) targets;
+			for (int i = 0; i < cnt; ++i) {
+				UUID uuid = vigg.get(i);
+				buffer.writeLong(uuid.getMostSignificantBits());
+				buffer.writeLong(uuid.getLeastSignificantBits());
+			}
+		} else {
+			for (UUID uuid : targets) {
+				buffer.writeLong(uuid.getMostSignificantBits());
+				buffer.writeLong(uuid.getLeastSignificantBits());
+			}
+		}
+		buffer.writeShort(payload.length);
+		buffer.write(payload);
+	}
+
+	@Override
+	public void handlePacket(EaglerBackendRPCHandler handler) {
+		handler.handleClient(this);
+	}
+
+	@Override
+	public int length() {
+		return 4 + (targets.size() << 4) + payload.length;
+	}
+
+}
@@ -28,6 +28,7 @@ public class CPacketRPCSubscribeEvents implements EaglerBackendRPCPacket {
 	public static final int SUBSCRIBE_EVENT_WEBVIEW_OPEN_CLOSE = 1;
 	public static final int SUBSCRIBE_EVENT_WEBVIEW_MESSAGE = 2;
 	public static final int SUBSCRIBE_EVENT_TOGGLE_VOICE = 4;
+	public static final int SUBSCRIBE_EVENT_TEXTURES_CHANGED_V3 = 8;
 
 	public int eventsToEnable;
 
@@ -51,6 +51,7 @@ public class SPacketRPCEnabledSuccessEaglerV2 implements EaglerBackendRPCPacket
 	public int eaglerStandardCaps;
 	public byte[] eaglerStandardCapsVersions;
 	public Collection<ExtCapability> eaglerExtendedCaps;
+	public long proxyInstanceId;
 
 	public SPacketRPCEnabledSuccessEaglerV2() {
 	}
@@ -69,6 +70,14 @@ public class SPacketRPCEnabledSuccessEaglerV2 implements EaglerBackendRPCPacket
 		this.eaglerExtendedCaps = eaglerExtendedCaps;
 	}
 
+	public SPacketRPCEnabledSuccessEaglerV2(int selectedRPCProtocol, int minecraftProtocol, int supervisorNode,
+			int eaglerHandshake, int eaglerProtocol, int eaglerRewindProtocol, int eaglerStandardCaps,
+			byte[] eaglerStandardCapsVersions, Collection<ExtCapability> eaglerExtendedCaps, long proxyInstanceId) {
+		this(selectedRPCProtocol, minecraftProtocol, supervisorNode, eaglerHandshake, eaglerProtocol,
+				eaglerRewindProtocol, eaglerStandardCaps, eaglerStandardCapsVersions, eaglerExtendedCaps);
+		this.proxyInstanceId = proxyInstanceId;
+	}
+
 	@Override
 	public void readPacket(DataInput buffer) throws IOException {
 		selectedRPCProtocol = buffer.readUnsignedShort();
@@ -94,6 +103,9 @@ public class SPacketRPCEnabledSuccessEaglerV2 implements EaglerBackendRPCPacket
 		} else {
 			eaglerExtendedCaps = null;
 		}
+		if (selectedRPCProtocol >= 3) {
+			proxyInstanceId = buffer.readLong();
+		}
 	}
 
 	@Override
@@ -133,6 +145,9 @@ public class SPacketRPCEnabledSuccessEaglerV2 implements EaglerBackendRPCPacket
 		} else {
 			buffer.writeByte(0);
 		}
+		if (selectedRPCProtocol >= 3) {
+			buffer.writeLong(proxyInstanceId);
+		}
 	}
 
 	@Override
@@ -146,6 +161,9 @@ public class SPacketRPCEnabledSuccessEaglerV2 implements EaglerBackendRPCPacket
 		if (eaglerExtendedCaps != null) {
 			l += eaglerExtendedCaps.size() * 17;
 		}
+		if (selectedRPCProtocol >= 3) {
+			l += 8;
+		}
 		return l;
 	}
 
@@ -28,6 +28,7 @@ public class SPacketRPCEnabledSuccessVanillaV2 implements EaglerBackendRPCPacket
 	public int selectedRPCProtocol;
 	public int minecraftProtocol;
 	public int supervisorNode;
+	public long proxyInstanceId;
 
 	public SPacketRPCEnabledSuccessVanillaV2() {
 	}
@@ -38,11 +39,22 @@ public class SPacketRPCEnabledSuccessVanillaV2 implements EaglerBackendRPCPacket
 		this.supervisorNode = supervisorNode;
 	}
 
+	public SPacketRPCEnabledSuccessVanillaV2(int selectedRPCProtocol, int minecraftProtocol, int supervisorNode,
+			long proxyInstanceId) {
+		this.selectedRPCProtocol = selectedRPCProtocol;
+		this.minecraftProtocol = minecraftProtocol;
+		this.supervisorNode = supervisorNode;
+		this.proxyInstanceId = proxyInstanceId;
+	}
+
 	@Override
 	public void readPacket(DataInput buffer) throws IOException {
 		selectedRPCProtocol = buffer.readUnsignedShort();
 		minecraftProtocol = buffer.readInt();
 		supervisorNode = buffer.readInt();
+		if (selectedRPCProtocol >= 3) {
+			proxyInstanceId = buffer.readLong();
+		}
 	}
 
 	@Override
@@ -50,6 +62,9 @@ public class SPacketRPCEnabledSuccessVanillaV2 implements EaglerBackendRPCPacket
 		buffer.writeShort(selectedRPCProtocol);
 		buffer.writeInt(minecraftProtocol);
 		buffer.writeInt(supervisorNode);
+		if (selectedRPCProtocol >= 3) {
+			buffer.writeLong(proxyInstanceId);
+		}
 	}
 
 	@Override
@@ -59,7 +74,7 @@ public class SPacketRPCEnabledSuccessVanillaV2 implements EaglerBackendRPCPacket
 
 	@Override
 	public int length() {
-		return 10;
+		return selectedRPCProtocol >= 3 ? 18 : 10;
 	}
 
 }
\ No newline at end of file
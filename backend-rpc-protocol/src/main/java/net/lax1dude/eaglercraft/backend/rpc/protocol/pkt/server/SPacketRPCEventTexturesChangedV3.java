@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.server;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.EaglerBackendRPCHandler;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.EaglerBackendRPCPacket;
+
+public class SPacketRPCEventTexturesChangedV3 implements EaglerBackendRPCPacket {
+
+	public boolean skinChanged;
+	public boolean capeChanged;
+
+	public SPacketRPCEventTexturesChangedV3() {
+	}
+
+	public SPacketRPCEventTexturesChangedV3(boolean skinChanged, boolean capeChanged) {
+		this.skinChanged = skinChanged;
+		this.capeChanged = capeChanged;
+	}
+
+	@Override
+	public void readPacket(DataInput buffer) throws IOException {
+		int flags = buffer.readUnsignedByte();
+		skinChanged = (flags & 1) != 0;
+		capeChanged = (flags & 2) != 0;
+	}
+
+	@Override
+	public void writePacket(DataOutput buffer) throws IOException {
+		int flags = 0;
+		if (skinChanged)
+			flags |= 1;
+		if (capeChanged)
+			flags |= 2;
+		buffer.writeByte(flags);
+	}
+
+	@Override
+	public void handlePacket(EaglerBackendRPCHandler handler) {
+		handler.handleServer(this);
+	}
+
+	@Override
+	public int length() {
+		return 1;
+	}
+
+}
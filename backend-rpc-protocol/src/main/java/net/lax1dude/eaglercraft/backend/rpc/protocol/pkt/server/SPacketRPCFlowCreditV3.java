@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.server;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.EaglerBackendRPCHandler;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.EaglerBackendRPCPacket;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCInjectRawBinaryFrameV2;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCMultiTargetV3;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCSendRawMessage;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCSendWebViewMessage;
+
+public class SPacketRPCFlowCreditV3 implements EaglerBackendRPCPacket {
+
+	public static final int WINDOW_SIZE = 262144;
+	public static final int CREDIT_THRESHOLD = WINDOW_SIZE / 4;
+
+	public static int packetCost(EaglerBackendRPCPacket packet) {
+		if (packet instanceof CPacketRPCSendRawMessage pkt) {
+			return pkt.messageData.length;
+		} else if (packet instanceof CPacketRPCInjectRawBinaryFrameV2 pkt) {
+			return pkt.messageData.length;
+		} else if (packet instanceof CPacketRPCSendWebViewMessage pkt) {
+			return pkt.messageContent.length;
+		} else if (packet instanceof CPacketRPCMultiTargetV3 pkt) {
+			// The proxy delivers the payload once per target
+			return (int) Math.min((long) pkt.payload.length * pkt.targets.size(), WINDOW_SIZE);
+		} else {
+			return 0;
+		}
+	}
+
+	public static int requiredCredit(int cost) {
+		return Math.min(cost, WINDOW_SIZE - CREDIT_THRESHOLD);
+	}
+
+	public int credits;
+
+	public SPacketRPCFlowCreditV3() {
+	}
+
+	public SPacketRPCFlowCreditV3(int credits) {
+		this.credits = credits;
+	}
+
+	@Override
+	public void readPacket(DataInput buffer) throws IOException {
+		credits = buffer.readInt();
+	}
+
+	@Override
+	public void writePacket(DataOutput buffer) throws IOException {
+		buffer.writeInt(credits);
+	}
+
+	@Override
+	public void handlePacket(EaglerBackendRPCHandler handler) {
+		handler.handleServer(this);
+	}
+
+	@Override
+	public int length() {
+		return 4;
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.rpc.protocol.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+public class RequestIdTable<V> {
+
+	private static final VarHandle SLOT_HANDLE = MethodHandles.arrayElementVarHandle(Object[].class);
+	private static final VarHandle MAX_PROBE_HANDLE;
+	private static final VarHandle OVERFLOW_COUNT_HANDLE;
+
+	static {
+		try {
+			MethodHandles.Lookup l = MethodHandles.lookup();
+			MAX_PROBE_HANDLE = l.findVarHandle(RequestIdTable.class, "maxProbe", int.class);
+			OVERFLOW_COUNT_HANDLE = l.findVarHandle(RequestIdTable.class, "overflowCount", int.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final Object[] slots;
+	private final int mask;
+	private final ToIntFunction<V> keyFunc;
+
+	private volatile int maxProbe;
+	private volatile int overflowCount;
+	private Map<Integer, V> overflow;
+
+	public RequestIdTable(int window, ToIntFunction<V> keyFunc) {
+		if (window <= 0 || window > (1 << 30)) {
+			throw new IllegalArgumentException("Invalid request window: " + window);
+		}
+		int cap = Integer.highestOneBit(window - 1) << 1;
+		if (cap == 0) {
+			cap = 1;
+		}
+		this.slots = new Object[cap];
+		this.mask = cap - 1;
+		this.keyFunc = keyFunc;
+	}
+
+	public int capacity() {
+		return slots.length;
+	}
+
+	public void put(V value) {
+		int key = keyFunc.applyAsInt(value);
+		for (int i = 0, j; i < slots.length; ++i) {
+			j = (key + i) & mask;
+			if (SLOT_HANDLE.compareAndSet(slots, j, null, value)) {
+				if (i > 0) {
+					int p = maxProbe;
+					while (p < i && !MAX_PROBE_HANDLE.weakCompareAndSet(this, p, i)) {
+						p = maxProbe;
+					}
+				}
+				return;
+			}
+		}
+		// More requests in flight than the table was sized for
+		synchronized (this) {
+			if (overflow == null) {
+				overflow = new HashMap<>();
+			}
+			if (overflow.put(key, value) == null) {
+				OVERFLOW_COUNT_HANDLE.getAndAdd(this, 1);
+			}
+		}
+	}
+
+	public V get(int key) {
+		int p = maxProbe;
+		for (int i = 0; i <= p; ++i) {
+			V v = (V) SLOT_HANDLE.getAcquire(slots, (key + i) & mask);
+			if (v != null && keyFunc.applyAsInt(v) == key) {
+				return v;
+			}
+		}
+		if (overflowCount > 0) {
+			synchronized (this) {
+				if (overflow != null) {
+					return overflow.get(key);
+				}
+			}
+		}
+		return null;
+	}
+
+	public boolean remove(int key, V value) {
+		int p = maxProbe;
+		for (int i = 0; i <= p; ++i) {
+			if (SLOT_HANDLE.compareAndSet(slots, (key + i) & mask, value, null)) {
+				return true;
+			}
+		}
+		if (overflowCount > 0) {
+			synchronized (this) {
+				if (overflow != null && overflow.remove(key, value)) {
+					OVERFLOW_COUNT_HANDLE.getAndAdd(this, -1);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	public void drain(Consumer<V> consumer) {
+		for (int i = 0; i < slots.length; ++i) {
+			V v = (V) SLOT_HANDLE.getAndSet(slots, i, null);
+			if (v != null) {
+				consumer.accept(v);
+			}
+		}
+		if (overflowCount > 0) {
+			Object[] arr;
+			synchronized (this) {
+				if (overflow == null) {
+					return;
+				}
+				arr = overflow.values().toArray();
+				overflow.clear();
+				OVERFLOW_COUNT_HANDLE.setVolatile(this, 0);
+			}
+			for (int i = 0; i < arr.length; ++i) {
+				consumer.accept((V) arr[i]);
+			}
+		}
+	}
+
+}
@@ -117,8 +117,10 @@ import net.lax1dude.eaglercraft.backend.server.util.GsonLenient;
 import net.lax1dude.eaglercraft.backend.server.util.Util;
 import net.lax1dude.eaglercraft.backend.skin_cache.HTTPClient;
 import net.lax1dude.eaglercraft.backend.skin_cache.IHTTPClient;
+import net.lax1dude.eaglercraft.backend.skin_cache.ISkinCacheDatastore;
 import net.lax1dude.eaglercraft.backend.skin_cache.SkinCacheDatastore;
 import net.lax1dude.eaglercraft.backend.skin_cache.SkinCacheDownloader;
+import net.lax1dude.eaglercraft.backend.skin_cache.SkinCacheFileDatastore;
 import net.lax1dude.eaglercraft.backend.skin_cache.SkinCacheService;
 import net.lax1dude.eaglercraft.backend.util.EaglerDrivers;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePluginMessageProtocol;
@@ -164,6 +166,7 @@ public class EaglerXServer<PlayerObject> implements IEaglerXServerImpl<PlayerObj
 	private SkinService<PlayerObject> skinService;
 	private DeferredStartSkinCache skinCacheService;
 	private Connection skinCacheJDBCHandle;
+	private ISkinCacheDatastore skinCacheDatastore;
 	private IVoiceServiceImpl<PlayerObject> voiceService;
 	private NotificationService<PlayerObject> notificationService;
 	private WebViewService<PlayerObject> webViewService;
@@ -265,10 +268,12 @@ public class EaglerXServer<PlayerObject> implements IEaglerXServerImpl<PlayerObj
 		isEaglerPlayerProperyEnabled = config.getSettings().isEnableIsEaglerPlayerProperty();
 
 		eaglerPlayersVanillaSkin = null;
-		File vanillaSkinCache = new File("eagler_vanilla_skin_cache.json");
+		File vanillaSkinCache = new File("eagler_vanilla_skin_cache.dat");
+		new File("eagler_vanilla_skin_cache.json").delete();
 		String vanillaSkin = config.getSettings().getEaglerPlayersVanillaSkin();
 		if (vanillaSkin != null) {
-			SimpleProfileCache.loadProfile(this, vanillaSkinCache, vanillaSkin, 7l * 86400000l, (res) -> {
+			SimpleProfileCache profileCache = new SimpleProfileCache(logger(), vanillaSkinCache, 7l * 86400000l);
+			profileCache.loadProfile(this, vanillaSkin, (res) -> {
 				if (res != null) {
 					logger().info("Loaded vanilla profile: \"" + vanillaSkin + "\"");
 					eaglerPlayersVanillaSkin = res;
@@ -424,33 +429,49 @@ public class EaglerXServer<PlayerObject> implements IEaglerXServerImpl<PlayerObj
 
 		if (skinCacheService != null) {
 			ConfigDataSkinService skinConf = config.getSettings().getSkinService();
-			logger().info("Connecting to skin cache database \""
-					+ Util.sanitizeJDBCURIForLogs(skinConf.getSkinCacheDBURI()) + "\"...");
 			int threadCount = skinConf.getSkinCacheThreadCount();
 			if (threadCount <= 0) {
 				threadCount = Runtime.getRuntime().availableProcessors();
 			}
-			SkinCacheDatastore datastore;
-			try {
-				skinCacheJDBCHandle = EaglerDrivers.connectToDatabase(skinConf.getSkinCacheDBURI(),
-						skinConf.getSkinCacheDriverClass(), skinConf.getSkinCacheDriverPath(), new Properties(),
-						platform.getDataFolder(), logger());
-				datastore = new SkinCacheDatastore(skinCacheJDBCHandle, threadCount,
-						skinConf.getSkinCacheDiskKeepObjectsDays(), skinConf.getSkinCacheDiskMaxObjects(),
-						Math.min(skinConf.getSkinCacheCompressionLevel(), 9), skinConf.isSkinCacheSQLiteCompatible(),
-						logger());
-				logger().info("Connected to skin cache database successfully!");
-			} catch (SQLException e) {
-				logger().error("Caught an exception while initializing the skin cache database", e);
-				if (skinCacheJDBCHandle != null) {
-					try {
-						skinCacheJDBCHandle.close();
-					} catch (SQLException ee) {
+			ISkinCacheDatastore datastore;
+			if (SkinCacheFileDatastore.isFileURI(skinConf.getSkinCacheDBURI())) {
+				File dir = SkinCacheFileDatastore.getFileFromURI(skinConf.getSkinCacheDBURI());
+				logger().info("Opening skin cache directory \"" + dir.getAbsolutePath() + "\"...");
+				try {
+					datastore = new SkinCacheFileDatastore(dir, threadCount,
+							skinConf.getSkinCacheDiskKeepObjectsDays(), skinConf.getSkinCacheDiskMaxObjects(),
+							skinConf.getSkinCacheDiskMaxMegabytes() * 1048576l,
+							Math.min(skinConf.getSkinCacheCompressionLevel(), 9), logger());
+					logger().info("Opened skin cache directory successfully!");
+				} catch (IOException e) {
+					logger().error("Caught an exception while initializing the skin cache directory", e);
+					return;
+				}
+			} else {
+				logger().info("Connecting to skin cache database \""
+						+ Util.sanitizeJDBCURIForLogs(skinConf.getSkinCacheDBURI()) + "\"...");
+				try {
+					skinCacheJDBCHandle = EaglerDrivers.connectToDatabase(skinConf.getSkinCacheDBURI(),
+							skinConf.getSkinCacheDriverClass(), skinConf.getSkinCacheDriverPath(), new Properties(),
+							platform.getDataFolder(), logger());
+					datastore = new SkinCacheDatastore(skinCacheJDBCHandle, threadCount,
+							skinConf.getSkinCacheDiskKeepObjectsDays(), skinConf.getSkinCacheDiskMaxObjects(),
+							Math.min(skinConf.getSkinCacheCompressionLevel(), 9),
+							skinConf.isSkinCacheSQLiteCompatible(), logger());
+					logger().info("Connected to skin cache database successfully!");
+				} catch (SQLException e) {
+					logger().error("Caught an exception while initializing the skin cache database", e);
+					if (skinCacheJDBCHandle != null) {
+						try {
+							skinCacheJDBCHandle.close();
+						} catch (SQLException ee) {
+						}
+						skinCacheJDBCHandle = null;
 					}
-					skinCacheJDBCHandle = null;
+					return;
 				}
-				return;
 			}
+			skinCacheDatastore = datastore;
 			skinCacheService.setDelegate(new SkinCacheService(
 					new SkinCacheDownloader(httpClient, skinConf.getValidSkinDownloadURLs()), datastore,
 					skinConf.getSkinCacheMemoryKeepSeconds(), skinConf.getSkinCacheMemoryMaxObjects(), logger()));
@@ -484,6 +505,10 @@ public class EaglerXServer<PlayerObject> implements IEaglerXServerImpl<PlayerObj
 		skinService.handleDisabled();
 
 		if (skinCacheService != null) {
+			if (skinCacheDatastore != null) {
+				skinCacheDatastore.dispose();
+				skinCacheDatastore = null;
+			}
 			if (skinCacheJDBCHandle != null) {
 				logger().info("Disconnecting from skin cache database \""
 						+ Util.sanitizeJDBCURIForLogs(config.getSettings().getSkinService().getSkinCacheDBURI())
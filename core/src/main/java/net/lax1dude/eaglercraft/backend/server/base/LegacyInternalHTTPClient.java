@@ -18,6 +18,7 @@ package net.lax1dude.eaglercraft.backend.server.base;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -42,6 +43,12 @@ public class LegacyInternalHTTPClient implements IHTTPClient {
 
 	@Override
 	public void asyncRequest(String method, URI uri, Consumer<Response> responseCallback) {
+		asyncRequest(method, uri, null, null, responseCallback);
+	}
+
+	@Override
+	public void asyncRequest(String method, URI uri, String contentType, byte[] body,
+			Consumer<Response> responseCallback) {
 		String scheme = uri.getScheme();
 		if (!scheme.equals("http") && !scheme.equals("https")) {
 			responseCallback.accept(new Response(new UnsupportedOperationException("Unsupported scheme: " + scheme)));
@@ -58,8 +65,19 @@ public class LegacyInternalHTTPClient implements IHTTPClient {
 			Response res;
 			try {
 				HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+				conn.setRequestMethod(method);
 				conn.addRequestProperty("user-agent", userAgent);
-				conn.connect();
+				if (body != null) {
+					conn.setDoOutput(true);
+					conn.addRequestProperty("content-type", contentType);
+					conn.setFixedLengthStreamingMode(body.length);
+					conn.connect();
+					try (OutputStream os = conn.getOutputStream()) {
+						os.write(body);
+					}
+				} else {
+					conn.connect();
+				}
 				ByteBuf buf = Unpooled.buffer(1024);
 				try {
 					try (InputStream is = conn.getInputStream()) {
@@ -153,18 +153,21 @@ public class ConfigDataSettings {
 		private final int skinCacheMemoryMaxObjects;
 		private final int skinCacheDiskKeepObjectsDays;
 		private final int skinCacheDiskMaxObjects;
+		private final int skinCacheDiskMaxMegabytes;
 		private final int skinCacheAntagonistsRatelimit;
 		private final boolean enableFNAWSkinModelsGlobal;
 		private final Set<String> enableFNAWSkinModelsOnServers;
 		private final boolean enableSkinsRestorerApplyHook;
+		private final int skinWarmupMaxConcurrent;
 
 		public ConfigDataSkinService(int skinLookupRatelimit, int capeLookupRatelimit,
 				boolean downloadVanillaSkinsToClients, Set<String> validSkinDownloadURLs, String skinCacheDBURI,
 				String skinCacheDriverClass, String skinCacheDriverPath, boolean skinCacheSQLiteCompatible,
 				int skinCacheThreadCount, int skinCacheCompressionLevel, int skinCacheMemoryKeepSeconds,
 				int skinCacheMemoryMaxObjects, int skinCacheDiskKeepObjectsDays, int skinCacheDiskMaxObjects,
-				int skinCacheAntagonistsRatelimit, boolean enableFNAWSkinModelsGlobal,
-				Set<String> enableFNAWSkinModelsOnServers, boolean enableSkinsRestorerApplyHook) {
+				int skinCacheDiskMaxMegabytes, int skinCacheAntagonistsRatelimit, boolean enableFNAWSkinModelsGlobal,
+				Set<String> enableFNAWSkinModelsOnServers, boolean enableSkinsRestorerApplyHook,
+				int skinWarmupMaxConcurrent) {
 			this.skinLookupRatelimit = skinLookupRatelimit;
 			this.capeLookupRatelimit = capeLookupRatelimit;
 			this.downloadVanillaSkinsToClients = downloadVanillaSkinsToClients;
@@ -179,10 +182,12 @@ public class ConfigDataSettings {
 			this.skinCacheMemoryMaxObjects = skinCacheMemoryMaxObjects;
 			this.skinCacheDiskKeepObjectsDays = skinCacheDiskKeepObjectsDays;
 			this.skinCacheDiskMaxObjects = skinCacheDiskMaxObjects;
+			this.skinCacheDiskMaxMegabytes = skinCacheDiskMaxMegabytes;
 			this.skinCacheAntagonistsRatelimit = skinCacheAntagonistsRatelimit;
 			this.enableFNAWSkinModelsGlobal = enableFNAWSkinModelsGlobal;
 			this.enableFNAWSkinModelsOnServers = enableFNAWSkinModelsOnServers;
 			this.enableSkinsRestorerApplyHook = enableSkinsRestorerApplyHook;
+			this.skinWarmupMaxConcurrent = skinWarmupMaxConcurrent;
 		}
 
 		public int getSkinLookupRatelimit() {
@@ -241,6 +246,10 @@ public class ConfigDataSettings {
 			return skinCacheDiskMaxObjects;
 		}
 
+		public int getSkinCacheDiskMaxMegabytes() {
+			return skinCacheDiskMaxMegabytes;
+		}
+
 		public int getSkinCacheAntagonistsRatelimit() {
 			return skinCacheAntagonistsRatelimit;
 		}
@@ -267,6 +276,10 @@ public class ConfigDataSettings {
 			return enableSkinsRestorerApplyHook;
 		}
 
+		public int getSkinWarmupMaxConcurrent() {
+			return skinWarmupMaxConcurrent;
+		}
+
 	}
 
 	public static class ConfigDataVoiceService {
@@ -17,28 +17,34 @@
 package net.lax1dude.eaglercraft.backend.server.base.config;
 
 import java.net.SocketAddress;
+import java.util.List;
 
 public class ConfigDataSupervisor {
 
 	private final boolean enableSupervisor;
 	private final SocketAddress supervisorAddress;
+	private final List<SocketAddress> supervisorShardAddresses;
 	private final String supervisorSecret;
 	private final int supervisorConnectTimeout;
 	private final int supervisorReadTimeout;
+	private final int supervisorCompressionThreshold;
 	private final String supervisorUnavailableMessage;
 	private final int supervisorSkinAntagonistsRatelimit;
 	private final int supervisorBrandAntagonistsRatelimit;
 	private final boolean supervisorLookupIgnoreV2UUID;
 
-	public ConfigDataSupervisor(boolean enableSupervisor, SocketAddress supervisorAddress, String supervisorSecret,
-			int supervisorConnectTimeout, int supervisorReadTimeout, String supervisorUnavailableMessage,
+	public ConfigDataSupervisor(boolean enableSupervisor, SocketAddress supervisorAddress,
+			List<SocketAddress> supervisorShardAddresses, String supervisorSecret, int supervisorConnectTimeout,
+			int supervisorReadTimeout, int supervisorCompressionThreshold, String supervisorUnavailableMessage,
 			int supervisorSkinAntagonistsRatelimit, int supervisorBrandAntagonistsRatelimit,
 			boolean supervisorLookupIgnoreV2UUID) {
 		this.enableSupervisor = enableSupervisor;
 		this.supervisorAddress = supervisorAddress;
+		this.supervisorShardAddresses = supervisorShardAddresses;
 		this.supervisorSecret = supervisorSecret;
 		this.supervisorConnectTimeout = supervisorConnectTimeout;
 		this.supervisorReadTimeout = supervisorReadTimeout;
+		this.supervisorCompressionThreshold = supervisorCompressionThreshold;
 		this.supervisorUnavailableMessage = supervisorUnavailableMessage;
 		this.supervisorSkinAntagonistsRatelimit = supervisorSkinAntagonistsRatelimit;
 		this.supervisorBrandAntagonistsRatelimit = supervisorBrandAntagonistsRatelimit;
@@ -53,6 +59,10 @@ public class ConfigDataSupervisor {
 		return supervisorAddress;
 	}
 
+	public List<SocketAddress> getSupervisorShardAddresses() {
+		return supervisorShardAddresses;
+	}
+
 	public String getSupervisorSecret() {
 		return supervisorSecret;
 	}
@@ -65,6 +75,10 @@ public class ConfigDataSupervisor {
 		return supervisorReadTimeout;
 	}
 
+	public int getSupervisorCompressionThreshold() {
+		return supervisorCompressionThreshold;
+	}
+
 	public String getSupervisorUnavailableMessage() {
 		return supervisorUnavailableMessage;
 	}
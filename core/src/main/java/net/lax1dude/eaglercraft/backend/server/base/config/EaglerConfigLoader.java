@@ -260,7 +260,9 @@ public class EaglerConfigLoader {
 				"skin_cache_db_uri", "jdbc:sqlite:eagler_skins_cache.db",
 				"Default value is 'jdbc:sqlite:eaglercraft_skins_cache.db', the URI of JDBC "
 				+ "database the cache to use for skins downloaded from Mojang, for MySQL "
-				+ "databases this should include the username and password"
+				+ "databases this should include the username and password. Alternatively "
+				+ "'file:<directory>' can be used to store the cache as compressed files in "
+				+ "a directory instead of a database."
 			);
 			String skinCacheDriverClass = skinService.getString(
 				"skin_cache_db_driver_class", "internal",
@@ -311,6 +313,12 @@ public class EaglerConfigLoader {
 				+ "in the skin cache database before the oldest textures begin to be deleted, "
 				+ "only relevant if download_vanilla_skins_to_clients is enabled."
 			);
+			int skinCacheDiskMaxMegabytes = skinService.getInteger(
+				"skin_cache_disk_max_megabytes", 1024,
+				"Default value is 1024, sets the max total size in megabytes of the texture files "
+				+ "stored when skin_cache_db_uri is a \"file:\" directory before the least recently "
+				+ "used textures begin to be deleted, set to 0 to only limit the number of textures."
+			);
 			int skinCacheAntagonistsRatelimit = skinService.getInteger(
 				"skin_cache_antagonists_ratelimit", 15,
 				"Default value is 15, sets the lockout limit for failing skin lookup requests, "
@@ -337,6 +345,13 @@ public class EaglerConfigLoader {
 				+ "apply events on vanilla players to refresh their skins, usually required for "
 				+ "SkinsRestorer skins to display properly to eagler clients."
 			);
+			int skinWarmupMaxConcurrent = skinService.getInteger(
+				"skin_warmup_max_concurrent", 16,
+				"Default value is 16, sets the maximum number of joining players whose skins "
+				+ "and capes are resolved ahead of time before other players request them, "
+				+ "additional players are queued to avoid flooding the skin cache after a "
+				+ "restart. Set to 0 to disable resolving skins ahead of time."
+			);
 			IEaglerConfSection voiceService = config.getSection("voice_service");
 			if (!voiceService.exists()) {
 				voiceService.setComment("Settings for the eagler voice chat service.");
@@ -474,8 +489,10 @@ public class EaglerConfigLoader {
 							downloadVanillaSkinsToClients, validSkinDownloadURLs, skinCacheDBURI, skinCacheDriverClass,
 							skinCacheDriverPath, skinCacheSQLiteCompatible, skinCacheThreadCount,
 							skinCacheCompressionLevel, skinCacheMemoryKeepSeconds, skinCacheMemoryMaxObjects,
-							skinCacheDiskKeepObjectsDays, skinCacheDiskMaxObjects, skinCacheAntagonistsRatelimit,
-							enableFNAWSkinModelsGlobal, enableFNAWSkinModelsOnServers, enableSkinsRestorerApplyHook),
+							skinCacheDiskKeepObjectsDays, skinCacheDiskMaxObjects, skinCacheDiskMaxMegabytes,
+							skinCacheAntagonistsRatelimit,
+							enableFNAWSkinModelsGlobal, enableFNAWSkinModelsOnServers, enableSkinsRestorerApplyHook,
+							skinWarmupMaxConcurrent),
 					new ConfigDataSettings.ConfigDataVoiceService(enableVoiceService, enableVoiceChatAllServers,
 							enableVoiceChatOnServers, separateVoiceChannelsPerServer, voiceBackendRelayMode,
 							voiceConnectRatelimit, voiceRequestRatelimit, voiceICERatelimit),
@@ -557,6 +574,16 @@ public class EaglerConfigLoader {
 				"supervisor_address", "0.0.0.0:36900",
 				"The ip:port combo of the supervisor server, unix sockets are also supported via unix://"
 			));
+			IEaglerConfList shardAddressList = config.getList("supervisor_shard_addresses");
+			if (!shardAddressList.exists()) {
+				shardAddressList.setComment("Additional supervisor processes to shard player lookups across, leave "
+						+ "empty to use a single supervisor, every proxy must list the shards in the same order and "
+						+ "each supervisor's cluster-shard-id must match its position in this list (starting at 1)");
+			}
+			ImmutableList.Builder<SocketAddress> shardAddresses = ImmutableList.builder();
+			for (String str : shardAddressList.getAsStringList()) {
+				shardAddresses.add(getAddr(str));
+			}
 			String supervisorSecret = config.getString(
 				"supervisor_secret", "",
 				"Login secret, can be left blank, used as a last resort to protect the supervisor "
@@ -570,6 +597,11 @@ public class EaglerConfigLoader {
 				"supervisor_read_timeout", 30000,
 				"Read timeout in milliseconds of the supervisor server connection (default: 30000)"
 			);
+			int supervisorCompressionThreshold = config.getInteger(
+				"supervisor_compression_threshold", -1,
+				"Minimum packet size in bytes to deflate on the supervisor connection, the supervisor "
+				+ "may raise it or refuse compression entirely, set to -1 to disable (default: -1)"
+			);
 			String supervisorUnavailableMessage = config.getString(
 				"supervisor_unavailable_message", "Supervisor server is down",
 				"Kick message displayed when a player attempts to login while the supervisor is down"
@@ -589,10 +621,10 @@ public class EaglerConfigLoader {
 				"Workaround for NPCs, ignores v2 UUIDs in eagler skin, cape, and brand uuid lookups to "
 				+ "avoid antagonist ratelimits (default: true)"
 			);
-			return new ConfigDataSupervisor(enableSupervisor, supervisorAddress, supervisorSecret,
-					supervisorConnectTimeout, supervisorReadTimeout, supervisorUnavailableMessage,
-					supervisorSkinAntagonistsRatelimit, supervisorBrandAntagonistsRatelimit,
-					supervisorLookupIgnoreV2UUID);
+			return new ConfigDataSupervisor(enableSupervisor, supervisorAddress, shardAddresses.build(),
+					supervisorSecret, supervisorConnectTimeout, supervisorReadTimeout, supervisorCompressionThreshold,
+					supervisorUnavailableMessage, supervisorSkinAntagonistsRatelimit,
+					supervisorBrandAntagonistsRatelimit, supervisorLookupIgnoreV2UUID);
 		}) : null;
 		List<ICEServerEntry> iceServers = root.loadConfig("ice_servers", (config) -> {
 			ImmutableList.Builder<ICEServerEntry> builder = ImmutableList.builder();
@@ -101,6 +101,10 @@ public abstract class MessageController {
 		return defragSendDelay > 0;
 	}
 
+	public boolean isMultiPacketSupported() {
+		return protocol.ver >= 4;
+	}
+
 	public void sendPacket(GameMessagePacket packet) {
 		if (defragSendDelay > 0) {
 			synchronized (this) {
@@ -126,6 +130,24 @@ public abstract class MessageController {
 		}
 	}
 
+	public void sendPacketsImmediately(GameMessagePacket[] packets) {
+		try {
+			if (packets.length == 1) {
+				writePacket(packets[0]);
+			} else if (packets.length > 1) {
+				if (isMultiPacketSupported()) {
+					writeMultiPacket(packets);
+				} else {
+					for (int i = 0; i < packets.length; ++i) {
+						writePacket(packets[i]);
+					}
+				}
+			}
+		} catch (IOException ex) {
+			onException(ex);
+		}
+	}
+
 	protected void handlePacket(GameMessagePacket packet) {
 		try {
 			packet.handlePacket(handler);
@@ -38,6 +38,11 @@ public class RewindMessageControllerImpl extends MessageController {
 		this(handle, protocol, handler, handler);
 	}
 
+	@Override
+	public boolean isMultiPacketSupported() {
+		return false;
+	}
+
 	@Override
 	protected void writePacket(GameMessagePacket packet) throws IOException {
 		handle.recieveOutboundMessage(packet);
@@ -68,6 +68,7 @@ public class PipelineTransformer {
 	public static final String HANDLER_REWIND_ENCODER = "eagler-rewind-encoder";
 	public static final String HANDLER_REWIND_INJECTOR = "eagler-rewind-injector";
 	public static final String HANDLER_INJECTED = "eagler-v5-msg-handler";
+	public static final String HANDLER_RPC_WRITABILITY = "eagler-rpc-writability";
 
 	protected static final Set<EnumPipelineComponent> VANILLA_FRAME_DECODERS = EnumSet.of(
 			EnumPipelineComponent.FRAME_DECODER, EnumPipelineComponent.FRAME_ENCODER,
@@ -16,6 +16,10 @@
 
 package net.lax1dude.eaglercraft.backend.server.base.rpc;
 
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 import net.lax1dude.eaglercraft.backend.rpc.protocol.EaglerBackendRPCProtocol;
 import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformLogger;
 import net.lax1dude.eaglercraft.backend.server.base.BasePlayerInstance;
@@ -28,11 +32,16 @@ public class BackendRPCService<PlayerObject> {
 	private final String rpcChannel;
 	private final String readyChannel;
 	final SerializationContext handshakeCtx;
+	final AtomicInteger stalledPlayers = new AtomicInteger();
+	final AtomicLong flowOverruns = new AtomicLong();
+	final long proxyInstanceId;
 
 	public BackendRPCService(EaglerXServer<PlayerObject> server) {
 		this.server = server;
 		this.rpcChannel = BackendChannelHelper.getRPCChannel(server);
 		this.readyChannel = BackendChannelHelper.getReadyChannel(server);
+		// Lets backends batch V3 multi-target packets per proxy, 0 is reserved for unknown
+		this.proxyInstanceId = new SecureRandom().nextLong() | 1l;
 		this.handshakeCtx = new SerializationContext(EaglerBackendRPCProtocol.INIT) {
 			@Override
 			protected IPlatformLogger logger() {
@@ -59,4 +68,12 @@ public class BackendRPCService<PlayerObject> {
 		return readyChannel;
 	}
 
+	public int getStalledPlayerCount() {
+		return stalledPlayers.get();
+	}
+
+	public long getFlowOverrunCount() {
+		return flowOverruns.get();
+	}
+
 }
@@ -16,16 +16,19 @@
 
 package net.lax1dude.eaglercraft.backend.server.base.rpc;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Set;
 import java.util.UUID;
 
+import io.netty.channel.Channel;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.EaglerBackendRPCProtocol;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.EaglerBackendRPCHandler;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.EaglerBackendRPCPacket;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.WrongRPCPacketException;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.*;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.server.*;
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformServer;
 import net.lax1dude.eaglercraft.backend.server.api.EnumWebSocketHeader;
 import net.lax1dude.eaglercraft.backend.server.api.SHA1Sum;
 import net.lax1dude.eaglercraft.backend.server.api.skins.IEaglerPlayerCape;
@@ -33,7 +36,9 @@ import net.lax1dude.eaglercraft.backend.server.api.skins.IEaglerPlayerSkin;
 import net.lax1dude.eaglercraft.backend.server.api.skins.ISkinManagerBase;
 import net.lax1dude.eaglercraft.backend.server.api.voice.EnumVoiceState;
 import net.lax1dude.eaglercraft.backend.server.api.webview.EnumWebViewPerms;
+import net.lax1dude.eaglercraft.backend.server.base.BasePlayerInstance;
 import net.lax1dude.eaglercraft.backend.server.base.DataSerializationContext;
+import net.lax1dude.eaglercraft.backend.server.base.EaglerXServer;
 import net.lax1dude.eaglercraft.backend.server.base.skins.type.InternUtils;
 import net.lax1dude.eaglercraft.backend.server.base.skins.type.MissingCape;
 import net.lax1dude.eaglercraft.backend.server.base.skins.type.MissingSkin;
@@ -42,11 +47,22 @@ public abstract class BasePlayerRPCContext<PlayerObject> extends SerializationCo
 
 	private final EaglerBackendRPCHandler packetHandler;
 
+	protected boolean subscribeTexturesChanged;
+
+	final boolean flowControl;
+	private int flowWindow = SPacketRPCFlowCreditV3.WINDOW_SIZE;
+	private int flowHeld;
+	private int flowAck;
+	private boolean flowStalled;
+	private boolean flowOverrun;
+
 	BasePlayerRPCContext(EaglerBackendRPCProtocol protocol, DataSerializationContext dataCtx) {
 		super(protocol, dataCtx);
+		flowControl = protocol == EaglerBackendRPCProtocol.V3;
 		packetHandler = switch (protocol) {
 		case V1 -> new ServerV1RPCProtocolHandler(this);
 		case V2 -> new ServerV2RPCProtocolHandler(this);
+		case V3 -> new ServerV3RPCProtocolHandler(this);
 		default -> throw new IllegalStateException();
 		};
 	}
@@ -61,6 +77,78 @@ public abstract class BasePlayerRPCContext<PlayerObject> extends SerializationCo
 		manager().sendRPCPacket(packet);
 	}
 
+	boolean acquireFlowCredit(int cost) {
+		synchronized (this) {
+			if (flowWindow >= SPacketRPCFlowCreditV3.requiredCredit(cost)) {
+				flowWindow -= cost;
+				return true;
+			}
+			if (flowOverrun) {
+				manager().service.flowOverruns.incrementAndGet();
+				return false;
+			}
+			flowOverrun = true;
+		}
+		manager().service.flowOverruns.incrementAndGet();
+		BasePlayerInstance<PlayerObject> player = manager().getPlayer();
+		player.getEaglerXServer().logger().warn("Backend server overran the RPC flow control window for player \""
+				+ player.getUsername() + "\", dropping packets until credit is returned");
+		return false;
+	}
+
+	void releaseFlowCredit(int cost) {
+		Channel channel = manager().getPlayer().getChannel();
+		int credit;
+		synchronized (this) {
+			flowHeld += cost;
+			if (flowStalled) {
+				return;
+			}
+			if (!channel.isWritable() && channel.isActive()) {
+				flowStalled = true;
+				manager().service.stalledPlayers.incrementAndGet();
+				channel.eventLoop().execute(() -> manager().watchWritability(channel, this));
+				return;
+			}
+			credit = commitFlowCredit();
+		}
+		if (credit > 0) {
+			sendRPCPacket(new SPacketRPCFlowCreditV3(credit));
+		}
+	}
+
+	boolean recheckFlowCredit(Channel channel) {
+		int credit;
+		synchronized (this) {
+			if (!flowStalled) {
+				return true;
+			}
+			if (!channel.isWritable() && channel.isActive()) {
+				return false;
+			}
+			flowStalled = false;
+			manager().service.stalledPlayers.decrementAndGet();
+			credit = commitFlowCredit();
+		}
+		if (credit > 0) {
+			sendRPCPacket(new SPacketRPCFlowCreditV3(credit));
+		}
+		return true;
+	}
+
+	private int commitFlowCredit() {
+		flowAck += flowHeld;
+		flowHeld = 0;
+		if (flowAck >= SPacketRPCFlowCreditV3.CREDIT_THRESHOLD) {
+			int ret = flowAck;
+			flowAck = 0;
+			flowWindow += ret;
+			flowOverrun = false;
+			return ret;
+		}
+		return 0;
+	}
+
 	protected final RuntimeException notEaglerPlayer() {
 		return new WrongRPCPacketException("Unexpected RPC operation type for non-eagler player");
 	}
@@ -253,6 +341,16 @@ public abstract class BasePlayerRPCContext<PlayerObject> extends SerializationCo
 
 	}
 
+	void handleSetSubscribeTexturesChanged(boolean enable) {
+		subscribeTexturesChanged = enable;
+	}
+
+	void fireTexturesChanged(boolean skin, boolean cape) {
+		if (subscribeTexturesChanged) {
+			sendRPCPacket(new SPacketRPCEventTexturesChangedV3(skin, cape));
+		}
+	}
+
 	void handleSetPlayerSkin(byte[] skinPacket, boolean notifyOthers) {
 		IEaglerPlayerSkin skin = TextureDataHelper.decodeSkinData(skinPacket,
 				getProtocol() == EaglerBackendRPCProtocol.V1);
@@ -382,6 +480,51 @@ public abstract class BasePlayerRPCContext<PlayerObject> extends SerializationCo
 		});
 	}
 
+	void handleMultiTarget(Collection<UUID> targets, byte[] payload) {
+		EaglerBackendRPCPacket packet;
+		try {
+			packet = deserialize(payload);
+		} catch (IOException e) {
+			throw new WrongRPCPacketException("Invalid multi-target RPC payload", e);
+		}
+		if (!isMultiTargetPacket(packet)) {
+			throw new WrongRPCPacketException(
+					"Unexpected multi-target RPC payload type: " + packet.getClass().getSimpleName());
+		}
+		BasePlayerInstance<PlayerObject> self = manager().getPlayer();
+		IPlatformServer<PlayerObject> server = self.getPlatformPlayer().getServer();
+		if (server == null) {
+			return;
+		}
+		EaglerXServer<PlayerObject> eaglerXServer = self.getEaglerXServer();
+		for (UUID uuid : targets) {
+			BasePlayerInstance<PlayerObject> target = eaglerXServer.getPlayerByUUID(uuid);
+			if (target == null || target.getPlatformPlayer().getServer() != server) {
+				continue;
+			}
+			BasePlayerRPCManager<PlayerObject> mgr = target.getPlayerRPCManager();
+			if (mgr == null) {
+				continue;
+			}
+			BasePlayerRPCContext<PlayerObject> ctx = mgr.context;
+			if (ctx != null) {
+				try {
+					packet.handlePacket(ctx.packetHandler());
+				} catch (Exception ex) {
+					mgr.handleException(ex);
+				}
+			}
+		}
+	}
+
+	private static boolean isMultiTargetPacket(EaglerBackendRPCPacket packet) {
+		return packet instanceof CPacketRPCRedirectPlayer || packet instanceof CPacketRPCNotifBadgeShow
+				|| packet instanceof CPacketRPCNotifBadgeHide || packet instanceof CPacketRPCNotifIconRegister
+				|| packet instanceof CPacketRPCNotifIconRelease || packet instanceof CPacketRPCDisplayWebViewURLV2
+				|| packet instanceof CPacketRPCDisplayWebViewBlobV2 || packet instanceof CPacketRPCDisplayWebViewAliasV2
+				|| packet instanceof CPacketRPCSendWebViewMessage;
+	}
+
 	void handleDisabled() {
 		manager().handleDisabled();
 	}
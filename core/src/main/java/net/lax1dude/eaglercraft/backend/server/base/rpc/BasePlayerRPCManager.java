@@ -19,13 +19,19 @@ package net.lax1dude.eaglercraft.backend.server.base.rpc;
 import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.channel.Channel;
 
 import net.lax1dude.eaglercraft.backend.rpc.protocol.EaglerBackendRPCProtocol;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.EaglerBackendRPCPacket;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCEnabled;
 import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.server.SPacketRPCEnabledFailure;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.server.SPacketRPCFlowCreditV3;
 import net.lax1dude.eaglercraft.backend.server.api.voice.EnumVoiceState;
 import net.lax1dude.eaglercraft.backend.server.base.BasePlayerInstance;
+import net.lax1dude.eaglercraft.backend.server.base.pipeline.PipelineTransformer;
 
 public abstract class BasePlayerRPCManager<PlayerObject> {
 
@@ -42,6 +48,7 @@ public abstract class BasePlayerRPCManager<PlayerObject> {
 
 	protected final BackendRPCService<PlayerObject> service;
 	protected volatile BasePlayerRPCContext<PlayerObject> context;
+	private List<BasePlayerRPCContext<PlayerObject>> stalledContexts = null;
 
 	BasePlayerRPCManager(BackendRPCService<PlayerObject> service) {
 		this.service = service;
@@ -86,11 +93,18 @@ public abstract class BasePlayerRPCManager<PlayerObject> {
 				handleException(e);
 				return;
 			}
+			int cost = ctx.flowControl ? SPacketRPCFlowCreditV3.packetCost(packet) : 0;
+			if (cost > 0 && !ctx.acquireFlowCredit(cost)) {
+				return;
+			}
 			try {
 				packet.handlePacket(ctx.packetHandler());
 			} catch (Exception e) {
 				handleException(e);
 			}
+			if (cost > 0) {
+				ctx.releaseFlowCredit(cost);
+			}
 		} else {
 			EaglerBackendRPCPacket packet;
 			try {
@@ -100,16 +114,20 @@ public abstract class BasePlayerRPCManager<PlayerObject> {
 				return;
 			}
 			if (packet instanceof CPacketRPCEnabled pkt) {
-				boolean V1 = false, V2 = false;
+				boolean V1 = false, V2 = false, V3 = false;
 				for (int i : pkt.supportedProtocols) {
 					if (i == 1)
 						V1 = true;
 					if (i == 2)
 						V2 = true;
-					if (V2)
+					if (i == 3)
+						V3 = true;
+					if (V3)
 						break;
 				}
-				if (V2) {
+				if (V3) {
+					handleEnabled(EaglerBackendRPCProtocol.V3);
+				} else if (V2) {
 					handleEnabled(EaglerBackendRPCProtocol.V2);
 				} else if (V1) {
 					handleEnabled(EaglerBackendRPCProtocol.V1);
@@ -134,6 +152,31 @@ public abstract class BasePlayerRPCManager<PlayerObject> {
 		}
 	}
 
+	/**
+	 * IMPORTANT: Do not call this outside of the channel's event loop
+	 */
+	void watchWritability(Channel channel, BasePlayerRPCContext<PlayerObject> ctx) {
+		if (stalledContexts == null) {
+			stalledContexts = new ArrayList<>(2);
+			channel.pipeline().addFirst(PipelineTransformer.HANDLER_RPC_WRITABILITY, new RPCWritabilityHandler(this));
+		}
+		if (!stalledContexts.contains(ctx)) {
+			stalledContexts.add(ctx);
+		}
+		// The channel may have drained before the handler was added
+		handleWritabilityChanged(channel);
+	}
+
+	/**
+	 * IMPORTANT: Do not call this outside of the channel's event loop
+	 */
+	void handleWritabilityChanged(Channel channel) {
+		List<BasePlayerRPCContext<PlayerObject>> lst = stalledContexts;
+		if (lst != null && !lst.isEmpty()) {
+			lst.removeIf((ctx) -> ctx.recheckFlowCredit(channel));
+		}
+	}
+
 	void handleException(Exception ex) {
 		getPlayer().getEaglerXServer().logger().error(
 				"Exception thrown while handling backend RPC packet for \"" + getPlayer().getUsername() + "\"!", ex);
@@ -176,6 +219,13 @@ public abstract class BasePlayerRPCManager<PlayerObject> {
 		}
 	}
 
+	public void fireTexturesChanged(boolean skin, boolean cape) {
+		BasePlayerRPCContext<PlayerObject> ctx = (BasePlayerRPCContext<PlayerObject>) CONTEXT_HANDLE.getAcquire(this);
+		if (ctx != null) {
+			ctx.fireTexturesChanged(skin, cape);
+		}
+	}
+
 	public void fireToggleVoice(EnumVoiceState oldVoiceState, EnumVoiceState newVoiceState) {
 		BasePlayerRPCContext<PlayerObject> ctx = (BasePlayerRPCContext<PlayerObject>) CONTEXT_HANDLE.getAcquire(this);
 		if (ctx != null) {
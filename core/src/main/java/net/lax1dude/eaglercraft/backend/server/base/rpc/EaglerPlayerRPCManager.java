@@ -56,7 +56,8 @@ public class EaglerPlayerRPCManager<PlayerObject> extends BasePlayerRPCManager<P
 					conn.getExtCapabilities().entrySet().stream()
 							.map((etr) -> new SPacketRPCEnabledSuccessEaglerV2.ExtCapability(etr.getKey(),
 									etr.getValue() & 0xFF))
-							.collect(Collectors.toList())));
+							.collect(Collectors.toList()),
+					service.proxyInstanceId));
 		}
 		handleEnableContext(new EaglerPlayerRPCContext<>(this, protocol));
 	}
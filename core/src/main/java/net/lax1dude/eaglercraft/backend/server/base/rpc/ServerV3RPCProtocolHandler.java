@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.rpc;
+
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCMultiTargetV3;
+import net.lax1dude.eaglercraft.backend.rpc.protocol.pkt.client.CPacketRPCSubscribeEvents;
+
+public class ServerV3RPCProtocolHandler extends ServerV2RPCProtocolHandler {
+
+	public ServerV3RPCProtocolHandler(BasePlayerRPCContext<?> rpcContext) {
+		super(rpcContext);
+	}
+
+	public void handleClient(CPacketRPCSubscribeEvents packet) {
+		int bits = packet.eventsToEnable;
+		rpcContext.handleSetSubscribeTexturesChanged(
+				(bits & CPacketRPCSubscribeEvents.SUBSCRIBE_EVENT_TEXTURES_CHANGED_V3) != 0);
+		if (rpcContext.manager().isEaglerPlayer()
+				|| (bits & ~CPacketRPCSubscribeEvents.SUBSCRIBE_EVENT_TEXTURES_CHANGED_V3) != 0) {
+			super.handleClient(packet);
+		}
+	}
+
+	public void handleClient(CPacketRPCMultiTargetV3 packet) {
+		rpcContext.handleMultiTarget(packet.targets, packet.payload);
+	}
+
+}
@@ -46,7 +46,7 @@ public class VanillaPlayerRPCManager<PlayerObject> extends BasePlayerRPCManager<
 			sendRPCInitPacket(new SPacketRPCEnabledFailure(SPacketRPCEnabledFailure.FAILURE_CODE_NOT_EAGLER_PLAYER));
 		} else {
 			sendRPCInitPacket(new SPacketRPCEnabledSuccessVanillaV2(protocol.vers, player.getMinecraftProtocol(),
-					player.getEaglerXServer().getSupervisorService().getNodeId()));
+					player.getEaglerXServer().getSupervisorService().getNodeId(), service.proxyInstanceId));
 			handleEnableContext(new VanillaPlayerRPCContext<>(this, protocol));
 		}
 	}
@@ -16,49 +16,101 @@
 
 package net.lax1dude.eaglercraft.backend.server.base.skins;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.concurrent.TimeUnit;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import net.lax1dude.eaglercraft.backend.server.api.skins.EnumSkinModel;
 import net.lax1dude.eaglercraft.backend.server.api.skins.TexturesResult;
-import net.lax1dude.eaglercraft.backend.server.base.EaglerXServer;
 
 public class GameProfileUtil {
 
+	private static final Cache<String, TexturesResult> texturesCache = CacheBuilder.newBuilder().maximumSize(4096)
+			.expireAfterAccess(30, TimeUnit.MINUTES).concurrencyLevel(16).build();
+
 	public static TexturesResult extractSkinAndCape(String texturesProperty) {
+		TexturesResult ret = texturesCache.getIfPresent(texturesProperty);
+		if (ret == null) {
+			ret = extractSkinAndCape0(texturesProperty);
+			if (ret != null) {
+				texturesCache.put(texturesProperty, ret);
+			}
+		}
+		return ret;
+	}
+
+	private static TexturesResult extractSkinAndCape0(String texturesProperty) {
 		try {
 			String skinURL = null;
 			String skinModel = null;
 			String capeURL = null;
-			String jsonStr = new String(Base64.getDecoder().decode(texturesProperty), StandardCharsets.UTF_8);
-			JsonObject json = EaglerXServer.GSON_PRETTY.fromJson(jsonStr, JsonObject.class).getAsJsonObject("textures");
-			JsonObject skin = json.getAsJsonObject("SKIN");
-			if (skin != null) {
-				JsonElement url = skin.get("url");
-				if (url != null) {
-					skinURL = url.getAsString();
-					if (skinURL != null) {
-						JsonElement el = skin.get("metadata");
-						if (el != null && el.isJsonObject()) {
-							el = el.getAsJsonObject().get("model");
-							if (el != null) {
-								skinModel = el.getAsString();
+			boolean hasTextures = false;
+			JsonReader reader = new JsonReader(new InputStreamReader(
+					Base64.getDecoder().wrap(new ByteArrayInputStream(
+							texturesProperty.getBytes(StandardCharsets.ISO_8859_1))), StandardCharsets.UTF_8));
+			reader.setLenient(true);
+			reader.beginObject();
+			while (reader.hasNext()) {
+				if (!"textures".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_OBJECT) {
+					reader.skipValue();
+					continue;
+				}
+				hasTextures = true;
+				reader.beginObject();
+				while (reader.hasNext()) {
+					String name = reader.nextName();
+					if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+						reader.skipValue();
+					} else if ("SKIN".equals(name)) {
+						reader.beginObject();
+						while (reader.hasNext()) {
+							String name2 = reader.nextName();
+							if ("url".equals(name2)) {
+								skinURL = nextStringOrNull(reader);
+							} else if ("metadata".equals(name2) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+								reader.beginObject();
+								while (reader.hasNext()) {
+									if ("model".equals(reader.nextName())) {
+										skinModel = nextStringOrNull(reader);
+									} else {
+										reader.skipValue();
+									}
+								}
+								reader.endObject();
+							} else {
+								reader.skipValue();
 							}
 						}
+						reader.endObject();
+					} else if ("CAPE".equals(name)) {
+						reader.beginObject();
+						while (reader.hasNext()) {
+							if ("url".equals(reader.nextName())) {
+								capeURL = nextStringOrNull(reader);
+							} else {
+								reader.skipValue();
+							}
+						}
+						reader.endObject();
+					} else {
+						reader.skipValue();
 					}
 				}
+				reader.endObject();
 			}
-			JsonObject cape = json.getAsJsonObject("CAPE");
-			if (cape != null) {
-				JsonElement url = cape.get("url");
-				if (url != null) {
-					capeURL = url.getAsString();
-				}
+			reader.endObject();
+			if (!hasTextures) {
+				return null;
 			}
-			if (skinModel == null) {
+			if (skinURL == null || skinModel == null) {
 				skinModel = "default";
 			}
 			return TexturesResult.create(skinURL, "slim".equals(skinModel) ? EnumSkinModel.ALEX : EnumSkinModel.STEVE,
@@ -68,4 +120,13 @@ public class GameProfileUtil {
 		}
 	}
 
+	private static String nextStringOrNull(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		} else {
+			return reader.nextString();
+		}
+	}
+
 }
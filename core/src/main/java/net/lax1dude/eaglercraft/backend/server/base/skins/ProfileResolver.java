@@ -19,6 +19,11 @@ package net.lax1dude.eaglercraft.backend.server.base.skins;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -27,6 +32,8 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import io.netty.util.ReferenceCountUtil;
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformLogger;
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformScheduler;
 import net.lax1dude.eaglercraft.backend.server.api.skins.IProfileResolver;
 import net.lax1dude.eaglercraft.backend.server.api.skins.TexturesProperty;
 import net.lax1dude.eaglercraft.backend.server.api.skins.TexturesResult;
@@ -38,12 +45,36 @@ import net.lax1dude.eaglercraft.backend.skin_cache.IHTTPClient;
 
 public class ProfileResolver implements IProfileResolver {
 
-	private final EaglerXServer<?> server;
+	static final int BULK_MAX_NAMES = 10;
+	static final long BULK_WINDOW = 50l;
+
+	private static final String MOJANG_API = "https://api.mojang.com";
+	private static final String SERVICES_API = "https://api.minecraftservices.com";
+	private static final String SESSION_API = "https://sessionserver.mojang.com";
+
+	private final IPlatformScheduler scheduler;
+	private final IPlatformLogger logger;
 	private final IHTTPClient httpClient;
+	private final String mojangAPI;
+	private final String servicesAPI;
+	private final String sessionAPI;
+	private final Map<String, List<Consumer<UUID>>> pendingUsernames = new HashMap<>();
+	private final Map<UUID, List<Consumer<TexturesProperty>>> pendingTextures = new HashMap<>();
+	private List<String> queuedUsernames = null;
 
 	public ProfileResolver(EaglerXServer<?> server, IHTTPClient httpClient) {
-		this.server = server;
+		this(server.getPlatform().getScheduler(), server.logger(), httpClient, MOJANG_API, SERVICES_API,
+				SESSION_API);
+	}
+
+	ProfileResolver(IPlatformScheduler scheduler, IPlatformLogger logger, IHTTPClient httpClient, String mojangAPI,
+			String servicesAPI, String sessionAPI) {
+		this.scheduler = scheduler;
+		this.logger = logger;
 		this.httpClient = httpClient;
+		this.mojangAPI = mojangAPI;
+		this.servicesAPI = servicesAPI;
+		this.sessionAPI = sessionAPI;
 	}
 
 	@Override
@@ -54,20 +85,62 @@ public class ProfileResolver implements IProfileResolver {
 		if (callback == null) {
 			throw new NullPointerException("callback");
 		}
-		httpClient.asyncRequest("GET", URI.create("https://api.mojang.com/users/profiles/minecraft/"
+		String key = username.toLowerCase(Locale.US);
+		boolean schedule = false;
+		synchronized (pendingUsernames) {
+			List<Consumer<UUID>> waiting = pendingUsernames.get(key);
+			if (waiting != null) {
+				waiting.add(callback);
+				return;
+			}
+			waiting = new ArrayList<>(2);
+			waiting.add(callback);
+			pendingUsernames.put(key, waiting);
+			if (queuedUsernames == null) {
+				queuedUsernames = new ArrayList<>();
+				schedule = true;
+			}
+			queuedUsernames.add(username);
+		}
+		if (schedule) {
+			scheduler.executeAsyncDelayed(this::flushUsernames, BULK_WINDOW);
+		}
+	}
+
+	private void flushUsernames() {
+		List<String> names;
+		synchronized (pendingUsernames) {
+			names = queuedUsernames;
+			queuedUsernames = null;
+		}
+		if (names == null) {
+			return;
+		}
+		for (int i = 0, l = names.size(); i < l; i += BULK_MAX_NAMES) {
+			int j = Math.min(i + BULK_MAX_NAMES, l);
+			if (j - i == 1) {
+				requestUUID(names.get(i));
+			} else {
+				requestUUIDsBulk(names.subList(i, j));
+			}
+		}
+	}
+
+	private void requestUUID(String username) {
+		httpClient.asyncRequest("GET", URI.create(mojangAPI + "/users/profiles/minecraft/"
 				+ URLEncoder.encode(username, StandardCharsets.UTF_8)), (response) -> {
 			if (response == null) {
-				callback.accept(null);
+				completeUUID(username, null);
 			} else if (response.exception != null) {
-				server.logger().error("Exception loading vanilla profile UUID of \"" + username + "\"!",
+				logger.error("Exception loading vanilla profile UUID of \"" + username + "\"!",
 						response.exception);
-				callback.accept(null);
+				completeUUID(username, null);
 			} else {
 				try {
 					if (response.code != 200) {
-						callback.accept(null);
+						completeUUID(username, null);
 					} else if (response.data == null) {
-						callback.accept(null);
+						completeUUID(username, null);
 					} else {
 						UUID uuid;
 						try {
@@ -77,10 +150,10 @@ public class ProfileResolver implements IProfileResolver {
 									JsonObject.class);
 							uuid = Util.createUUIDFromUndashed(json.get("id").getAsString());
 						} catch (Exception t) {
-							callback.accept(null);
+							completeUUID(username, null);
 							return;
 						}
-						callback.accept(uuid);
+						completeUUID(username, uuid);
 					}
 				} finally {
 					ReferenceCountUtil.release(response.data);
@@ -89,6 +162,71 @@ public class ProfileResolver implements IProfileResolver {
 		});
 	}
 
+	private void requestUUIDsBulk(List<String> usernames) {
+		JsonArray request = new JsonArray();
+		for (int i = 0, l = usernames.size(); i < l; ++i) {
+			request.add(usernames.get(i));
+		}
+		httpClient.asyncRequest("POST",
+				URI.create(servicesAPI + "/minecraft/profile/lookup/bulk/byname"),
+				"application/json", EaglerXServer.GSON_PRETTY.toJson(request).getBytes(StandardCharsets.UTF_8),
+				(response) -> {
+			try {
+				if (response == null) {
+					return;
+				} else if (response.exception != null) {
+					logger.error("Exception loading vanilla profile UUIDs of " + usernames + "!",
+							response.exception);
+				} else {
+					try {
+						if (response.code == 200 && response.data != null) {
+							JsonArray json = EaglerXServer.GSON_PRETTY.fromJson(
+									new CharSequenceReader(BufferUtils.readCharSequence(response.data,
+											response.data.readableBytes(), StandardCharsets.UTF_8)),
+									JsonArray.class);
+							for (int i = 0, l = json.size(); i < l; ++i) {
+								JsonElement prop = json.get(i);
+								if (prop.isJsonObject()) {
+									JsonObject propObj = prop.getAsJsonObject();
+									UUID uuid;
+									try {
+										uuid = Util.createUUIDFromUndashed(propObj.get("id").getAsString());
+									} catch (Exception t) {
+										continue;
+									}
+									completeUUID(propObj.get("name").getAsString(), uuid);
+								}
+							}
+						}
+					} catch (Exception t) {
+					} finally {
+						ReferenceCountUtil.release(response.data);
+					}
+				}
+			} finally {
+				for (int i = 0, l = usernames.size(); i < l; ++i) {
+					completeUUID(usernames.get(i), null);
+				}
+			}
+		});
+	}
+
+	private void completeUUID(String username, UUID uuid) {
+		List<Consumer<UUID>> waiting;
+		synchronized (pendingUsernames) {
+			waiting = pendingUsernames.remove(username.toLowerCase(Locale.US));
+		}
+		if (waiting != null) {
+			for (int i = 0, l = waiting.size(); i < l; ++i) {
+				try {
+					waiting.get(i).accept(uuid);
+				} catch (Exception ex) {
+					logger.error("Caught error from profile resolver callback", ex);
+				}
+			}
+		}
+	}
+
 	@Override
 	public void resolveVanillaTexturesFromUUID(UUID uuid, Consumer<TexturesProperty> callback) {
 		if (uuid == null) {
@@ -97,19 +235,29 @@ public class ProfileResolver implements IProfileResolver {
 		if (callback == null) {
 			throw new NullPointerException("callback");
 		}
-		httpClient.asyncRequest("GET", URI.create("https://sessionserver.mojang.com/session/minecraft/profile/"
+		synchronized (pendingTextures) {
+			List<Consumer<TexturesProperty>> waiting = pendingTextures.get(uuid);
+			if (waiting != null) {
+				waiting.add(callback);
+				return;
+			}
+			waiting = new ArrayList<>(2);
+			waiting.add(callback);
+			pendingTextures.put(uuid, waiting);
+		}
+		httpClient.asyncRequest("GET", URI.create(sessionAPI + "/session/minecraft/profile/"
 				+ Util.toUUIDStringUndashed(uuid) + "?unsigned=false"), (response) -> {
 			if (response == null) {
-				callback.accept(null);
+				completeTextures(uuid, null);
 			} else if (response.exception != null) {
-				server.logger().error("Exception loading profile " + uuid + "!", response.exception);
-				callback.accept(null);
+				logger.error("Exception loading profile " + uuid + "!", response.exception);
+				completeTextures(uuid, null);
 			} else {
 				try {
 					if (response.code != 200) {
-						callback.accept(null);
+						completeTextures(uuid, null);
 					} else if (response.data == null) {
-						callback.accept(null);
+						completeTextures(uuid, null);
 					} else {
 						TexturesProperty result = null;
 						try {
@@ -142,10 +290,10 @@ public class ProfileResolver implements IProfileResolver {
 								}
 							}
 						} catch (Exception t) {
-							callback.accept(null);
+							completeTextures(uuid, null);
 							return;
 						}
-						callback.accept(result);
+						completeTextures(uuid, result);
 					}
 				} finally {
 					ReferenceCountUtil.release(response.data);
@@ -154,6 +302,22 @@ public class ProfileResolver implements IProfileResolver {
 		});
 	}
 
+	private void completeTextures(UUID uuid, TexturesProperty result) {
+		List<Consumer<TexturesProperty>> waiting;
+		synchronized (pendingTextures) {
+			waiting = pendingTextures.remove(uuid);
+		}
+		if (waiting != null) {
+			for (int i = 0, l = waiting.size(); i < l; ++i) {
+				try {
+					waiting.get(i).accept(result);
+				} catch (Exception ex) {
+					logger.error("Caught error from profile resolver callback", ex);
+				}
+			}
+		}
+	}
+
 	@Override
 	public TexturesResult decodeVanillaTextures(String propertyValue) {
 		if (propertyValue == null) {
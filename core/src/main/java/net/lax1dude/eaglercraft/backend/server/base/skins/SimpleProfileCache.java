@@ -16,44 +16,64 @@
 
 package net.lax1dude.eaglercraft.backend.server.base.skins;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.Reader;
-import java.io.Writer;
+import java.io.RandomAccessFile;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.Consumer;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParseException;
-
 import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformLogger;
 import net.lax1dude.eaglercraft.backend.server.api.skins.TexturesProperty;
 import net.lax1dude.eaglercraft.backend.server.base.EaglerXServer;
 
 public class SimpleProfileCache {
 
-	public static void loadProfile(EaglerXServer<?> resolver, File cacheFile, String usernameOrUUID, long maxAge,
-			Consumer<TexturesProperty> result) {
-		JsonObject cache = loadFile(cacheFile);
-		if (cache != null) {
-			TexturesProperty res = null;
-			try {
-				if (usernameOrUUID.equals(cache.get("name").getAsString())
-						&& System.currentTimeMillis() - cache.get("timestamp").getAsLong() < maxAge) {
-					res = TexturesProperty.create(cache.get("value").getAsString(),
-							cache.get("signature").getAsString());
-				}
-			} catch (Exception ex) {
-			}
-			if (res != null) {
-				result.accept(res);
-				return;
-			}
+	private static final int MAGIC = 0x45505243;
+	private static final int MAX_STRING = 65536;
+
+	private static class Entry {
+
+		private final long timestamp;
+		private final long offset;
+
+		private Entry(long timestamp, long offset) {
+			this.timestamp = timestamp;
+			this.offset = offset;
+		}
+
+	}
+
+	private final IPlatformLogger logger;
+	private final File cacheFile;
+	private final long maxAge;
+	private Map<String, Entry> index = null;
+	private long fileLength;
+	private int recordCount;
+
+	public SimpleProfileCache(IPlatformLogger logger, File cacheFile, long maxAge) {
+		this.logger = logger;
+		this.cacheFile = cacheFile;
+		this.maxAge = maxAge;
+	}
+
+	public void loadProfile(EaglerXServer<?> resolver, String usernameOrUUID, Consumer<TexturesProperty> result) {
+		TexturesProperty cached = lookup(usernameOrUUID);
+		if (cached != null) {
+			result.accept(cached);
+			return;
 		}
 		UUID uuid;
 		try {
@@ -61,49 +81,190 @@ public class SimpleProfileCache {
 		} catch (IllegalArgumentException ex) {
 			resolver.getProfileResolver().resolveVanillaTexturesFromUsername(usernameOrUUID, (res) -> {
 				if (res != null) {
-					complete(resolver.logger(), cacheFile, usernameOrUUID, res, result);
+					store(usernameOrUUID, res);
 				} else {
 					resolver.logger().error("Could not load vanilla skin from username \"" + usernameOrUUID + "\"");
-					result.accept(res);
 				}
+				result.accept(res);
 			});
 			return;
 		}
 		resolver.getProfileResolver().resolveVanillaTexturesFromUUID(uuid, (res) -> {
 			if (res != null) {
-				complete(resolver.logger(), cacheFile, usernameOrUUID, res, result);
+				store(usernameOrUUID, res);
 			} else {
 				resolver.logger().error("Could not load vanilla skin from UUID " + uuid);
-				result.accept(res);
 			}
+			result.accept(res);
 		});
 	}
 
-	private static void complete(IPlatformLogger logger, File file, String name, TexturesProperty res,
-			Consumer<TexturesProperty> result) {
-		JsonObject obj = new JsonObject();
-		obj.addProperty("timestamp", System.currentTimeMillis());
-		obj.addProperty("name", name);
-		obj.addProperty("value", res.getValue());
-		obj.addProperty("signature", res.getSignature());
-		storeFile(logger, file, obj);
-		result.accept(res);
-	}
-
-	private static JsonObject loadFile(File cacheFile) {
-		try (Reader reader = new InputStreamReader(new FileInputStream(cacheFile), StandardCharsets.UTF_8)) {
-			return EaglerXServer.GSON_PRETTY.fromJson(reader, JsonObject.class);
-		} catch (IOException | JsonParseException ex) {
+	public synchronized TexturesProperty lookup(String name) {
+		Entry entry = getIndex().get(name);
+		if (entry == null || System.currentTimeMillis() - entry.timestamp >= maxAge) {
+			return null;
+		}
+		try (RandomAccessFile raf = new RandomAccessFile(cacheFile, "r")) {
+			raf.seek(entry.offset);
+			raf.readLong();
+			readString(raf);
+			return TexturesProperty.create(readString(raf), readString(raf));
+		} catch (IOException ex) {
+			logger.error("Could not read profile cache file: " + cacheFile.getAbsolutePath(), ex);
 			return null;
 		}
 	}
 
-	private static void storeFile(IPlatformLogger logger, File cacheFile, JsonObject object) {
-		try (Writer writer = new OutputStreamWriter(new FileOutputStream(cacheFile), StandardCharsets.UTF_8)) {
-			EaglerXServer.GSON_PRETTY.toJson(object, writer);
+	public synchronized void store(String name, TexturesProperty res) {
+		Map<String, Entry> idx = getIndex();
+		long now = System.currentTimeMillis();
+		boolean append = fileLength > 0l;
+		try (DataOutputStream os = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(cacheFile, append)))) {
+			if (!append) {
+				os.writeInt(MAGIC);
+				fileLength = 4l;
+			}
+			long offset = fileLength;
+			int len = writeRecord(os, now, name, res.getValue(), res.getSignature());
+			os.flush();
+			fileLength += len;
+			++recordCount;
+			idx.put(name, new Entry(now, offset));
 		} catch (IOException ex) {
 			logger.error("Could not save profile cache to file: " + cacheFile.getAbsolutePath(), ex);
+			// a partial record may have been written, reload and compact on next access
+			index = null;
+			return;
+		}
+		if (recordCount > (idx.size() << 1) + 16) {
+			compact();
+		}
+	}
+
+	private Map<String, Entry> getIndex() {
+		if (index == null) {
+			index = new HashMap<>();
+			fileLength = 0l;
+			recordCount = 0;
+			if (cacheFile.isFile()) {
+				load();
+			}
+		}
+		return index;
+	}
+
+	private void load() {
+		long pos = 0l;
+		boolean stale = false;
+		try (DataInputStream is = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+			if (is.readInt() != MAGIC) {
+				throw new IOException("Invalid profile cache file header");
+			}
+			pos = 4l;
+			long now = System.currentTimeMillis();
+			while (true) {
+				long timestamp;
+				String name;
+				int len;
+				try {
+					timestamp = is.readLong();
+					byte[] nameBytes = readBytes(is);
+					name = new String(nameBytes, StandardCharsets.UTF_8);
+					len = 8 + 4 + nameBytes.length + skipString(is) + skipString(is);
+				} catch (EOFException ex) {
+					break;
+				}
+				if (now - timestamp < maxAge) {
+					index.put(name, new Entry(timestamp, pos));
+				} else {
+					index.remove(name);
+					stale = true;
+				}
+				pos += len;
+				++recordCount;
+			}
+		} catch (IOException ex) {
+			logger.warn("Discarding invalid profile cache file: " + cacheFile.getAbsolutePath());
+			index.clear();
+			recordCount = 0;
+			cacheFile.delete();
+			return;
+		}
+		fileLength = pos;
+		if (stale || cacheFile.length() != pos) {
+			compact();
+		}
+	}
+
+	private void compact() {
+		File tmp = new File(cacheFile.getAbsolutePath() + ".tmp");
+		Map<String, Entry> newIndex = new HashMap<>();
+		long pos = 4l;
+		try (RandomAccessFile raf = new RandomAccessFile(cacheFile, "r");
+				DataOutputStream os = new DataOutputStream(
+						new BufferedOutputStream(new FileOutputStream(tmp)))) {
+			os.writeInt(MAGIC);
+			for (Map.Entry<String, Entry> etr : index.entrySet()) {
+				Entry entry = etr.getValue();
+				raf.seek(entry.offset);
+				long timestamp = raf.readLong();
+				String name = readString(raf);
+				int len = writeRecord(os, timestamp, name, readString(raf), readString(raf));
+				newIndex.put(name, new Entry(timestamp, pos));
+				pos += len;
+			}
+		} catch (IOException ex) {
+			logger.error("Could not compact profile cache file: " + cacheFile.getAbsolutePath(), ex);
+			tmp.delete();
+			return;
+		}
+		try {
+			Files.move(tmp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException ex) {
+			logger.error("Could not replace profile cache file: " + cacheFile.getAbsolutePath(), ex);
+			tmp.delete();
+			return;
+		}
+		index = newIndex;
+		fileLength = pos;
+		recordCount = newIndex.size();
+	}
+
+	private static int writeRecord(DataOutputStream os, long timestamp, String name, String value, String signature)
+			throws IOException {
+		os.writeLong(timestamp);
+		return 8 + writeString(os, name) + writeString(os, value) + writeString(os, signature);
+	}
+
+	private static int writeString(DataOutputStream os, String str) throws IOException {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		os.writeInt(bytes.length);
+		os.write(bytes);
+		return 4 + bytes.length;
+	}
+
+	private static String readString(DataInput is) throws IOException {
+		return new String(readBytes(is), StandardCharsets.UTF_8);
+	}
+
+	private static byte[] readBytes(DataInput is) throws IOException {
+		byte[] bytes = new byte[readLength(is)];
+		is.readFully(bytes);
+		return bytes;
+	}
+
+	private static int skipString(DataInput is) throws IOException {
+		// skipBytes can seek past the end of a file, read so a cut off record is detected
+		return 4 + readBytes(is).length;
+	}
+
+	private static int readLength(DataInput is) throws IOException {
+		int len = is.readInt();
+		if (len < 0 || len > MAX_STRING) {
+			throw new IOException("Invalid string length: " + len);
 		}
+		return len;
 	}
 
 }
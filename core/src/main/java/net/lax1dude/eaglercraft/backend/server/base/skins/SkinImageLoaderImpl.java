@@ -17,6 +17,7 @@
 package net.lax1dude.eaglercraft.backend.server.base.skins;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -34,6 +35,7 @@ import net.lax1dude.eaglercraft.backend.server.base.skins.type.CustomSkinGeneric
 import net.lax1dude.eaglercraft.backend.server.base.skins.type.IModelRewritable;
 import net.lax1dude.eaglercraft.backend.server.base.skins.type.InternUtils;
 import net.lax1dude.eaglercraft.backend.skin_cache.SkinConverter;
+import net.lax1dude.eaglercraft.backend.skin_cache.SkinPNGDecoder;
 
 public class SkinImageLoaderImpl {
 
@@ -138,7 +140,12 @@ public class SkinImageLoaderImpl {
 		if (modelId < 0 || modelId >= 0xFF) {
 			throw new IllegalArgumentException("Invalid model id: " + modelId);
 		}
-		return loadSkinImageData(ImageIO.read(inputStream), modelId);
+		byte[] data = inputStream.readAllBytes();
+		byte[] pixels = SkinPNGDecoder.decodeSkin(data);
+		if (pixels != null) {
+			return CustomSkinGeneric.createV4(modelId, pixels);
+		}
+		return loadSkinImageData(readImage(data), modelId);
 	}
 
 	public static IEaglerPlayerSkin loadSkinImageData(File imageFile, int modelId) throws IOException {
@@ -200,7 +207,12 @@ public class SkinImageLoaderImpl {
 	}
 
 	public static IEaglerPlayerCape loadCapeImageData(InputStream inputStream) throws IOException {
-		return loadCapeImageData(ImageIO.read(inputStream));
+		byte[] data = inputStream.readAllBytes();
+		byte[] pixels = SkinPNGDecoder.decodeCape(data);
+		if (pixels != null) {
+			return new CustomCapeGeneric(pixels);
+		}
+		return loadCapeImageData(readImage(data));
 	}
 
 	public static IEaglerPlayerCape loadCapeImageData(File imageFile) throws IOException {
@@ -209,4 +221,12 @@ public class SkinImageLoaderImpl {
 		}
 	}
 
+	private static BufferedImage readImage(byte[] data) throws IOException {
+		BufferedImage img = ImageIO.read(new ByteArrayInputStream(data));
+		if (img == null) {
+			throw new IOException("Unsupported image format");
+		}
+		return img;
+	}
+
 }
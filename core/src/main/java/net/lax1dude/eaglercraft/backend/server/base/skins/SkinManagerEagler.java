@@ -134,6 +134,10 @@ public class SkinManagerEagler<PlayerObject> implements ISkinManagerEagler<Playe
 		return cape;
 	}
 
+	void warmupTextures(Runnable done) {
+		skinService.warmupTextures(player, skin, cape, done);
+	}
+
 	@Override
 	public void changePlayerSkin(IEaglerPlayerSkin newSkin, boolean notifyOthers) {
 		if (newSkin == null) {
@@ -154,6 +158,7 @@ public class SkinManagerEagler<PlayerObject> implements ISkinManagerEagler<Playe
 			if (notifyOthers) {
 				SkinManagerHelper.notifyOthers(player, true, false);
 			}
+			SkinManagerHelper.notifyRPC(player, true, false);
 		}
 	}
 
@@ -182,6 +187,7 @@ public class SkinManagerEagler<PlayerObject> implements ISkinManagerEagler<Playe
 			if (notifyOthers) {
 				SkinManagerHelper.notifyOthers(player, false, true);
 			}
+			SkinManagerHelper.notifyRPC(player, false, true);
 		}
 	}
 
@@ -230,6 +236,7 @@ public class SkinManagerEagler<PlayerObject> implements ISkinManagerEagler<Playe
 			if (notifyOthers) {
 				SkinManagerHelper.notifyOthers(player, s, c);
 			}
+			SkinManagerHelper.notifyRPC(player, s, c);
 		}
 	}
 
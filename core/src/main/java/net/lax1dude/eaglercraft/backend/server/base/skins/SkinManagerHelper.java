@@ -21,6 +21,7 @@ import java.util.UUID;
 import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformServer;
 import net.lax1dude.eaglercraft.backend.server.base.BasePlayerInstance;
 import net.lax1dude.eaglercraft.backend.server.base.EaglerPlayerInstance;
+import net.lax1dude.eaglercraft.backend.server.base.rpc.BasePlayerRPCManager;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.server.SPacketInvalidatePlayerCacheV4EAG;
 
 class SkinManagerHelper {
@@ -43,4 +44,13 @@ class SkinManagerHelper {
 				cape);
 	}
 
+	static <PlayerObject> void notifyRPC(BasePlayerInstance<PlayerObject> playerIn, boolean skin, boolean cape) {
+		if (skin || cape) {
+			BasePlayerRPCManager<PlayerObject> rpcMgr = playerIn.getPlayerRPCManager();
+			if (rpcMgr != null) {
+				rpcMgr.fireTexturesChanged(skin, cape);
+			}
+		}
+	}
+
 }
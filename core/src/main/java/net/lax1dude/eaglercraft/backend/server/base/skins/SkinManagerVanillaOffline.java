@@ -122,6 +122,7 @@ public class SkinManagerVanillaOffline<PlayerObject> implements ISkinManagerBase
 			if (notifyOthers) {
 				SkinManagerHelper.notifyOthers(player, true, false);
 			}
+			SkinManagerHelper.notifyRPC(player, true, false);
 		}
 	}
 
@@ -137,6 +138,7 @@ public class SkinManagerVanillaOffline<PlayerObject> implements ISkinManagerBase
 			if (notifyOthers) {
 				SkinManagerHelper.notifyOthers(player, false, true);
 			}
+			SkinManagerHelper.notifyRPC(player, false, true);
 		}
 	}
 
@@ -158,6 +160,7 @@ public class SkinManagerVanillaOffline<PlayerObject> implements ISkinManagerBase
 			if (notifyOthers) {
 				SkinManagerHelper.notifyOthers(player, s, c);
 			}
+			SkinManagerHelper.notifyRPC(player, s, c);
 		}
 	}
 
@@ -191,6 +194,7 @@ public class SkinManagerVanillaOffline<PlayerObject> implements ISkinManagerBase
 			if (notifyOthers) {
 				SkinManagerHelper.notifyOthers(player, s, c);
 			}
+			SkinManagerHelper.notifyRPC(player, s, c);
 		}
 	}
 
@@ -269,6 +269,12 @@ public class SkinManagerVanillaOnline<PlayerObject> implements ISkinManagerBase<
 		}
 	}
 
+	void warmupTextures(Runnable done) {
+		resolvePlayerTexturesKeyed(null, (skin, cape) -> {
+			player.getEaglerXServer().getSkinService().warmupTextures(player, skin, cape, done);
+		});
+	}
+
 	@Override
 	public void changePlayerSkin(IEaglerPlayerSkin newSkin, boolean notifyOthers) {
 		if (newSkin == null) {
@@ -309,6 +315,7 @@ public class SkinManagerVanillaOnline<PlayerObject> implements ISkinManagerBase<
 		if (notifyOthers) {
 			SkinManagerHelper.notifyOthers(player, true, false);
 		}
+		SkinManagerHelper.notifyRPC(player, true, false);
 		if (toCall != null) {
 			List<Consumer<IEaglerPlayerSkin>> toCallList = toCall.getList();
 			for (int i = 0, l = toCallList.size(); i < l; ++i) {
@@ -366,6 +373,7 @@ public class SkinManagerVanillaOnline<PlayerObject> implements ISkinManagerBase<
 		if (notifyOthers) {
 			SkinManagerHelper.notifyOthers(player, false, true);
 		}
+		SkinManagerHelper.notifyRPC(player, false, true);
 		if (toCall != null) {
 			List<Consumer<IEaglerPlayerCape>> toCallList = toCall.getList();
 			for (int i = 0, l = toCallList.size(); i < l; ++i) {
@@ -455,6 +463,7 @@ public class SkinManagerVanillaOnline<PlayerObject> implements ISkinManagerBase<
 		if (notifyOthers && (s || c)) {
 			SkinManagerHelper.notifyOthers(player, s, c);
 		}
+		SkinManagerHelper.notifyRPC(player, s, c);
 		if (toCall1 != null) {
 			List<Consumer<IEaglerPlayerSkin>> toCallList = toCall1.getList();
 			for (int i = 0, l = toCallList.size(); i < l; ++i) {
@@ -43,6 +43,7 @@ import net.lax1dude.eaglercraft.backend.server.base.skins.type.MissingCape;
 import net.lax1dude.eaglercraft.backend.server.base.skins.type.MissingSkin;
 import net.lax1dude.eaglercraft.backend.server.base.supervisor.ISupervisorServiceImpl;
 import net.lax1dude.eaglercraft.backend.skin_cache.ISkinCacheService;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.GamePluginMessageProtocol;
 
 public class SkinService<PlayerObject> implements ISkinService<PlayerObject>, ISkinsRestorerListener<PlayerObject> {
 
@@ -52,6 +53,8 @@ public class SkinService<PlayerObject> implements ISkinService<PlayerObject>, IS
 	private final ISupervisorServiceImpl<PlayerObject> supervisor;
 	private final boolean downloadEnabled;
 	private final boolean keyedLookupHelper;
+	private final SkinWarmupHelper warmupHelper;
+	private final boolean warmupProtocolV3;
 	private ISkinsRestorerHelper<PlayerObject> skinsRestorerHelper;
 	private IPlatformTask skinCacheTick;
 
@@ -64,6 +67,9 @@ public class SkinService<PlayerObject> implements ISkinService<PlayerObject>, IS
 		this.supervisor = service.isSupervisorEnabled() ? service : null;
 		this.downloadEnabled = downloadEnabled;
 		this.keyedLookupHelper = downloadEnabled && supervisor == null;
+		int warmupMax = server.getConfig().getSettings().getSkinService().getSkinWarmupMaxConcurrent();
+		this.warmupHelper = warmupMax > 0 ? new SkinWarmupHelper(server.logger(), warmupMax) : null;
+		this.warmupProtocolV3 = server.getConfig().getSettings().getProtocols().isProtocolV3Allowed();
 	}
 
 	@Override
@@ -254,6 +260,30 @@ public class SkinService<PlayerObject> implements ISkinService<PlayerObject>, IS
 		return cacheEnabled ? SkinImageLoaderCacheOn.INSTANCE : SkinImageLoaderCacheOff.INSTANCE;
 	}
 
+	void warmupTextures(BasePlayerInstance<PlayerObject> player, IEaglerPlayerSkin skin, IEaglerPlayerCape cape,
+			Runnable done) {
+		server.getPlatform().getScheduler().executeAsync(() -> {
+			try {
+				UUID uuid = player.getUniqueId();
+				long uuidMost = uuid.getMostSignificantBits();
+				long uuidLeast = uuid.getLeastSignificantBits();
+				if (skin != null && skin.isSkinCustom()) {
+					skin.hashCode();
+					skin.getSkinPacket(uuidMost, uuidLeast, GamePluginMessageProtocol.V4);
+					if (warmupProtocolV3) {
+						skin.getSkinPacket(uuidMost, uuidLeast, GamePluginMessageProtocol.V3);
+					}
+				}
+				if (cape != null && cape.isCapeCustom()) {
+					cape.hashCode();
+					cape.getCapePacket(uuidMost, uuidLeast, GamePluginMessageProtocol.V4);
+				}
+			} finally {
+				done.run();
+			}
+		});
+	}
+
 	public boolean isFNAWSkinsEnabledOnServer(String serverName) {
 		return fnawSkinsEnabled.test(serverName);
 	}
@@ -264,8 +294,12 @@ public class SkinService<PlayerObject> implements ISkinService<PlayerObject>, IS
 			if (prop != null) {
 				TexturesResult props = GameProfileUtil.extractSkinAndCape(prop);
 				if (props != null) {
-					return new SkinManagerVanillaOnline<PlayerObject>(playerInstance, props.getSkinURL(),
-							props.getSkinModel(), props.getCapeURL());
+					SkinManagerVanillaOnline<PlayerObject> mgr = new SkinManagerVanillaOnline<PlayerObject>(
+							playerInstance, props.getSkinURL(), props.getSkinModel(), props.getCapeURL());
+					if (warmupHelper != null) {
+						warmupHelper.submit(mgr::warmupTextures);
+					}
+					return mgr;
 				}
 			}
 		}
@@ -282,7 +316,12 @@ public class SkinService<PlayerObject> implements ISkinService<PlayerObject>, IS
 		}
 		IEaglerPlayerCape cape = SkinHandshake.loadCapeDataV1(playerInstance.getUniqueId(), profileData.capeDataInit);
 		handleRegisterSkin(playerInstance, skin, cape, (skin2, cape2) -> {
-			onComplete.accept(new SkinManagerEagler<>(playerInstance, skin2, cape2, true, keyedLookupHelper));
+			SkinManagerEagler<PlayerObject> mgr = new SkinManagerEagler<>(playerInstance, skin2, cape2, true,
+					keyedLookupHelper);
+			if (warmupHelper != null) {
+				warmupHelper.submit(mgr::warmupTextures);
+			}
+			onComplete.accept(mgr);
 		});
 	}
 
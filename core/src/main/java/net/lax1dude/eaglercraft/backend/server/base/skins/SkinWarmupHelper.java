@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.skins;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformLogger;
+
+/**
+ * Limits how many speculative texture lookups for joining players run at once,
+ * each task is passed a runnable it must call when its lookup completes
+ */
+class SkinWarmupHelper {
+
+	private static final int MAX_QUEUED = 4096;
+
+	private final IPlatformLogger logger;
+	private final int maxConcurrent;
+	private final ArrayDeque<Consumer<Runnable>> queue = new ArrayDeque<>();
+	private int running = 0;
+
+	SkinWarmupHelper(IPlatformLogger logger, int maxConcurrent) {
+		this.logger = logger;
+		this.maxConcurrent = maxConcurrent;
+	}
+
+	void submit(Consumer<Runnable> task) {
+		synchronized (this) {
+			if (running >= maxConcurrent) {
+				if (queue.size() < MAX_QUEUED) {
+					queue.add(task);
+				}
+				return;
+			}
+			++running;
+		}
+		run(task);
+	}
+
+	private void run(Consumer<Runnable> task) {
+		Runnable done = new Runnable() {
+			private boolean called = false;
+
+			@Override
+			public void run() {
+				Consumer<Runnable> next;
+				synchronized (SkinWarmupHelper.this) {
+					if (called) {
+						return;
+					}
+					called = true;
+					next = queue.poll();
+					if (next == null) {
+						--running;
+						return;
+					}
+				}
+				SkinWarmupHelper.this.run(next);
+			}
+		};
+		try {
+			task.accept(done);
+		} catch (Exception ex) {
+			logger.error("Caught exception while resolving textures ahead of time", ex);
+			done.run();
+		}
+	}
+
+}
@@ -42,8 +42,8 @@ public class PipelineFactory {
 
 	public static final WriteBufferWaterMark MARK = new WriteBufferWaterMark(524288, 1048576);
 
-	public static void initiateConnection(EaglerXServer<?> server, SocketAddress addr, SupervisorService<?> controller,
-			int connectTimeout, int readTimeout) {
+	public static void initiateConnection(EaglerXServer<?> server, SocketAddress addr,
+			ISupervisorLinkController controller, int connectTimeout, int readTimeout) {
 		server.bootstrapClient(addr).handler(getChildInitializer(controller, readTimeout))
 				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout).option(ChannelOption.TCP_NODELAY, true)
 				.connect().addListener((future) -> {
@@ -55,7 +55,8 @@ public class PipelineFactory {
 				});
 	}
 
-	public static ChannelInitializer<Channel> getChildInitializer(SupervisorService<?> controller, int readTimeout) {
+	public static ChannelInitializer<Channel> getChildInitializer(ISupervisorLinkController controller,
+			int readTimeout) {
 		return new ChannelInitializer<Channel>() {
 			@Override
 			protected void initChannel(Channel channel) throws Exception {
@@ -16,6 +16,7 @@
 
 package net.lax1dude.eaglercraft.backend.server.base.supervisor;
 
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.EaglerSupervisorProtocol;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.SupervisorPacketHandler;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorHandler;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvHandshakeFailure;
@@ -23,18 +24,23 @@ import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSv
 
 public class SupervisorClientHandshakeHandler implements EaglerSupervisorHandler {
 
-	private final SupervisorService<?> controller;
+	private final ISupervisorLinkController controller;
 	private final SupervisorPacketHandler handler;
 
-	public SupervisorClientHandshakeHandler(SupervisorService<?> controller, SupervisorPacketHandler handler) {
+	public SupervisorClientHandshakeHandler(ISupervisorLinkController controller, SupervisorPacketHandler handler) {
 		this.controller = controller;
 		this.handler = handler;
 	}
 
 	@Override
 	public void handleServer(SPacketSvHandshakeSuccess pkt) {
-		if (pkt.selectedProtocol == 1) {
-			controller.handleHandshakeSuccess(handler, pkt.nodeId);
+		if (pkt.selectedProtocol == EaglerSupervisorProtocol.V1.vers
+				|| pkt.selectedProtocol == EaglerSupervisorProtocol.V2.vers) {
+			if (pkt.compressionThreshold >= 0) {
+				handler.enableCompression(pkt.compressionThreshold);
+			}
+			controller.handleHandshakeSuccess(handler, pkt.nodeId,
+					EaglerSupervisorProtocol.getByVersion(pkt.selectedProtocol), pkt.resumed);
 		} else {
 			controller.handleHandshakeFailure(handler, "Wrong Protocol: " + pkt.selectedProtocol);
 		}
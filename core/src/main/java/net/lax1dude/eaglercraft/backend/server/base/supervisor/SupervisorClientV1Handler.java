@@ -32,6 +32,7 @@ import net.lax1dude.eaglercraft.backend.server.base.skins.type.MissingCape;
 import net.lax1dude.eaglercraft.backend.server.base.skins.type.MissingSkin;
 import net.lax1dude.eaglercraft.backend.server.base.supervisor.rpc.SupervisorRPCHandler;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorHandler;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.*;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.*;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.server.SPacketInvalidatePlayerCacheV4EAG;
@@ -120,6 +121,9 @@ public class SupervisorClientV1Handler implements EaglerSupervisorHandler {
 	public void handleServer(SPacketSvOtherSkinCustom pkt) {
 		SupervisorPlayer player = connection.loadPlayerIfPresent(pkt.uuid);
 		if (player != null) {
+			if (connection.hashTextures) {
+				service.resolver.storeSkinTexture(pkt.customSkin);
+			}
 			player.onSkinReceived(CustomSkinPlayer.createV4(pkt.uuid.getMostSignificantBits(),
 					pkt.uuid.getLeastSignificantBits(), pkt.model, pkt.customSkin));
 		} else {
@@ -130,6 +134,22 @@ public class SupervisorClientV1Handler implements EaglerSupervisorHandler {
 		}
 	}
 
+	@Override
+	public void handleServer(SPacketSvOtherSkinHash pkt) {
+		SupervisorPlayer player = connection.loadPlayerIfPresent(pkt.uuid);
+		if (player != null) {
+			byte[] texture = service.resolver.getStoredSkinTexture(pkt.textureHash);
+			if (texture != null) {
+				player.onSkinReceived(CustomSkinPlayer.createV4(pkt.uuid.getMostSignificantBits(),
+						pkt.uuid.getLeastSignificantBits(), pkt.model, texture));
+			} else {
+				connection.sendSupervisorPacket(new CPacketSvGetOtherSkinData(pkt.uuid));
+			}
+		} else {
+			service.logger().warn("Received skin hash from supervisor for unknown player " + pkt.uuid);
+		}
+	}
+
 	@Override
 	public void handleServer(SPacketSvOtherSkinError pkt) {
 		SupervisorPlayer player = connection.loadPlayerIfPresent(pkt.uuid);
@@ -164,6 +184,9 @@ public class SupervisorClientV1Handler implements EaglerSupervisorHandler {
 	public void handleServer(SPacketSvOtherCapeCustom pkt) {
 		SupervisorPlayer player = connection.loadPlayerIfPresent(pkt.uuid);
 		if (player != null) {
+			if (connection.hashTextures) {
+				service.resolver.storeCapeTexture(pkt.customCape);
+			}
 			player.onCapeReceived(new CustomCapePlayer(pkt.uuid.getMostSignificantBits(),
 					pkt.uuid.getLeastSignificantBits(), pkt.customCape));
 		} else {
@@ -173,6 +196,22 @@ public class SupervisorClientV1Handler implements EaglerSupervisorHandler {
 		}
 	}
 
+	@Override
+	public void handleServer(SPacketSvOtherCapeHash pkt) {
+		SupervisorPlayer player = connection.loadPlayerIfPresent(pkt.uuid);
+		if (player != null) {
+			byte[] texture = service.resolver.getStoredCapeTexture(pkt.textureHash);
+			if (texture != null) {
+				player.onCapeReceived(new CustomCapePlayer(pkt.uuid.getMostSignificantBits(),
+						pkt.uuid.getLeastSignificantBits(), texture));
+			} else {
+				connection.sendSupervisorPacket(new CPacketSvGetOtherCapeData(pkt.uuid));
+			}
+		} else {
+			service.logger().warn("Received cape hash from supervisor for unknown player " + pkt.uuid);
+		}
+	}
+
 	@Override
 	public void handleServer(SPacketSvOtherCapeError pkt) {
 		SupervisorPlayer player = connection.loadPlayerIfPresent(pkt.uuid);
@@ -185,6 +224,20 @@ public class SupervisorClientV1Handler implements EaglerSupervisorHandler {
 		}
 	}
 
+	@Override
+	public void handleServer(SPacketSvOtherSkinBatch pkt) {
+		for (EaglerSupervisorPacket response : pkt.responses) {
+			response.handlePacket(this);
+		}
+	}
+
+	@Override
+	public void handleServer(SPacketSvOtherCapeBatch pkt) {
+		for (EaglerSupervisorPacket response : pkt.responses) {
+			response.handlePacket(this);
+		}
+	}
+
 	@Override
 	public void handleServer(SPacketSvPlayerNodeID pkt) {
 		connection.loadPlayer(pkt.playerUUID).onNodeIDReceived(pkt.nodeId, pkt.brandUUID);
@@ -200,6 +253,18 @@ public class SupervisorClientV1Handler implements EaglerSupervisorHandler {
 		connection.onPlayerAccept(pkt.playerUUID, EnumAcceptPlayer.ACCEPT);
 	}
 
+	@Override
+	public void handleServer(SPacketSvRegisterPlayerResults pkt) {
+		for (EaglerSupervisorPacket result : pkt.results) {
+			result.handlePacket(this);
+		}
+	}
+
+	@Override
+	public void handleServer(SPacketSvResyncMissingPlayers pkt) {
+		connection.onResyncMissing(pkt.uuids);
+	}
+
 	@Override
 	public void handleServer(SPacketSvRejectPlayer pkt) {
 		EnumAcceptPlayer result;
@@ -249,9 +314,14 @@ public class SupervisorClientV1Handler implements EaglerSupervisorHandler {
 		rpcHandler.onRPCResultMulti(pkt.requestUUID, pkt.results);
 	}
 
+	@Override
+	public void handleServer(SPacketSvRPCResultStream pkt) {
+		rpcHandler.onRPCResultStream(pkt.requestUUID, pkt.results, pkt.complete);
+	}
+
 	@Override
 	public void handleDisconnected() {
-		service.handleDisconnected();
+		connection.controller.handleDisconnected();
 	}
 
 }
\ No newline at end of file
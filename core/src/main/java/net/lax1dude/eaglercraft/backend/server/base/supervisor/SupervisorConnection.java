@@ -20,6 +20,7 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.net.SocketAddress;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -30,6 +31,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -41,18 +43,29 @@ import net.lax1dude.eaglercraft.backend.server.api.INettyChannel;
 import net.lax1dude.eaglercraft.backend.server.api.supervisor.ISupervisorConnection;
 import net.lax1dude.eaglercraft.backend.server.base.EaglerXServer;
 import net.lax1dude.eaglercraft.backend.server.util.Util;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.EaglerSupervisorProtocol;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.SupervisorPacketHandler;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvDropPlayer;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvDropPlayerPartial;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvGetOtherCape;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvGetOtherCapeBatch;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvGetOtherSkin;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvGetOtherSkinBatch;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvPing;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvProxyStatus;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvRegisterPlayer;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvRegisterPlayerBatch;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvResyncPlayers;
 
 public class SupervisorConnection implements ISupervisorConnection, INettyChannel.NettyUnsafe {
 
 	private static final VarHandle LAST_PING_HANDLE;
 
+	private static final long LOOKUP_BATCH_WINDOW_MS = 5l;
+	private static final int LOOKUP_BATCH_MAX = 64;
+	private static final int REGISTER_BATCH_MAX = 256;
+
 	static {
 		try {
 			MethodHandles.Lookup l = MethodHandles.lookup();
@@ -74,8 +87,21 @@ public class SupervisorConnection implements ISupervisorConnection, INettyChanne
 
 	}
 
+	private static class PendingResync {
+
+		protected final CPacketSvRegisterPlayer packet;
+		protected final Consumer<EnumAcceptPlayer> consumer;
+
+		protected PendingResync(CPacketSvRegisterPlayer packet, Consumer<EnumAcceptPlayer> consumer) {
+			this.packet = packet;
+			this.consumer = consumer;
+		}
+
+	}
+
 	final IPlatformLogger logger;
 	final SupervisorService<?> service;
+	final ISupervisorLinkController controller;
 	final SupervisorPacketHandler handler;
 	final SupervisorLookupHandler<?> lookupHandler;
 	final ConcurrentMap<UUID, SupervisorPlayer> remotePlayers;
@@ -89,11 +115,27 @@ public class SupervisorConnection implements ISupervisorConnection, INettyChanne
 	private int playerTotal;
 	private int playerMax;
 
-	SupervisorConnection(SupervisorService<?> service, SupervisorPacketHandler handler, int nodeId) {
+	final boolean hashTextures;
+	private final boolean batchLookups;
+	private final Object lookupBatchLock = new Object();
+	private List<UUID> pendingSkinLookups = null;
+	private List<UUID> pendingCapeLookups = null;
+	private boolean lookupFlushScheduled = false;
+
+	private final boolean bulkRegister;
+	private final Object resyncLock = new Object();
+	private Map<UUID, PendingResync> pendingResync = null;
+
+	SupervisorConnection(SupervisorService<?> service, ISupervisorLinkController controller,
+			SupervisorPacketHandler handler, int nodeId, EaglerSupervisorProtocol protocol) {
 		this.logger = service.logger();
 		this.service = service;
+		this.controller = controller;
 		this.handler = handler;
 		this.nodeId = nodeId;
+		this.batchLookups = protocol.vers >= EaglerSupervisorProtocol.V2.vers;
+		this.hashTextures = protocol.vers >= EaglerSupervisorProtocol.V2.vers;
+		this.bulkRegister = protocol.vers >= EaglerSupervisorProtocol.V2.vers;
 		this.lookupHandler = new SupervisorLookupHandler<>(service, this);
 		this.remotePlayers = (new MapMaker()).initialCapacity(2048).concurrencyLevel(16).makeMap();
 		this.playerLoader = (uuid) -> {
@@ -152,6 +194,83 @@ public class SupervisorConnection implements ISupervisorConnection, INettyChanne
 		handler.channelWrite(msg);
 	}
 
+	void requestSkin(UUID playerUUID) {
+		if (batchLookups) {
+			queueLookup(playerUUID, false);
+		} else {
+			sendSupervisorPacket(new CPacketSvGetOtherSkin(playerUUID));
+		}
+	}
+
+	void requestCape(UUID playerUUID) {
+		if (batchLookups) {
+			queueLookup(playerUUID, true);
+		} else {
+			sendSupervisorPacket(new CPacketSvGetOtherCape(playerUUID));
+		}
+	}
+
+	private void queueLookup(UUID playerUUID, boolean cape) {
+		List<UUID> toSend = null;
+		boolean schedule = false;
+		synchronized (lookupBatchLock) {
+			List<UUID> lst = cape ? pendingCapeLookups : pendingSkinLookups;
+			if (lst == null) {
+				lst = new ArrayList<>(8);
+				if (cape) {
+					pendingCapeLookups = lst;
+				} else {
+					pendingSkinLookups = lst;
+				}
+			}
+			lst.add(playerUUID);
+			if (lst.size() >= LOOKUP_BATCH_MAX) {
+				toSend = lst;
+				if (cape) {
+					pendingCapeLookups = null;
+				} else {
+					pendingSkinLookups = null;
+				}
+			} else if (!lookupFlushScheduled) {
+				lookupFlushScheduled = true;
+				schedule = true;
+			}
+		}
+		if (toSend != null) {
+			sendLookups(toSend, cape);
+		} else if (schedule) {
+			handler.getChannel().eventLoop().schedule(this::flushLookups, LOOKUP_BATCH_WINDOW_MS,
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void flushLookups() {
+		List<UUID> skins;
+		List<UUID> capes;
+		synchronized (lookupBatchLock) {
+			lookupFlushScheduled = false;
+			skins = pendingSkinLookups;
+			pendingSkinLookups = null;
+			capes = pendingCapeLookups;
+			pendingCapeLookups = null;
+		}
+		if (skins != null) {
+			sendLookups(skins, false);
+		}
+		if (capes != null) {
+			sendLookups(capes, true);
+		}
+	}
+
+	private void sendLookups(List<UUID> uuids, boolean cape) {
+		if (uuids.size() == 1) {
+			UUID uuid = uuids.get(0);
+			sendSupervisorPacket(cape ? new CPacketSvGetOtherCape(uuid) : new CPacketSvGetOtherSkin(uuid));
+		} else {
+			sendSupervisorPacket(cape ? new CPacketSvGetOtherCapeBatch(uuids) : new CPacketSvGetOtherSkinBatch(uuids));
+		}
+	}
+
 	SupervisorPlayer loadPlayer(UUID playerUUID) {
 		return remotePlayers.computeIfAbsent(playerUUID, playerLoader);
 	}
@@ -205,29 +324,103 @@ public class SupervisorConnection implements ISupervisorConnection, INettyChanne
 		}
 	}
 
+	boolean isBulkRegisterSupported() {
+		return bulkRegister;
+	}
+
 	void acceptPlayer(UUID playerUUID, UUID brandUUID, int gameProtocol, int eaglerProtocol, String username,
 			Consumer<EnumAcceptPlayer> callback) {
+		CPacketSvRegisterPlayer pkt = prepareAcceptPlayer(playerUUID, brandUUID, gameProtocol, eaglerProtocol,
+				username, callback);
+		if (pkt != null) {
+			sendSupervisorPacket(pkt);
+		}
+	}
+
+	CPacketSvRegisterPlayer prepareAcceptPlayer(UUID playerUUID, UUID brandUUID, int gameProtocol,
+			int eaglerProtocol, String username, Consumer<EnumAcceptPlayer> callback) {
 		if (!handler.getChannel().isActive()) {
 			safeAccept(callback, EnumAcceptPlayer.SUPERVISOR_UNAVAILABLE);
-			return;
+			return null;
 		}
 		if (acceptedPlayers.contains(playerUUID)) {
 			safeAccept(callback, EnumAcceptPlayer.REJECT_DUPLICATE_UUID);
+			return null;
+		}
+		synchronized (pendingHandshakes) {
+			if (!pendingHandshakes.containsKey(playerUUID)) {
+				pendingHandshakes.put(playerUUID, new PendingHandshake(callback, Util.steadyTime()));
+				return new CPacketSvRegisterPlayer(playerUUID, brandUUID, gameProtocol, eaglerProtocol,
+						username.toLowerCase(Locale.US));
+			}
+		}
+		safeAccept(callback, EnumAcceptPlayer.REJECT_ALREADY_WAITING);
+		return null;
+	}
+
+	void sendRegisterBatch(List<CPacketSvRegisterPlayer> players) {
+		int l = players.size();
+		if (!bulkRegister) {
+			for (int i = 0; i < l; ++i) {
+				sendSupervisorPacket(players.get(i));
+			}
 			return;
 		}
-		eagler: {
-			synchronized (pendingHandshakes) {
-				if (!pendingHandshakes.containsKey(playerUUID)) {
-					pendingHandshakes.put(playerUUID, new PendingHandshake(callback, Util.steadyTime()));
-				} else {
-					break eagler;
-				}
+		for (int i = 0; i < l; i += REGISTER_BATCH_MAX) {
+			int j = Math.min(i + REGISTER_BATCH_MAX, l);
+			if (j - i == 1) {
+				sendSupervisorPacket(players.get(i));
+			} else {
+				sendSupervisorPacket(new CPacketSvRegisterPlayerBatch(new ArrayList<>(players.subList(i, j))));
+			}
+		}
+	}
+
+	void resyncPlayer(UUID playerUUID, UUID brandUUID, int gameProtocol, int eaglerProtocol, String username,
+			Consumer<EnumAcceptPlayer> callback) {
+		CPacketSvRegisterPlayer pkt = new CPacketSvRegisterPlayer(playerUUID, brandUUID, gameProtocol,
+				eaglerProtocol, username.toLowerCase(Locale.US));
+		synchronized (resyncLock) {
+			if (pendingResync == null) {
+				pendingResync = new HashMap<>(1024);
 			}
-			sendSupervisorPacket(new CPacketSvRegisterPlayer(playerUUID, brandUUID, gameProtocol, eaglerProtocol,
-					username.toLowerCase(Locale.US)));
+			pendingResync.put(playerUUID, new PendingResync(pkt, callback));
+		}
+		acceptedPlayers.add(playerUUID);
+	}
+
+	void sendResync() {
+		List<UUID> uuids;
+		synchronized (resyncLock) {
+			uuids = pendingResync != null ? new ArrayList<>(pendingResync.keySet()) : new ArrayList<>(0);
+		}
+		sendSupervisorPacket(new CPacketSvResyncPlayers(uuids));
+	}
+
+	void onResyncMissing(Collection<UUID> missing) {
+		Map<UUID, PendingResync> resync;
+		synchronized (resyncLock) {
+			resync = pendingResync;
+			pendingResync = null;
+		}
+		if (resync == null || missing.isEmpty()) {
 			return;
 		}
-		safeAccept(callback, EnumAcceptPlayer.REJECT_ALREADY_WAITING);
+		List<CPacketSvRegisterPlayer> batch = new ArrayList<>(missing.size());
+		for (UUID uuid : missing) {
+			PendingResync p = resync.get(uuid);
+			if (p != null && acceptedPlayers.remove(uuid)) {
+				CPacketSvRegisterPlayer pkt = prepareAcceptPlayer(uuid, p.packet.brandUUID, p.packet.gameProtocol,
+						p.packet.eaglerProtocol, p.packet.username, p.consumer);
+				if (pkt != null) {
+					batch.add(pkt);
+				}
+			}
+		}
+		if (!batch.isEmpty()) {
+			logger.warn("Supervisor lost " + batch.size() + " players during resume, registering them again");
+			sendRegisterBatch(batch);
+		}
 	}
 
 	void onPlayerAccept(UUID playerUUID, EnumAcceptPlayer reason) {
@@ -289,6 +482,23 @@ public class SupervisorConnection implements ISupervisorConnection, INettyChanne
 		}
 	}
 
+	void onLookupMiss(UUID playerUUID) {
+		if (controller == service) {
+			onDropPlayer(playerUUID);
+			return;
+		}
+		SupervisorPlayer player = remotePlayers.remove(playerUUID);
+		if (player != null) {
+			// Shards only learn about players registered while their link was up, the primary knows all of them
+			SupervisorConnection primary = service.getConnection();
+			if (primary != null) {
+				player.failoverTo(primary.loadPlayer(playerUUID));
+			} else {
+				player.playerDropped();
+			}
+		}
+	}
+
 	void dropOwnPlayer(UUID playerUUID) {
 		remotePlayers.remove(playerUUID);
 		if (acceptedPlayers.remove(playerUUID)) {
@@ -308,6 +518,13 @@ public class SupervisorConnection implements ISupervisorConnection, INettyChanne
 	}
 
 	void onConnectionEnd() {
+		synchronized (lookupBatchLock) {
+			pendingSkinLookups = null;
+			pendingCapeLookups = null;
+		}
+		synchronized (resyncLock) {
+			pendingResync = null;
+		}
 		List<PendingHandshake> lst;
 		synchronized (pendingHandshakes) {
 			lst = new ArrayList<>(pendingHandshakes.values());
@@ -88,8 +88,11 @@ public class SupervisorLookupHandler<PlayerObject> {
 		if (skin.isSkinPreset()) {
 			connection.sendSupervisorPacket(new CPacketSvOtherSkinPreset(uuid, skin.getPresetSkinId()));
 		} else {
-			connection.sendSupervisorPacket(new CPacketSvOtherSkinCustom(uuid, skin.getCustomSkinRawModelId(),
-					UnsafeUtil.unsafeGetPixelsDirect(skin)));
+			byte[] texture = UnsafeUtil.unsafeGetPixelsDirect(skin);
+			if (connection.hashTextures) {
+				service.resolver.storeSkinTexture(texture);
+			}
+			connection.sendSupervisorPacket(new CPacketSvOtherSkinCustom(uuid, skin.getCustomSkinRawModelId(), texture));
 		}
 	}
 
@@ -137,7 +140,11 @@ public class SupervisorLookupHandler<PlayerObject> {
 		if (cape.isCapePreset()) {
 			connection.sendSupervisorPacket(new CPacketSvOtherCapePreset(uuid, cape.getPresetCapeId()));
 		} else {
-			connection.sendSupervisorPacket(new CPacketSvOtherCapeCustom(uuid, UnsafeUtil.unsafeGetPixelsDirect(cape)));
+			byte[] texture = UnsafeUtil.unsafeGetPixelsDirect(cape);
+			if (connection.hashTextures) {
+				service.resolver.storeCapeTexture(texture);
+			}
+			connection.sendSupervisorPacket(new CPacketSvOtherCapeCustom(uuid, texture));
 		}
 	}
 
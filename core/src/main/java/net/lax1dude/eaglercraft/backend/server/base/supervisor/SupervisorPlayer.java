@@ -28,8 +28,6 @@ import net.lax1dude.eaglercraft.backend.server.base.skins.type.MissingCape;
 import net.lax1dude.eaglercraft.backend.server.base.skins.type.MissingSkin;
 import net.lax1dude.eaglercraft.backend.server.util.KeyedConcurrentLazyLoader.KeyedConsumerList;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvGetClientBrandUUID;
-import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvGetOtherCape;
-import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvGetOtherSkin;
 
 class SupervisorPlayer {
 
@@ -135,7 +133,7 @@ class SupervisorPlayer {
 				callback.accept(val);
 				return;
 			}
-			connection.sendSupervisorPacket(new CPacketSvGetOtherSkin(playerUUID));
+			connection.requestSkin(playerUUID);
 		}
 	}
 
@@ -161,7 +159,7 @@ class SupervisorPlayer {
 				callback.accept(val);
 				return;
 			}
-			connection.sendSupervisorPacket(new CPacketSvGetOtherCape(playerUUID));
+			connection.requestCape(playerUUID);
 		}
 	}
 
@@ -189,7 +187,7 @@ class SupervisorPlayer {
 
 	void onSkinError() {
 		if ((int) NODE_ID_HANDLE.getAcquire(this) == -1) {
-			connection.onDropPlayer(playerUUID);
+			connection.onLookupMiss(playerUUID);
 		} else {
 			KeyedConsumerList<UUID, IEaglerPlayerSkin> toCall;
 			synchronized (skinLock) {
@@ -236,7 +234,7 @@ class SupervisorPlayer {
 
 	void onCapeError() {
 		if ((int) NODE_ID_HANDLE.getAcquire(this) == -1) {
-			connection.onDropPlayer(playerUUID);
+			connection.onLookupMiss(playerUUID);
 		} else {
 			KeyedConsumerList<UUID, IEaglerPlayerCape> toCall;
 			synchronized (capeLock) {
@@ -284,7 +282,7 @@ class SupervisorPlayer {
 
 	void onNodeIDError() {
 		if ((int) NODE_ID_HANDLE.getAcquire(this) == -1) {
-			connection.onDropPlayer(playerUUID);
+			connection.onLookupMiss(playerUUID);
 		} else {
 			KeyedConsumerList<UUID, UUID> toCall;
 			synchronized (this) {
@@ -355,6 +353,42 @@ class SupervisorPlayer {
 		}
 	}
 
+	void failoverTo(SupervisorPlayer target) {
+		KeyedConsumerList<UUID, UUID> toCallA;
+		KeyedConsumerList<UUID, IEaglerPlayerSkin> toCallB;
+		KeyedConsumerList<UUID, IEaglerPlayerCape> toCallC;
+		synchronized (this) {
+			toCallA = waitingBrandCallbacks;
+			waitingBrandCallbacks = null;
+		}
+		synchronized (skinLock) {
+			toCallB = waitingSkinCallbacks;
+			waitingSkinCallbacks = null;
+		}
+		synchronized (capeLock) {
+			toCallC = waitingCapeCallbacks;
+			waitingCapeCallbacks = null;
+		}
+		if (toCallA != null) {
+			List<Consumer<UUID>> toCallAList = toCallA.getList();
+			for (int i = 0, l = toCallAList.size(); i < l; ++i) {
+				target.loadBrandUUID(null, toCallAList.get(i));
+			}
+		}
+		if (toCallB != null) {
+			List<Consumer<IEaglerPlayerSkin>> toCallBList = toCallB.getList();
+			for (int i = 0, l = toCallBList.size(); i < l; ++i) {
+				target.loadSkinData(null, toCallBList.get(i));
+			}
+		}
+		if (toCallC != null) {
+			List<Consumer<IEaglerPlayerCape>> toCallCList = toCallC.getList();
+			for (int i = 0, l = toCallCList.size(); i < l; ++i) {
+				target.loadCapeData(null, toCallCList.get(i));
+			}
+		}
+	}
+
 	void onDropPartial(boolean skin, boolean cape) {
 		if (skin) {
 			synchronized (skinLock) {
@@ -26,11 +26,13 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.MapMaker;
 
+import net.lax1dude.eaglercraft.backend.server.api.SHA1Sum;
 import net.lax1dude.eaglercraft.backend.server.api.brand.IBrandRegistration;
 import net.lax1dude.eaglercraft.backend.server.api.collect.IntProcedure;
 import net.lax1dude.eaglercraft.backend.server.api.skins.EnumSkinModel;
@@ -39,6 +41,7 @@ import net.lax1dude.eaglercraft.backend.server.api.skins.IEaglerPlayerSkin;
 import net.lax1dude.eaglercraft.backend.server.base.config.ConfigDataSettings.ConfigDataSkinService;
 import net.lax1dude.eaglercraft.backend.server.base.skins.type.MissingCape;
 import net.lax1dude.eaglercraft.backend.server.base.skins.type.MissingSkin;
+import net.lax1dude.eaglercraft.backend.util.HashedTimingWheel;
 
 public class SupervisorResolver implements ISupervisorResolverImpl {
 
@@ -47,6 +50,8 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 	private final SupervisorService<?> service;
 	private final LoadingCache<String, ForeignSkin> foreignSkinCache;
 	private final LoadingCache<String, ForeignCape> foreignCapeCache;
+	private final Cache<SHA1Sum, byte[]> skinTextureStore;
+	private final Cache<SHA1Sum, byte[]> capeTextureStore;
 	private final ConcurrentMap<UUID, PendingSkinLookup> pendingSkinLookups;
 	private final ConcurrentMap<UUID, PendingCapeLookup> pendingCapeLookups;
 	private List<IDeferredLoad> deferred = new LinkedList<>();
@@ -74,6 +79,14 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 						return new ForeignCape(SupervisorResolver.this, key);
 					}
 				});
+		this.skinTextureStore = CacheBuilder.newBuilder()
+				.expireAfterAccess(conf.getSkinCacheMemoryKeepSeconds(), TimeUnit.SECONDS)
+				.initialCapacity(Math.min(1024, conf.getSkinCacheMemoryMaxObjects()))
+				.maximumSize(conf.getSkinCacheMemoryMaxObjects()).concurrencyLevel(16).build();
+		this.capeTextureStore = CacheBuilder.newBuilder()
+				.expireAfterAccess(conf.getSkinCacheMemoryKeepSeconds(), TimeUnit.SECONDS)
+				.initialCapacity(Math.min(1024, conf.getSkinCacheMemoryMaxObjects()))
+				.maximumSize(conf.getSkinCacheMemoryMaxObjects()).concurrencyLevel(16).build();
 		this.pendingSkinLookups = (new MapMaker()).initialCapacity(256).concurrencyLevel(16).makeMap();
 		this.pendingCapeLookups = (new MapMaker()).initialCapacity(256).concurrencyLevel(16).makeMap();
 	}
@@ -102,12 +115,28 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		}
 	}
 
+	byte[] getStoredSkinTexture(byte[] textureHash) {
+		return skinTextureStore.getIfPresent(SHA1Sum.create(textureHash));
+	}
+
+	void storeSkinTexture(byte[] textureData) {
+		skinTextureStore.put(SHA1Sum.ofData(textureData), textureData);
+	}
+
+	byte[] getStoredCapeTexture(byte[] textureHash) {
+		return capeTextureStore.getIfPresent(SHA1Sum.create(textureHash));
+	}
+
+	void storeCapeTexture(byte[] textureData) {
+		capeTextureStore.put(SHA1Sum.ofData(textureData), textureData);
+	}
+
 	@Override
 	public boolean isPlayerKnown(UUID playerUUID) {
 		if (playerUUID == null) {
 			throw new NullPointerException("playerUUID");
 		}
-		SupervisorConnection conn = service.getConnection();
+		SupervisorConnection conn = service.getConnection(playerUUID);
 		if (conn != null) {
 			return conn.remotePlayers.containsKey(playerUUID);
 		}
@@ -119,7 +148,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		if (playerUUID == null) {
 			throw new NullPointerException("playerUUID");
 		}
-		SupervisorConnection conn = service.getConnection();
+		SupervisorConnection conn = service.getConnection(playerUUID);
 		if (conn != null) {
 			SupervisorPlayer player = conn.remotePlayers.get(playerUUID);
 			if (player != null) {
@@ -137,7 +166,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		if (callback == null) {
 			throw new NullPointerException("callback");
 		}
-		SupervisorConnection conn = service.getConnection();
+		SupervisorConnection conn = service.getConnection(playerUUID);
 		if (conn != null) {
 			SupervisorPlayer player = conn.loadPlayer(playerUUID);
 			int node = player.getNodeId();
@@ -165,7 +194,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		if (callback == null) {
 			throw new NullPointerException("callback");
 		}
-		SupervisorConnection conn = service.getConnection();
+		SupervisorConnection conn = service.getConnection(playerUUID);
 		if (conn != null) {
 			conn.loadPlayer(playerUUID).loadBrandUUID(null, callback);
 		} else {
@@ -181,7 +210,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		if (callback == null) {
 			throw new NullPointerException("callback");
 		}
-		SupervisorConnection conn = service.getConnection();
+		SupervisorConnection conn = service.getConnection(playerUUID);
 		if (conn != null) {
 			conn.loadPlayer(playerUUID).loadBrandUUID(null, (uuid) -> {
 				if (uuid != null) {
@@ -218,7 +247,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		if (callback == null) {
 			throw new NullPointerException("callback");
 		}
-		SupervisorConnection conn = service.getConnection();
+		SupervisorConnection conn = service.getConnection(playerUUID);
 		if (conn != null) {
 			conn.loadPlayer(playerUUID).loadSkinData(null, callback);
 		} else {
@@ -234,7 +263,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		if (callback == null) {
 			throw new NullPointerException("callback");
 		}
-		SupervisorConnection conn = service.getConnection();
+		SupervisorConnection conn = service.getConnection(playerUUID);
 		if (conn != null) {
 			conn.loadPlayer(playerUUID).loadCapeData(null, callback);
 		} else {
@@ -271,7 +300,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 
 	@Override
 	public void resolvePlayerSkinKeyed(UUID requester, UUID playerUUID, Consumer<IEaglerPlayerSkin> callback) {
-		SupervisorConnection conn = service.getConnection();
+		SupervisorConnection conn = service.getConnection(playerUUID);
 		if (conn != null) {
 			conn.loadPlayer(playerUUID).loadSkinData(requester, callback);
 		} else {
@@ -281,7 +310,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 
 	@Override
 	public void resolvePlayerCapeKeyed(UUID requester, UUID playerUUID, Consumer<IEaglerPlayerCape> callback) {
-		SupervisorConnection conn = service.getConnection();
+		SupervisorConnection conn = service.getConnection(playerUUID);
 		if (conn != null) {
 			conn.loadPlayer(playerUUID).loadCapeData(requester, callback);
 		} else {
@@ -291,7 +320,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 
 	@Override
 	public void resolvePlayerBrandKeyed(UUID requester, UUID playerUUID, Consumer<UUID> callback) {
-		SupervisorConnection conn = service.getConnection();
+		SupervisorConnection conn = service.getConnection(playerUUID);
 		if (conn != null) {
 			conn.loadPlayer(playerUUID).loadBrandUUID(requester, callback);
 		} else {
@@ -315,6 +344,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		private final UUID requestUUID;
 		private final long expiresAt;
 		private final Consumer<IEaglerPlayerSkin> consumer;
+		private volatile HashedTimingWheel.Timeout<ISupervisorExpiring> timeoutHandle;
 
 		protected PendingSkinLookup(UUID requestUUID, long expiresAt, Consumer<IEaglerPlayerSkin> consumer) {
 			this.requestUUID = requestUUID;
@@ -344,7 +374,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		long now = System.nanoTime();
 		PendingSkinLookup lookup = new PendingSkinLookup(requestUUID, now + FOREIGN_LOOKUP_TIMEOUT, callback);
 		pendingSkinLookups.put(requestUUID, lookup);
-		service.timeoutLoop().addFuture(now, lookup);
+		lookup.timeoutHandle = service.timeoutLoop().addFuture(now, lookup);
 	}
 
 	private class PendingCapeLookup implements ISupervisorExpiring {
@@ -352,6 +382,7 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		private final UUID requestUUID;
 		private final long expiresAt;
 		private final Consumer<IEaglerPlayerCape> consumer;
+		private volatile HashedTimingWheel.Timeout<ISupervisorExpiring> timeoutHandle;
 
 		protected PendingCapeLookup(UUID requestUUID, long expiresAt, Consumer<IEaglerPlayerCape> consumer) {
 			this.requestUUID = requestUUID;
@@ -381,12 +412,16 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 		long now = System.nanoTime();
 		PendingCapeLookup lookup = new PendingCapeLookup(requestUUID, now + FOREIGN_LOOKUP_TIMEOUT, callback);
 		pendingCapeLookups.put(requestUUID, lookup);
-		service.timeoutLoop().addFuture(now, lookup);
+		lookup.timeoutHandle = service.timeoutLoop().addFuture(now, lookup);
 	}
 
 	public boolean onForeignSkinReceived(UUID requestUUID, IEaglerPlayerSkin skin) {
 		PendingSkinLookup lookup = pendingSkinLookups.remove(requestUUID);
 		if (lookup != null) {
+			HashedTimingWheel.Timeout<ISupervisorExpiring> timeout = lookup.timeoutHandle;
+			if (timeout != null) {
+				timeout.cancel();
+			}
 			try {
 				lookup.consumer.accept(skin);
 			} catch (Exception ex) {
@@ -400,6 +435,10 @@ public class SupervisorResolver implements ISupervisorResolverImpl {
 	public boolean onForeignCapeReceived(UUID requestUUID, IEaglerPlayerCape cape) {
 		PendingCapeLookup lookup = pendingCapeLookups.remove(requestUUID);
 		if (lookup != null) {
+			HashedTimingWheel.Timeout<ISupervisorExpiring> timeout = lookup.timeoutHandle;
+			if (timeout != null) {
+				timeout.cancel();
+			}
 			try {
 				lookup.consumer.accept(cape);
 			} catch (Exception ex) {
@@ -18,6 +18,9 @@ package net.lax1dude.eaglercraft.backend.server.base.supervisor;
 
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -37,9 +40,10 @@ import net.lax1dude.eaglercraft.backend.supervisor.protocol.EaglerSupervisorProt
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.SupervisorPacketHandler;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvHandshake;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvProxyBrand;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvRegisterPlayer;
 
 public class SupervisorService<PlayerObject>
-		implements ISupervisorServiceImpl<PlayerObject>, IEaglerXServerPlayerCountHandler {
+		implements ISupervisorServiceImpl<PlayerObject>, IEaglerXServerPlayerCountHandler, ISupervisorLinkController {
 
 	private static final VarHandle SERVICE_STATE_TRACKER_HANDLE;
 	private static final VarHandle CURRENT_CONNECTION_HANDLE;
@@ -62,8 +66,10 @@ public class SupervisorService<PlayerObject>
 	final SupervisorResolver resolver;
 	final SupervisorResolverAll resolverAll;
 	private final boolean ignoreV2UUID;
+	private final SupervisorShardLink[] shardLinks;
 	private int serviceStateTracker = 0;
 	private SupervisorConnection currentConnection = null;
+	private volatile int lastNodeId = -1;
 
 	private IPlatformTask pingTask;
 	private IPlatformTask timeoutHandshakeTask;
@@ -71,11 +77,21 @@ public class SupervisorService<PlayerObject>
 	public SupervisorService(EaglerXServer<PlayerObject> server) {
 		this.server = server;
 		this.config = server.getConfig().getSupervisor();
-		this.timeoutLoop = new SupervisorTimeoutLoop(server.getPlatform().getScheduler(), 250000000l);
+		this.timeoutLoop = new SupervisorTimeoutLoop(server.getPlatform().getScheduler(), server.logger(),
+				250000000l);
 		this.rpcHandler = new SupervisorRPCHandler(this);
 		this.resolver = new SupervisorResolver(this);
 		this.resolverAll = new SupervisorResolverAll(resolver, server);
 		this.ignoreV2UUID = config.isSupervisorLookupIgnoreV2UUID();
+		List<SocketAddress> shardAddresses = config.getSupervisorShardAddresses();
+		if (!shardAddresses.isEmpty()) {
+			this.shardLinks = new SupervisorShardLink[shardAddresses.size()];
+			for (int i = 0; i < shardLinks.length; ++i) {
+				shardLinks[i] = new SupervisorShardLink(this, i + 1, shardAddresses.get(i));
+			}
+		} else {
+			this.shardLinks = null;
+		}
 	}
 
 	@Override
@@ -110,6 +126,28 @@ public class SupervisorService<PlayerObject>
 		return (SupervisorConnection) CURRENT_CONNECTION_HANDLE.getAcquire(this);
 	}
 
+	SupervisorConnection getConnection(UUID playerUUID) {
+		SupervisorConnection conn = (SupervisorConnection) CURRENT_CONNECTION_HANDLE.getAcquire(this);
+		if (conn != null && shardLinks != null) {
+			int shard = getShardIndex(playerUUID);
+			if (shard != 0) {
+				SupervisorConnection shardConn = shardLinks[shard - 1].getConnection();
+				if (shardConn != null) {
+					return shardConn;
+				}
+			}
+		}
+		return conn;
+	}
+
+	int getShardIndex(UUID playerUUID) {
+		if (shardLinks == null) {
+			return 0;
+		}
+		long l = (playerUUID.getMostSignificantBits() ^ playerUUID.getLeastSignificantBits()) * 0x9E3779B97F4A7C15l;
+		return Math.floorMod((int) (l >>> 32), shardLinks.length + 1);
+	}
+
 	@Override
 	public int getNodeId() {
 		SupervisorConnection conn = (SupervisorConnection) CURRENT_CONNECTION_HANDLE.getAcquire(this);
@@ -152,7 +190,16 @@ public class SupervisorService<PlayerObject>
 		pingTask = server.getPlatform().getScheduler().executeAsyncRepeatingTask(() -> {
 			SupervisorConnection conn = (SupervisorConnection) CURRENT_CONNECTION_HANDLE.getAcquire(this);
 			if (conn != null) {
-				conn.updatePing(Util.steadyTime());
+				long now = Util.steadyTime();
+				conn.updatePing(now);
+				if (shardLinks != null) {
+					for (int i = 0; i < shardLinks.length; ++i) {
+						SupervisorConnection shardConn = shardLinks[i].getConnection();
+						if (shardConn != null) {
+							shardConn.updatePing(now);
+						}
+					}
+				}
 			}
 		}, 500l, 1000l);
 		if (timeoutHandshakeTask != null) {
@@ -161,7 +208,16 @@ public class SupervisorService<PlayerObject>
 		timeoutHandshakeTask = server.getPlatform().getScheduler().executeAsyncRepeatingTask(() -> {
 			SupervisorConnection conn = (SupervisorConnection) CURRENT_CONNECTION_HANDLE.getAcquire(this);
 			if (conn != null) {
-				conn.expireHandshakes(Util.steadyTime());
+				long now = Util.steadyTime();
+				conn.expireHandshakes(now);
+				if (shardLinks != null) {
+					for (int i = 0; i < shardLinks.length; ++i) {
+						SupervisorConnection shardConn = shardLinks[i].getConnection();
+						if (shardConn != null) {
+							shardConn.expireHandshakes(now);
+						}
+					}
+				}
 			}
 		}, 5000l, 5000l);
 		server.getPlatform().setPlayerCountHandler(this);
@@ -203,18 +259,27 @@ public class SupervisorService<PlayerObject>
 		}
 	}
 
-	void handleChannelOpen(SupervisorPacketHandler h) {
+	@Override
+	public void handleChannelOpen(SupervisorPacketHandler h) {
 		if (SERVICE_STATE_TRACKER_HANDLE.compareAndSet(this, 1, 2)) {
 			logger().info("Channel to supervisor opened");
-			h.channelWrite(new CPacketSvHandshake(new int[] { EaglerSupervisorProtocol.V1.vers },
-					config.getSupervisorSecret()));
+			int[] protocols = new int[] { EaglerSupervisorProtocol.V2.vers, EaglerSupervisorProtocol.V1.vers };
+			int resumeNodeId = lastNodeId;
+			if (shardLinks != null || resumeNodeId != -1) {
+				h.channelWrite(new CPacketSvHandshake(protocols, config.getSupervisorSecret(),
+						config.getSupervisorCompressionThreshold(), 0, resumeNodeId));
+			} else {
+				h.channelWrite(new CPacketSvHandshake(protocols, config.getSupervisorSecret(),
+						config.getSupervisorCompressionThreshold()));
+			}
 		} else {
 			logger().error("Unexpected supervisor channel open");
 			h.getChannel().close();
 		}
 	}
 
-	void handleChannelFailure() {
+	@Override
+	public void handleChannelFailure() {
 		int state;
 		do {
 			state = (int) SERVICE_STATE_TRACKER_HANDLE.getOpaque(this);
@@ -226,23 +291,32 @@ public class SupervisorService<PlayerObject>
 		server.getPlatform().getScheduler().executeAsyncDelayed(this::initiateConnection, 1000l);
 	}
 
-	void handleHandshakeSuccess(SupervisorPacketHandler h, int nodeId) {
+	@Override
+	public void handleHandshakeSuccess(SupervisorPacketHandler h, int nodeId, EaglerSupervisorProtocol protocol,
+			boolean resumed) {
 		if (SERVICE_STATE_TRACKER_HANDLE.compareAndSet(this, 2, 3)) {
 			logger().info("Supervisor handshake successful");
-			logger().info("Assigned node ID " + nodeId);
-			onNewConnection(h, nodeId);
+			if (resumed) {
+				logger().info("Resumed previous session as node ID " + nodeId);
+			} else {
+				logger().info("Assigned node ID " + nodeId);
+			}
+			lastNodeId = nodeId;
+			onNewConnection(h, nodeId, protocol, resumed);
 		} else {
 			logger().error("Unexpected supervisor handshake success");
 			h.getChannel().close();
 		}
 	}
 
-	void handleHandshakeFailure(SupervisorPacketHandler h, String failureCode) {
+	@Override
+	public void handleHandshakeFailure(SupervisorPacketHandler h, String failureCode) {
 		logger().error("Supervisor handshake failed, reason: " + failureCode);
 		h.getChannel().close();
 	}
 
-	void handleDisconnected() {
+	@Override
+	public void handleDisconnected() {
 		int state;
 		do {
 			state = (int) SERVICE_STATE_TRACKER_HANDLE.getOpaque(this);
@@ -255,35 +329,80 @@ public class SupervisorService<PlayerObject>
 		server.getPlatform().getScheduler().executeAsyncDelayed(this::initiateConnection, 1000l);
 	}
 
-	private void onNewConnection(SupervisorPacketHandler handler, int nodeId) {
-		SupervisorConnection newConnection = new SupervisorConnection(this, handler, nodeId);
-		handler.setConnectionProtocol(EaglerSupervisorProtocol.V1);
+	private void onNewConnection(SupervisorPacketHandler handler, int nodeId, EaglerSupervisorProtocol protocol,
+			boolean resumed) {
+		SupervisorConnection newConnection = new SupervisorConnection(this, this, handler, nodeId, protocol);
+		handler.setConnectionProtocol(protocol);
 		handler.setConnectionHandler(new SupervisorClientV1Handler(newConnection));
+		sendProxyBrand(handler);
+		reregisterPlayers(newConnection, -1, resumed);
+		CURRENT_CONNECTION_HANDLE.setRelease(this, newConnection);
+		if (shardLinks != null) {
+			for (int i = 0; i < shardLinks.length; ++i) {
+				shardLinks[i].connect(nodeId);
+			}
+		}
+		resolver.flushDeferred();
+	}
+
+	void sendProxyBrand(SupervisorPacketHandler handler) {
 		handler.channelWrite(new CPacketSvProxyBrand(switch (server.getPlatform().getType()) {
 		case BUNGEE -> CPacketSvProxyBrand.PROXY_TYPE_BUNGEE;
 		case VELOCITY -> CPacketSvProxyBrand.PROXY_TYPE_VELOCITY;
 		default -> CPacketSvProxyBrand.PROXY_TYPE_EAGLER_STANDALONE;
 		}, server.getPlatform().getVersion(), CPacketSvProxyBrand.PLUGIN_TYPE_EAGLERXSERVER, server.getServerBrand(),
 				server.getServerVersion()));
+	}
+
+	void reregisterPlayers(SupervisorConnection connection, int shard, boolean resumed) {
+		boolean bulk = connection.isBulkRegisterSupported();
+		resumed &= bulk;
+		List<CPacketSvRegisterPlayer> batch = bulk && !resumed ? new ArrayList<>() : null;
 		for (BasePlayerInstance<PlayerObject> player : server.getAllPlayersInternal()) {
+			if (shard != -1 && getShardIndex(player.getUniqueId()) != shard) {
+				continue;
+			}
 			EaglerPlayerInstance<PlayerObject> dat = player.asEaglerPlayer();
-			newConnection.acceptPlayer(player.getUniqueId(),
-					dat != null ? dat.getEaglerBrandUUID() : IBrandRegistry.BRAND_VANILLA,
-					player.getMinecraftProtocol(), dat != null ? dat.getEaglerProtocol().ver : 0, player.getUsername(),
-					(res) -> {
-						if (res != EnumAcceptPlayer.ACCEPT) {
-							logger().error("Could not reregister player '" + player.getUsername()
-									+ "' with supervisor! Result: " + res.name());
-							player.disconnect(server.componentBuilder().buildTextComponent()
-									.text("Failed to reinitialize connection to supervisor").end());
-						}
-					});
+			UUID brandUUID = dat != null ? dat.getEaglerBrandUUID() : IBrandRegistry.BRAND_VANILLA;
+			int eaglerProtocol = dat != null ? dat.getEaglerProtocol().ver : 0;
+			Consumer<EnumAcceptPlayer> callback = (res) -> {
+				if (res != EnumAcceptPlayer.ACCEPT && shard != -1) {
+					logger().warn("Could not reregister player '" + player.getUsername() + "' with supervisor shard #"
+							+ shard + ", lookups will use the primary! Result: " + res.name());
+				} else if (res != EnumAcceptPlayer.ACCEPT) {
+					logger().error("Could not reregister player '" + player.getUsername()
+							+ "' with supervisor! Result: " + res.name());
+					player.disconnect(server.componentBuilder().buildTextComponent()
+							.text("Failed to reinitialize connection to supervisor").end());
+				}
+			};
+			if (resumed) {
+				connection.resyncPlayer(player.getUniqueId(), brandUUID, player.getMinecraftProtocol(),
+						eaglerProtocol, player.getUsername(), callback);
+			} else if (batch != null) {
+				CPacketSvRegisterPlayer pkt = connection.prepareAcceptPlayer(player.getUniqueId(), brandUUID,
+						player.getMinecraftProtocol(), eaglerProtocol, player.getUsername(), callback);
+				if (pkt != null) {
+					batch.add(pkt);
+				}
+			} else {
+				connection.acceptPlayer(player.getUniqueId(), brandUUID, player.getMinecraftProtocol(),
+						eaglerProtocol, player.getUsername(), callback);
+			}
+		}
+		if (resumed) {
+			connection.sendResync();
+		} else if (batch != null) {
+			connection.sendRegisterBatch(batch);
 		}
-		CURRENT_CONNECTION_HANDLE.setRelease(this, newConnection);
-		resolver.flushDeferred();
 	}
 
 	private void onConnectionEnd() {
+		if (shardLinks != null) {
+			for (int i = 0; i < shardLinks.length; ++i) {
+				shardLinks[i].disconnect();
+			}
+		}
 		SupervisorConnection handler = (SupervisorConnection) CURRENT_CONNECTION_HANDLE.getAndSet(this, null);
 		if (handler != null) {
 			handler.onConnectionEnd();
@@ -296,7 +415,18 @@ public class SupervisorService<PlayerObject>
 			Consumer<EnumAcceptPlayer> callback) {
 		SupervisorConnection conn = (SupervisorConnection) CURRENT_CONNECTION_HANDLE.getAcquire(this);
 		if (conn != null) {
-			conn.acceptPlayer(playerUUID, brandUUID, gameProtocol, eaglerProtocol, username, callback);
+			int shard = getShardIndex(playerUUID);
+			SupervisorConnection shardConn = shard != 0 ? shardLinks[shard - 1].getConnection() : null;
+			if (shardConn != null) {
+				// The primary keeps the authoritative registry, the shard holds the lookup state
+				ShardedAccept accept = new ShardedAccept(playerUUID, shardConn, callback);
+				conn.acceptPlayer(playerUUID, brandUUID, gameProtocol, eaglerProtocol, username,
+						accept::onPrimaryResult);
+				shardConn.acceptPlayer(playerUUID, brandUUID, gameProtocol, eaglerProtocol, username,
+						accept::onShardResult);
+			} else {
+				conn.acceptPlayer(playerUUID, brandUUID, gameProtocol, eaglerProtocol, username, callback);
+			}
 		} else {
 			try {
 				callback.accept(EnumAcceptPlayer.SUPERVISOR_UNAVAILABLE);
@@ -306,17 +436,71 @@ public class SupervisorService<PlayerObject>
 		}
 	}
 
+	private class ShardedAccept {
+
+		private final UUID playerUUID;
+		private final SupervisorConnection shardConn;
+		private final Consumer<EnumAcceptPlayer> callback;
+		private EnumAcceptPlayer primaryResult = null;
+		private EnumAcceptPlayer shardResult = null;
+
+		private ShardedAccept(UUID playerUUID, SupervisorConnection shardConn, Consumer<EnumAcceptPlayer> callback) {
+			this.playerUUID = playerUUID;
+			this.shardConn = shardConn;
+			this.callback = callback;
+		}
+
+		private void onPrimaryResult(EnumAcceptPlayer res) {
+			EnumAcceptPlayer other;
+			synchronized (this) {
+				primaryResult = res;
+				other = shardResult;
+			}
+			if (res != EnumAcceptPlayer.ACCEPT && other == EnumAcceptPlayer.ACCEPT) {
+				shardConn.dropOwnPlayer(playerUUID);
+			}
+			callback.accept(res);
+		}
+
+		private void onShardResult(EnumAcceptPlayer res) {
+			EnumAcceptPlayer other;
+			synchronized (this) {
+				shardResult = res;
+				other = primaryResult;
+			}
+			if (res == EnumAcceptPlayer.ACCEPT) {
+				if (other != null && other != EnumAcceptPlayer.ACCEPT) {
+					shardConn.dropOwnPlayer(playerUUID);
+				}
+			} else {
+				// Lookups for this player fall back to the primary until the shard link resyncs
+				logger().warn("Supervisor shard rejected player " + playerUUID + " (" + res
+						+ "), keeping the primary registration");
+			}
+		}
+
+	}
+
 	@Override
 	public void dropOwnPlayer(UUID clientUUID) {
 		SupervisorConnection conn = (SupervisorConnection) CURRENT_CONNECTION_HANDLE.getAcquire(this);
 		if (conn != null) {
 			conn.dropOwnPlayer(clientUUID);
+			if (shardLinks != null) {
+				int shard = getShardIndex(clientUUID);
+				if (shard != 0) {
+					SupervisorConnection shardConn = shardLinks[shard - 1].getConnection();
+					if (shardConn != null) {
+						shardConn.dropOwnPlayer(clientUUID);
+					}
+				}
+			}
 		}
 	}
 
 	@Override
 	public void notifySkinChange(UUID playerUUID, String serverName, boolean skin, boolean cape) {
-		SupervisorConnection conn = (SupervisorConnection) CURRENT_CONNECTION_HANDLE.getAcquire(this);
+		SupervisorConnection conn = getConnection(playerUUID);
 		if (conn != null) {
 			conn.notifySkinChange(playerUUID, serverName, skin, cape);
 		}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.supervisor;
+
+import java.net.SocketAddress;
+
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformLogger;
+import net.lax1dude.eaglercraft.backend.server.base.config.ConfigDataSupervisor;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.EaglerSupervisorProtocol;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.SupervisorPacketHandler;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvHandshake;
+
+class SupervisorShardLink {
+
+	private final SupervisorService<?> service;
+	private final int shardIndex;
+	private final SocketAddress address;
+	private Attempt currentAttempt = null;
+	private volatile SupervisorConnection currentConnection = null;
+
+	SupervisorShardLink(SupervisorService<?> service, int shardIndex, SocketAddress address) {
+		this.service = service;
+		this.shardIndex = shardIndex;
+		this.address = address;
+	}
+
+	int getShardIndex() {
+		return shardIndex;
+	}
+
+	SupervisorConnection getConnection() {
+		return currentConnection;
+	}
+
+	void connect(int nodeId) {
+		Attempt attempt;
+		synchronized (this) {
+			if (currentAttempt != null) {
+				return;
+			}
+			attempt = currentAttempt = new Attempt(nodeId);
+		}
+		ConfigDataSupervisor config = service.getEaglerXServer().getConfig().getSupervisor();
+		PipelineFactory.initiateConnection(service.getEaglerXServer(), address, attempt,
+				config.getSupervisorConnectTimeout(), config.getSupervisorReadTimeout());
+	}
+
+	void disconnect() {
+		Attempt attempt;
+		SupervisorConnection conn;
+		synchronized (this) {
+			attempt = currentAttempt;
+			currentAttempt = null;
+			conn = currentConnection;
+			currentConnection = null;
+		}
+		if (conn != null) {
+			conn.onConnectionEnd();
+			conn.getChannel().close();
+		} else if (attempt != null) {
+			SupervisorPacketHandler h = attempt.handler;
+			if (h != null) {
+				h.getChannel().close();
+			}
+		}
+	}
+
+	private void scheduleReconnect() {
+		service.getEaglerXServer().getPlatform().getScheduler().executeAsyncDelayed(() -> {
+			int nodeId = service.getNodeId();
+			if (nodeId != -1) {
+				connect(nodeId);
+			}
+		}, 1000l);
+	}
+
+	private class Attempt implements ISupervisorLinkController {
+
+		private final int nodeId;
+		private volatile SupervisorPacketHandler handler;
+
+		private Attempt(int nodeId) {
+			this.nodeId = nodeId;
+		}
+
+		@Override
+		public IPlatformLogger logger() {
+			return service.logger();
+		}
+
+		@Override
+		public void handleChannelOpen(SupervisorPacketHandler h) {
+			boolean current;
+			synchronized (SupervisorShardLink.this) {
+				current = currentAttempt == this;
+				if (current) {
+					handler = h;
+				}
+			}
+			if (!current) {
+				h.getChannel().close();
+				return;
+			}
+			logger().info("Channel to supervisor shard #" + shardIndex + " opened");
+			ConfigDataSupervisor config = service.getEaglerXServer().getConfig().getSupervisor();
+			h.channelWrite(new CPacketSvHandshake(
+					new int[] { EaglerSupervisorProtocol.V2.vers, EaglerSupervisorProtocol.V1.vers },
+					config.getSupervisorSecret(), config.getSupervisorCompressionThreshold(), shardIndex, nodeId));
+		}
+
+		@Override
+		public void handleChannelFailure() {
+			synchronized (SupervisorShardLink.this) {
+				if (currentAttempt != this) {
+					return;
+				}
+				currentAttempt = null;
+			}
+			logger().error("Failed to open channel to supervisor shard #" + shardIndex + "! Retrying...");
+			scheduleReconnect();
+		}
+
+		@Override
+		public void handleHandshakeSuccess(SupervisorPacketHandler h, int nodeId, EaglerSupervisorProtocol protocol,
+				boolean resumed) {
+			if (nodeId != this.nodeId) {
+				logger().error("Supervisor shard #" + shardIndex + " assigned node ID " + nodeId + ", expected "
+						+ this.nodeId);
+				h.getChannel().close();
+				return;
+			}
+			SupervisorConnection newConnection = new SupervisorConnection(service, this, h, nodeId, protocol);
+			synchronized (SupervisorShardLink.this) {
+				if (currentAttempt != this || currentConnection != null) {
+					newConnection = null;
+				}
+			}
+			if (newConnection == null) {
+				h.getChannel().close();
+				return;
+			}
+			if (resumed) {
+				logger().info("Supervisor shard #" + shardIndex + " handshake successful, resumed previous session");
+			} else {
+				logger().info("Supervisor shard #" + shardIndex + " handshake successful");
+			}
+			h.setConnectionProtocol(protocol);
+			h.setConnectionHandler(new SupervisorClientV1Handler(newConnection));
+			service.sendProxyBrand(h);
+			service.reregisterPlayers(newConnection, shardIndex, resumed);
+			synchronized (SupervisorShardLink.this) {
+				if (currentAttempt == this) {
+					currentConnection = newConnection;
+					return;
+				}
+			}
+			newConnection.onConnectionEnd();
+			h.getChannel().close();
+		}
+
+		@Override
+		public void handleHandshakeFailure(SupervisorPacketHandler h, String failureCode) {
+			logger().error("Supervisor shard #" + shardIndex + " handshake failed, reason: " + failureCode);
+			h.getChannel().close();
+		}
+
+		@Override
+		public void handleDisconnected() {
+			SupervisorConnection conn;
+			synchronized (SupervisorShardLink.this) {
+				if (currentAttempt != this) {
+					return;
+				}
+				currentAttempt = null;
+				conn = currentConnection;
+				currentConnection = null;
+			}
+			if (conn != null) {
+				conn.onConnectionEnd();
+			}
+			logger().error("Connection to supervisor shard #" + shardIndex + " was lost! Attempting to reconnect...");
+			scheduleReconnect();
+		}
+
+	}
+
+}
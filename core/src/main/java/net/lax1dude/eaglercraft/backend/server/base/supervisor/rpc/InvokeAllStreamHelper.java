@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.supervisor.rpc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformLogger;
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformScheduler;
+import net.lax1dude.eaglercraft.backend.server.api.supervisor.NodeResult;
+import net.lax1dude.eaglercraft.backend.server.api.supervisor.data.ISupervisorData;
+
+class InvokeAllStreamHelper<Out extends ISupervisorData> implements Runnable {
+
+	private final Consumer<? super NodeResult<Out>> onResult;
+	private final Runnable onComplete;
+	private final IPlatformScheduler sched;
+	private final IPlatformLogger logger;
+	private List<NodeResult<Out>> queue = null;
+	private boolean complete = false;
+	private boolean running = false;
+
+	public InvokeAllStreamHelper(Consumer<? super NodeResult<Out>> onResult, Runnable onComplete,
+			IPlatformScheduler sched, IPlatformLogger logger) {
+		this.onResult = onResult;
+		this.onComplete = onComplete;
+		this.sched = sched;
+		this.logger = logger;
+	}
+
+	public void acceptAll(Collection<NodeResult<Out>> results) {
+		if (results.isEmpty()) {
+			return;
+		}
+		synchronized (this) {
+			if (complete) {
+				return;
+			}
+			if (queue == null) {
+				queue = new ArrayList<>(results);
+			} else {
+				queue.addAll(results);
+			}
+			if (running) {
+				return;
+			}
+			running = true;
+		}
+		sched.executeAsync(this);
+	}
+
+	public void complete() {
+		synchronized (this) {
+			if (complete) {
+				return;
+			}
+			complete = true;
+			if (running) {
+				return;
+			}
+			running = true;
+		}
+		sched.executeAsync(this);
+	}
+
+	@Override
+	public void run() {
+		for (;;) {
+			List<NodeResult<Out>> lst;
+			boolean done;
+			synchronized (this) {
+				lst = queue;
+				queue = null;
+				done = complete;
+				if (lst == null) {
+					if (!done) {
+						running = false;
+						return;
+					}
+				}
+			}
+			if (lst != null) {
+				for (int i = 0, l = lst.size(); i < l; ++i) {
+					try {
+						onResult.accept(lst.get(i));
+					} catch (Exception ex) {
+						logger.error("Caught exception from RPC result callback", ex);
+					}
+				}
+			} else {
+				// Results can no longer be queued once complete is set, so this runs last
+				if (onComplete != null) {
+					try {
+						onComplete.run();
+					} catch (Exception ex) {
+						logger.error("Caught exception from RPC completion callback", ex);
+					}
+				}
+				return;
+			}
+		}
+	}
+
+}
@@ -20,11 +20,13 @@ import java.util.Set;
 import java.util.function.Consumer;
 
 import net.lax1dude.eaglercraft.backend.server.base.supervisor.ISupervisorExpiring;
+import net.lax1dude.eaglercraft.backend.util.HashedTimingWheel;
 
 abstract class LocalTimeout<Out> implements Consumer<Out>, ISupervisorExpiring {
 
 	protected final Set<LocalTimeout<?>> set;
 	protected final long timeout;
+	volatile HashedTimingWheel.Timeout<ISupervisorExpiring> timeoutHandle;
 
 	protected LocalTimeout(Set<LocalTimeout<?>> set, long timeout) {
 		this.set = set;
@@ -50,6 +52,10 @@ abstract class LocalTimeout<Out> implements Consumer<Out>, ISupervisorExpiring {
 	@Override
 	public void accept(Out res) {
 		if (set.remove(this)) {
+			HashedTimingWheel.Timeout<ISupervisorExpiring> t = timeoutHandle;
+			if (t != null) {
+				t.cancel();
+			}
 			onResultComplete(res);
 		}
 	}
@@ -23,12 +23,14 @@ import java.util.concurrent.ConcurrentMap;
 import io.netty.buffer.ByteBuf;
 import net.lax1dude.eaglercraft.backend.server.base.supervisor.ISupervisorExpiring;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvRPCResultMulti;
+import net.lax1dude.eaglercraft.backend.util.HashedTimingWheel;
 
 abstract class ProcedureCallback implements ISupervisorExpiring {
 
 	final UUID key;
 	private ConcurrentMap<UUID, ProcedureCallback> map;
 	private final long expires;
+	volatile HashedTimingWheel.Timeout<ISupervisorExpiring> timeoutHandle;
 
 	ProcedureCallback(UUID key, ConcurrentMap<UUID, ProcedureCallback> map, long expires) {
 		this.key = key;
@@ -48,10 +50,21 @@ abstract class ProcedureCallback implements ISupervisorExpiring {
 		}
 	}
 
+	void cancelTimeout() {
+		HashedTimingWheel.Timeout<ISupervisorExpiring> t = timeoutHandle;
+		if (t != null) {
+			t.cancel();
+		}
+	}
+
 	protected abstract void onResultFail(int type);
 
 	protected abstract void onResultSuccess(ByteBuf dataBuffer);
 
 	protected abstract void onResultMulti(Collection<SPacketSvRPCResultMulti.ResultEntry> list);
 
+	protected void onResultStream(Collection<SPacketSvRPCResultMulti.ResultEntry> list, boolean complete) {
+		onResultMulti(list);
+	}
+
 }
@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
@@ -43,7 +44,9 @@ import net.lax1dude.eaglercraft.backend.server.api.supervisor.data.SupervisorDat
 import net.lax1dude.eaglercraft.backend.server.base.collect.IntHashSet;
 import net.lax1dude.eaglercraft.backend.server.base.supervisor.SupervisorConnection;
 import net.lax1dude.eaglercraft.backend.server.base.supervisor.SupervisorService;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.EaglerSupervisorProtocol;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvRPCExecuteAll;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvRPCExecuteAllStream;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvRPCExecuteNode;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvRPCExecutePlayerName;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvRPCExecutePlayerUUID;
@@ -545,6 +548,98 @@ public class SupervisorRPCHandler implements ISupervisorRPCHandler {
 		}
 	}
 
+	@Override
+	public <In extends ISupervisorData, Out extends ISupervisorData> void invokeAllOtherNodesStreaming(
+			ProcedureDesc<In, Out> desc, int timeout, int quorum, In input, Consumer<? super NodeResult<Out>> onResult,
+			Runnable onComplete) {
+		if (timeout <= 0) {
+			throw new IllegalArgumentException("Invalid timeout: " + timeout);
+		}
+		if (onResult == null) {
+			throw new NullPointerException("Result callback must not be null!");
+		}
+		SupervisorProcedure procedure = getProcedure(desc);
+		if (input == null) {
+			throw new NullPointerException("Input must not be null!");
+		}
+		if (input.getClass() != procedure.inputType.clazz) {
+			throw new IllegalArgumentException("Input object is the wrong type, " + input.getClass().getName() + " != "
+					+ procedure.inputType.clazz.getName());
+		}
+		InvokeAllStreamHelper<Out> stream = new InvokeAllStreamHelper<>(onResult, onComplete,
+				service.getEaglerXServer().getPlatform().getScheduler(), service.logger());
+		SupervisorConnection handler = service.getConnection();
+		if (handler == null) {
+			stream.complete();
+			return;
+		}
+		if (handler.getProtocolVersion() < EaglerSupervisorProtocol.V2.vers) {
+			invokeAllOtherNodes0(procedure, handler, timeout, input, false, (lst) -> {
+				if (lst != null) {
+					stream.acceptAll(lst);
+				}
+				stream.complete();
+			});
+			return;
+		}
+		UUID uuid = UUID.randomUUID();
+		long now = System.nanoTime();
+		addWaitingCallback(now, new ProcedureCallback(uuid, waitingProcedures, now + (timeout + 5000) * 1000000l) {
+			@Override
+			protected void onResultFail(int type) {
+				if (isLogWarningForResult(type)) {
+					logWarningForResult(type, procedure.name, "supervisor");
+				}
+				stream.complete();
+			}
+
+			@Override
+			protected void onResultSuccess(ByteBuf dataBuffer) {
+				service.logger().warn("Parsing result for procedure \"" + procedure.name
+						+ "\" failed, received unexpected non-multi-result");
+				stream.complete();
+			}
+
+			@Override
+			protected void onResultMulti(Collection<SPacketSvRPCResultMulti.ResultEntry> list) {
+				onResultStream(list, true);
+			}
+
+			@Override
+			protected void onResultStream(Collection<SPacketSvRPCResultMulti.ResultEntry> list, boolean complete) {
+				List<NodeResult<Out>> ret = new ArrayList<>(list.size());
+				for (SPacketSvRPCResultMulti.ResultEntry etr : list) {
+					ret.add(deserializeNodeResult(procedure, etr));
+				}
+				stream.acceptAll(ret);
+				if (complete) {
+					stream.complete();
+				}
+			}
+		});
+		handler.sendSupervisorPacket(new CPacketSvRPCExecuteAllStream(uuid, timeout, Math.max(quorum, 0),
+				new InjectedRPCPayload(procedure.name, input)));
+	}
+
+	private <Out extends ISupervisorData> NodeResult<Out> deserializeNodeResult(SupervisorProcedure procedure,
+			SPacketSvRPCResultMulti.ResultEntry etr) {
+		if (etr.status == 0) {
+			try {
+				return NodeResult.create(etr.nodeId,
+						(Out) InjectedRPCPayload.deserialize(etr.dataBuffer, procedure.outputType));
+			} catch (Exception e) {
+				logIOWarningForResult(procedure.name, e);
+				return NodeResult.create(etr.nodeId, null);
+			}
+		} else {
+			int type = etr.status - 1;
+			if (isLogWarningForResult(type)) {
+				logWarningForResult(type, procedure.name, "node " + etr.nodeId);
+			}
+			return NodeResult.create(etr.nodeId, null);
+		}
+	}
+
 	private <T> void acceptSafe(Consumer<T> consumer, T value, boolean async) {
 		if (async) {
 			service.getEaglerXServer().getPlatform().getScheduler().executeAsync(() -> {
@@ -565,12 +660,12 @@ public class SupervisorRPCHandler implements ISupervisorRPCHandler {
 
 	private void addWaitingCallback(long now, ProcedureCallback callback) {
 		waitingProcedures.put(callback.key, callback);
-		service.timeoutLoop().addFuture(now, callback);
+		callback.timeoutHandle = service.timeoutLoop().addFuture(now, callback);
 	}
 
 	private <T extends Object> LocalTimeout<T> setLocalTimeout(long now, LocalTimeout<T> callback) {
 		waitingLocalTimeouts.add(callback);
-		service.timeoutLoop().addFuture(now, callback);
+		callback.timeoutHandle = service.timeoutLoop().addFuture(now, callback);
 		return callback;
 	}
 
@@ -640,6 +735,7 @@ public class SupervisorRPCHandler implements ISupervisorRPCHandler {
 	public void onRPCResultSuccess(UUID uuid, ByteBuf dataBuffer) {
 		ProcedureCallback cb = waitingProcedures.remove(uuid);
 		if (cb != null) {
+			cb.cancelTimeout();
 			cb.onResultSuccess(dataBuffer);
 		} else {
 			service.logger().warn("Received success result for unknown/expired RPC " + uuid);
@@ -649,15 +745,30 @@ public class SupervisorRPCHandler implements ISupervisorRPCHandler {
 	public void onRPCResultMulti(UUID uuid, Collection<SPacketSvRPCResultMulti.ResultEntry> list) {
 		ProcedureCallback cb = waitingProcedures.remove(uuid);
 		if (cb != null) {
+			cb.cancelTimeout();
 			cb.onResultMulti(list);
 		} else {
 			service.logger().warn("Received multi result for unknown/expired RPC " + uuid);
 		}
 	}
 
+	public void onRPCResultStream(UUID uuid, Collection<SPacketSvRPCResultMulti.ResultEntry> list,
+			boolean complete) {
+		ProcedureCallback cb = complete ? waitingProcedures.remove(uuid) : waitingProcedures.get(uuid);
+		if (cb != null) {
+			if (complete) {
+				cb.cancelTimeout();
+			}
+			cb.onResultStream(list, complete);
+		} else {
+			service.logger().warn("Received stream result for unknown/expired RPC " + uuid);
+		}
+	}
+
 	public void onRPCResultFail(UUID uuid, int type) {
 		ProcedureCallback cb = waitingProcedures.remove(uuid);
 		if (cb != null) {
+			cb.cancelTimeout();
 			cb.onResultFail(type);
 		} else {
 			service.logger().warn("Received failure result for unknown/expired RPC " + uuid);
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.voice;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+
+import net.lax1dude.eaglercraft.backend.server.api.IEaglerPlayer;
+import net.lax1dude.eaglercraft.backend.server.api.voice.IVoicePartitioner;
+
+class ShardedChannel<PlayerObject> extends VoiceChannel<PlayerObject> {
+
+	private class Shard {
+
+		private final Object key;
+		private final VoiceChannel<PlayerObject> channel;
+		private int members;
+
+		private Shard(Object key) {
+			this.key = key;
+			this.channel = new VoiceChannel<>(owner);
+		}
+
+	}
+
+	private static final Object DEFAULT_KEY = new Object();
+
+	private final int shardCapacity;
+	private final IVoicePartitioner<PlayerObject> partitioner;
+	private final Map<Object, List<Shard>> shards = new HashMap<>();
+	private final Map<VoiceManagerLocal<PlayerObject>, Shard> assignments = new IdentityHashMap<>();
+
+	ShardedChannel(VoiceServiceLocal<PlayerObject> owner, int shardCapacity,
+			IVoicePartitioner<PlayerObject> partitioner) {
+		super(owner);
+		this.shardCapacity = shardCapacity;
+		this.partitioner = partitioner;
+	}
+
+	private Object partitionKey(VoiceManagerLocal<PlayerObject> mgr) {
+		if (partitioner != null) {
+			Object key;
+			try {
+				key = partitioner.getPartitionKey(mgr.player);
+			} catch (Exception ex) {
+				mgr.player.getEaglerXServer().logger()
+						.error("Caught exception while computing voice partition key for " + mgr.player.getUsername(), ex);
+				return DEFAULT_KEY;
+			}
+			if (key != null) {
+				return key;
+			}
+		}
+		return DEFAULT_KEY;
+	}
+
+	@Override
+	void addToChannel(VoiceManagerLocal<PlayerObject> mgr) {
+		Object key = partitionKey(mgr);
+		Shard target;
+		synchronized (this) {
+			if (mgr.getVoiceChannel() != this) {
+				return;
+			}
+			Shard current = assignments.get(mgr);
+			if (current != null && current.key.equals(key)) {
+				target = current;
+			} else {
+				if (current != null) {
+					releaseShard(current);
+				}
+				List<Shard> list = shards.computeIfAbsent(key, (k) -> new ArrayList<>(2));
+				target = null;
+				for (int i = 0, l = list.size(); i < l; ++i) {
+					Shard s = list.get(i);
+					if (s.members < shardCapacity && (target == null || s.members > target.members)) {
+						target = s;
+					}
+				}
+				if (target == null) {
+					target = new Shard(key);
+					list.add(target);
+				}
+				++target.members;
+				assignments.put(mgr, target);
+			}
+		}
+		target.channel.addToChannel(mgr);
+	}
+
+	@Override
+	void removeFromChannel(VoiceManagerLocal<PlayerObject> mgr, boolean dead) {
+		release(mgr, true, dead);
+	}
+
+	void handleSwitchedAway(VoiceManagerLocal<PlayerObject> mgr) {
+		release(mgr, false, false);
+	}
+
+	private void release(VoiceManagerLocal<PlayerObject> mgr, boolean leave, boolean dead) {
+		Shard shard;
+		Shard merge = null;
+		List<VoiceManagerLocal<PlayerObject>> moved = null;
+		synchronized (this) {
+			shard = assignments.remove(mgr);
+			if (shard == null) {
+				return;
+			}
+			releaseShard(shard);
+			if (shard.members > 0 && shard.members <= (shardCapacity >> 1)) {
+				List<Shard> list = shards.get(shard.key);
+				for (int i = 0, l = list.size(); i < l; ++i) {
+					Shard s = list.get(i);
+					if (s != shard && s.members + shard.members <= shardCapacity
+							&& (merge == null || s.members > merge.members)) {
+						merge = s;
+					}
+				}
+				if (merge != null) {
+					moved = new ArrayList<>(shard.members);
+					for (Map.Entry<VoiceManagerLocal<PlayerObject>, Shard> etr : assignments.entrySet()) {
+						if (etr.getValue() == shard) {
+							etr.setValue(merge);
+							moved.add(etr.getKey());
+						}
+					}
+					merge.members += shard.members;
+					shard.members = 0;
+					list.remove(shard);
+				}
+			}
+		}
+		if (leave) {
+			shard.channel.removeFromChannel(mgr, dead);
+		}
+		if (moved != null) {
+			for (int i = 0, l = moved.size(); i < l; ++i) {
+				VoiceManagerLocal<PlayerObject> m = moved.get(i);
+				synchronized (this) {
+					if (assignments.get(m) != merge) {
+						continue;
+					}
+					if (m.getVoiceChannel() != this) {
+						releaseShard(assignments.remove(m));
+						continue;
+					}
+				}
+				merge.channel.addToChannel(m);
+			}
+		}
+	}
+
+	private void releaseShard(Shard shard) {
+		if (--shard.members == 0) {
+			List<Shard> list = shards.get(shard.key);
+			list.remove(shard);
+			if (list.isEmpty()) {
+				shards.remove(shard.key);
+			}
+		}
+	}
+
+	@Override
+	Collection<IEaglerPlayer<PlayerObject>> listConnectedPlayers() {
+		List<VoiceChannel<PlayerObject>> channels = new ArrayList<>();
+		synchronized (this) {
+			for (List<Shard> list : shards.values()) {
+				for (int i = 0, l = list.size(); i < l; ++i) {
+					channels.add(list.get(i).channel);
+				}
+			}
+		}
+		ImmutableList.Builder<IEaglerPlayer<PlayerObject>> builder = ImmutableList.builder();
+		for (int i = 0, l = channels.size(); i < l; ++i) {
+			for (VoiceChannel<PlayerObject>.Context ctx : channels.get(i).connectedPlayers.values()) {
+				builder.add(ctx.mgr.player);
+			}
+		}
+		return builder.build();
+	}
+
+}
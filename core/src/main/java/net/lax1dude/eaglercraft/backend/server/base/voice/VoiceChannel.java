@@ -30,6 +30,7 @@ import net.lax1dude.eaglercraft.backend.server.base.EaglerPlayerInstance;
 import net.lax1dude.eaglercraft.backend.server.base.collect.ObjectArrayList;
 import net.lax1dude.eaglercraft.backend.server.base.collect.ObjectObjectHashMap;
 import net.lax1dude.eaglercraft.backend.server.util.Collectors3;
+import net.lax1dude.eaglercraft.backend.util.HashedTimingWheel;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.GameMessagePacket;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.server.SPacketVoiceSignalConnectAnnounceV4EAG;
 import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.server.SPacketVoiceSignalConnectV3EAG;
@@ -42,14 +43,59 @@ import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.server.SPacketVoiceSign
 class VoiceChannel<PlayerObject> implements IVoiceChannel {
 
 	public static final long REQUEST_TIMEOUT = 2000l;
+	public static final long MEMBERSHIP_FLUSH_DELAY = 250l;
 
 	final VoiceServiceLocal<PlayerObject> owner;
 	final ConcurrentMap<UUID, Context> connectedPlayers = new ConcurrentHashMap<>();
 
+	private int membershipVersion = 0;
+	private boolean membershipFlushScheduled = false;
+
 	VoiceChannel(VoiceServiceLocal<PlayerObject> owner) {
 		this.owner = owner;
 	}
 
+	private static GameMessagePacket createUserList(Object[] allPlayers) {
+		int len = allPlayers.length;
+		SPacketVoiceSignalGlobalEAG.UserData[] userDatas = new SPacketVoiceSignalGlobalEAG.UserData[len];
+		for (int i = 0; i < len; ++i) {
+			Context ctx = (Context) allPlayers[i];
+			userDatas[i] = new SPacketVoiceSignalGlobalEAG.UserData(ctx.selfUUID.getMostSignificantBits(),
+					ctx.selfUUID.getLeastSignificantBits(), ctx.mgr.player.getUsername());
+		}
+		return new SPacketVoiceSignalGlobalEAG(Arrays.asList(userDatas));
+	}
+
+	private void scheduleMembershipFlush(EaglerPlayerInstance<PlayerObject> player) {
+		player.getEaglerXServer().getPlatform().getScheduler().executeAsyncDelayed(this::flushMembership,
+				MEMBERSHIP_FLUSH_DELAY);
+	}
+
+	private void flushMembership() {
+		Object[] allPlayers;
+		Object[] toNotify;
+		int cnt = 0;
+		synchronized (this) {
+			membershipFlushScheduled = false;
+			int ver = membershipVersion;
+			allPlayers = connectedPlayers.values().toArray();
+			toNotify = new Object[allPlayers.length];
+			for (int i = 0; i < allPlayers.length; ++i) {
+				Context ctx = (Context) allPlayers[i];
+				if (ctx.knownMembership != ver) {
+					ctx.knownMembership = ver;
+					toNotify[cnt++] = ctx;
+				}
+			}
+		}
+		if (cnt > 0) {
+			GameMessagePacket packetToBroadcast = createUserList(allPlayers);
+			for (int i = 0; i < cnt; ++i) {
+				((Context) toNotify[i]).mgr.player.sendEaglerMessage(packetToBroadcast);
+			}
+		}
+	}
+
 	void addToChannel(VoiceManagerLocal<PlayerObject> mgr) {
 		Context oldContext = mgr.xchgActiveChannel(null);
 		boolean connect = false;
@@ -74,15 +120,25 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 	}
 
 	interface IVoiceState {
+
 		int expired(long nanos);
+
+		default void cancel() {
+		}
+
 	}
 
-	static class PendingState implements IVoiceState {
+	class PendingState implements IVoiceState {
 
+		final Context ctx;
+		final Context peer;
 		final long expiry;
+		HashedTimingWheel.Timeout<PendingState> timeout;
 
-		PendingState(long createdAt) {
-			expiry = createdAt + (REQUEST_TIMEOUT * 1000000l);
+		PendingState(Context ctx, Context peer, long createdAt) {
+			this.ctx = ctx;
+			this.peer = peer;
+			this.expiry = createdAt + (REQUEST_TIMEOUT * 1000000l);
 		}
 
 		@Override
@@ -90,6 +146,24 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 			return nanos > expiry ? 1 : 0;
 		}
 
+		@Override
+		public void cancel() {
+			HashedTimingWheel.Timeout<PendingState> t = timeout;
+			if (t != null) {
+				timeout = null;
+				t.cancel();
+			}
+		}
+
+		void expire() {
+			synchronized (ctx) {
+				if (ctx.get(peer) == this) {
+					ctx.remove(peer);
+				}
+				timeout = null;
+			}
+		}
+
 	}
 
 	static final IVoiceState ESTABLISHED = (l) -> -1;
@@ -98,8 +172,7 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 
 		final VoiceManagerLocal<PlayerObject> mgr;
 		final UUID selfUUID;
-		long lastFlush = 0;
-		boolean expirable = false;
+		int knownMembership = -1;
 
 		private Context(VoiceManagerLocal<PlayerObject> mgr) {
 			this.mgr = mgr;
@@ -110,27 +183,29 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 			if (!mgr.ratelimitCon()) {
 				return;
 			}
-			boolean empty = connectedPlayers.isEmpty();
 			if (connectedPlayers.putIfAbsent(selfUUID, this) != null) {
 				return;
 			}
 			mgr.onStateChanged(EnumVoiceState.ENABLED);
-			if (empty) {
-				return;
+			Object[] allPlayers;
+			boolean schedule;
+			synchronized (VoiceChannel.this) {
+				knownMembership = ++membershipVersion;
+				allPlayers = connectedPlayers.values().toArray();
+				schedule = !membershipFlushScheduled && allPlayers.length > 1;
+				if (schedule) {
+					membershipFlushScheduled = true;
+				}
 			}
-			Object[] allPlayers = connectedPlayers.values().toArray();
 			int len = allPlayers.length;
-			SPacketVoiceSignalGlobalEAG.UserData[] userDatas = new SPacketVoiceSignalGlobalEAG.UserData[len];
-			for (int i = 0; i < len; ++i) {
-				Context ctx = (Context) allPlayers[i];
-				userDatas[i] = new SPacketVoiceSignalGlobalEAG.UserData(ctx.selfUUID.getMostSignificantBits(),
-						ctx.selfUUID.getLeastSignificantBits(), ctx.mgr.player.getUsername());
-			}
-			GameMessagePacket packetToBroadcast = new SPacketVoiceSignalGlobalEAG(Arrays.asList(userDatas));
-			for (int i = 0; i < len; ++i) {
-				((Context) allPlayers[i]).mgr.player.sendEaglerMessage(packetToBroadcast);
+			if (len <= 1) {
+				return;
 			}
 			EaglerPlayerInstance<PlayerObject> self = mgr.player;
+			self.sendEaglerMessage(createUserList(allPlayers));
+			if (schedule) {
+				scheduleMembershipFlush(self);
+			}
 			boolean selfV3 = self.getEaglerProtocol().ver <= 3;
 			GameMessagePacket v3p = null;
 			GameMessagePacket v4p = null;
@@ -139,22 +214,21 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 				if (ctx != this) {
 					EaglerPlayerInstance<PlayerObject> ctxPlayer = ctx.mgr.player;
 					if (ctxPlayer.getEaglerProtocol().ver <= 3) {
-						ctxPlayer.sendEaglerMessage(v3p == null
+						ctx.mgr.signalBatcher.send(v3p == null
 								? (v3p = new SPacketVoiceSignalConnectV3EAG(selfUUID.getMostSignificantBits(),
 										selfUUID.getLeastSignificantBits(), true, false))
 								: v3p);
 					} else {
-						ctxPlayer
-								.sendEaglerMessage(v4p == null
-										? (v4p = new SPacketVoiceSignalConnectAnnounceV4EAG(
-												selfUUID.getMostSignificantBits(), selfUUID.getLeastSignificantBits()))
-										: v4p);
+						ctx.mgr.signalBatcher.send(v4p == null
+								? (v4p = new SPacketVoiceSignalConnectAnnounceV4EAG(selfUUID.getMostSignificantBits(),
+										selfUUID.getLeastSignificantBits()))
+								: v4p);
 					}
 					if (selfV3) {
-						self.sendEaglerMessage(new SPacketVoiceSignalConnectV3EAG(ctx.selfUUID.getMostSignificantBits(),
+						mgr.signalBatcher.send(new SPacketVoiceSignalConnectV3EAG(ctx.selfUUID.getMostSignificantBits(),
 								ctx.selfUUID.getLeastSignificantBits(), true, false));
 					} else {
-						self.sendEaglerMessage(new SPacketVoiceSignalConnectAnnounceV4EAG(
+						mgr.signalBatcher.send(new SPacketVoiceSignalConnectAnnounceV4EAG(
 								ctx.selfUUID.getMostSignificantBits(), ctx.selfUUID.getLeastSignificantBits()));
 					}
 				}
@@ -162,38 +236,34 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 		}
 
 		private boolean putRequest(Context other) {
-			long nanos = System.nanoTime();
-			if (putIfAbsent(other, new PendingState(nanos))) {
-				if (!expirable) {
-					lastFlush = nanos;
-					expirable = true;
-				}
+			PendingState state = new PendingState(this, other, System.nanoTime());
+			if (putIfAbsent(other, state)) {
+				state.timeout = owner.requestTimeouts.add(state.expiry, state);
 				return true;
 			} else {
 				return false;
 			}
 		}
 
-		private IVoiceState checkState(Context other) {
-			long nanos = System.nanoTime();
-			if (expirable) {
-				if (nanos - lastFlush > (30l * 1000l * 1000l * 1000l)) {
-					expirable = false;
-					this.removeAll((k, v) -> {
-						int i = v.expired(nanos);
-						if (i == 1) {
-							return true;
-						} else if (i == 0) {
-							expirable = true;
-						}
-						return false;
-					});
-					return get(other);
-				}
+		private void putEstablished(Context other) {
+			IVoiceState state = put(other, ESTABLISHED);
+			if (state != null) {
+				state.cancel();
+			}
+		}
+
+		private IVoiceState removeState(Context other) {
+			IVoiceState state = remove(other);
+			if (state != null) {
+				state.cancel();
 			}
+			return state;
+		}
+
+		private IVoiceState checkState(Context other) {
 			IVoiceState state = get(other);
-			if (state != null && state.expired(nanos) == 1) {
-				remove(other);
+			if (state != null && state.expired(System.nanoTime()) == 1) {
+				removeState(other);
 				return null;
 			}
 			return state;
@@ -212,7 +282,7 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 						return;
 					} else if (otherState != null) {
 						newState = ESTABLISHED;
-						other.put(this, newState);
+						other.putEstablished(this);
 					}
 				}
 				synchronized (this) {
@@ -220,23 +290,23 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 						putRequest(other);
 						return;
 					} else {
-						put(other, newState);
+						putEstablished(other);
 					}
 				}
 				EaglerPlayerInstance<PlayerObject> otherPlayer = other.mgr.player;
 				if (otherPlayer.getEaglerProtocol().ver <= 3) {
-					otherPlayer.sendEaglerMessage(new SPacketVoiceSignalConnectV3EAG(selfUUID.getMostSignificantBits(),
+					other.mgr.signalBatcher.send(new SPacketVoiceSignalConnectV3EAG(selfUUID.getMostSignificantBits(),
 							selfUUID.getLeastSignificantBits(), false, false));
 				} else {
-					otherPlayer.sendEaglerMessage(new SPacketVoiceSignalConnectV4EAG(selfUUID.getMostSignificantBits(),
+					other.mgr.signalBatcher.send(new SPacketVoiceSignalConnectV4EAG(selfUUID.getMostSignificantBits(),
 							selfUUID.getLeastSignificantBits(), false));
 				}
 				EaglerPlayerInstance<PlayerObject> self = mgr.player;
 				if (self.getEaglerProtocol().ver <= 3) {
-					self.sendEaglerMessage(new SPacketVoiceSignalConnectV3EAG(player.getMostSignificantBits(),
+					mgr.signalBatcher.send(new SPacketVoiceSignalConnectV3EAG(player.getMostSignificantBits(),
 							player.getLeastSignificantBits(), false, true));
 				} else {
-					self.sendEaglerMessage(new SPacketVoiceSignalConnectV4EAG(player.getMostSignificantBits(),
+					mgr.signalBatcher.send(new SPacketVoiceSignalConnectV4EAG(player.getMostSignificantBits(),
 							player.getLeastSignificantBits(), true));
 				}
 			}
@@ -253,7 +323,7 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 						return;
 					}
 				}
-				other.mgr.player.sendEaglerMessage(new SPacketVoiceSignalICEEAG(selfUUID.getMostSignificantBits(),
+				other.mgr.signalBatcher.send(new SPacketVoiceSignalICEEAG(selfUUID.getMostSignificantBits(),
 						selfUUID.getLeastSignificantBits(), str));
 			}
 		}
@@ -269,7 +339,7 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 						return;
 					}
 				}
-				other.mgr.player.sendEaglerMessage(new SPacketVoiceSignalDescEAG(selfUUID.getMostSignificantBits(),
+				other.mgr.signalBatcher.send(new SPacketVoiceSignalDescEAG(selfUUID.getMostSignificantBits(),
 						selfUUID.getLeastSignificantBits(), str));
 			}
 		}
@@ -279,15 +349,15 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 			if (other != null && other != this) {
 				IVoiceState state;
 				synchronized (this) {
-					state = remove(other);
+					state = removeState(other);
 				}
 				if (state == ESTABLISHED) {
 					synchronized (other) {
-						other.remove(this);
+						other.removeState(this);
 					}
-					other.mgr.player.sendEaglerMessage(new SPacketVoiceSignalDisconnectPeerEAG(
+					other.mgr.signalBatcher.send(new SPacketVoiceSignalDisconnectPeerEAG(
 							selfUUID.getMostSignificantBits(), selfUUID.getLeastSignificantBits()));
-					mgr.player.sendEaglerMessage(new SPacketVoiceSignalDisconnectPeerEAG(
+					mgr.signalBatcher.send(new SPacketVoiceSignalDisconnectPeerEAG(
 							player.getMostSignificantBits(), player.getLeastSignificantBits()));
 				}
 			}
@@ -306,15 +376,23 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 				return false;
 			}
 			mgr.onStateChanged(EnumVoiceState.DISABLED);
-			Object[] allPlayers = connectedPlayers.values().toArray();
-			int len = allPlayers.length;
+			boolean schedule;
+			synchronized (VoiceChannel.this) {
+				++membershipVersion;
+				schedule = !membershipFlushScheduled && !connectedPlayers.isEmpty();
+				if (schedule) {
+					membershipFlushScheduled = true;
+				}
+			}
 			ObjectIndexedContainer<Context> toNotify = null;
 			synchronized (this) {
 				if (size() > 0) {
 					toNotify = new ObjectArrayList<>(keys());
+					for (int i = 0, l = toNotify.size(); i < l; ++i) {
+						get(toNotify.get(i)).cancel();
+					}
 					clear();
 				}
-				expirable = false;
 			}
 			if (toNotify != null) {
 				int cnt = toNotify.size();
@@ -324,33 +402,22 @@ class VoiceChannel<PlayerObject> implements IVoiceChannel {
 					Context ctx = toNotify.get(i);
 					IVoiceState voice;
 					synchronized (ctx) {
-						voice = ctx.remove(this);
+						voice = ctx.removeState(this);
 					}
 					if (voice != null) {
 						if (!dead) {
 							UUID uuid = ctx.selfUUID;
-							mgr.player.sendEaglerMessage(new SPacketVoiceSignalDisconnectPeerEAG(
+							mgr.signalBatcher.send(new SPacketVoiceSignalDisconnectPeerEAG(
 									uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
 						}
 						if (voice == ESTABLISHED) {
-							ctx.mgr.player.sendEaglerMessage(pkt);
+							ctx.mgr.signalBatcher.send(pkt);
 						}
 					}
 				}
 			}
-			if (len > 0) {
-				SPacketVoiceSignalGlobalEAG.UserData[] userDatas = new SPacketVoiceSignalGlobalEAG.UserData[len];
-				for (int i = 0; i < len; ++i) {
-					Context ctx = (Context) allPlayers[i];
-					EaglerPlayerInstance<PlayerObject> ctxPlayer = ctx.mgr.player;
-					UUID ctxUUID = ctxPlayer.getUniqueId();
-					userDatas[i] = new SPacketVoiceSignalGlobalEAG.UserData(ctxUUID.getMostSignificantBits(),
-							ctxUUID.getLeastSignificantBits(), ctxPlayer.getUsername());
-				}
-				GameMessagePacket packetToBroadcast = new SPacketVoiceSignalGlobalEAG(Arrays.asList(userDatas));
-				for (int i = 0; i < len; ++i) {
-					((Context) allPlayers[i]).mgr.player.sendEaglerMessage(packetToBroadcast);
-				}
+			if (schedule) {
+				scheduleMembershipFlush(mgr.player);
 			}
 			return true;
 		}
@@ -52,6 +52,7 @@ public class VoiceManagerLocal<PlayerObject> implements IVoiceManagerImpl<Player
 	final EaglerPlayerInstance<PlayerObject> player;
 	final VoiceServiceLocal<PlayerObject> voice;
 	final boolean isBroken;
+	final VoiceSignalBatcher signalBatcher;
 
 	final VoiceChannel<PlayerObject>.Context aquireActiveChannel() {
 		return (VoiceChannel<PlayerObject>.Context) ACTIVE_CHANNEL_HANDLE.getAcquire(this);
@@ -72,6 +73,7 @@ public class VoiceManagerLocal<PlayerObject> implements IVoiceManagerImpl<Player
 		this.player = player;
 		this.voice = voice;
 		this.isBroken = player.getEaglerProtocol().ver < 5;
+		this.signalBatcher = new VoiceSignalBatcher(player);
 	}
 
 	@Override
@@ -180,6 +182,9 @@ public class VoiceManagerLocal<PlayerObject> implements IVoiceManagerImpl<Player
 				enableVoice();
 			}
 			((VoiceChannel<PlayerObject>) newChannel).addToChannel(this);
+			if (oldChannel instanceof ShardedChannel) {
+				((ShardedChannel<PlayerObject>) oldChannel).handleSwitchedAway(this);
+			}
 		} else {
 			if (oldChannel != DisabledChannel.INSTANCE) {
 				((VoiceChannel<PlayerObject>) oldChannel).removeFromChannel(this, true);
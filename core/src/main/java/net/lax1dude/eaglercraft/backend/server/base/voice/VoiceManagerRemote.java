@@ -64,6 +64,7 @@ public class VoiceManagerRemote<PlayerObject> extends SerializationContext imple
 	}
 
 	final EaglerPlayerInstance<PlayerObject> player;
+	final VoiceSignalBatcher signalBatcher;
 	final VoiceServiceRemote<PlayerObject> voice;
 	private volatile int state = -1;
 	private ServerVCProtocolHandler handler;
@@ -72,6 +73,7 @@ public class VoiceManagerRemote<PlayerObject> extends SerializationContext imple
 	VoiceManagerRemote(EaglerPlayerInstance<PlayerObject> player, VoiceServiceRemote<PlayerObject> voice) {
 		super(player.getSerializationContext());
 		this.player = player;
+		this.signalBatcher = new VoiceSignalBatcher(player);
 		this.voice = voice;
 		this.isBroken = player.getEaglerProtocol().ver < 5;
 	}
@@ -363,31 +365,31 @@ public class VoiceManagerRemote<PlayerObject> extends SerializationContext imple
 
 	public void handleBackendSignalPacketAnnounce(long uuidMost, long uuidLeast) {
 		if (isVoiceEnabled()) {
-			player.sendEaglerMessage(new SPacketVoiceSignalConnectAnnounceV4EAG(uuidMost, uuidLeast));
+			signalBatcher.send(new SPacketVoiceSignalConnectAnnounceV4EAG(uuidMost, uuidLeast));
 		}
 	}
 
 	public void handleBackendSignalPacketConnectPeer(long uuidMost, long uuidLeast, boolean offer) {
 		if (isVoiceEnabled()) {
-			player.sendEaglerMessage(new SPacketVoiceSignalConnectV4EAG(uuidMost, uuidLeast, offer));
+			signalBatcher.send(new SPacketVoiceSignalConnectV4EAG(uuidMost, uuidLeast, offer));
 		}
 	}
 
 	public void handleBackendSignalPacketDisconnectPeer(long uuidMost, long uuidLeast) {
 		if (isVoiceEnabled()) {
-			player.sendEaglerMessage(new SPacketVoiceSignalDisconnectPeerEAG(uuidMost, uuidLeast));
+			signalBatcher.send(new SPacketVoiceSignalDisconnectPeerEAG(uuidMost, uuidLeast));
 		}
 	}
 
 	public void handleBackendSignalPacketDescription(long uuidMost, long uuidLeast, byte[] desc) {
 		if (isVoiceEnabled()) {
-			player.sendEaglerMessage(new SPacketVoiceSignalDescEAG(uuidMost, uuidLeast, desc));
+			signalBatcher.send(new SPacketVoiceSignalDescEAG(uuidMost, uuidLeast, desc));
 		}
 	}
 
 	public void handleBackendSignalPacketICECandidate(long uuidMost, long uuidLeast, byte[] ice) {
 		if (isVoiceEnabled()) {
-			player.sendEaglerMessage(new SPacketVoiceSignalICEEAG(uuidMost, uuidLeast, ice));
+			signalBatcher.send(new SPacketVoiceSignalICEEAG(uuidMost, uuidLeast, ice));
 		}
 	}
 
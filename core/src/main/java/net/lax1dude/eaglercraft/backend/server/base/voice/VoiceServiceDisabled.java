@@ -23,6 +23,7 @@ import net.lax1dude.eaglercraft.backend.server.api.IEaglerPlayer;
 import net.lax1dude.eaglercraft.backend.server.api.IEaglerXServerAPI;
 import net.lax1dude.eaglercraft.backend.server.api.voice.ICEServerEntry;
 import net.lax1dude.eaglercraft.backend.server.api.voice.IVoiceChannel;
+import net.lax1dude.eaglercraft.backend.server.api.voice.IVoicePartitioner;
 import net.lax1dude.eaglercraft.backend.server.base.EaglerPlayerInstance;
 import net.lax1dude.eaglercraft.backend.server.base.EaglerXServer;
 
@@ -84,6 +85,11 @@ public class VoiceServiceDisabled<PlayerObject> implements IVoiceServiceImpl<Pla
 		throw disabledError();
 	}
 
+	@Override
+	public IVoiceChannel createShardedVoiceChannel(int shardCapacity, IVoicePartitioner<PlayerObject> partitioner) {
+		throw disabledError();
+	}
+
 	@Override
 	public IVoiceChannel getGlobalVoiceChannel() {
 		throw disabledError();
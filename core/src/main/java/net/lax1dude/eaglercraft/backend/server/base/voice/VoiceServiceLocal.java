@@ -30,9 +30,11 @@ import net.lax1dude.eaglercraft.backend.server.api.IEaglerPlayer;
 import net.lax1dude.eaglercraft.backend.server.api.IEaglerXServerAPI;
 import net.lax1dude.eaglercraft.backend.server.api.voice.ICEServerEntry;
 import net.lax1dude.eaglercraft.backend.server.api.voice.IVoiceChannel;
+import net.lax1dude.eaglercraft.backend.server.api.voice.IVoicePartitioner;
 import net.lax1dude.eaglercraft.backend.server.base.EaglerPlayerInstance;
 import net.lax1dude.eaglercraft.backend.server.base.EaglerXServer;
 import net.lax1dude.eaglercraft.backend.server.base.config.ConfigDataSettings.ConfigDataVoiceService;
+import net.lax1dude.eaglercraft.backend.util.HashedTimingWheel;
 
 public class VoiceServiceLocal<PlayerObject> implements IVoiceServiceImpl<PlayerObject> {
 
@@ -42,6 +44,7 @@ public class VoiceServiceLocal<PlayerObject> implements IVoiceServiceImpl<Player
 	private final Set<String> configServersEnabled;
 	private final IVoiceChannel globalChannel;
 	private final LoadingCache<String, IVoiceChannel> serverChannels;
+	final HashedTimingWheel<VoiceChannel<PlayerObject>.PendingState> requestTimeouts;
 	private Collection<ICEServerEntry> iceServers;
 	private String[] iceServersStr;
 
@@ -58,6 +61,9 @@ public class VoiceServiceLocal<PlayerObject> implements IVoiceServiceImpl<Player
 						return new ManagedChannel<>(VoiceServiceLocal.this);
 					}
 				}) : null;
+		this.requestTimeouts = new HashedTimingWheel<>("EaglerXServer Voice Timeout Thread", 100l * 1000000l, 32,
+				(state) -> state.expire(), null,
+				(ex) -> server.logger().error("Caught exception in voice timeout thread", ex));
 	}
 
 	@Override
@@ -128,6 +134,14 @@ public class VoiceServiceLocal<PlayerObject> implements IVoiceServiceImpl<Player
 		return new VoiceChannel<>(this);
 	}
 
+	@Override
+	public IVoiceChannel createShardedVoiceChannel(int shardCapacity, IVoicePartitioner<PlayerObject> partitioner) {
+		if (shardCapacity < 2) {
+			throw new IllegalArgumentException("Shard capacity must be at least 2");
+		}
+		return new ShardedChannel<>(this, shardCapacity, partitioner);
+	}
+
 	@Override
 	public IVoiceChannel getGlobalVoiceChannel() {
 		return globalChannel;
@@ -25,6 +25,7 @@ import net.lax1dude.eaglercraft.backend.server.api.IEaglerPlayer;
 import net.lax1dude.eaglercraft.backend.server.api.IEaglerXServerAPI;
 import net.lax1dude.eaglercraft.backend.server.api.voice.ICEServerEntry;
 import net.lax1dude.eaglercraft.backend.server.api.voice.IVoiceChannel;
+import net.lax1dude.eaglercraft.backend.server.api.voice.IVoicePartitioner;
 import net.lax1dude.eaglercraft.backend.server.base.EaglerPlayerInstance;
 import net.lax1dude.eaglercraft.backend.server.base.EaglerXServer;
 import net.lax1dude.eaglercraft.backend.server.base.rpc.BackendChannelHelper;
@@ -101,6 +102,11 @@ public class VoiceServiceRemote<PlayerObject> implements IVoiceServiceImpl<Playe
 		throw backendRelayMode();
 	}
 
+	@Override
+	public IVoiceChannel createShardedVoiceChannel(int shardCapacity, IVoicePartitioner<PlayerObject> partitioner) {
+		throw backendRelayMode();
+	}
+
 	@Override
 	public IVoiceChannel getGlobalVoiceChannel() {
 		throw backendRelayMode();
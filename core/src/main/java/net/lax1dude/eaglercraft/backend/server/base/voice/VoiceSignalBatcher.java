@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.voice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.Channel;
+import net.lax1dude.eaglercraft.backend.server.base.EaglerPlayerInstance;
+import net.lax1dude.eaglercraft.backend.server.base.message.MessageController;
+import net.lax1dude.eaglercraft.v1_8.socket.protocol.pkt.GameMessagePacket;
+
+class VoiceSignalBatcher {
+
+	public static final int MIN_WINDOW = 1;
+	public static final int MAX_WINDOW = 8;
+
+	private final EaglerPlayerInstance<?> player;
+	private final Runnable flushTask = this::flush;
+	private List<GameMessagePacket> queue;
+	private boolean scheduled;
+	private int window = MIN_WINDOW;
+
+	VoiceSignalBatcher(EaglerPlayerInstance<?> player) {
+		this.player = player;
+	}
+
+	void send(GameMessagePacket packet) {
+		MessageController controller = player.getMessageController();
+		if (controller.isSendQueueEnabled() || !controller.isMultiPacketSupported()) {
+			controller.sendPacket(packet);
+			return;
+		}
+		int delay;
+		synchronized (this) {
+			if (queue == null) {
+				queue = new ArrayList<>(4);
+			}
+			queue.add(packet);
+			if (scheduled) {
+				return;
+			}
+			scheduled = true;
+			delay = window;
+		}
+		Channel channel = player.getChannel();
+		if (channel.isActive()) {
+			channel.eventLoop().schedule(flushTask, delay, TimeUnit.MILLISECONDS);
+		} else {
+			synchronized (this) {
+				scheduled = false;
+				queue.clear();
+			}
+		}
+	}
+
+	private void flush() {
+		GameMessagePacket[] packets;
+		synchronized (this) {
+			scheduled = false;
+			int len = queue.size();
+			if (len == 0) {
+				return;
+			}
+			packets = queue.toArray(new GameMessagePacket[len]);
+			queue.clear();
+			if (len >= 4) {
+				window = Math.min(window << 1, MAX_WINDOW);
+			} else if (len == 1) {
+				window = Math.max(window >> 1, MIN_WINDOW);
+			}
+		}
+		player.getMessageController().sendPacketsImmediately(packets);
+	}
+
+}
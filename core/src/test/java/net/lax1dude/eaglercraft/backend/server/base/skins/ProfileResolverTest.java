@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.skins;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import net.lax1dude.eaglercraft.backend.server.api.skins.TexturesProperty;
+import net.lax1dude.eaglercraft.backend.server.base.EaglerXServer;
+import net.lax1dude.eaglercraft.backend.server.base.LegacyInternalHTTPClient;
+import net.lax1dude.eaglercraft.backend.server.util.Util;
+
+class ProfileResolverTest {
+
+	private static final String USERNAME_PATH = "/users/profiles/minecraft/";
+	private static final String BULK_PATH = "/minecraft/profile/lookup/bulk/byname";
+	private static final String SESSION_PATH = "/session/minecraft/profile/";
+
+	private final List<String> singleRequests = Collections.synchronizedList(new ArrayList<>());
+	private final List<List<String>> bulkRequests = Collections.synchronizedList(new ArrayList<>());
+	private final List<String> sessionRequests = Collections.synchronizedList(new ArrayList<>());
+	private volatile CountDownLatch sessionReceived = new CountDownLatch(1);
+	private volatile CountDownLatch sessionRelease = new CountDownLatch(0);
+
+	private ExecutorService serverExecutor;
+	private HttpServer httpServer;
+	private TestScheduler scheduler;
+	private ProfileResolver resolver;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		serverExecutor = Executors.newCachedThreadPool();
+		httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		httpServer.setExecutor(serverExecutor);
+		httpServer.createContext(USERNAME_PATH, this::handleUsername);
+		httpServer.createContext(BULK_PATH, this::handleBulk);
+		httpServer.createContext(SESSION_PATH, this::handleSession);
+		httpServer.start();
+		String base = "http://127.0.0.1:" + httpServer.getAddress().getPort();
+		scheduler = new TestScheduler();
+		resolver = new ProfileResolver(scheduler, new TestLogger(), new LegacyInternalHTTPClient(scheduler, "test"),
+				base, base, base);
+	}
+
+	@AfterEach
+	void tearDown() {
+		httpServer.stop(0);
+		serverExecutor.shutdownNow();
+		scheduler.shutdown();
+	}
+
+	private void handleUsername(HttpExchange exchange) throws IOException {
+		String name = exchange.getRequestURI().getPath().substring(USERNAME_PATH.length());
+		singleRequests.add(name);
+		if (name.startsWith("missing")) {
+			respond(exchange, 404, null);
+		} else {
+			respond(exchange, 200, profileJson(name).toString());
+		}
+	}
+
+	private void handleBulk(HttpExchange exchange) throws IOException {
+		assertEquals("POST", exchange.getRequestMethod());
+		JsonArray names = EaglerXServer.GSON_PRETTY.fromJson(
+				new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8), JsonArray.class);
+		List<String> list = new ArrayList<>(names.size());
+		JsonArray result = new JsonArray();
+		for (int i = 0, l = names.size(); i < l; ++i) {
+			String name = names.get(i).getAsString();
+			list.add(name);
+			if (!name.startsWith("missing")) {
+				result.add(profileJson(name));
+			}
+		}
+		bulkRequests.add(list);
+		respond(exchange, 200, result.toString());
+	}
+
+	private void handleSession(HttpExchange exchange) throws IOException {
+		sessionRequests.add(exchange.getRequestURI().getPath().substring(SESSION_PATH.length()));
+		sessionReceived.countDown();
+		try {
+			sessionRelease.await(5l, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+		}
+		JsonObject prop = new JsonObject();
+		prop.addProperty("name", "textures");
+		prop.addProperty("value", "value");
+		prop.addProperty("signature", "signature");
+		JsonArray props = new JsonArray();
+		props.add(prop);
+		JsonObject json = new JsonObject();
+		json.add("properties", props);
+		respond(exchange, 200, json.toString());
+	}
+
+	private static void respond(HttpExchange exchange, int code, String body) throws IOException {
+		exchange.getRequestBody().readAllBytes();
+		if (body != null) {
+			byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(code, bytes.length);
+			try (OutputStream os = exchange.getResponseBody()) {
+				os.write(bytes);
+			}
+		} else {
+			exchange.sendResponseHeaders(code, -1l);
+			exchange.close();
+		}
+	}
+
+	private static UUID uuidOf(String name) {
+		return UUID.nameUUIDFromBytes(("test:" + name.toLowerCase(Locale.US)).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static JsonObject profileJson(String name) {
+		JsonObject json = new JsonObject();
+		json.addProperty("id", Util.toUUIDStringUndashed(uuidOf(name)).toString());
+		json.addProperty("name", name);
+		return json;
+	}
+
+	private CompletableFuture<UUID> resolve(String name) {
+		CompletableFuture<UUID> ret = new CompletableFuture<>();
+		resolver.resolveVanillaUUIDFromUsername(name, ret::complete);
+		return ret;
+	}
+
+	private static <T> T await(CompletableFuture<T> future) throws Exception {
+		return future.get(5l, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void testSingleNameUsesProfileEndpoint() throws Exception {
+		assertEquals(uuidOf("Steve"), await(resolve("Steve")));
+		assertEquals(List.of("Steve"), singleRequests);
+		assertTrue(bulkRequests.isEmpty());
+	}
+
+	@Test
+	void testSingleNameNotFound() throws Exception {
+		assertNull(await(resolve("missing_1")));
+		assertEquals(List.of("missing_1"), singleRequests);
+	}
+
+	@Test
+	void testUsernamesCoalesceIgnoringCase() throws Exception {
+		CompletableFuture<UUID> a = resolve("Steve");
+		CompletableFuture<UUID> b = resolve("steve");
+		CompletableFuture<UUID> c = resolve("STEVE");
+		assertEquals(uuidOf("steve"), await(a));
+		assertEquals(uuidOf("steve"), await(b));
+		assertEquals(uuidOf("steve"), await(c));
+		assertEquals(List.of("Steve"), singleRequests);
+		assertTrue(bulkRequests.isEmpty());
+	}
+
+	@Test
+	void testUsernamesBatchedWithinWindow() throws Exception {
+		long start = System.nanoTime();
+		CompletableFuture<UUID> a = resolve("alex");
+		CompletableFuture<UUID> b = resolve("steve");
+		CompletableFuture<UUID> c = resolve("missing_1");
+		assertEquals(uuidOf("alex"), await(a));
+		assertEquals(uuidOf("steve"), await(b));
+		assertNull(await(c));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(ProfileResolver.BULK_WINDOW));
+		assertEquals(List.of(ProfileResolver.BULK_WINDOW), scheduler.asyncDelays);
+		assertEquals(List.of(List.of("alex", "steve", "missing_1")), bulkRequests);
+		assertTrue(singleRequests.isEmpty());
+
+		// a name queued after the flush starts a new window
+		assertEquals(uuidOf("herobrine"), await(resolve("herobrine")));
+		assertEquals(2, scheduler.asyncDelays.size());
+		assertEquals(List.of("herobrine"), singleRequests);
+	}
+
+	@Test
+	void testBulkRequestsAreChunked() throws Exception {
+		List<CompletableFuture<UUID>> futures = new ArrayList<>();
+		for (int i = 0; i < 25; ++i) {
+			futures.add(resolve("player_" + i));
+		}
+		for (int i = 0; i < 25; ++i) {
+			assertEquals(uuidOf("player_" + i), await(futures.get(i)));
+		}
+		assertEquals(3, bulkRequests.size());
+		List<Integer> sizes = new ArrayList<>();
+		for (List<String> lst : bulkRequests) {
+			sizes.add(lst.size());
+		}
+		Collections.sort(sizes);
+		assertEquals(List.of(5, ProfileResolver.BULK_MAX_NAMES, ProfileResolver.BULK_MAX_NAMES), sizes);
+		assertTrue(singleRequests.isEmpty());
+	}
+
+	@Test
+	void testLoneRemainderFallsBackToSingleRequest() throws Exception {
+		List<CompletableFuture<UUID>> futures = new ArrayList<>();
+		for (int i = 0; i < 11; ++i) {
+			futures.add(resolve("player_" + i));
+		}
+		for (int i = 0; i < 11; ++i) {
+			assertEquals(uuidOf("player_" + i), await(futures.get(i)));
+		}
+		assertEquals(1, bulkRequests.size());
+		assertEquals(ProfileResolver.BULK_MAX_NAMES, bulkRequests.get(0).size());
+		assertEquals(List.of("player_10"), singleRequests);
+	}
+
+	@Test
+	void testTexturesCoalesceWhileInFlight() throws Exception {
+		sessionReceived = new CountDownLatch(1);
+		sessionRelease = new CountDownLatch(1);
+		UUID uuid = uuidOf("steve");
+		CompletableFuture<TexturesProperty> a = new CompletableFuture<>();
+		CompletableFuture<TexturesProperty> b = new CompletableFuture<>();
+		resolver.resolveVanillaTexturesFromUUID(uuid, a::complete);
+		assertTrue(sessionReceived.await(5l, TimeUnit.SECONDS));
+		resolver.resolveVanillaTexturesFromUUID(uuid, b::complete);
+		sessionRelease.countDown();
+		assertEquals("value", await(a).getValue());
+		assertSame(await(a), await(b));
+		assertEquals(List.of(Util.toUUIDStringUndashed(uuid).toString()), sessionRequests);
+
+		// completed lookups are not cached by the resolver
+		CompletableFuture<TexturesProperty> c = new CompletableFuture<>();
+		resolver.resolveVanillaTexturesFromUUID(uuid, c::complete);
+		assertEquals("signature", await(c).getSignature());
+		assertEquals(2, sessionRequests.size());
+	}
+
+}
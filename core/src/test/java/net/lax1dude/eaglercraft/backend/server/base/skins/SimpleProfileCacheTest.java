@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.skins;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.lax1dude.eaglercraft.backend.server.api.skins.TexturesProperty;
+
+class SimpleProfileCacheTest {
+
+	private static final long MAX_AGE = 60000l;
+	private static final String UNICODE_NAME = "\u00dcn\u00efc\u00f8d\u00e9_\u540d\u524d";
+
+	@TempDir
+	File tempDir;
+
+	private final TestLogger logger = new TestLogger();
+
+	private SimpleProfileCache open(File file) {
+		return new SimpleProfileCache(logger, file, MAX_AGE);
+	}
+
+	private static void assertTextures(String value, String signature, TexturesProperty prop) {
+		assertNotNull(prop);
+		assertEquals(value, prop.getValue());
+		assertEquals(signature, prop.getSignature());
+	}
+
+	@Test
+	void testStoreAndReload() {
+		File file = new File(tempDir, "cache.dat");
+		SimpleProfileCache cache = open(file);
+		assertNull(cache.lookup("Steve"));
+		// multi-byte strings first, so a wrong record length would misplace the next offset
+		cache.store(UNICODE_NAME, TexturesProperty.create("v\u00e4lue", "s\u00efg"));
+		cache.store("Steve", TexturesProperty.create("value", "sig"));
+		assertTextures("value", "sig", cache.lookup("Steve"));
+
+		SimpleProfileCache reloaded = open(file);
+		assertTextures("v\u00e4lue", "s\u00efg", reloaded.lookup(UNICODE_NAME));
+		assertTextures("value", "sig", reloaded.lookup("Steve"));
+		assertNull(reloaded.lookup("Alex"));
+	}
+
+	@Test
+	void testLatestRecordWins() {
+		File file = new File(tempDir, "cache.dat");
+		SimpleProfileCache cache = open(file);
+		cache.store("Steve", TexturesProperty.create("old", "sig"));
+		cache.store("Steve", TexturesProperty.create("new", "sig"));
+		assertTextures("new", "sig", cache.lookup("Steve"));
+		assertTextures("new", "sig", open(file).lookup("Steve"));
+	}
+
+	@Test
+	void testTruncatedRecordIsDropped() throws IOException {
+		File file = new File(tempDir, "cache.dat");
+		SimpleProfileCache cache = open(file);
+		cache.store(UNICODE_NAME, TexturesProperty.create("value1", "sig1"));
+		long firstLength = file.length();
+		cache.store("Steve", TexturesProperty.create("value2", "sig2"));
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(raf.length() - 3l);
+		}
+
+		SimpleProfileCache reloaded = open(file);
+		assertTextures("value1", "sig1", reloaded.lookup(UNICODE_NAME));
+		assertNull(reloaded.lookup("Steve"));
+		assertEquals(firstLength, file.length());
+
+		reloaded.store("Steve", TexturesProperty.create("value3", "sig3"));
+		SimpleProfileCache again = open(file);
+		assertTextures("value1", "sig1", again.lookup(UNICODE_NAME));
+		assertTextures("value3", "sig3", again.lookup("Steve"));
+	}
+
+	@Test
+	void testSupersededRecordsAreCompacted() {
+		File file = new File(tempDir, "cache.dat");
+		SimpleProfileCache cache = open(file);
+		cache.store("Steve", TexturesProperty.create("value", "sig"));
+		long recordLength = file.length() - 4l;
+		for (int i = 0; i < 100; ++i) {
+			cache.store("Steve", TexturesProperty.create("value", "sig"));
+		}
+		assertTrue(file.length() <= 4l + 19l * recordLength, "file was not compacted: " + file.length());
+		assertTextures("value", "sig", open(file).lookup("Steve"));
+	}
+
+	@Test
+	void testExpiredRecordsAreDropped() throws InterruptedException {
+		File file = new File(tempDir, "cache.dat");
+		SimpleProfileCache cache = new SimpleProfileCache(logger, file, 20l);
+		cache.store("Steve", TexturesProperty.create("value", "sig"));
+		Thread.sleep(50l);
+		assertNull(cache.lookup("Steve"));
+		assertNull(new SimpleProfileCache(logger, file, 20l).lookup("Steve"));
+		assertEquals(4l, file.length());
+	}
+
+	@Test
+	void testInvalidFileIsDiscarded() throws IOException {
+		File file = new File(tempDir, "cache.dat");
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.writeInt(0x12345678);
+		}
+		SimpleProfileCache cache = open(file);
+		assertNull(cache.lookup("Steve"));
+		cache.store("Steve", TexturesProperty.create("value", "sig"));
+		assertTextures("value", "sig", open(file).lookup("Steve"));
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.skins;
+
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformLogger;
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformSubLogger;
+
+class TestLogger implements IPlatformLogger {
+
+	@Override
+	public void info(String msg) {
+		System.out.println("[INFO] " + msg);
+	}
+
+	@Override
+	public void info(String msg, Throwable thrown) {
+		info(msg);
+		thrown.printStackTrace(System.out);
+	}
+
+	@Override
+	public void warn(String msg) {
+		System.out.println("[WARN] " + msg);
+	}
+
+	@Override
+	public void warn(String msg, Throwable thrown) {
+		warn(msg);
+		thrown.printStackTrace(System.out);
+	}
+
+	@Override
+	public void error(String msg) {
+		System.out.println("[ERROR] " + msg);
+	}
+
+	@Override
+	public void error(String msg, Throwable thrown) {
+		error(msg);
+		thrown.printStackTrace(System.out);
+	}
+
+	@Override
+	public IPlatformSubLogger createSubLogger(String name) {
+		throw new UnsupportedOperationException();
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.server.base.skins;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformScheduler;
+import net.lax1dude.eaglercraft.backend.server.adapter.IPlatformTask;
+
+class TestScheduler implements IPlatformScheduler {
+
+	final List<Long> asyncDelays = new CopyOnWriteArrayList<>();
+	private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+
+	@Override
+	public void execute(Runnable runnable) {
+		executor.execute(runnable);
+	}
+
+	@Override
+	public void executeAsync(Runnable runnable) {
+		executor.execute(runnable);
+	}
+
+	@Override
+	public void executeDelayed(Runnable runnable, long delay) {
+		executor.schedule(runnable, delay, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public void executeAsyncDelayed(Runnable runnable, long delay) {
+		asyncDelays.add(delay);
+		executor.schedule(runnable, delay, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public IPlatformTask executeDelayedTask(Runnable runnable, long delay) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public IPlatformTask executeAsyncDelayedTask(Runnable runnable, long delay) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public IPlatformTask executeRepeatingTask(Runnable runnable, long delay, long interval) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public IPlatformTask executeAsyncRepeatingTask(Runnable runnable, long delay, long interval) {
+		throw new UnsupportedOperationException();
+	}
+
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+}
@@ -33,6 +33,7 @@ import com.google.common.cache.CacheBuilder;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
@@ -40,6 +41,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContent;
@@ -61,20 +63,25 @@ public class HTTPClient implements IHTTPClient {
 	private static class RedirectTracker {
 		private int redirects = 0;
 		private String method;
+		private String contentType;
+		private byte[] body;
 
-		private RedirectTracker(String method) {
+		private RedirectTracker(String method, String contentType, byte[] body) {
 			this.method = method;
+			this.contentType = contentType;
+			this.body = body;
 		}
 	}
 
 	private class NettyHttpChannelFutureListener implements ChannelFutureListener {
 
-		protected final String method;
+		protected final RedirectTracker redirectTracker;
 		protected final URI requestURI;
 		protected final Consumer<Response> responseCallback;
 
-		protected NettyHttpChannelFutureListener(String method, URI requestURI, Consumer<Response> responseCallback) {
-			this.method = method;
+		protected NettyHttpChannelFutureListener(RedirectTracker redirectTracker, URI requestURI,
+				Consumer<Response> responseCallback) {
+			this.redirectTracker = redirectTracker;
 			this.requestURI = requestURI;
 			this.responseCallback = responseCallback;
 		}
@@ -84,7 +91,17 @@ public class HTTPClient implements IHTTPClient {
 			if (future.isSuccess()) {
 				String path = requestURI.getRawPath()
 						+ ((requestURI.getRawQuery() == null) ? "" : ("?" + requestURI.getRawQuery()));
-				HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.valueOf(method), path);
+				HttpMethod method = HttpMethod.valueOf(redirectTracker.method);
+				byte[] body = redirectTracker.body;
+				HttpRequest request;
+				if (body != null) {
+					request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, method, path,
+							Unpooled.wrappedBuffer(body));
+					request.headers().set(HttpHeaderNames.CONTENT_TYPE, redirectTracker.contentType);
+					request.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, body.length);
+				} else {
+					request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, method, path);
+				}
 				request.headers().set(HttpHeaderNames.HOST, requestURI.getHost());
 				request.headers().set(HttpHeaderNames.USER_AGENT, userAgent);
 				future.channel().writeAndFlush(request);
@@ -149,6 +166,8 @@ public class HTTPClient implements IHTTPClient {
 					ctx.channel().close();
 					if (responseCode == 303) {
 						redirectTracker.method = "GET";
+						redirectTracker.contentType = null;
+						redirectTracker.body = null;
 					}
 					redirect(response);
 					return;
@@ -217,7 +236,12 @@ public class HTTPClient implements IHTTPClient {
 	}
 
 	public void asyncRequest(String method, URI uri, Consumer<Response> responseCallback) {
-		asyncRequest(uri, responseCallback, new RedirectTracker(method));
+		asyncRequest(uri, responseCallback, new RedirectTracker(method, null, null));
+	}
+
+	public void asyncRequest(String method, URI uri, String contentType, byte[] body,
+			Consumer<Response> responseCallback) {
+		asyncRequest(uri, responseCallback, new RedirectTracker(method, contentType, body));
 	}
 
 	private void asyncRequest(URI uri, Consumer<Response> responseCallback, RedirectTracker redirectTracker) {
@@ -256,7 +280,7 @@ public class HTTPClient implements IHTTPClient {
 		bootstrapper.get().handler(new NettyHttpChannelInitializer(responseCallback, redirectTracker, ssl, host, port))
 				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000).option(ChannelOption.TCP_NODELAY, true)
 				.remoteAddress(addr).connect()
-				.addListener(new NettyHttpChannelFutureListener(redirectTracker.method, uri, responseCallback));
+				.addListener(new NettyHttpChannelFutureListener(redirectTracker, uri, responseCallback));
 	}
 
 }
\ No newline at end of file
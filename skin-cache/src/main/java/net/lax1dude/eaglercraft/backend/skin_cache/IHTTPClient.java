@@ -48,4 +48,6 @@ public interface IHTTPClient {
 
 	void asyncRequest(String method, URI uri, Consumer<Response> responseCallback);
 
+	void asyncRequest(String method, URI uri, String contentType, byte[] body, Consumer<Response> responseCallback);
+
 }
@@ -17,14 +17,17 @@
 package net.lax1dude.eaglercraft.backend.skin_cache;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.imageio.ImageIO;
 
-import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 
 public class SkinCacheDownloader implements ISkinCacheDownloader {
 
@@ -49,23 +52,22 @@ public class SkinCacheDownloader implements ISkinCacheDownloader {
 		}
 	}
 
-	private void downloadTexture(String skinURL, Consumer<BufferedImage> callback) {
+	private void downloadTexture(String skinURL, Function<ByteBuf, byte[]> decoder, Consumer<byte[]> callback) {
 		URI uri = validateSkinURL(skinURL);
 		if (uri != null) {
 			httpClient.asyncRequest("GET", uri, (res) -> {
 				if (res.exception != null || res.data == null) {
 					callback.accept(null);
 				} else {
-					BufferedImage img = null;
+					byte[] pixels = null;
 					try {
 						if (res.code == 200) {
-							img = ImageIO.read(new ByteBufInputStream(res.data));
+							pixels = decoder.apply(res.data);
 						}
-					} catch (IOException e) {
 					} finally {
 						res.data.release();
 					}
-					callback.accept(img);
+					callback.accept(pixels);
 				}
 			});
 		} else {
@@ -75,48 +77,75 @@ public class SkinCacheDownloader implements ISkinCacheDownloader {
 
 	@Override
 	public void downloadSkin(String skinURL, Consumer<byte[]> callback) {
-		downloadTexture(skinURL, (res) -> {
-			if (res != null) {
-				if (res.getWidth() == 64) {
-					byte[] pixels;
-					if (res.getHeight() == 32) {
-						int[] pixelsIn = res.getRGB(0, 0, 64, 32, null, 0, 64);
-						pixels = new byte[64 * 64 * 3];
-						SkinConverter.convert64x32To64x64(pixelsIn, pixels);
-					} else if (res.getHeight() == 64) {
-						int[] pixelsIn = res.getRGB(0, 0, 64, 64, null, 0, 64);
-						pixels = new byte[64 * 64 * 3];
-						SkinConverter.convertToBytes(pixelsIn, pixels);
-					} else {
-						callback.accept(null);
-						return;
-					}
-					callback.accept(pixels);
-				} else {
-					callback.accept(null);
-				}
-			} else {
-				callback.accept(null);
-			}
-		});
+		downloadTexture(skinURL, SkinCacheDownloader::decodeSkin, callback);
 	}
 
 	@Override
 	public void downloadCape(String skinURL, Consumer<byte[]> callback) {
-		downloadTexture(skinURL, (res) -> {
-			if (res != null) {
-				if (res.getWidth() == 64 && res.getHeight() == 32) {
-					int[] pixelsIn = res.getRGB(0, 0, 64, 32, null, 0, 64);
-					byte[] pixels = new byte[1173];
-					SkinConverter.convertCape64x32RGBAto23x17RGB(pixelsIn, pixels);
-					callback.accept(pixels);
-				} else {
-					callback.accept(null);
-				}
-			} else {
-				callback.accept(null);
+		downloadTexture(skinURL, SkinCacheDownloader::decodeCape, callback);
+	}
+
+	private static byte[] decodeSkin(ByteBuf buf) {
+		byte[] arr;
+		int off, len = buf.readableBytes();
+		if (buf.hasArray()) {
+			arr = buf.array();
+			off = buf.arrayOffset() + buf.readerIndex();
+		} else {
+			arr = ByteBufUtil.getBytes(buf);
+			off = 0;
+		}
+		byte[] pixels = SkinPNGDecoder.decodeSkin(arr, off, len);
+		if (pixels != null) {
+			return pixels;
+		}
+		BufferedImage img = readImage(arr, off, len);
+		if (img != null && img.getWidth() == 64) {
+			if (img.getHeight() == 32) {
+				int[] pixelsIn = img.getRGB(0, 0, 64, 32, null, 0, 64);
+				pixels = new byte[64 * 64 * 3];
+				SkinConverter.convert64x32To64x64(pixelsIn, pixels);
+				return pixels;
+			} else if (img.getHeight() == 64) {
+				int[] pixelsIn = img.getRGB(0, 0, 64, 64, null, 0, 64);
+				pixels = new byte[64 * 64 * 3];
+				SkinConverter.convertToBytes(pixelsIn, pixels);
+				return pixels;
 			}
-		});
+		}
+		return null;
+	}
+
+	private static byte[] decodeCape(ByteBuf buf) {
+		byte[] arr;
+		int off, len = buf.readableBytes();
+		if (buf.hasArray()) {
+			arr = buf.array();
+			off = buf.arrayOffset() + buf.readerIndex();
+		} else {
+			arr = ByteBufUtil.getBytes(buf);
+			off = 0;
+		}
+		byte[] pixels = SkinPNGDecoder.decodeCape(arr, off, len);
+		if (pixels != null) {
+			return pixels;
+		}
+		BufferedImage img = readImage(arr, off, len);
+		if (img != null && img.getWidth() == 64 && img.getHeight() == 32) {
+			int[] pixelsIn = img.getRGB(0, 0, 64, 32, null, 0, 64);
+			pixels = new byte[1173];
+			SkinConverter.convertCape64x32RGBAto23x17RGB(pixelsIn, pixels);
+			return pixels;
+		}
+		return null;
+	}
+
+	private static BufferedImage readImage(byte[] arr, int off, int len) {
+		try {
+			return ImageIO.read(new ByteArrayInputStream(arr, off, len));
+		} catch (IOException e) {
+			return null;
+		}
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.skin_cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import net.lax1dude.eaglercraft.backend.util.ILoggerAdapter;
+import net.lax1dude.eaglercraft.backend.util.SteadyTime;
+
+/**
+ * Skin cache datastore that keeps textures as content-addressed files named by
+ * their SHA-1, selected by using a "file:" URI in place of the JDBC URI
+ */
+public class SkinCacheFileDatastore implements ISkinCacheDatastore {
+
+	public static final String URI_PREFIX = "file:";
+
+	public static final int SKIN_LENGTH = 12288;
+	public static final int CAPE_LENGTH = 1173;
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	protected final ILoggerAdapter logger;
+	protected final File baseDir;
+	protected final SkinCacheFileDatastoreThreadEnv[] threads;
+	protected final BlockingQueue<SkinCacheFileDatastoreRunnable> fileQueue = new LinkedBlockingQueue<>();
+	protected final CountDownLatch disposeLatch;
+
+	protected long lastCleanup = 0l;
+	protected int keepObjectsDays;
+	protected int maxObjects;
+	protected long maxBytes;
+
+	protected final SkinCacheFileIndex skin;
+	protected final SkinCacheFileIndex cape;
+	protected final File skinDir;
+	protected final File capeDir;
+
+	private class SkinCacheFileDatastoreThreadEnv {
+
+		protected final Thread thread;
+		protected final byte[] compressionTmp;
+		protected final Deflater deflater;
+		protected final Inflater inflater;
+		protected final MessageDigest sha1Digest;
+
+		protected SkinCacheFileDatastoreThreadEnv(int i, int compressionLevel) {
+			compressionTmp = new byte[65535];
+			deflater = compressionLevel > 0 ? new Deflater(compressionLevel) : null;
+			inflater = new Inflater();
+			try {
+				sha1Digest = MessageDigest.getInstance("SHA-1");
+			} catch (NoSuchAlgorithmException ex) {
+				throw new RuntimeException("This JRE does not support SHA-1!", ex);
+			}
+			thread = new Thread(() -> {
+				for (;;) {
+					try {
+						SkinCacheFileDatastoreRunnable runnable = fileQueue.take();
+						if (runnable == TERMINATE) {
+							break;
+						}
+						runnable.run(this);
+					} catch (Throwable ex) {
+						if (ex instanceof ThreadDeath exx) {
+							throw exx;
+						}
+						logger.error("Caught exception in worker thread #" + (i + 1), ex);
+					}
+				}
+				dispose();
+				disposeLatch.countDown();
+			}, "SkinCacheFileDatastore Thread #" + (i + 1));
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		public void dispose() {
+			if (deflater != null) {
+				deflater.end();
+			}
+			inflater.end();
+		}
+
+	}
+
+	private interface SkinCacheFileDatastoreRunnable {
+		void run(SkinCacheFileDatastoreThreadEnv env);
+	}
+
+	private static final SkinCacheFileDatastoreRunnable TERMINATE = (env) -> {};
+
+	public static boolean isFileURI(String uri) {
+		return uri.regionMatches(true, 0, URI_PREFIX, 0, URI_PREFIX.length());
+	}
+
+	public static File getFileFromURI(String uri) {
+		return new File(uri.substring(URI_PREFIX.length()));
+	}
+
+	public SkinCacheFileDatastore(File baseDir, int threadCount, int keepObjectsDays, int maxObjects, long maxBytes,
+			int compressionLevel, ILoggerAdapter logger) throws IOException {
+		this.baseDir = baseDir;
+		this.keepObjectsDays = keepObjectsDays;
+		this.maxObjects = maxObjects;
+		this.maxBytes = maxBytes;
+		this.logger = logger;
+		skinDir = new File(baseDir, "skins");
+		capeDir = new File(baseDir, "capes");
+		if (!skinDir.isDirectory() && !skinDir.mkdirs()) {
+			throw new IOException("Could not create directory: " + skinDir.getAbsolutePath());
+		}
+		if (!capeDir.isDirectory() && !capeDir.mkdirs()) {
+			throw new IOException("Could not create directory: " + capeDir.getAbsolutePath());
+		}
+		int indexCapacity = Math.max(maxObjects, 1024) * 2;
+		skin = new SkinCacheFileIndex(new File(baseDir, "skins.idx"), indexCapacity);
+		try {
+			cape = new SkinCacheFileIndex(new File(baseDir, "capes.idx"), indexCapacity);
+		} catch (IOException ex) {
+			skin.close();
+			throw ex;
+		}
+		disposeLatch = new CountDownLatch(threadCount);
+		threads = new SkinCacheFileDatastoreThreadEnv[threadCount];
+		for (int i = 0; i < threadCount; ++i) {
+			threads[i] = new SkinCacheFileDatastoreThreadEnv(i, compressionLevel);
+		}
+	}
+
+	private void execute(SkinCacheFileDatastoreRunnable runnable) {
+		fileQueue.add(runnable);
+	}
+
+	private static int minutesNow() {
+		return (int) (System.currentTimeMillis() / 60000l);
+	}
+
+	@Override
+	public void loadSkin(String skinURL, Consumer<byte[]> callback) {
+		execute((env) -> {
+			callback.accept(loadTexture(env, skin, skinDir, skinURL, SKIN_LENGTH));
+		});
+	}
+
+	@Override
+	public void loadCape(String capeURL, Consumer<byte[]> callback) {
+		execute((env) -> {
+			callback.accept(loadTexture(env, cape, capeDir, capeURL, CAPE_LENGTH));
+		});
+	}
+
+	private byte[] loadTexture(SkinCacheFileDatastoreThreadEnv env, SkinCacheFileIndex index, File dir, String url,
+			int len) {
+		long key = urlKey(env, url);
+		byte[] hash = index.lookup(key, minutesNow());
+		if (hash == null) {
+			return null;
+		}
+		byte[] data;
+		try {
+			data = Files.readAllBytes(blobFile(dir, hash).toPath());
+		} catch (NoSuchFileException ex) {
+			index.remove(key, hash, (oldHash) -> {});
+			return null;
+		} catch (IOException ex) {
+			logger.error("Could not load texture \"" + url + "\" from disk!", ex);
+			return null;
+		}
+		try {
+			return decompressSkin(env, data, len);
+		} catch (DataFormatException ex) {
+			logger.warn("Texture \"" + url + "\" could not be decompressed!");
+			index.remove(key, hash, (oldHash) -> {
+				blobFile(dir, oldHash).delete();
+			});
+			return null;
+		}
+	}
+
+	private byte[] decompressSkin(SkinCacheFileDatastoreThreadEnv env, byte[] input, int len)
+			throws DataFormatException {
+		if (input.length == len) {
+			return input;
+		}
+		byte[] ret = new byte[len];
+		env.inflater.reset();
+		env.inflater.setInput(input, 0, input.length);
+		if (env.inflater.inflate(ret, 0, len) != len) {
+			throw new DataFormatException();
+		}
+		return ret;
+	}
+
+	@Override
+	public void storeSkin(String skinURL, byte[] data) {
+		if (data.length != SKIN_LENGTH) {
+			throw new IllegalArgumentException("Skin length is not " + SKIN_LENGTH + " bytes!");
+		}
+		execute((env) -> {
+			storeTexture(env, skin, skinDir, skinURL, data);
+		});
+	}
+
+	@Override
+	public void storeCape(String capeURL, byte[] data) {
+		if (data.length != CAPE_LENGTH) {
+			throw new IllegalArgumentException("Cape length is not " + CAPE_LENGTH + " bytes!");
+		}
+		execute((env) -> {
+			storeTexture(env, cape, capeDir, capeURL, data);
+		});
+	}
+
+	private void storeTexture(SkinCacheFileDatastoreThreadEnv env, SkinCacheFileIndex index, File dir, String url,
+			byte[] data) {
+		byte[] hash = sha1Digest(env, data);
+		try {
+			// blob first, so a concurrent load never finds an index entry without its file
+			File blob = blobFile(dir, hash);
+			byte[] compressed = null;
+			int size;
+			if (!blob.isFile()) {
+				writeBlob(blob, compressed = compressSkin(env, data));
+				size = compressed.length;
+			} else {
+				size = (int) blob.length();
+			}
+			index.insert(urlKey(env, url), hash, size, minutesNow(), (oldHash) -> {
+				blobFile(dir, oldHash).delete();
+			});
+			// a cleanup may have deleted the blob before the entry referenced it
+			if (!blob.isFile()) {
+				writeBlob(blob, compressed != null ? compressed : compressSkin(env, data));
+			}
+		} catch (IllegalStateException | IOException e) {
+			logger.error("Texture \"" + url + "\" could not be stored on disk!", e);
+		}
+	}
+
+	private static void writeBlob(File blob, byte[] data) throws IOException {
+		File parent = blob.getParentFile();
+		if (!parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory()) {
+			throw new IOException("Could not create directory: " + parent.getAbsolutePath());
+		}
+		File tmp = File.createTempFile(blob.getName(), ".tmp", parent);
+		try {
+			Files.write(tmp.toPath(), data);
+			try {
+				Files.move(tmp.toPath(), blob.toPath(), StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(tmp.toPath(), blob.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			tmp.delete();
+		}
+	}
+
+	private byte[] compressSkin(SkinCacheFileDatastoreThreadEnv env, byte[] data) {
+		if (env.deflater == null) {
+			return data;
+		}
+		env.deflater.reset();
+		env.deflater.setInput(data, 0, data.length);
+		env.deflater.finish();
+		int i = env.deflater.deflate(env.compressionTmp, 0, env.compressionTmp.length);
+		if (i <= 0 || !env.deflater.finished()) {
+			throw new IllegalStateException();
+		}
+		if (i >= data.length) {
+			return data;
+		}
+		byte[] ret = new byte[i];
+		System.arraycopy(env.compressionTmp, 0, ret, 0, i);
+		return ret;
+	}
+
+	private byte[] sha1Digest(SkinCacheFileDatastoreThreadEnv env, byte[] data) {
+		env.sha1Digest.update(data);
+		return env.sha1Digest.digest();
+	}
+
+	private long urlKey(SkinCacheFileDatastoreThreadEnv env, String url) {
+		byte[] hash = sha1Digest(env, url.getBytes(StandardCharsets.UTF_8));
+		long ret = 0l;
+		for (int i = 0; i < 8; ++i) {
+			ret = (ret << 8) | (hash[i] & 0xFFl);
+		}
+		return ret;
+	}
+
+	private static File blobFile(File dir, byte[] hash) {
+		char[] name = new char[40];
+		for (int i = 0; i < 20; ++i) {
+			name[i << 1] = HEX[(hash[i] >>> 4) & 0xF];
+			name[(i << 1) + 1] = HEX[hash[i] & 0xF];
+		}
+		return new File(new File(dir, new String(name, 0, 2)), new String(name, 2, 38));
+	}
+
+	@Override
+	public void tick() {
+		long millisSteady = SteadyTime.millis();
+		if (millisSteady - lastCleanup > (600l * 1000l)) {
+			lastCleanup = millisSteady;
+			execute((env) -> {
+				runCleanup();
+			});
+		}
+	}
+
+	private synchronized void runCleanup() {
+		int expiry = minutesNow() - keepObjectsDays * 1440;
+		// skins and capes share one byte budget
+		cleanupIndex(skin, skinDir, expiry, maxBytes > 0l ? Math.max(maxBytes - cape.totalBytes(), 1l) : 0l);
+		cleanupIndex(cape, capeDir, expiry, maxBytes > 0l ? Math.max(maxBytes - skin.totalBytes(), 1l) : 0l);
+	}
+
+	private void cleanupIndex(SkinCacheFileIndex index, File dir, int expiry, long indexMaxBytes) {
+		try {
+			index.cleanup(expiry, maxObjects, indexMaxBytes, (hash) -> {
+				blobFile(dir, hash).delete();
+			});
+		} catch (IOException ex) {
+			logger.error("Could not clean up skin cache index \"" + index.getFile().getName() + "\"!", ex);
+		}
+	}
+
+	@Override
+	public void dispose() {
+		for (int i = 0; i < threads.length; ++i) {
+			fileQueue.add(TERMINATE);
+		}
+		try {
+			disposeLatch.await();
+		} catch (InterruptedException e) {
+		}
+		skin.close();
+		cape.close();
+	}
+
+	@Override
+	public int getTotalStoredSkins() {
+		return skin.count();
+	}
+
+	@Override
+	public int getTotalStoredCapes() {
+		return cape.count();
+	}
+
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.skin_cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Memory-mapped open addressing table of 64-bit URL keys to texture SHA-1
+ * hashes, each slot also records the last access time in minutes and the size
+ * of the blob for eviction, reference counts per hash are kept in memory
+ */
+class SkinCacheFileIndex {
+
+	private static final int MAGIC = 0x45534932;
+	private static final int HEADER_LENGTH = 16;
+	private static final int SLOT_LENGTH = 40;
+
+	private static final long KEY_EMPTY = 0l;
+	private static final long KEY_REMOVED = 1l;
+
+	private final File file;
+	private final RandomAccessFile raf;
+	private final Map<HashKey, BlobRef> refs = new HashMap<>();
+	private MappedByteBuffer buffer;
+	private int capacity;
+	private int count;
+	private int removed;
+	private long totalBytes;
+
+	private static class BlobRef {
+
+		private final int size;
+		private int refCount;
+
+		private BlobRef(int size) {
+			this.size = size;
+		}
+
+	}
+
+	SkinCacheFileIndex(File file, int minCapacity) throws IOException {
+		this.file = file;
+		this.raf = new RandomAccessFile(file, "rw");
+		int cap = 256;
+		while (cap < minCapacity) {
+			cap <<= 1;
+		}
+		long len = raf.length();
+		if (len >= HEADER_LENGTH) {
+			map(len);
+			int fileCap = buffer.getInt(4);
+			if (buffer.getInt(0) == MAGIC && Integer.bitCount(fileCap) == 1
+					&& len >= HEADER_LENGTH + (long) fileCap * SLOT_LENGTH) {
+				capacity = fileCap;
+				for (int i = 0; i < fileCap; ++i) {
+					int off = HEADER_LENGTH + i * SLOT_LENGTH;
+					long key = buffer.getLong(off);
+					if (key == KEY_REMOVED) {
+						++removed;
+					} else if (key != KEY_EMPTY) {
+						++count;
+						addRef(readHash(off), buffer.getInt(off + 32));
+					}
+				}
+				if (fileCap < cap || removed > 0) {
+					rehash(Math.max(cap, fileCap));
+				}
+				return;
+			}
+		}
+		create(cap);
+	}
+
+	private void map(long len) throws IOException {
+		buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0l, len);
+	}
+
+	private void create(int cap) throws IOException {
+		long len = HEADER_LENGTH + (long) cap * SLOT_LENGTH;
+		if (buffer == null || buffer.capacity() < len) {
+			// never truncate, some platforms refuse to resize a mapped file
+			if (raf.length() < len) {
+				raf.setLength(len);
+			}
+			map(len);
+		}
+		for (int i = 0; i < len; i += 8) {
+			buffer.putLong(i, 0l);
+		}
+		buffer.putInt(0, MAGIC);
+		buffer.putInt(4, cap);
+		capacity = cap;
+		count = 0;
+		removed = 0;
+	}
+
+	private void rehash(int newCap) throws IOException {
+		int n = 0;
+		long[] keys = new long[count];
+		byte[][] hashes = new byte[count][];
+		int[] times = new int[count];
+		int[] sizes = new int[count];
+		for (int i = 0; i < capacity; ++i) {
+			int off = HEADER_LENGTH + i * SLOT_LENGTH;
+			long key = buffer.getLong(off);
+			if (key != KEY_EMPTY && key != KEY_REMOVED) {
+				keys[n] = key;
+				hashes[n] = readHash(off);
+				times[n] = buffer.getInt(off + 28);
+				sizes[n] = buffer.getInt(off + 32);
+				++n;
+			}
+		}
+		create(newCap);
+		for (int i = 0; i < n; ++i) {
+			put(keys[i], hashes[i], times[i], sizes[i]);
+		}
+	}
+
+	private byte[] readHash(int off) {
+		byte[] ret = new byte[20];
+		buffer.get(off + 8, ret);
+		return ret;
+	}
+
+	private boolean hashEquals(int off, byte[] hash) {
+		for (int i = 0; i < 20; ++i) {
+			if (buffer.get(off + 8 + i) != hash[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void addRef(byte[] hash, int size) {
+		BlobRef ref = refs.get(new HashKey(hash));
+		if (ref == null) {
+			ref = new BlobRef(size);
+			refs.put(new HashKey(hash), ref);
+			totalBytes += size;
+		}
+		++ref.refCount;
+	}
+
+	private boolean releaseRef(byte[] hash) {
+		HashKey k = new HashKey(hash);
+		BlobRef ref = refs.get(k);
+		if (ref != null && --ref.refCount <= 0) {
+			refs.remove(k);
+			totalBytes -= ref.size;
+			return true;
+		}
+		return false;
+	}
+
+	private int find(long key) {
+		int mask = capacity - 1;
+		int i = mix(key) & mask;
+		for (int j = 0; j < capacity; ++j) {
+			int off = HEADER_LENGTH + i * SLOT_LENGTH;
+			long k = buffer.getLong(off);
+			if (k == key) {
+				return off;
+			} else if (k == KEY_EMPTY) {
+				return -1;
+			}
+			i = (i + 1) & mask;
+		}
+		return -1;
+	}
+
+	private void put(long key, byte[] hash, int time, int size) {
+		int mask = capacity - 1;
+		int i = mix(key) & mask;
+		int firstRemoved = -1;
+		for (;;) {
+			int off = HEADER_LENGTH + i * SLOT_LENGTH;
+			long k = buffer.getLong(off);
+			if (k == key) {
+				buffer.put(off + 8, hash);
+				buffer.putInt(off + 28, time);
+				buffer.putInt(off + 32, size);
+				return;
+			} else if (k == KEY_REMOVED) {
+				if (firstRemoved == -1) {
+					firstRemoved = off;
+				}
+			} else if (k == KEY_EMPTY) {
+				if (firstRemoved != -1) {
+					off = firstRemoved;
+					--removed;
+				}
+				buffer.putLong(off, key);
+				buffer.put(off + 8, hash);
+				buffer.putInt(off + 28, time);
+				buffer.putInt(off + 32, size);
+				++count;
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+	}
+
+	private void removeSlot(int off) {
+		buffer.putLong(off, KEY_REMOVED);
+		--count;
+		++removed;
+	}
+
+	synchronized byte[] lookup(long key, int time) {
+		int off = find(fixKey(key));
+		if (off != -1) {
+			buffer.putInt(off + 28, time);
+			return readHash(off);
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * If this replaces a different hash that no other entry references, its blob
+	 * is passed to the callback while the lock is still held
+	 */
+	synchronized void insert(long key, byte[] hash, int size, int time, Consumer<byte[]> deleteBlob)
+			throws IOException {
+		if ((count + removed + 1) * 4 > capacity * 3) {
+			rehash(count * 4 > capacity * 2 ? capacity << 1 : capacity);
+		}
+		key = fixKey(key);
+		int off = find(key);
+		if (off != -1 && hashEquals(off, hash)) {
+			buffer.putInt(off + 28, time);
+			return;
+		}
+		byte[] replaced = off != -1 ? readHash(off) : null;
+		put(key, hash, time, size);
+		addRef(hash, size);
+		if (replaced != null && releaseRef(replaced)) {
+			deleteBlob.accept(replaced);
+		}
+	}
+
+	synchronized void remove(long key, byte[] hash, Consumer<byte[]> deleteBlob) {
+		int off = find(fixKey(key));
+		if (off != -1 && hashEquals(off, hash)) {
+			removeSlot(off);
+			if (releaseRef(hash)) {
+				deleteBlob.accept(hash);
+			}
+		}
+	}
+
+	synchronized int count() {
+		return count;
+	}
+
+	synchronized long totalBytes() {
+		return totalBytes;
+	}
+
+	/**
+	 * Drops entries not accessed since expiry, then the least recently used ones
+	 * until at most maxObjects remain and the distinct blobs fit in maxBytes, blobs
+	 * no longer referenced are passed to the callback while the lock is still held
+	 */
+	synchronized int cleanup(int expiry, int maxObjects, long maxBytes, Consumer<byte[]> deleteBlob)
+			throws IOException {
+		if (maxBytes <= 0l) {
+			maxBytes = Long.MAX_VALUE;
+		}
+		long[] slots = new long[count];
+		int n = 0;
+		for (int i = 0; i < capacity; ++i) {
+			int off = HEADER_LENGTH + i * SLOT_LENGTH;
+			long key = buffer.getLong(off);
+			if (key != KEY_EMPTY && key != KEY_REMOVED) {
+				// time in the high bits so sorting orders by last access
+				slots[n++] = ((long) buffer.getInt(off + 28) << 32) | (i & 0xFFFFFFFFl);
+			}
+		}
+		Arrays.sort(slots, 0, n);
+		int cnt = 0;
+		for (int i = 0; i < n; ++i) {
+			long l = slots[i];
+			if ((int) (l >> 32) >= expiry && count <= maxObjects && totalBytes <= maxBytes) {
+				break;
+			}
+			int off = HEADER_LENGTH + (int) l * SLOT_LENGTH;
+			byte[] hash = readHash(off);
+			removeSlot(off);
+			if (releaseRef(hash)) {
+				deleteBlob.accept(hash);
+			}
+			++cnt;
+		}
+		if (cnt > 0 && removed * 4 > capacity) {
+			rehash(capacity);
+		}
+		return cnt;
+	}
+
+	synchronized void close() {
+		buffer.force();
+		try {
+			raf.close();
+		} catch (IOException e) {
+		}
+	}
+
+	File getFile() {
+		return file;
+	}
+
+	private static long fixKey(long key) {
+		return (key == KEY_EMPTY || key == KEY_REMOVED) ? 2l : key;
+	}
+
+	private static int mix(long key) {
+		return (int) (key ^ (key >>> 32));
+	}
+
+	private static class HashKey {
+
+		private final byte[] hash;
+		private final int hashCode;
+
+		private HashKey(byte[] hash) {
+			this.hash = hash;
+			this.hashCode = Arrays.hashCode(hash);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return this == o || ((o instanceof HashKey k) && Arrays.equals(hash, k.hash));
+		}
+
+	}
+
+}
@@ -16,8 +16,10 @@
 
 package net.lax1dude.eaglercraft.backend.skin_cache;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -195,6 +197,35 @@ public class SkinCacheService implements ISkinCacheService {
 		}
 	}
 
+	public List<String> getLoadedSkinURLs() {
+		return getLoadedKeys(skinCache);
+	}
+
+	public List<String> getLoadedCapeURLs() {
+		return getLoadedKeys(capeCache);
+	}
+
+	private static List<String> getLoadedKeys(LoadingCache<String, ConcurrentLazyLoader<byte[]>> cache) {
+		List<String> ret = new ArrayList<>((int) cache.size());
+		for (Map.Entry<String, ConcurrentLazyLoader<byte[]>> etr : cache.asMap().entrySet()) {
+			byte[] data = etr.getValue().getIfLoaded();
+			if (data != null && data.length > 0) {
+				ret.add(etr.getKey());
+			}
+		}
+		return ret;
+	}
+
+	public void preloadSkinURL(String skinURL) {
+		resolveSkinByURL(skinURL, (data) -> {
+		});
+	}
+
+	public void preloadCapeURL(String capeURL) {
+		resolveCapeByURL(capeURL, (data) -> {
+		});
+	}
+
 	@Override
 	public void tick() {
 		datastore.tick();
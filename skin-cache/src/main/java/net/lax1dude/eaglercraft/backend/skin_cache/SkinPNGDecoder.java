@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.skin_cache;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Minimal PNG decoder for the only formats accepted as skins and capes (64x64
+ * and 64x32, 8-bit RGB/RGBA/palette, non-interlaced), writing directly into the
+ * eagler texture layout. Returns null for anything else so the caller can fall
+ * back to ImageIO.
+ */
+public class SkinPNGDecoder {
+
+	private static final int MAX_RAW_LENGTH = 64 * (1 + 64 * 4);
+
+	private static final int TYPE_RGB = 2;
+	private static final int TYPE_PALETTE = 3;
+	private static final int TYPE_RGBA = 6;
+
+	private static final int CHUNK_IHDR = 0x49484452;
+	private static final int CHUNK_PLTE = 0x504C5445;
+	private static final int CHUNK_TRNS = 0x74524E53;
+	private static final int CHUNK_IDAT = 0x49444154;
+	private static final int CHUNK_IEND = 0x49454E44;
+
+	private static final SkinPNGDecoder SINGLETON = new SkinPNGDecoder();
+
+	private static final VarHandle LOCK_HANDLE;
+
+	static {
+		try {
+			MethodHandles.Lookup l = MethodHandles.lookup();
+			LOCK_HANDLE = l.findVarHandle(SkinPNGDecoder.class, "lock", int.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final Inflater inflater = new Inflater();
+	private final byte[] raw = new byte[MAX_RAW_LENGTH];
+	private final int[] palette = new int[256];
+	private final int[] pixels = new int[2048];
+
+	private volatile int lock;
+
+	private int width;
+	private int height;
+	private int colorType;
+	private int paletteLength;
+	private int transparentRGB;
+
+	private SkinPNGDecoder() {
+	}
+
+	public static byte[] decodeSkin(byte[] data) {
+		return decodeSkin(data, 0, data.length);
+	}
+
+	public static byte[] decodeSkin(byte[] data, int offset, int length) {
+		SkinPNGDecoder decoder = SINGLETON;
+		if ((int) LOCK_HANDLE.compareAndExchangeAcquire(decoder, 0, 1) == 0) {
+			try {
+				return decoder.decodeSkin0(data, offset, length);
+			} finally {
+				LOCK_HANDLE.setRelease(decoder, 0);
+			}
+		} else {
+			decoder = new SkinPNGDecoder();
+			try {
+				return decoder.decodeSkin0(data, offset, length);
+			} finally {
+				decoder.inflater.end();
+			}
+		}
+	}
+
+	public static byte[] decodeCape(byte[] data) {
+		return decodeCape(data, 0, data.length);
+	}
+
+	public static byte[] decodeCape(byte[] data, int offset, int length) {
+		SkinPNGDecoder decoder = SINGLETON;
+		if ((int) LOCK_HANDLE.compareAndExchangeAcquire(decoder, 0, 1) == 0) {
+			try {
+				return decoder.decodeCape0(data, offset, length);
+			} finally {
+				LOCK_HANDLE.setRelease(decoder, 0);
+			}
+		} else {
+			decoder = new SkinPNGDecoder();
+			try {
+				return decoder.decodeCape0(data, offset, length);
+			} finally {
+				decoder.inflater.end();
+			}
+		}
+	}
+
+	private byte[] decodeSkin0(byte[] data, int offset, int length) {
+		if (!decodeRaw(data, offset, length) || width != 64) {
+			return null;
+		}
+		int stride = 1 + 64 * bytesPerPixel();
+		byte[] ret = new byte[12288];
+		if (height == 64) {
+			for (int y = 0; y < 64; ++y) {
+				int rowOffset = y * stride + 1;
+				for (int x = 0, j = y * 64 * 3, k; x < 64; ++x, j += 3) {
+					k = readPixel(rowOffset, x);
+					ret[j] = (byte) k;
+					ret[j + 1] = (byte) (k >>> 8);
+					ret[j + 2] = (byte) (((k >>> 17) & 0x7F) | ((k >>> 24) & 0x80));
+				}
+			}
+		} else if (height == 32) {
+			readPixels(stride);
+			SkinConverter.convert64x32To64x64(pixels, ret);
+		} else {
+			return null;
+		}
+		return ret;
+	}
+
+	private byte[] decodeCape0(byte[] data, int offset, int length) {
+		if (!decodeRaw(data, offset, length) || width != 64 || height != 32) {
+			return null;
+		}
+		readPixels(1 + 64 * bytesPerPixel());
+		byte[] ret = new byte[1173];
+		SkinConverter.convertCape64x32RGBAto23x17RGB(pixels, ret);
+		return ret;
+	}
+
+	private void readPixels(int stride) {
+		int[] pixels = this.pixels;
+		for (int y = 0; y < 32; ++y) {
+			int rowOffset = y * stride + 1;
+			for (int x = 0; x < 64; ++x) {
+				pixels[y * 64 + x] = readPixel(rowOffset, x);
+			}
+		}
+	}
+
+	private int readPixel(int rowOffset, int x) {
+		byte[] raw = this.raw;
+		int i;
+		switch (colorType) {
+		case TYPE_RGBA:
+			i = rowOffset + x * 4;
+			return ((raw[i + 3] & 0xFF) << 24) | ((raw[i] & 0xFF) << 16) | ((raw[i + 1] & 0xFF) << 8)
+					| (raw[i + 2] & 0xFF);
+		case TYPE_RGB:
+			i = rowOffset + x * 3;
+			i = ((raw[i] & 0xFF) << 16) | ((raw[i + 1] & 0xFF) << 8) | (raw[i + 2] & 0xFF);
+			return i == transparentRGB ? i : (i | 0xFF000000);
+		default:
+			return palette[raw[rowOffset + x] & 0xFF];
+		}
+	}
+
+	private int bytesPerPixel() {
+		switch (colorType) {
+		case TYPE_RGBA:
+			return 4;
+		case TYPE_RGB:
+			return 3;
+		default:
+			return 1;
+		}
+	}
+
+	private boolean decodeRaw(byte[] data, int offset, int length) {
+		int end = offset + length;
+		if (length < 8 || readInt(data, offset) != 0x89504E47 || readInt(data, offset + 4) != 0x0D0A1A0A) {
+			return false;
+		}
+		offset += 8;
+		width = 0;
+		height = 0;
+		paletteLength = 0;
+		transparentRGB = -1;
+		int rawLength = 0;
+		int rawPos = 0;
+		boolean first = true;
+		Inflater inflater = this.inflater;
+		inflater.reset();
+		try {
+			for (;;) {
+				if (end - offset < 12) {
+					return false;
+				}
+				int chunkLength = readInt(data, offset);
+				int chunkType = readInt(data, offset + 4);
+				offset += 8;
+				if (chunkLength < 0 || end - offset - 4 < chunkLength) {
+					return false;
+				}
+				if (first) {
+					if (chunkType != CHUNK_IHDR || !readHeader(data, offset, chunkLength)) {
+						return false;
+					}
+					rawLength = height * (1 + width * bytesPerPixel());
+					first = false;
+				} else {
+					switch (chunkType) {
+					case CHUNK_PLTE:
+						if (!readPalette(data, offset, chunkLength)) {
+							return false;
+						}
+						break;
+					case CHUNK_TRNS:
+						if (!readTransparency(data, offset, chunkLength)) {
+							return false;
+						}
+						break;
+					case CHUNK_IDAT:
+						inflater.setInput(data, offset, chunkLength);
+						while (rawPos < rawLength && !inflater.needsInput()) {
+							int i = inflater.inflate(raw, rawPos, rawLength - rawPos);
+							if (i == 0 && (inflater.finished() || inflater.needsDictionary())) {
+								break;
+							}
+							rawPos += i;
+						}
+						break;
+					case CHUNK_IEND:
+						return rawPos == rawLength && (colorType != TYPE_PALETTE || paletteLength > 0)
+								&& unfilter(rawLength);
+					default:
+						if ((chunkType & 0x20000000) == 0) {
+							// unknown critical chunk
+							return false;
+						}
+						break;
+					}
+				}
+				offset += chunkLength + 4;
+			}
+		} catch (DataFormatException ex) {
+			return false;
+		}
+	}
+
+	private boolean readHeader(byte[] data, int offset, int length) {
+		if (length != 13) {
+			return false;
+		}
+		width = readInt(data, offset);
+		height = readInt(data, offset + 4);
+		colorType = data[offset + 9] & 0xFF;
+		return width == 64 && (height == 64 || height == 32) && data[offset + 8] == 8
+				&& (colorType == TYPE_RGB || colorType == TYPE_RGBA || colorType == TYPE_PALETTE)
+				&& data[offset + 10] == 0 && data[offset + 11] == 0 && data[offset + 12] == 0;
+	}
+
+	private boolean readPalette(byte[] data, int offset, int length) {
+		if (length % 3 != 0 || length > 768) {
+			return false;
+		}
+		int[] palette = this.palette;
+		int cnt = length / 3;
+		for (int i = 0; i < cnt; ++i) {
+			int j = offset + i * 3;
+			palette[i] = 0xFF000000 | ((data[j] & 0xFF) << 16) | ((data[j + 1] & 0xFF) << 8) | (data[j + 2] & 0xFF);
+		}
+		for (int i = cnt; i < 256; ++i) {
+			palette[i] = 0xFF000000;
+		}
+		paletteLength = cnt;
+		return true;
+	}
+
+	private boolean readTransparency(byte[] data, int offset, int length) {
+		if (colorType == TYPE_PALETTE) {
+			if (length > paletteLength) {
+				return false;
+			}
+			int[] palette = this.palette;
+			for (int i = 0; i < length; ++i) {
+				palette[i] = (palette[i] & 0xFFFFFF) | ((data[offset + i] & 0xFF) << 24);
+			}
+			return true;
+		} else if (colorType == TYPE_RGB) {
+			if (length != 6) {
+				return false;
+			}
+			transparentRGB = ((data[offset + 1] & 0xFF) << 16) | ((data[offset + 3] & 0xFF) << 8)
+					| (data[offset + 5] & 0xFF);
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	private boolean unfilter(int rawLength) {
+		byte[] raw = this.raw;
+		int bpp = bytesPerPixel();
+		int stride = 1 + width * bpp;
+		for (int rowStart = 0; rowStart < rawLength; rowStart += stride) {
+			int filter = raw[rowStart];
+			int start = rowStart + 1;
+			int rowEnd = rowStart + stride;
+			int prev = start - stride;
+			boolean firstRow = rowStart == 0;
+			switch (filter) {
+			case 0:
+				break;
+			case 1:
+				for (int i = start + bpp; i < rowEnd; ++i) {
+					raw[i] += raw[i - bpp];
+				}
+				break;
+			case 2:
+				if (!firstRow) {
+					for (int i = start, j = prev; i < rowEnd; ++i, ++j) {
+						raw[i] += raw[j];
+					}
+				}
+				break;
+			case 3:
+				for (int i = start, j = prev; i < rowEnd; ++i, ++j) {
+					int a = i - start >= bpp ? raw[i - bpp] & 0xFF : 0;
+					int b = firstRow ? 0 : raw[j] & 0xFF;
+					raw[i] += (byte) ((a + b) >>> 1);
+				}
+				break;
+			case 4:
+				for (int i = start, j = prev; i < rowEnd; ++i, ++j) {
+					boolean hasLeft = i - start >= bpp;
+					int a = hasLeft ? raw[i - bpp] & 0xFF : 0;
+					int b = firstRow ? 0 : raw[j] & 0xFF;
+					int c = hasLeft && !firstRow ? raw[j - bpp] & 0xFF : 0;
+					int p = a + b - c;
+					int pa = Math.abs(p - a);
+					int pb = Math.abs(p - b);
+					int pc = Math.abs(p - c);
+					raw[i] += (byte) ((pa <= pb && pa <= pc) ? a : (pb <= pc ? b : c));
+				}
+				break;
+			default:
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int readInt(byte[] data, int offset) {
+		return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16) | ((data[offset + 2] & 0xFF) << 8)
+				| (data[offset + 3] & 0xFF);
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.skin_cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.ReferenceCountUtil;
+
+class HTTPClientTest {
+
+	private static final byte[] BODY = "[\"Steve\"]".getBytes(StandardCharsets.UTF_8);
+
+	private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+	private HttpServer httpServer;
+	private EventLoopGroup group;
+	private HTTPClient client;
+	private String base;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		httpServer.createContext("/see-other", (exchange) -> redirect(exchange, 303));
+		httpServer.createContext("/temporary", (exchange) -> redirect(exchange, 307));
+		httpServer.createContext("/target", this::handleTarget);
+		httpServer.start();
+		base = "http://127.0.0.1:" + httpServer.getAddress().getPort();
+		group = new NioEventLoopGroup(1);
+		client = new HTTPClient(() -> new Bootstrap().group(group).channel(NioSocketChannel.class), "test");
+	}
+
+	@AfterEach
+	void tearDown() {
+		httpServer.stop(0);
+		group.shutdownGracefully(0l, 1l, TimeUnit.SECONDS);
+	}
+
+	private void redirect(HttpExchange exchange, int code) throws IOException {
+		exchange.getRequestBody().readAllBytes();
+		exchange.getResponseHeaders().set("Location", base + "/target");
+		exchange.sendResponseHeaders(code, -1l);
+		exchange.close();
+	}
+
+	private void handleTarget(HttpExchange exchange) throws IOException {
+		byte[] body = exchange.getRequestBody().readAllBytes();
+		received.add(exchange.getRequestMethod() + " " + exchange.getRequestHeaders().getFirst("Content-Type") + " "
+				+ new String(body, StandardCharsets.UTF_8));
+		byte[] res = "ok".getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(200, res.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(res);
+		}
+	}
+
+	private void post(String path) throws Exception {
+		CompletableFuture<IHTTPClient.Response> future = new CompletableFuture<>();
+		client.asyncRequest("POST", URI.create(base + path), "application/json", BODY, future::complete);
+		IHTTPClient.Response response = future.get(5l, TimeUnit.SECONDS);
+		try {
+			assertNull(response.exception);
+			assertEquals(200, response.code);
+			assertTrue(response.redirected);
+			assertEquals("ok", response.data.toString(StandardCharsets.UTF_8));
+		} finally {
+			ReferenceCountUtil.release(response.data);
+		}
+	}
+
+	@Test
+	void testSeeOtherDropsBody() throws Exception {
+		post("/see-other");
+		assertEquals("GET null ", received.poll(5l, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void testTemporaryRedirectKeepsBody() throws Exception {
+		post("/temporary");
+		assertEquals("POST application/json [\"Steve\"]", received.poll(5l, TimeUnit.SECONDS));
+	}
+
+}
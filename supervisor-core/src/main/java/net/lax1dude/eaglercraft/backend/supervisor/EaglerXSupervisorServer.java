@@ -22,17 +22,17 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +43,7 @@ import com.carrotsearch.hppc.IntObjectHashMap;
 import com.carrotsearch.hppc.IntObjectMap;
 import com.carrotsearch.hppc.IntSet;
 import com.carrotsearch.hppc.cursors.IntCursor;
+import com.carrotsearch.hppc.cursors.ObjectCursor;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
@@ -54,6 +55,7 @@ import net.lax1dude.eaglercraft.backend.skin_cache.ISkinCacheDownloader;
 import net.lax1dude.eaglercraft.backend.skin_cache.ISkinCacheService;
 import net.lax1dude.eaglercraft.backend.skin_cache.SkinCacheDatastore;
 import net.lax1dude.eaglercraft.backend.skin_cache.SkinCacheDownloader;
+import net.lax1dude.eaglercraft.backend.skin_cache.SkinCacheFileDatastore;
 import net.lax1dude.eaglercraft.backend.skin_cache.SkinCacheService;
 import net.lax1dude.eaglercraft.backend.supervisor.config.EaglerXSupervisorConfig;
 import net.lax1dude.eaglercraft.backend.supervisor.console.EaglerXSupervisorConsole;
@@ -62,7 +64,10 @@ import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.SupervisorPack
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvDropAllPlayers;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvDropPlayer;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvTotalPlayerCount;
+import net.lax1dude.eaglercraft.backend.supervisor.server.PacketBroadcaster;
 import net.lax1dude.eaglercraft.backend.supervisor.server.SupervisorClientInstance;
+import net.lax1dude.eaglercraft.backend.supervisor.server.SupervisorSnapshot;
+import net.lax1dude.eaglercraft.backend.supervisor.server.TimeoutLoop;
 import net.lax1dude.eaglercraft.backend.supervisor.server.player.PlayerCapeData;
 import net.lax1dude.eaglercraft.backend.supervisor.server.player.PlayerSkinData;
 import net.lax1dude.eaglercraft.backend.supervisor.server.player.SupervisorPlayerInstance;
@@ -71,6 +76,7 @@ import net.lax1dude.eaglercraft.backend.supervisor.status.StatusRendererHTML;
 import net.lax1dude.eaglercraft.backend.supervisor.util.AlreadyRegisteredException;
 import net.lax1dude.eaglercraft.backend.supervisor.util.LoggerSv;
 import net.lax1dude.eaglercraft.backend.util.EaglerDrivers;
+import net.lax1dude.eaglercraft.backend.util.SteadyTime;
 
 public class EaglerXSupervisorServer implements Runnable {
 
@@ -79,35 +85,80 @@ public class EaglerXSupervisorServer implements Runnable {
 	private static final String serverBrand = "EaglercraftXSupervisor";
 	private static final String serverVersion = "1.0.0";
 
-	private static final File configFile = new File("supervisor_config.properties");
+	private static final int PLAYER_LOCK_STRIPES = 64;
+	private static final long PLAYER_COUNT_DEBOUNCE_MS = 100l;
+
+	private final File configFile;
 	private final EaglerXSupervisorConfig config = new EaglerXSupervisorConfig();
 
 	private EventLoopGroup eventLoopGroup;
 
 	private final Collection<Channel> listeningChannels = new LinkedList<>();
 
-	private final ReadWriteLock activeClientsLock = new ReentrantReadWriteLock();
-	private final List<SupervisorClientInstance> activeClients = new ArrayList<>();
-	private final IntObjectMap<SupervisorClientInstance> activeClientsMap = new IntObjectHashMap<>();
+	private final TimeoutLoop timeoutLoop = new TimeoutLoop(250l * 1000000l);
+
+	private static class ActiveClients {
+
+		private static final ActiveClients EMPTY = new ActiveClients(Collections.emptyList(),
+				new IntObjectHashMap<>());
+
+		private final List<SupervisorClientInstance> list;
+		private final IntObjectMap<SupervisorClientInstance> map;
+
+		private ActiveClients(List<SupervisorClientInstance> list, IntObjectMap<SupervisorClientInstance> map) {
+			this.list = list;
+			this.map = map;
+		}
+
+	}
+
+	private static class DetachedClient {
+
+		private final SupervisorClientInstance client;
+
+		private DetachedClient(SupervisorClientInstance client) {
+			this.client = client;
+		}
+
+	}
+
+	// Copy-on-write, clients connect and disconnect far less often than they are looked up
+	private final Object activeClientsLock = new Object();
+	private volatile ActiveClients activeClients = ActiveClients.EMPTY;
+	private final IntObjectMap<DetachedClient> detachedClients = new IntObjectHashMap<>();
 	private int nextNodeId = 0;
 
-	private final ReadWriteLock activePlayersLock = new ReentrantReadWriteLock();
-	private final Map<UUID, SupervisorPlayerInstance> activePlayersMap = new HashMap<>(2048);
-	private final Map<String, SupervisorPlayerInstance> activePlayersNameMap = new HashMap<>(2048);
+	private final Object[] activePlayersLocks = createLockStripes(PLAYER_LOCK_STRIPES);
+	private final ConcurrentMap<UUID, SupervisorPlayerInstance> activePlayersMap = new ConcurrentHashMap<>(2048);
+	private final ConcurrentMap<String, SupervisorPlayerInstance> activePlayersNameMap = new ConcurrentHashMap<>(
+			2048);
 	private volatile int maxPlayers = 0;
 
-	private boolean running = true;
+	private final AtomicBoolean playerCountDirty = new AtomicBoolean(false);
+	private final Object playerCountSendLock = new Object();
+
+	private volatile boolean running = true;
 
 	private Thread consoleThread;
 	private EaglerXSupervisorConsole console = null;
 
 	private HTTPClient skinHTTPClient = null;
-	private ISkinCacheService skinCache = null;
+	private SkinCacheService skinCache = null;
 	private Connection skinJDBCConnection = null;
 	private ISkinCacheDatastore datastore = null;
 
 	private StatusRendererHTML statusRendererHTML = null;
 
+	private long lastSnapshot = 0l;
+
+	public EaglerXSupervisorServer() {
+		this(new File("supervisor_config.properties"));
+	}
+
+	public EaglerXSupervisorServer(File configFile) {
+		this.configFile = configFile;
+	}
+
 	@Override
 	public synchronized void run() {
 		logger.info("Starting {}-{}...", serverBrand, serverVersion);
@@ -120,6 +171,21 @@ public class EaglerXSupervisorServer implements Runnable {
 			return;
 		}
 
+		if (config.getClusterShardId() > 0) {
+			logger.info("Running as cluster shard #{}", config.getClusterShardId());
+		}
+
+		SupervisorSnapshot snapshot = null;
+		File snapshotFile = config.getSnapshotFile();
+		if (snapshotFile != null && snapshotFile.isFile()) {
+			try {
+				snapshot = SupervisorSnapshot.read(snapshotFile);
+				logger.info("Loaded state snapshot from {}", snapshotFile.getAbsolutePath());
+			} catch (IOException ex) {
+				logger.error("Failed to load state snapshot, starting cold", ex);
+			}
+		}
+
 		eventLoopGroup = PipelineFactory.createEventLoopGroup();
 
 		if (config.isDownloadVanillaSkins()) {
@@ -137,34 +203,63 @@ public class EaglerXSupervisorServer implements Runnable {
 				threads = Runtime.getRuntime().availableProcessors();
 			}
 
-			try {
-				skinJDBCConnection = EaglerDrivers.connectToDatabase(config.getSkinCacheDBURI(),
-						config.getSQLDriverClass(), config.getSQLDriverPath(), new Properties(), new File("."),
-						LoggerSv.getLogger("EaglerDrivers"));
-				datastore = new SkinCacheDatastore(skinJDBCConnection, threads, config.getDatabaseKeepObjectsDays(),
-						config.getDatabaseMaxObjects(), config.getDatabaseCompressionLevel(),
-						config.getSkinCacheDBSQLiteCompatible(), LoggerSv.getLogger("SkinCacheDatastore"));
-				logger.info("Connected to database: '{}'", config.getSkinCacheDBURI());
-			} catch (SQLException ex) {
-				logger.info("Failed to connect to database!", ex);
-				if (skinJDBCConnection != null) {
-					try {
-						skinJDBCConnection.close();
-					} catch (SQLException exx) {
+			if (SkinCacheFileDatastore.isFileURI(config.getSkinCacheDBURI())) {
+				File dir = SkinCacheFileDatastore.getFileFromURI(config.getSkinCacheDBURI());
+				try {
+					datastore = new SkinCacheFileDatastore(dir, threads, config.getDatabaseKeepObjectsDays(),
+							config.getDatabaseMaxObjects(), config.getDatabaseMaxMegabytes() * 1048576l,
+							config.getDatabaseCompressionLevel(), LoggerSv.getLogger("SkinCacheFileDatastore"));
+					logger.info("Opened skin cache directory: '{}'", dir.getAbsolutePath());
+				} catch (IOException ex) {
+					logger.info("Failed to open skin cache directory!", ex);
+					return;
+				}
+			} else {
+				try {
+					skinJDBCConnection = EaglerDrivers.connectToDatabase(config.getSkinCacheDBURI(),
+							config.getSQLDriverClass(), config.getSQLDriverPath(), new Properties(), new File("."),
+							LoggerSv.getLogger("EaglerDrivers"));
+					datastore = new SkinCacheDatastore(skinJDBCConnection, threads, config.getDatabaseKeepObjectsDays(),
+							config.getDatabaseMaxObjects(), config.getDatabaseCompressionLevel(),
+							config.getSkinCacheDBSQLiteCompatible(), LoggerSv.getLogger("SkinCacheDatastore"));
+					logger.info("Connected to database: '{}'", config.getSkinCacheDBURI());
+				} catch (SQLException ex) {
+					logger.info("Failed to connect to database!", ex);
+					if (skinJDBCConnection != null) {
+						try {
+							skinJDBCConnection.close();
+						} catch (SQLException exx) {
+						}
 					}
+					return;
 				}
-				return;
 			}
 
 			skinCache = new SkinCacheService(downloader, datastore, config.getMemoryCacheKeepObjectsSeconds(),
 					Math.min(1024, config.getMemoryCacheMaxObjects()), config.getMemoryCacheMaxObjects(),
 					LoggerSv.getLogger("SkinCacheService"));
+
+			if (snapshot != null) {
+				for (String url : snapshot.getSkinURLs()) {
+					skinCache.preloadSkinURL(url);
+				}
+				for (String url : snapshot.getCapeURLs()) {
+					skinCache.preloadCapeURL(url);
+				}
+				logger.info("Preloading {} skins and {} capes into the memory cache", snapshot.getSkinURLs().size(),
+						snapshot.getCapeURLs().size());
+			}
 		}
 
 		logger.info("Starting listeners...");
 
 		eventLoopGroup = PipelineFactory.createEventLoopGroup();
 
+		if (snapshot != null) {
+			restoreSnapshot(snapshot);
+		}
+		lastSnapshot = SteadyTime.millis();
+
 		CountDownLatch cnt = new CountDownLatch(2);
 		AtomicBoolean issues = new AtomicBoolean(false);
 
@@ -244,23 +339,32 @@ public class EaglerXSupervisorServer implements Runnable {
 			}
 		}
 
+		if (snapshotFile != null) {
+			logger.info("Saving state snapshot...");
+			writeSnapshot(snapshotFile);
+		}
+
 		logger.info("Closing listeners...");
 		stopListeners();
 
 		if (skinCache != null) {
 			logger.info("Stopping skin cache...");
 			datastore.dispose();
-			eag: {
-				try {
-					skinJDBCConnection.close();
-				} catch (SQLException ex) {
-					logger.error("Failed to disconnect from database '{}'", ex);
-					break eag;
+			if (skinJDBCConnection != null) {
+				eag: {
+					try {
+						skinJDBCConnection.close();
+					} catch (SQLException ex) {
+						logger.error("Failed to disconnect from database '{}'", ex);
+						break eag;
+					}
+					logger.info("Successfully disconnected from database '{}'", config.getSkinCacheDBURI());
 				}
-				logger.info("Successfully disconnected from database '{}'", config.getSkinCacheDBURI());
 			}
 		}
 
+		timeoutLoop.cancelAll();
+
 		logger.info("Stopping IO event loop...");
 		try {
 			eventLoopGroup.shutdownGracefully().await();
@@ -278,6 +382,83 @@ public class EaglerXSupervisorServer implements Runnable {
 		if (skinCache != null) {
 			skinCache.tick();
 		}
+		File snapshotFile = config.getSnapshotFile();
+		int snapshotInterval = config.getSnapshotInterval();
+		if (snapshotFile != null && snapshotInterval > 0) {
+			long millis = SteadyTime.millis();
+			if (millis - lastSnapshot >= snapshotInterval * 1000l) {
+				lastSnapshot = millis;
+				writeSnapshot(snapshotFile);
+			}
+		}
+	}
+
+	private void writeSnapshot(File file) {
+		List<SupervisorClientInstance> clients;
+		int next;
+		synchronized (activeClientsLock) {
+			clients = new ArrayList<>(activeClients.list.size() + detachedClients.size());
+			clients.addAll(activeClients.list);
+			for (ObjectCursor<DetachedClient> cur : detachedClients.values()) {
+				clients.add(cur.value.client);
+			}
+			next = nextNodeId;
+		}
+		List<SupervisorSnapshot.NodeState> nodes = new ArrayList<>(clients.size());
+		for (int i = 0, l = clients.size(); i < l; ++i) {
+			nodes.add(SupervisorSnapshot.NodeState.create(clients.get(i)));
+		}
+		SupervisorSnapshot snapshot = new SupervisorSnapshot(System.currentTimeMillis(), config.getClusterShardId(),
+				next, nodes, skinCache != null ? skinCache.getLoadedSkinURLs() : Collections.emptyList(),
+				skinCache != null ? skinCache.getLoadedCapeURLs() : Collections.emptyList());
+		try {
+			snapshot.write(file);
+		} catch (IOException ex) {
+			logger.error("Failed to write state snapshot to {}", file.getAbsolutePath(), ex);
+		}
+	}
+
+	private void restoreSnapshot(SupervisorSnapshot snapshot) {
+		if (snapshot.getShardId() != config.getClusterShardId()) {
+			logger.warn("State snapshot belongs to cluster shard #{}, not restoring its nodes", snapshot.getShardId());
+			return;
+		}
+		synchronized (activeClientsLock) {
+			nextNodeId = Math.max(nextNodeId, snapshot.getNextNodeId());
+		}
+		int resumeTimeout = config.getNodeResumeTimeout();
+		if (resumeTimeout <= 0) {
+			return;
+		}
+		int nodeCount = 0;
+		int playerCount = 0;
+		for (SupervisorSnapshot.NodeState node : snapshot.getNodes()) {
+			int nodeId = node.getNodeId();
+			if (nodeId <= 0 || node.getPlayers().isEmpty() || detachedClients.containsKey(nodeId)) {
+				continue;
+			}
+			// Restored nodes have no connection until their proxy reconnects and resumes them
+			SupervisorClientInstance client = new SupervisorClientInstance(nodeId, this, null);
+			client.markRestored();
+			for (SupervisorSnapshot.PlayerState player : node.getPlayers()) {
+				try {
+					client.registerProxyPlayer(player.getPlayerUUID(), player.getBrandUUID(),
+							player.getGameProtocol(), player.getEaglerProtocol(), player.getUsername());
+					++playerCount;
+				} catch (AlreadyRegisteredException ex) {
+					logger.warn("Player {} ({}) from node #{} in state snapshot is already registered, skipping",
+							player.getUsername(), player.getPlayerUUID(), nodeId);
+				}
+			}
+			DetachedClient detached = new DetachedClient(client);
+			synchronized (activeClientsLock) {
+				detachedClients.put(nodeId, detached);
+			}
+			eventLoopGroup.schedule(() -> expireDetachedClient(detached), resumeTimeout, TimeUnit.MILLISECONDS);
+			++nodeCount;
+		}
+		logger.info("Restored {} nodes with {} players from state snapshot, waiting for them to resume", nodeCount,
+				playerCount);
 	}
 
 	public void stopListeners() {
@@ -301,193 +482,275 @@ public class EaglerXSupervisorServer implements Runnable {
 	}
 
 	public SupervisorClientInstance registerClient(SupervisorPacketHandler handler) {
-		activeClientsLock.writeLock().lock();
-		try {
+		return registerClient(handler, -1);
+	}
+
+	public SupervisorClientInstance registerClient(SupervisorPacketHandler handler, int requestedNodeId) {
+		SupervisorClientInstance client;
+		synchronized (activeClientsLock) {
+			ActiveClients current = activeClients;
 			int i;
-			do {
-				i = ++nextNodeId;
-			} while (activeClientsMap.containsKey(i));
+			if (requestedNodeId > 0) {
+				if (current.map.containsKey(requestedNodeId) || detachedClients.containsKey(requestedNodeId)) {
+					return null;
+				}
+				i = requestedNodeId;
+			} else {
+				do {
+					i = ++nextNodeId;
+				} while (current.map.containsKey(i) || detachedClients.containsKey(i));
+			}
 
-			SupervisorClientInstance client = new SupervisorClientInstance(i, this, handler);
+			client = new SupervisorClientInstance(i, this, handler);
 
-			activeClients.add(client);
-			activeClientsMap.put(i, client);
+			List<SupervisorClientInstance> newList = new ArrayList<>(current.list.size() + 1);
+			newList.addAll(current.list);
+			newList.add(client);
+			IntObjectMap<SupervisorClientInstance> newMap = new IntObjectHashMap<>(current.map);
+			newMap.put(i, client);
+			activeClients = new ActiveClients(Collections.unmodifiableList(newList), newMap);
+		}
+		markPlayerCountDirty();
+		return client;
+	}
+
+	public SupervisorClientInstance resumeClient(SupervisorPacketHandler handler, int nodeId) {
+		SupervisorClientInstance client;
+		synchronized (activeClientsLock) {
+			DetachedClient detached = detachedClients.remove(nodeId);
+			if (detached == null) {
+				return null;
+			}
+			client = detached.client;
+			client.reattach(handler);
+			ActiveClients current = activeClients;
+			List<SupervisorClientInstance> newList = new ArrayList<>(current.list.size() + 1);
+			newList.addAll(current.list);
+			newList.add(client);
+			IntObjectMap<SupervisorClientInstance> newMap = new IntObjectHashMap<>(current.map);
+			newMap.put(nodeId, client);
+			activeClients = new ActiveClients(Collections.unmodifiableList(newList), newMap);
+		}
+		markPlayerCountDirty();
+		return client;
+	}
 
-			return client;
-		} finally {
-			activeClientsLock.writeLock().unlock();
+	private static Object[] createLockStripes(int count) {
+		Object[] ret = new Object[count];
+		for (int i = 0; i < count; ++i) {
+			ret[i] = new Object();
 		}
+		return ret;
+	}
+
+	private static int playerLockIndex(Object key) {
+		return (key.hashCode() * 0x9E3779B9) >>> 26;
 	}
 
 	public SupervisorPlayerInstance registerPlayer(SupervisorClientInstance owner, UUID playerUUID, UUID brandUUID,
 			int gameProtocol, int eaglerProtocol, String username) throws AlreadyRegisteredException {
+		// Snapshots can be stale, a live registration wins over a node that has not resumed yet
+		if (!owner.isRestored()) {
+			evictRestoredPlayer(activePlayersMap.get(playerUUID));
+			evictRestoredPlayer(activePlayersNameMap.get(username));
+		}
 		SupervisorPlayerInstance player;
-		int newTotal;
-		activePlayersLock.writeLock().lock();
-		try {
-			if (activePlayersMap.containsKey(playerUUID)) {
-				throw AlreadyRegisteredException.uuid();
-			}
-			if (activePlayersNameMap.containsKey(username)) {
-				throw AlreadyRegisteredException.username();
+		int a = playerLockIndex(playerUUID);
+		int b = playerLockIndex(username);
+		synchronized (activePlayersLocks[Math.min(a, b)]) {
+			synchronized (activePlayersLocks[Math.max(a, b)]) {
+				if (activePlayersMap.containsKey(playerUUID)) {
+					throw AlreadyRegisteredException.uuid();
+				}
+				if (activePlayersNameMap.containsKey(username)) {
+					throw AlreadyRegisteredException.username();
+				}
+				player = new SupervisorPlayerInstance(owner, playerUUID, brandUUID, gameProtocol, eaglerProtocol,
+						username);
+				activePlayersMap.put(playerUUID, player);
+				activePlayersNameMap.put(username, player);
 			}
-			player = new SupervisorPlayerInstance(owner, playerUUID, brandUUID, gameProtocol, eaglerProtocol, username);
-			activePlayersMap.put(playerUUID, player);
-			activePlayersNameMap.put(username, player);
-			newTotal = activePlayersMap.size();
-		} finally {
-			activePlayersLock.writeLock().unlock();
-		}
-		resendPlayerCounts(newTotal, maxPlayers);
+		}
+		markPlayerCountDirty();
 		return player;
 	}
 
-	public SupervisorPlayerInstance getPlayerByUUID(UUID playerUUID) {
-		activePlayersLock.readLock().lock();
-		try {
-			return activePlayersMap.get(playerUUID);
-		} finally {
-			activePlayersLock.readLock().unlock();
+	private void evictRestoredPlayer(SupervisorPlayerInstance player) {
+		if (player == null) {
+			return;
+		}
+		SupervisorClientInstance owner = player.getOwner();
+		if (!owner.isRestored() || !removePlayer(player)) {
+			return;
+		}
+		owner.forgetProxyPlayer(player);
+		logger.warn("Player {} ({}) was registered again, evicting it from restored node #{}", player.getUsername(),
+				player.getPlayerUUID(), owner.getNodeId());
+		List<SupervisorClientInstance> toNotify = getClients(player.allKnownClients());
+		if (!toNotify.isEmpty()) {
+			for (int i = 0, l = toNotify.size(); i < l; ++i) {
+				toNotify.get(i).forgetKnownPlayer(player);
+			}
+			PacketBroadcaster.broadcastPacket(toNotify, new SPacketSvDropPlayer(player.getPlayerUUID()));
 		}
+		markPlayerCountDirty();
 	}
 
-	public SupervisorPlayerInstance getPlayerByUsername(String playerName) {
-		activePlayersLock.readLock().lock();
-		try {
-			return activePlayersNameMap.get(playerName);
-		} finally {
-			activePlayersLock.readLock().unlock();
+	private boolean removePlayer(SupervisorPlayerInstance player) {
+		int a = playerLockIndex(player.getPlayerUUID());
+		int b = playerLockIndex(player.getUsername());
+		synchronized (activePlayersLocks[Math.min(a, b)]) {
+			synchronized (activePlayersLocks[Math.max(a, b)]) {
+				if (activePlayersMap.remove(player.getPlayerUUID(), player)) {
+					activePlayersNameMap.remove(player.getUsername(), player);
+					return true;
+				} else {
+					return false;
+				}
+			}
 		}
 	}
 
+	public SupervisorPlayerInstance getPlayerByUUID(UUID playerUUID) {
+		return activePlayersMap.get(playerUUID);
+	}
+
+	public SupervisorPlayerInstance getPlayerByUsername(String playerName) {
+		return activePlayersNameMap.get(playerName);
+	}
+
 	public void unregisterClient(SupervisorClientInstance client) {
-		activeClientsLock.writeLock().lock();
-		int nodeId;
-		try {
-			if (!activeClients.remove(client)) {
+		int nodeId = client.getNodeId();
+		int resumeTimeout = config.getNodeResumeTimeout();
+		// Keep the node's players registered for a while in case the proxy reconnects and resumes
+		DetachedClient detached = resumeTimeout > 0 && client.getPlayerCount() > 0 ? new DetachedClient(client)
+				: null;
+		synchronized (activeClientsLock) {
+			ActiveClients current = activeClients;
+			if (current.map.get(nodeId) != client) {
 				return;
 			}
-			nodeId = client.getNodeId();
-			activeClientsMap.remove(nodeId);
-		} finally {
-			activeClientsLock.writeLock().unlock();
+			List<SupervisorClientInstance> newList = new ArrayList<>(current.list);
+			newList.remove(client);
+			IntObjectMap<SupervisorClientInstance> newMap = new IntObjectHashMap<>(current.map);
+			newMap.remove(nodeId);
+			activeClients = new ActiveClients(Collections.unmodifiableList(newList), newMap);
+			if (detached != null) {
+				detachedClients.put(nodeId, detached);
+			}
 		}
 		recalcMaxPlayers();
-		IntSet clientSet = null;
-		activePlayersLock.writeLock().lock();
-		try {
-			Iterator<SupervisorPlayerInstance> itr = activePlayersMap.values().iterator();
-			while (itr.hasNext()) {
-				SupervisorPlayerInstance player = itr.next();
-				if (player.getOwner().getNodeId() == nodeId) {
-					itr.remove();
-					activePlayersNameMap.remove(player.getUsername());
-					if (clientSet == null) {
-						clientSet = new IntHashSet();
-					}
-					player.addKnownClientsNotOwner(clientSet);
-				}
-				player.forgetClient(nodeId);
-			}
-		} finally {
-			activePlayersLock.writeLock().unlock();
+		for (SupervisorPlayerInstance player : client.getKnownPlayers()) {
+			player.forgetClient(nodeId);
 		}
-		if (clientSet != null) {
-			List<SupervisorClientInstance> toNotify = new ArrayList<>(clientSet.size());
-			activeClientsLock.readLock().lock();
+		if (detached != null) {
+			client.getKnownPlayers().clear();
 			try {
-				for (IntCursor cur : clientSet) {
-					SupervisorClientInstance client2 = activeClientsMap.get(cur.value);
-					if (client2 != null) {
-						toNotify.add(client2);
-					}
+				eventLoopGroup.schedule(() -> expireDetachedClient(detached), resumeTimeout, TimeUnit.MILLISECONDS);
+				return;
+			} catch (RejectedExecutionException ex) {
+				synchronized (activeClientsLock) {
+					detachedClients.remove(nodeId);
 				}
-			} finally {
-				activeClientsLock.readLock().unlock();
-			}
-			SPacketSvDropAllPlayers dropPacket = new SPacketSvDropAllPlayers(nodeId);
-			for (int i = 0, l = toNotify.size(); i < l; ++i) {
-				toNotify.get(i).sendPacket(dropPacket);
 			}
 		}
+		dropClientPlayers(client);
 	}
 
-	public void unregisterPlayer(UUID playerUUID) {
-		int total;
-		activePlayersLock.writeLock().lock();
-		SupervisorPlayerInstance player;
-		try {
-			player = activePlayersMap.remove(playerUUID);
-			if (player != null) {
-				activePlayersNameMap.remove(player.getUsername());
+	private void expireDetachedClient(DetachedClient detached) {
+		int nodeId = detached.client.getNodeId();
+		synchronized (activeClientsLock) {
+			if (detachedClients.get(nodeId) != detached) {
+				return;
 			}
-			total = activePlayersMap.size();
-		} finally {
-			activePlayersLock.writeLock().unlock();
+			detachedClients.remove(nodeId);
 		}
-		if (player != null) {
-			IntContainer lst = player.allKnownClients();
-			List<SupervisorClientInstance> toNotify = null;
-			activeClientsLock.readLock().lock();
-			try {
-				for (IntCursor cur : lst) {
-					SupervisorClientInstance client = activeClientsMap.get(cur.value);
-					if (client != null) {
-						if (toNotify == null) {
-							toNotify = new ArrayList<>(activeClientsMap.size());
-						}
-						toNotify.add(client);
-					}
+		logger.info("Node #{} did not resume in time, dropping its players", nodeId);
+		dropClientPlayers(detached.client);
+	}
+
+	private void dropClientPlayers(SupervisorClientInstance client) {
+		int nodeId = client.getNodeId();
+		IntSet clientSet = null;
+		for (SupervisorPlayerInstance player : client.getPlayers()) {
+			if (removePlayer(player)) {
+				if (clientSet == null) {
+					clientSet = new IntHashSet();
 				}
-			} finally {
-				activeClientsLock.readLock().unlock();
+				player.addKnownClientsNotOwner(clientSet);
+				forgetPlayerOnClients(player);
 			}
-			if (toNotify != null) {
-				SPacketSvDropPlayer dropPacket = new SPacketSvDropPlayer(player.getPlayerUUID());
+		}
+		if (clientSet != null) {
+			PacketBroadcaster.broadcastPacket(getClients(clientSet), new SPacketSvDropAllPlayers(nodeId));
+			markPlayerCountDirty();
+		}
+	}
+
+	public void unregisterPlayer(UUID playerUUID) {
+		SupervisorPlayerInstance player = activePlayersMap.get(playerUUID);
+		if (player != null && removePlayer(player)) {
+			List<SupervisorClientInstance> toNotify = getClients(player.allKnownClients());
+			if (!toNotify.isEmpty()) {
 				for (int i = 0, l = toNotify.size(); i < l; ++i) {
-					toNotify.get(i).sendPacket(dropPacket);
+					toNotify.get(i).forgetKnownPlayer(player);
 				}
+				PacketBroadcaster.broadcastPacket(toNotify, new SPacketSvDropPlayer(player.getPlayerUUID()));
 			}
-			resendPlayerCounts(total, maxPlayers);
+			markPlayerCountDirty();
+		}
+	}
+
+	private void forgetPlayerOnClients(SupervisorPlayerInstance player) {
+		IntSet knownSet = new IntHashSet();
+		player.addKnownClientsNotOwner(knownSet);
+		for (SupervisorClientInstance client : getClients(knownSet)) {
+			client.forgetKnownPlayer(player);
 		}
 	}
 
 	public void recalcMaxPlayers() {
 		int max = 0;
-		activeClientsLock.readLock().lock();
-		try {
-			for (SupervisorClientInstance client : activeClients) {
-				max += client.getPlayerMax();
-			}
-		} finally {
-			activeClientsLock.readLock().unlock();
+		for (SupervisorClientInstance client : activeClients.list) {
+			max += client.getPlayerMax();
 		}
 		if (maxPlayers != max) {
 			maxPlayers = max;
-			resendPlayerCounts(getPlayerCount(), max);
+			markPlayerCountDirty();
 		}
 	}
 
 	public int getPlayerCount() {
-		activePlayersLock.readLock().lock();
-		try {
-			return activePlayersMap.size();
-		} finally {
-			activePlayersLock.readLock().unlock();
-		}
+		return activePlayersMap.size();
 	}
 
-	private void resendPlayerCounts(int count, int max) {
-		SPacketSvTotalPlayerCount pkt = new SPacketSvTotalPlayerCount(count, max);
-		List<SupervisorClientInstance> toNotify;
-		activeClientsLock.readLock().lock();
-		try {
-			toNotify = new ArrayList<>(activeClients);
-		} finally {
-			activeClientsLock.readLock().unlock();
+	private void markPlayerCountDirty() {
+		if (playerCountDirty.compareAndSet(false, true)) {
+			try {
+				eventLoopGroup.schedule(this::resendPlayerCounts, PLAYER_COUNT_DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException ex) {
+				playerCountDirty.set(false);
+			}
 		}
-		for (SupervisorClientInstance client : toNotify) {
-			client.getHandler().channelWrite(pkt);
+	}
+
+	private void resendPlayerCounts() {
+		playerCountDirty.set(false);
+		synchronized (playerCountSendLock) {
+			int count = activePlayersMap.size();
+			int max = maxPlayers;
+			List<SupervisorClientInstance> toNotify = null;
+			for (SupervisorClientInstance client : activeClients.list) {
+				if (client.updateSentTotalPlayerCount(count, max)) {
+					if (toNotify == null) {
+						toNotify = new ArrayList<>();
+					}
+					toNotify.add(client);
+				}
+			}
+			if (toNotify != null) {
+				PacketBroadcaster.broadcastPacket(toNotify, new SPacketSvTotalPlayerCount(count, max));
+			}
 		}
 	}
 
@@ -495,6 +758,10 @@ public class EaglerXSupervisorServer implements Runnable {
 		return maxPlayers;
 	}
 
+	public TimeoutLoop getTimeoutLoop() {
+		return timeoutLoop;
+	}
+
 	public Logger getLogger() {
 		return logger;
 	}
@@ -532,43 +799,27 @@ public class EaglerXSupervisorServer implements Runnable {
 	}
 
 	public SupervisorClientInstance getClient(int nodeId) {
-		activeClientsLock.readLock().lock();
-		try {
-			return activeClientsMap.get(nodeId);
-		} finally {
-			activeClientsLock.readLock().unlock();
-		}
+		return activeClients.map.get(nodeId);
 	}
 
 	public List<SupervisorClientInstance> getClients(IntContainer lst) {
+		IntObjectMap<SupervisorClientInstance> map = activeClients.map;
 		List<SupervisorClientInstance> ret = new ArrayList<>(lst.size());
-		activeClientsLock.readLock().lock();
-		try {
-			for (IntCursor cur : lst) {
-				ret.add(activeClientsMap.get(cur.value));
+		for (IntCursor cur : lst) {
+			SupervisorClientInstance client = map.get(cur.value);
+			if (client != null) {
+				ret.add(client);
 			}
-		} finally {
-			activeClientsLock.readLock().unlock();
 		}
 		return ret;
 	}
 
 	public List<SupervisorClientInstance> getClientList() {
-		activeClientsLock.readLock().lock();
-		try {
-			return new ArrayList<>(activeClients);
-		} finally {
-			activeClientsLock.readLock().unlock();
-		}
+		return activeClients.list;
 	}
 
 	public List<SupervisorPlayerInstance> getPlayerList() {
-		activePlayersLock.readLock().lock();
-		try {
-			return new ArrayList<>(activePlayersMap.values());
-		} finally {
-			activePlayersLock.readLock().unlock();
-		}
+		return new ArrayList<>(activePlayersMap.values());
 	}
 
 	public void shutdownHook() {
@@ -585,28 +836,23 @@ public class EaglerXSupervisorServer implements Runnable {
 		int totalCustomCapes = 0;
 		PlayerSkinData err = PlayerSkinData.ERROR;
 		PlayerCapeData err2 = PlayerCapeData.ERROR;
-		activePlayersLock.readLock().lock();
-		try {
-			for (SupervisorPlayerInstance player : activePlayersMap.values()) {
-				PlayerSkinData dat = player.getSkinDataIfLoaded();
-				if (dat != null && dat != err) {
-					if (dat instanceof PlayerSkinData.Custom) {
-						++totalCustomSkins;
-					} else {
-						++totalPresetSkins;
-					}
+		for (SupervisorPlayerInstance player : activePlayersMap.values()) {
+			PlayerSkinData dat = player.getSkinDataIfLoaded();
+			if (dat != null && dat != err) {
+				if (dat instanceof PlayerSkinData.Custom) {
+					++totalCustomSkins;
+				} else {
+					++totalPresetSkins;
 				}
-				PlayerCapeData dat2 = player.getCapeDataIfLoaded();
-				if (dat2 != null && dat2 != err2) {
-					if (dat2 instanceof PlayerCapeData.Custom) {
-						++totalCustomCapes;
-					} else {
-						++totalPresetCapes;
-					}
+			}
+			PlayerCapeData dat2 = player.getCapeDataIfLoaded();
+			if (dat2 != null && dat2 != err2) {
+				if (dat2 instanceof PlayerCapeData.Custom) {
+					++totalCustomCapes;
+				} else {
+					++totalPresetCapes;
 				}
 			}
-		} finally {
-			activePlayersLock.readLock().unlock();
 		}
 		if (skinCache != null) {
 			int downloadedMemorySkins = skinCache.getTotalMemorySkins();
@@ -626,7 +872,8 @@ public class EaglerXSupervisorServer implements Runnable {
 	}
 
 	public static void main(String[] args) {
-		EaglerXSupervisorServer server = new EaglerXSupervisorServer();
+		EaglerXSupervisorServer server = args.length > 0 ? new EaglerXSupervisorServer(new File(args[0]))
+				: new EaglerXSupervisorServer();
 		Runtime.getRuntime().addShutdownHook(new Thread(server::shutdownHook, "Supervisor Shutdown Hook"));
 		server.run();
 		System.exit(0);
@@ -40,6 +40,11 @@ public class EaglerXSupervisorConfig {
 	private SocketAddress listenAddress = null;
 	private String secretKey = null;
 	private int readTimeout = 30000;
+	private int linkCompressionThreshold = 256;
+	private int clusterShardId = 0;
+	private int nodeResumeTimeout = 15000;
+	private File snapshotFile = null;
+	private int snapshotInterval = 30;
 	private boolean enableStatus = true;
 	private SocketAddress listenStatusAddress = null;
 	private String statusUsername = null;
@@ -52,6 +57,7 @@ public class EaglerXSupervisorConfig {
 	private int skinCacheThreadPoolSize = -1;
 	private int databaseKeepObjectsDays = 45;
 	private int databaseMaxObjects = 32768;
+	private int databaseMaxMegabytes = 0;
 	private int databaseCompressionLevel = 6;
 	private int memoryCacheKeepObjectsSeconds = 900;
 	private int memoryCacheMaxObjects = 32768;
@@ -81,6 +87,15 @@ public class EaglerXSupervisorConfig {
 		listenAddress = PipelineFactory.getAddr(getRequiredString(props, "listen-addr"));
 		secretKey = getStringOrNull(props, "secret-key");
 		readTimeout = getRequiredInt(props, "read-timeout");
+		linkCompressionThreshold = getInt(props, "link-compression-threshold", 256);
+		nodeResumeTimeout = getInt(props, "node-resume-timeout", 15000);
+		String snapshot = getStringOrNull(props, "snapshot-file");
+		snapshotFile = snapshot != null ? new File(snapshot) : null;
+		snapshotInterval = getInt(props, "snapshot-interval", 30);
+		clusterShardId = getInt(props, "cluster-shard-id", 0);
+		if (clusterShardId < 0) {
+			throw new IOException("Config variable cluster-shard-id cannot be negative");
+		}
 		enableStatus = "true".equalsIgnoreCase(getStringOrNull(props, "status-http-enable"));
 		if (enableStatus) {
 			listenStatusAddress = PipelineFactory.getAddr(getRequiredString(props, "status-http-listen-addr"));
@@ -107,6 +122,7 @@ public class EaglerXSupervisorConfig {
 			skinCacheThreadPoolSize = getRequiredInt(props, "skin-cache-thread-pool-size");
 			databaseKeepObjectsDays = getRequiredInt(props, "database-keep-objects-days");
 			databaseMaxObjects = getRequiredInt(props, "database-max-objects");
+			databaseMaxMegabytes = getInt(props, "database-max-megabytes", 0);
 			databaseCompressionLevel = getRequiredInt(props, "database-compression-level");
 			memoryCacheKeepObjectsSeconds = getRequiredInt(props, "memory-cache-keep-objects-seconds");
 			memoryCacheMaxObjects = getRequiredInt(props, "memory-cache-max-objects");
@@ -119,6 +135,7 @@ public class EaglerXSupervisorConfig {
 			skinCacheThreadPoolSize = -1;
 			databaseKeepObjectsDays = 45;
 			databaseMaxObjects = 32768;
+			databaseMaxMegabytes = 0;
 			databaseCompressionLevel = 6;
 			memoryCacheKeepObjectsSeconds = 900;
 			memoryCacheMaxObjects = 32768;
@@ -136,6 +153,18 @@ public class EaglerXSupervisorConfig {
 		}
 	}
 
+	private static int getInt(Properties props, String name, int def) throws IOException {
+		String ret = getStringOrNull(props, name);
+		if (ret == null) {
+			return def;
+		}
+		try {
+			return Integer.parseInt(ret);
+		} catch (NumberFormatException ex) {
+			throw new IOException("Config variable " + name + " is not an integer: \"" + ret + "\"");
+		}
+	}
+
 	private static String getRequiredString(Properties props, String name) throws IOException {
 		String ret = getStringOrNull(props, name);
 		if (ret != null) {
@@ -171,6 +200,26 @@ public class EaglerXSupervisorConfig {
 		return readTimeout;
 	}
 
+	public int getLinkCompressionThreshold() {
+		return linkCompressionThreshold;
+	}
+
+	public int getNodeResumeTimeout() {
+		return nodeResumeTimeout;
+	}
+
+	public File getSnapshotFile() {
+		return snapshotFile;
+	}
+
+	public int getSnapshotInterval() {
+		return snapshotInterval;
+	}
+
+	public int getClusterShardId() {
+		return clusterShardId;
+	}
+
 	public boolean isEnableStatus() {
 		return enableStatus;
 	}
@@ -219,6 +268,10 @@ public class EaglerXSupervisorConfig {
 		return databaseMaxObjects;
 	}
 
+	public int getDatabaseMaxMegabytes() {
+		return databaseMaxMegabytes;
+	}
+
 	public int getDatabaseCompressionLevel() {
 		return databaseCompressionLevel;
 	}
@@ -202,6 +202,7 @@ public class EaglerXSupervisorConsole implements Runnable {
 						}
 					}
 				}
+				return; // stdin was closed, e.g. running detached
 			} catch (IOException e) {
 				logger.error("Caught IOException reading console input", e);
 			}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor.server;
+
+import java.util.Collection;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.EaglerSupervisorProtocol;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.SupervisorPacketHandler;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
+
+public class PacketBroadcaster {
+
+	/**
+	 * Serializes the packet the same way SupervisorEncoder would, the result can
+	 * be written to any channel using the same protocol as a raw ByteBuf
+	 */
+	public static ByteBuf encodePacket(ByteBufAllocator alloc, EaglerSupervisorProtocol protocol,
+			EaglerSupervisorPacket packet) {
+		Class<? extends EaglerSupervisorPacket> cls = packet.getClass();
+		int id = protocol.getPacketID(cls, EaglerSupervisorProtocol.SERVER_TO_CLIENT);
+		if (id == -1) {
+			throw new IllegalStateException("Sent wrong packet type " + cls.getSimpleName() + " on "
+					+ EaglerSupervisorProtocol.dirStr(EaglerSupervisorProtocol.SERVER_TO_CLIENT) + " type "
+					+ protocol.name() + " encoder");
+		}
+		ByteBuf buffer = alloc.buffer();
+		try {
+			buffer.writeByte(id);
+			packet.writePacket(buffer);
+			return buffer;
+		} catch (Throwable t) {
+			buffer.release();
+			throw t;
+		}
+	}
+
+	public static boolean isSameEncoding(EaglerSupervisorProtocol a, EaglerSupervisorProtocol b,
+			Class<? extends EaglerSupervisorPacket> cls) {
+		return a == b || a.getPacketID(cls, EaglerSupervisorProtocol.SERVER_TO_CLIENT) == b.getPacketID(cls,
+				EaglerSupervisorProtocol.SERVER_TO_CLIENT);
+	}
+
+	/**
+	 * Packet must not be reference counted, it is only serialized once and each
+	 * client is sent a retained duplicate of the result
+	 */
+	public static void broadcastPacket(Collection<SupervisorClientInstance> clients, EaglerSupervisorPacket packet) {
+		int cnt = clients.size();
+		if (cnt == 0) {
+			return;
+		}
+		if (cnt == 1) {
+			clients.iterator().next().sendPacket(packet);
+			return;
+		}
+		EaglerSupervisorProtocol protocol = null;
+		ByteBuf encoded = null;
+		try {
+			for (SupervisorClientInstance client : clients) {
+				SupervisorPacketHandler handler = client.getHandler();
+				EaglerSupervisorProtocol clientProtocol = handler.getConnectionProtocol();
+				if (encoded == null && clientProtocol.getPacketID(packet.getClass(),
+						EaglerSupervisorProtocol.SERVER_TO_CLIENT) != -1) {
+					encoded = encodePacket(handler.getChannel().alloc(), clientProtocol, packet);
+					protocol = clientProtocol;
+				}
+				if (encoded != null && isSameEncoding(clientProtocol, protocol, packet.getClass())) {
+					handler.channelWrite(encoded.retainedDuplicate());
+				} else {
+					handler.channelWrite(packet);
+				}
+			}
+		} finally {
+			if (encoded != null) {
+				encoded.release();
+			}
+		}
+	}
+
+}
@@ -22,10 +22,11 @@ import java.util.Set;
 import io.netty.channel.EventLoop;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvRPCResultMulti;
 
-abstract class RPCMultiResultAggregator extends ArrayList<SPacketSvRPCResultMulti.ResultEntry> {
+abstract class RPCMultiResultAggregator extends ArrayList<SPacketSvRPCResultMulti.ResultEntry>
+		implements IRPCResultAggregator {
 
-	Set<RPCMultiResultAggregator> set;
-	EventLoop eventLoop;
+	private Set<IRPCResultAggregator> set;
+	private EventLoop eventLoop;
 	private int cntDown;
 
 	public RPCMultiResultAggregator(int cntDown) {
@@ -33,6 +34,13 @@ abstract class RPCMultiResultAggregator extends ArrayList<SPacketSvRPCResultMult
 		this.cntDown = cntDown;
 	}
 
+	@Override
+	public void bind(Set<IRPCResultAggregator> set, EventLoop eventLoop) {
+		this.set = set;
+		this.eventLoop = eventLoop;
+	}
+
+	@Override
 	public void push(SPacketSvRPCResultMulti.ResultEntry etr) {
 		synchronized (this) {
 			if (cntDown > 0) {
@@ -56,6 +64,7 @@ abstract class RPCMultiResultAggregator extends ArrayList<SPacketSvRPCResultMult
 		});
 	}
 
+	@Override
 	public void pushEmpty() {
 		synchronized (this) {
 			if (cntDown <= 0 || --cntDown > 0) {
@@ -75,6 +84,7 @@ abstract class RPCMultiResultAggregator extends ArrayList<SPacketSvRPCResultMult
 
 	protected abstract void onComplete();
 
+	@Override
 	public void destroy() {
 		synchronized (this) {
 			if (cntDown > 0) {
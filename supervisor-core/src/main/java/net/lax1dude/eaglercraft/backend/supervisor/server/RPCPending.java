@@ -20,7 +20,9 @@ import java.util.Map;
 import java.util.UUID;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.EventLoop;
 import net.lax1dude.eaglercraft.backend.supervisor.server.TimeoutLoop.IExpirable;
+import net.lax1dude.eaglercraft.backend.util.HashedTimingWheel;
 
 abstract class RPCPending implements IExpirable {
 
@@ -31,6 +33,8 @@ abstract class RPCPending implements IExpirable {
 	protected final long timeout;
 	protected final UUID key;
 	protected Map<UUID, RPCPending> map;
+	protected EventLoop eventLoop;
+	protected HashedTimingWheel.Timeout<IExpirable> timeoutHandle;
 
 	protected RPCPending(UUID key, long timeout) {
 		this.key = key;
@@ -44,8 +48,17 @@ abstract class RPCPending implements IExpirable {
 
 	@Override
 	public void expire() {
-		if (map.remove(key) != null) {
-			onFailure(FAILURE_TIMEOUT);
+		eventLoop.execute(() -> {
+			if (map.remove(key) != null) {
+				onFailure(FAILURE_TIMEOUT);
+			}
+		});
+	}
+
+	protected void cancelTimeout() {
+		if (timeoutHandle != null) {
+			timeoutHandle.cancel();
+			timeoutHandle = null;
 		}
 	}
 
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor.server;
+
+import java.util.Set;
+
+import io.netty.channel.EventLoop;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvRPCResultMulti;
+
+/**
+ * Forwards each node's result as soon as it arrives instead of buffering all
+ * of them, so memory held per request does not grow with the node count
+ */
+abstract class RPCStreamResultAggregator implements IRPCResultAggregator {
+
+	private Set<IRPCResultAggregator> set;
+	private EventLoop eventLoop;
+	private final int quorum;
+	private int remaining;
+	private int successes = 0;
+
+	public RPCStreamResultAggregator(int remaining, int quorum) {
+		this.remaining = remaining;
+		this.quorum = quorum;
+	}
+
+	@Override
+	public void bind(Set<IRPCResultAggregator> set, EventLoop eventLoop) {
+		this.set = set;
+		this.eventLoop = eventLoop;
+	}
+
+	@Override
+	public void push(SPacketSvRPCResultMulti.ResultEntry etr) {
+		synchronized (this) {
+			if (remaining <= 0) {
+				return;
+			}
+			--remaining;
+			if (etr.status == 0 && ++successes == quorum) {
+				remaining = 0;
+			}
+			etr.retain();
+			onResult(etr, remaining == 0);
+			if (remaining > 0) {
+				return;
+			}
+		}
+		eventLoop.execute(() -> {
+			set.remove(this);
+		});
+	}
+
+	@Override
+	public void pushEmpty() {
+		synchronized (this) {
+			if (remaining <= 0 || --remaining > 0) {
+				return;
+			}
+			onResult(null, true);
+		}
+		eventLoop.execute(() -> {
+			set.remove(this);
+		});
+	}
+
+	/**
+	 * Called in arrival order, etr is null if the final node sent nothing, the
+	 * implementation takes ownership of etr
+	 */
+	protected abstract void onResult(SPacketSvRPCResultMulti.ResultEntry etr, boolean complete);
+
+	@Override
+	public void destroy() {
+		synchronized (this) {
+			remaining = 0;
+		}
+		set.remove(this);
+	}
+
+	@Override
+	public int hashCode() {
+		return System.identityHashCode(this);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return this == o;
+	}
+
+}
@@ -19,14 +19,15 @@ package net.lax1dude.eaglercraft.backend.supervisor.server;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,12 +68,12 @@ public class SupervisorClientInstance {
 
 	private final int nodeId;
 	private final EaglerXSupervisorServer server;
-	private final SupervisorPacketHandler handler;
-	private final TimeoutLoop timeout;
+	private volatile SupervisorPacketHandler handler;
 	private volatile int disposed = 0;
+	private volatile boolean restored = false;
 
-	private final ReadWriteLock playersLock = new ReentrantReadWriteLock();
-	private final Map<UUID, SupervisorPlayerInstance> players = new HashMap<>(1024);
+	private final ConcurrentMap<UUID, SupervisorPlayerInstance> players = new ConcurrentHashMap<>(1024);
+	private final Set<SupervisorPlayerInstance> knownPlayers = ConcurrentHashMap.newKeySet(1024);
 
 	private EnumProxyType proxyType = EnumProxyType.UNKNOWN;
 	private String proxyVersion = "Unknown";
@@ -86,15 +87,17 @@ public class SupervisorClientInstance {
 	private volatile long proxyPingSentTime = 0l;
 	private volatile int proxyPing;
 
+	private int sentTotalPlayerCount = -1;
+	private int sentTotalPlayerMax = -1;
+
 	private final Map<UUID, RPCPending> pendingRPC = new HashMap<>(256);
 
-	private Set<RPCMultiResultAggregator> multiResultAggregators = new HashSet<>(32);
+	private Set<IRPCResultAggregator> multiResultAggregators = new HashSet<>(32);
 
 	public SupervisorClientInstance(int nodeId, EaglerXSupervisorServer server, SupervisorPacketHandler handler) {
 		this.nodeId = nodeId;
 		this.server = server;
 		this.handler = handler;
-		this.timeout = new TimeoutLoop(handler.getChannel().eventLoop(), 250l * 1000000l);
 	}
 
 	public int getNodeId() {
@@ -109,8 +112,28 @@ public class SupervisorClientInstance {
 		return handler;
 	}
 
+	public boolean isRestored() {
+		return restored;
+	}
+
+	public void markRestored() {
+		restored = true;
+	}
+
+	public void reattach(SupervisorPacketHandler handler) {
+		this.handler = handler;
+		this.restored = false;
+		PING_SENT_TIME_HANDLE.setVolatile(this, 0l);
+		sentTotalPlayerCount = -1;
+		sentTotalPlayerMax = -1;
+		multiResultAggregators = new HashSet<>(32);
+	}
+
 	public void sendPacket(EaglerSupervisorPacket packet) {
-		handler.channelWrite(packet);
+		SupervisorPacketHandler handler = this.handler;
+		if (handler != null) {
+			handler.channelWrite(packet);
+		}
 	}
 
 	public EnumProxyType getProxyType() {
@@ -138,12 +161,23 @@ public class SupervisorClientInstance {
 	}
 
 	public int getPlayerCount() {
-		playersLock.readLock().lock();
-		try {
-			return players.size();
-		} finally {
-			playersLock.readLock().unlock();
-		}
+		return players.size();
+	}
+
+	public Collection<SupervisorPlayerInstance> getPlayers() {
+		return players.values();
+	}
+
+	public Collection<SupervisorPlayerInstance> getKnownPlayers() {
+		return knownPlayers;
+	}
+
+	public void addKnownPlayer(SupervisorPlayerInstance player) {
+		knownPlayers.add(player);
+	}
+
+	public void forgetKnownPlayer(SupervisorPlayerInstance player) {
+		knownPlayers.remove(player);
 	}
 
 	public int getProxyPing() {
@@ -163,13 +197,16 @@ public class SupervisorClientInstance {
 			for (int i = 0, l = expired.size(); i < l; ++i) {
 				RPCPending cb = pendingRPC.remove(expired.get(i));
 				if (cb != null) {
+					cb.cancelTimeout();
 					cb.onFailure(RPCPending.FAILURE_HANGUP);
 				}
 			}
 		} finally {
 			try {
 				if (multiResultAggregators != null) {
-					for (RPCMultiResultAggregator aggregator : multiResultAggregators) {
+					List<IRPCResultAggregator> aggregators = new ArrayList<>(multiResultAggregators);
+					multiResultAggregators = null;
+					for (IRPCResultAggregator aggregator : aggregators) {
 						aggregator.destroy();
 					}
 				}
@@ -193,6 +230,16 @@ public class SupervisorClientInstance {
 		}
 	}
 
+	public boolean updateSentTotalPlayerCount(int playerCount, int playerMax) {
+		if (sentTotalPlayerCount != playerCount || sentTotalPlayerMax != playerMax) {
+			sentTotalPlayerCount = playerCount;
+			sentTotalPlayerMax = playerMax;
+			return true;
+		} else {
+			return false;
+		}
+	}
+
 	public void onProxyBrandPacket(EnumProxyType proxyType, String proxyVersion, EnumPluginType pluginType,
 			String pluginBrand, String pluginVersion) {
 		this.proxyType = proxyType;
@@ -213,40 +260,36 @@ public class SupervisorClientInstance {
 			String username) throws AlreadyRegisteredException {
 		SupervisorPlayerInstance instance = server.registerPlayer(this, playerUUID, brandUUID, gameProtocol,
 				eaglerProtocol, username);
-		playersLock.writeLock().lock();
-		try {
-			players.put(playerUUID, instance);
-		} finally {
-			playersLock.writeLock().unlock();
-		}
+		players.put(playerUUID, instance);
+	}
+
+	public void forgetProxyPlayer(SupervisorPlayerInstance player) {
+		players.remove(player.getPlayerUUID(), player);
 	}
 
 	public void dropProxyPlayer(UUID playerUUID) {
-		playersLock.writeLock().lock();
-		try {
-			players.remove(playerUUID);
-		} finally {
-			playersLock.writeLock().unlock();
-		}
+		players.remove(playerUUID);
 		server.unregisterPlayer(playerUUID);
 	}
 
 	public SupervisorPlayerInstance getPlayerByUUID(UUID uuid) {
-		playersLock.readLock().lock();
-		try {
-			return players.get(uuid);
-		} finally {
-			playersLock.readLock().unlock();
-		}
+		return players.get(uuid);
 	}
 
 	public void invokeRPC(int sourceNodeId, int procNameLen, ByteBuf dataBuffer, RPCPending callback) {
+		SupervisorPacketHandler handler = this.handler;
+		if (handler == null) {
+			callback.onFailure(RPCPending.FAILURE_HANGUP);
+			return;
+		}
 		dataBuffer.retain();
 		handler.getChannel().eventLoop().execute(() -> {
 			try {
 				callback.map = pendingRPC;
+				callback.eventLoop = handler.getChannel().eventLoop();
 				pendingRPC.put(callback.key, callback);
-				if (timeout.addFuture(callback)) {
+				callback.timeoutHandle = server.getTimeoutLoop().addFuture(callback);
+				if (callback.timeoutHandle != null) {
 					handler.channelWrite(
 							new SPacketSvRPCExecute(callback.key, sourceNodeId, procNameLen, dataBuffer.retain()));
 				}
@@ -257,13 +300,44 @@ public class SupervisorClientInstance {
 	}
 
 	public void invokeRPCVoid(int sourceNodeId, int procNameLen, ByteBuf dataBuffer) {
-		handler.channelWrite(new SPacketSvRPCExecuteVoid(sourceNodeId, procNameLen, dataBuffer.retain()));
+		SupervisorPacketHandler handler = this.handler;
+		if (handler != null) {
+			handler.channelWrite(new SPacketSvRPCExecuteVoid(sourceNodeId, procNameLen, dataBuffer.retain()));
+		}
+	}
+
+	public void invokeRPCEncoded(ByteBuf encodedPacket, RPCPending callback) {
+		SupervisorPacketHandler handler = this.handler;
+		if (handler == null) {
+			callback.onFailure(RPCPending.FAILURE_HANGUP);
+			return;
+		}
+		encodedPacket.retain();
+		handler.getChannel().eventLoop().execute(() -> {
+			try {
+				callback.map = pendingRPC;
+				callback.eventLoop = handler.getChannel().eventLoop();
+				pendingRPC.put(callback.key, callback);
+				callback.timeoutHandle = server.getTimeoutLoop().addFuture(callback);
+				if (callback.timeoutHandle != null) {
+					handler.channelWrite(encodedPacket.retainedDuplicate());
+				}
+			} finally {
+				encodedPacket.release();
+			}
+		});
+	}
+
+	public void invokeRPCVoidEncoded(ByteBuf encodedPacket) {
+		SupervisorPacketHandler handler = this.handler;
+		if (handler != null) {
+			handler.channelWrite(encodedPacket.retainedDuplicate());
+		}
 	}
 
-	public boolean addPendingResultAggregator(RPCMultiResultAggregator aggregator) {
+	public boolean addPendingResultAggregator(IRPCResultAggregator aggregator) {
 		if (multiResultAggregators != null) {
-			aggregator.set = multiResultAggregators;
-			aggregator.eventLoop = handler.getChannel().eventLoop();
+			aggregator.bind(multiResultAggregators, handler.getChannel().eventLoop());
 			multiResultAggregators.add(aggregator);
 			return true;
 		} else {
@@ -275,6 +349,7 @@ public class SupervisorClientInstance {
 	void onRPCResultSuccess(UUID requestUUID, ByteBuf dataBuffer) {
 		RPCPending pending = pendingRPC.remove(requestUUID);
 		if (pending != null) {
+			pending.cancelTimeout();
 			pending.onSuccess(dataBuffer);
 		} else {
 			logger.warn("Received RPC success for unknown/expired request {}", requestUUID);
@@ -284,6 +359,7 @@ public class SupervisorClientInstance {
 	void onRPCResultFail(UUID requestUUID) {
 		RPCPending pending = pendingRPC.remove(requestUUID);
 		if (pending != null) {
+			pending.cancelTimeout();
 			pending.onFailure(RPCPending.FAILURE_PROCEDURE);
 		} else {
 			logger.warn("Received RPC failure for unknown/expired request {}", requestUUID);
@@ -21,6 +21,7 @@ import org.slf4j.LoggerFactory;
 
 import io.netty.channel.ChannelFutureListener;
 import net.lax1dude.eaglercraft.backend.supervisor.EaglerXSupervisorServer;
+import net.lax1dude.eaglercraft.backend.supervisor.server.player.SupervisorPlayerInstance;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.EaglerSupervisorProtocol;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.SupervisorPacketHandler;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorHandler;
@@ -42,13 +43,16 @@ public class SupervisorServerHandshakeHandler implements EaglerSupervisorHandler
 	}
 
 	public void handleClient(CPacketSvHandshake pkt) {
-		find_vers: {
-			int[] pp = pkt.supportedProtocols;
-			for (int i = 0; i < pp.length; ++i) {
-				if (pp[i] == 1) {
-					break find_vers;
+		EaglerSupervisorProtocol protocol = null;
+		int[] pp = pkt.supportedProtocols;
+		for (int i = 0; i < pp.length; ++i) {
+			if (pp[i] == EaglerSupervisorProtocol.V1.vers || pp[i] == EaglerSupervisorProtocol.V2.vers) {
+				if (protocol == null || pp[i] > protocol.vers) {
+					protocol = EaglerSupervisorProtocol.getByVersion(pp[i]);
 				}
 			}
+		}
+		if (protocol == null) {
 			logger.error("[{}]: Dropping connection because of protocol version mismatch",
 					handler.getChannel().remoteAddress());
 			handler.getChannel()
@@ -68,16 +72,68 @@ public class SupervisorServerHandshakeHandler implements EaglerSupervisorHandler
 			return;
 		}
 
-		SupervisorClientInstance client = server.registerClient(handler);
+		int shardId = server.getConfig().getClusterShardId();
+		if (shardId > 0 ? (pkt.shardIndex != shardId || pkt.nodeId <= 0) : pkt.shardIndex > 0) {
+			logger.error("[{}]: Dropping connection because it expected cluster shard #{}, this is shard #{}",
+					handler.getChannel().remoteAddress(), Math.max(pkt.shardIndex, 0), shardId);
+			handler.getChannel()
+					.writeAndFlush(new SPacketSvHandshakeFailure(SPacketSvHandshakeFailure.FAILURE_CODE_SHARD_MISMATCH))
+					.addListener(ChannelFutureListener.CLOSE);
+			return;
+		}
 
-		handler.getChannel().writeAndFlush(new SPacketSvHandshakeSuccess(1, client.getNodeId()));
+		SupervisorClientInstance client = null;
+		boolean resumed = false;
+		if (pkt.nodeId > 0) {
+			client = server.resumeClient(handler, pkt.nodeId);
+			resumed = client != null;
+		}
+		if (client == null) {
+			client = server.registerClient(handler, shardId > 0 ? pkt.nodeId : -1);
+		}
+		if (client == null) {
+			logger.error("[{}]: Dropping connection because node id #{} is already in use",
+					handler.getChannel().remoteAddress(), pkt.nodeId);
+			handler.getChannel()
+					.writeAndFlush(new SPacketSvHandshakeFailure(SPacketSvHandshakeFailure.FAILURE_CODE_NODE_ID_IN_USE))
+					.addListener(ChannelFutureListener.CLOSE);
+			return;
+		}
 
-		handler.setConnectionProtocol(EaglerSupervisorProtocol.V1);
+		int compressionThreshold = -1;
+		int configThreshold = server.getConfig().getLinkCompressionThreshold();
+		if (pkt.compressionThreshold >= 0 && configThreshold >= 0) {
+			compressionThreshold = Math.max(pkt.compressionThreshold, configThreshold);
+		}
+
+		handler.getChannel().writeAndFlush(
+				new SPacketSvHandshakeSuccess(protocol.vers, client.getNodeId(), compressionThreshold, resumed));
+
+		if (compressionThreshold >= 0) {
+			handler.enableCompression(compressionThreshold);
+		}
+
+		handler.setConnectionProtocol(protocol);
 		handler.setConnectionHandler(new SupervisorServerV1Handler(server, handler, client));
 
+		if (resumed) {
+			for (SupervisorPlayerInstance player : client.getPlayers()) {
+				player.onOwnerResumed();
+			}
+		}
+
 		logger.info("[{}]: Handshake successful, connected with {} protocol", handler.getChannel().remoteAddress(),
 				handler.getConnectionProtocol().name());
-		logger.info("[{}]: Assigned node id #{}", handler.getChannel().remoteAddress(), client.getNodeId());
+		if (resumed) {
+			logger.info("[{}]: Resumed node id #{} with {} players", handler.getChannel().remoteAddress(),
+					client.getNodeId(), client.getPlayerCount());
+		} else {
+			logger.info("[{}]: Assigned node id #{}", handler.getChannel().remoteAddress(), client.getNodeId());
+		}
+		if (compressionThreshold >= 0) {
+			logger.info("[{}]: Link compression enabled, threshold {} bytes", handler.getChannel().remoteAddress(),
+					compressionThreshold);
+		}
 	}
 
 	@Override
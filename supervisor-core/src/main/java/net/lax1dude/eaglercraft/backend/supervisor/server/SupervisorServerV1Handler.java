@@ -16,8 +16,12 @@
 
 package net.lax1dude.eaglercraft.backend.supervisor.server;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,8 +29,10 @@ import org.slf4j.LoggerFactory;
 import io.netty.buffer.ByteBuf;
 import net.lax1dude.eaglercraft.backend.skin_cache.ISkinCacheService;
 import net.lax1dude.eaglercraft.backend.supervisor.EaglerXSupervisorServer;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.EaglerSupervisorProtocol;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.SupervisorPacketHandler;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorHandler;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.*;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.*;
 import net.lax1dude.eaglercraft.backend.supervisor.server.player.SupervisorPlayerInstance;
@@ -42,12 +48,14 @@ public class SupervisorServerV1Handler implements EaglerSupervisorHandler {
 	private final EaglerXSupervisorServer server;
 	private final SupervisorPacketHandler handler;
 	private final SupervisorClientInstance client;
+	private final boolean hashTextures;
 
 	public SupervisorServerV1Handler(EaglerXSupervisorServer server, SupervisorPacketHandler handler,
 			SupervisorClientInstance client) {
 		this.server = server;
 		this.handler = handler;
 		this.client = client;
+		this.hashTextures = handler.getConnectionProtocol().vers >= EaglerSupervisorProtocol.V2.vers;
 	}
 
 	@Override
@@ -104,6 +112,46 @@ public class SupervisorServerV1Handler implements EaglerSupervisorHandler {
 		}
 	}
 
+	@Override
+	public void handleClient(CPacketSvRegisterPlayerBatch pkt) {
+		List<EaglerSupervisorPacket> results = new ArrayList<>(pkt.players.size());
+		for (CPacketSvRegisterPlayer player : pkt.players) {
+			try {
+				client.registerProxyPlayer(player.playerUUID, player.brandUUID, player.gameProtocol,
+						player.eaglerProtocol, player.username);
+				results.add(new SPacketSvAcceptPlayer(player.playerUUID));
+			} catch (AlreadyRegisteredException ex) {
+				results.add(new SPacketSvRejectPlayer(player.playerUUID, ex.cause));
+			}
+		}
+		handler.channelWrite(new SPacketSvRegisterPlayerResults(results));
+	}
+
+	@Override
+	public void handleClient(CPacketSvResyncPlayers pkt) {
+		Set<UUID> present = new HashSet<>(pkt.uuids);
+		List<UUID> stale = new ArrayList<>();
+		for (SupervisorPlayerInstance player : client.getPlayers()) {
+			if (!present.contains(player.getPlayerUUID())) {
+				stale.add(player.getPlayerUUID());
+			}
+		}
+		for (int i = 0, l = stale.size(); i < l; ++i) {
+			client.dropProxyPlayer(stale.get(i));
+		}
+		List<UUID> missing = new ArrayList<>();
+		for (UUID uuid : present) {
+			if (client.getPlayerByUUID(uuid) == null) {
+				missing.add(uuid);
+			}
+		}
+		if (!stale.isEmpty() || !missing.isEmpty()) {
+			logger.info("[{}]: Resynced node #{}, dropped {} stale players, {} players missing",
+					handler.getChannel().remoteAddress(), client.getNodeId(), stale.size(), missing.size());
+		}
+		handler.channelWrite(new SPacketSvResyncMissingPlayers(missing));
+	}
+
 	@Override
 	public void handleClient(CPacketSvDropPlayer pkt) {
 		client.dropProxyPlayer(pkt.playerUUID);
@@ -129,6 +177,43 @@ public class SupervisorServerV1Handler implements EaglerSupervisorHandler {
 				handler.channelWrite(
 						new SPacketSvPlayerNodeID(pkt.uuid, player.getBrandUUID(), player.getOwner().getNodeId()));
 			}
+			player.loadSkinData((skin) -> {
+				handler.channelWrite(hashTextures ? skin.makeHashResponse(pkt.uuid) : skin.makeResponse(pkt.uuid));
+			});
+		} else {
+			handler.channelWrite(new SPacketSvOtherSkinError(pkt.uuid));
+		}
+	}
+
+	@Override
+	public void handleClient(CPacketSvGetOtherSkinBatch pkt) {
+		ResponseBatch batch = new ResponseBatch(pkt.uuids.size());
+		for (UUID uuid : pkt.uuids) {
+			SupervisorPlayerInstance player = server.getPlayerByUUID(uuid);
+			if (player != null) {
+				if (player.setClientKnown(client)) {
+					handler.channelWrite(
+							new SPacketSvPlayerNodeID(uuid, player.getBrandUUID(), player.getOwner().getNodeId()));
+				}
+				player.loadSkinData((skin) -> {
+					batch.addOrSend(skin.makeHashResponse(uuid));
+				});
+			} else {
+				batch.addOrSend(new SPacketSvOtherSkinError(uuid));
+			}
+		}
+		List<EaglerSupervisorPacket> ready = batch.close();
+		if (ready.size() == 1) {
+			handler.channelWrite(ready.get(0));
+		} else if (!ready.isEmpty()) {
+			handler.channelWrite(new SPacketSvOtherSkinBatch(ready));
+		}
+	}
+
+	@Override
+	public void handleClient(CPacketSvGetOtherSkinData pkt) {
+		SupervisorPlayerInstance player = server.getPlayerByUUID(pkt.uuid);
+		if (player != null) {
 			player.loadSkinData((skin) -> {
 				handler.channelWrite(skin.makeResponse(pkt.uuid));
 			});
@@ -194,6 +279,43 @@ public class SupervisorServerV1Handler implements EaglerSupervisorHandler {
 				handler.channelWrite(
 						new SPacketSvPlayerNodeID(pkt.uuid, player.getBrandUUID(), player.getOwner().getNodeId()));
 			}
+			player.loadCapeData((cape) -> {
+				handler.channelWrite(hashTextures ? cape.makeHashResponse(pkt.uuid) : cape.makeResponse(pkt.uuid));
+			});
+		} else {
+			handler.channelWrite(new SPacketSvOtherCapeError(pkt.uuid));
+		}
+	}
+
+	@Override
+	public void handleClient(CPacketSvGetOtherCapeBatch pkt) {
+		ResponseBatch batch = new ResponseBatch(pkt.uuids.size());
+		for (UUID uuid : pkt.uuids) {
+			SupervisorPlayerInstance player = server.getPlayerByUUID(uuid);
+			if (player != null) {
+				if (player.setClientKnown(client)) {
+					handler.channelWrite(
+							new SPacketSvPlayerNodeID(uuid, player.getBrandUUID(), player.getOwner().getNodeId()));
+				}
+				player.loadCapeData((cape) -> {
+					batch.addOrSend(cape.makeHashResponse(uuid));
+				});
+			} else {
+				batch.addOrSend(new SPacketSvOtherCapeError(uuid));
+			}
+		}
+		List<EaglerSupervisorPacket> ready = batch.close();
+		if (ready.size() == 1) {
+			handler.channelWrite(ready.get(0));
+		} else if (!ready.isEmpty()) {
+			handler.channelWrite(new SPacketSvOtherCapeBatch(ready));
+		}
+	}
+
+	@Override
+	public void handleClient(CPacketSvGetOtherCapeData pkt) {
+		SupervisorPlayerInstance player = server.getPlayerByUUID(pkt.uuid);
+		if (player != null) {
 			player.loadCapeData((cape) -> {
 				handler.channelWrite(cape.makeResponse(pkt.uuid));
 			});
@@ -262,6 +384,36 @@ public class SupervisorServerV1Handler implements EaglerSupervisorHandler {
 		}
 	}
 
+	/**
+	 * Collects the responses that are available before the batch request is fully
+	 * processed, anything that completes later is sent on its own
+	 */
+	private class ResponseBatch {
+
+		private List<EaglerSupervisorPacket> responses;
+
+		private ResponseBatch(int expected) {
+			this.responses = new ArrayList<>(expected);
+		}
+
+		private void addOrSend(EaglerSupervisorPacket response) {
+			synchronized (this) {
+				if (responses != null) {
+					responses.add(response);
+					return;
+				}
+			}
+			handler.channelWrite(response);
+		}
+
+		private synchronized List<EaglerSupervisorPacket> close() {
+			List<EaglerSupervisorPacket> ret = responses;
+			responses = null;
+			return ret;
+		}
+
+	}
+
 	protected static int decodeFailure(int type) {
 		switch (type) {
 		case RPCPending.FAILURE_PROCEDURE:
@@ -293,36 +445,87 @@ public class SupervisorServerV1Handler implements EaglerSupervisorHandler {
 					handler.channelWrite(new SPacketSvRPCResultMulti(pkt.requestUUID, this));
 				}
 			};
-			if (client.addPendingResultAggregator(aggregator)) {
+			invokeAllWithResults(pkt, clientList, aggregator);
+		} else {
+			EaglerSupervisorProtocol protocol = handler.getConnectionProtocol();
+			ByteBuf encoded = PacketBroadcaster.encodePacket(handler.getChannel().alloc(), protocol,
+					new SPacketSvRPCExecuteVoid(client.getNodeId(), pkt.nameLength, pkt.payload));
+			try {
 				for (SupervisorClientInstance otherClient : clientList) {
 					if (otherClient != client) {
-						otherClient.invokeRPC(client.getNodeId(), pkt.nameLength, pkt.payload,
-								new RPCPending(pkt.requestUUID, System.nanoTime() + pkt.timeout * 1000000l) {
-							@Override
-							protected void onSuccess(ByteBuf dataBuffer) {
-								aggregator.push(SPacketSvRPCResultMulti.ResultEntry.success(otherClient.getNodeId(), dataBuffer));
-							}
-							@Override
-							protected void onFailure(int type) {
-								if (type != RPCPending.FAILURE_HANGUP) {
-									aggregator.push(SPacketSvRPCResultMulti.ResultEntry.failure(otherClient.getNodeId(),
-											decodeFailure(type)));
-								} else {
-									aggregator.pushEmpty();
-								}
-							}
-						});
-					} else {
-						aggregator.pushEmpty();
+						if (PacketBroadcaster.isSameEncoding(otherClient.getHandler().getConnectionProtocol(),
+								protocol, SPacketSvRPCExecuteVoid.class)) {
+							otherClient.invokeRPCVoidEncoded(encoded);
+						} else {
+							otherClient.invokeRPCVoid(client.getNodeId(), pkt.nameLength, pkt.payload);
+						}
 					}
 				}
+			} finally {
+				encoded.release();
 			}
-		} else {
+		}
+	}
+
+	@Override
+	public void handleClient(CPacketSvRPCExecuteAllStream pkt) {
+		if (pkt.timeout <= 0) {
+			handleClient((CPacketSvRPCExecuteAll) pkt);
+			return;
+		}
+		List<SupervisorClientInstance> clientList = server.getClientList();
+		if (clientList.size() <= 1) {
+			handler.channelWrite(new SPacketSvRPCResultStream(pkt.requestUUID, Collections.emptyList(), true));
+			return;
+		}
+		// Each node is still bound by its own RPCPending deadline, a slow node only delays its own entry
+		invokeAllWithResults(pkt, clientList, new RPCStreamResultAggregator(clientList.size(), pkt.quorum) {
+			@Override
+			protected void onResult(SPacketSvRPCResultMulti.ResultEntry etr, boolean complete) {
+				handler.channelWrite(new SPacketSvRPCResultStream(pkt.requestUUID,
+						etr != null ? Collections.singletonList(etr) : Collections.emptyList(), complete));
+			}
+		});
+	}
+
+	private void invokeAllWithResults(CPacketSvRPCExecuteAll pkt, List<SupervisorClientInstance> clientList,
+			IRPCResultAggregator aggregator) {
+		if (!client.addPendingResultAggregator(aggregator)) {
+			return;
+		}
+		EaglerSupervisorProtocol protocol = handler.getConnectionProtocol();
+		ByteBuf encoded = PacketBroadcaster.encodePacket(handler.getChannel().alloc(), protocol,
+				new SPacketSvRPCExecute(pkt.requestUUID, client.getNodeId(), pkt.nameLength, pkt.payload));
+		try {
 			for (SupervisorClientInstance otherClient : clientList) {
 				if (otherClient != client) {
-					otherClient.invokeRPCVoid(client.getNodeId(), pkt.nameLength, pkt.payload);
+					RPCPending pending = new RPCPending(pkt.requestUUID, System.nanoTime() + pkt.timeout * 1000000l) {
+						@Override
+						protected void onSuccess(ByteBuf dataBuffer) {
+							aggregator.push(SPacketSvRPCResultMulti.ResultEntry.success(otherClient.getNodeId(), dataBuffer));
+						}
+						@Override
+						protected void onFailure(int type) {
+							if (type != RPCPending.FAILURE_HANGUP) {
+								aggregator.push(SPacketSvRPCResultMulti.ResultEntry.failure(otherClient.getNodeId(),
+										decodeFailure(type)));
+							} else {
+								aggregator.pushEmpty();
+							}
+						}
+					};
+					if (PacketBroadcaster.isSameEncoding(otherClient.getHandler().getConnectionProtocol(), protocol,
+							SPacketSvRPCExecute.class)) {
+						otherClient.invokeRPCEncoded(encoded, pending);
+					} else {
+						otherClient.invokeRPC(client.getNodeId(), pkt.nameLength, pkt.payload, pending);
+					}
+				} else {
+					aggregator.pushEmpty();
 				}
 			}
+		} finally {
+			encoded.release();
 		}
 	}
 
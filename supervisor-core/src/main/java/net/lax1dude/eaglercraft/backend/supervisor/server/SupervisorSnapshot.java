@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import net.lax1dude.eaglercraft.backend.supervisor.server.player.SupervisorPlayerInstance;
+
+public class SupervisorSnapshot {
+
+	private static final int MAGIC = 0x45535653;
+	private static final int VERSION = 1;
+
+	public static class NodeState {
+
+		private final int nodeId;
+		private final List<PlayerState> players;
+
+		public NodeState(int nodeId, List<PlayerState> players) {
+			this.nodeId = nodeId;
+			this.players = players;
+		}
+
+		public static NodeState create(SupervisorClientInstance client) {
+			Collection<SupervisorPlayerInstance> lst = client.getPlayers();
+			List<PlayerState> players = new ArrayList<>(lst.size());
+			for (SupervisorPlayerInstance player : lst) {
+				players.add(new PlayerState(player.getPlayerUUID(), player.getBrandUUID(), player.getGameProtocol(),
+						player.getEaglerProtocol(), player.getUsername()));
+			}
+			return new NodeState(client.getNodeId(), players);
+		}
+
+		public int getNodeId() {
+			return nodeId;
+		}
+
+		public List<PlayerState> getPlayers() {
+			return players;
+		}
+
+	}
+
+	public static class PlayerState {
+
+		private final UUID playerUUID;
+		private final UUID brandUUID;
+		private final int gameProtocol;
+		private final int eaglerProtocol;
+		private final String username;
+
+		public PlayerState(UUID playerUUID, UUID brandUUID, int gameProtocol, int eaglerProtocol, String username) {
+			this.playerUUID = playerUUID;
+			this.brandUUID = brandUUID;
+			this.gameProtocol = gameProtocol;
+			this.eaglerProtocol = eaglerProtocol;
+			this.username = username;
+		}
+
+		public UUID getPlayerUUID() {
+			return playerUUID;
+		}
+
+		public UUID getBrandUUID() {
+			return brandUUID;
+		}
+
+		public int getGameProtocol() {
+			return gameProtocol;
+		}
+
+		public int getEaglerProtocol() {
+			return eaglerProtocol;
+		}
+
+		public String getUsername() {
+			return username;
+		}
+
+	}
+
+	private final long timestamp;
+	private final int shardId;
+	private final int nextNodeId;
+	private final List<NodeState> nodes;
+	private final List<String> skinURLs;
+	private final List<String> capeURLs;
+
+	public SupervisorSnapshot(long timestamp, int shardId, int nextNodeId, List<NodeState> nodes,
+			List<String> skinURLs, List<String> capeURLs) {
+		this.timestamp = timestamp;
+		this.shardId = shardId;
+		this.nextNodeId = nextNodeId;
+		this.nodes = nodes;
+		this.skinURLs = skinURLs;
+		this.capeURLs = capeURLs;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	public int getShardId() {
+		return shardId;
+	}
+
+	public int getNextNodeId() {
+		return nextNodeId;
+	}
+
+	public List<NodeState> getNodes() {
+		return nodes;
+	}
+
+	public List<String> getSkinURLs() {
+		return skinURLs;
+	}
+
+	public List<String> getCapeURLs() {
+		return capeURLs;
+	}
+
+	public void write(File file) throws IOException {
+		File tmp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+		try (DataOutputStream os = new DataOutputStream(
+				new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tmp), 8192)))) {
+			os.writeInt(MAGIC);
+			os.writeInt(VERSION);
+			os.writeLong(timestamp);
+			os.writeInt(shardId);
+			os.writeInt(nextNodeId);
+			os.writeInt(nodes.size());
+			for (int i = 0, l = nodes.size(); i < l; ++i) {
+				NodeState node = nodes.get(i);
+				os.writeInt(node.nodeId);
+				List<PlayerState> players = node.players;
+				os.writeInt(players.size());
+				for (int j = 0, m = players.size(); j < m; ++j) {
+					PlayerState player = players.get(j);
+					writeUUID(os, player.playerUUID);
+					writeUUID(os, player.brandUUID);
+					os.writeInt(player.gameProtocol);
+					os.writeInt(player.eaglerProtocol);
+					os.writeUTF(player.username);
+				}
+			}
+			writeStrings(os, skinURLs);
+			writeStrings(os, capeURLs);
+		}
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	public static SupervisorSnapshot read(File file) throws IOException {
+		try (DataInputStream is = new DataInputStream(
+				new BufferedInputStream(new GZIPInputStream(new FileInputStream(file), 8192)))) {
+			if (is.readInt() != MAGIC) {
+				throw new IOException("File is not a supervisor snapshot");
+			}
+			int vers = is.readInt();
+			if (vers != VERSION) {
+				throw new IOException("Unsupported snapshot version: " + vers);
+			}
+			long timestamp = is.readLong();
+			int shardId = is.readInt();
+			int nextNodeId = is.readInt();
+			int nodeCount = is.readInt();
+			List<NodeState> nodes = new ArrayList<>(Math.min(nodeCount, 256));
+			for (int i = 0; i < nodeCount; ++i) {
+				int nodeId = is.readInt();
+				int playerCount = is.readInt();
+				List<PlayerState> players = new ArrayList<>(Math.min(playerCount, 4096));
+				for (int j = 0; j < playerCount; ++j) {
+					players.add(new PlayerState(readUUID(is), readUUID(is), is.readInt(), is.readInt(), is.readUTF()));
+				}
+				nodes.add(new NodeState(nodeId, players));
+			}
+			List<String> skinURLs = readStrings(is);
+			List<String> capeURLs = readStrings(is);
+			return new SupervisorSnapshot(timestamp, shardId, nextNodeId, nodes, skinURLs, capeURLs);
+		}
+	}
+
+	private static void writeUUID(DataOutputStream os, UUID uuid) throws IOException {
+		os.writeLong(uuid.getMostSignificantBits());
+		os.writeLong(uuid.getLeastSignificantBits());
+	}
+
+	private static UUID readUUID(DataInputStream is) throws IOException {
+		return new UUID(is.readLong(), is.readLong());
+	}
+
+	private static void writeStrings(DataOutputStream os, List<String> strings) throws IOException {
+		os.writeInt(strings.size());
+		for (int i = 0, l = strings.size(); i < l; ++i) {
+			os.writeUTF(strings.get(i));
+		}
+	}
+
+	private static List<String> readStrings(DataInputStream is) throws IOException {
+		int cnt = is.readInt();
+		List<String> ret = new ArrayList<>(Math.min(cnt, 4096));
+		for (int i = 0; i < cnt; ++i) {
+			ret.add(is.readUTF());
+		}
+		return ret;
+	}
+
+}
@@ -16,13 +16,11 @@
 
 package net.lax1dude.eaglercraft.backend.supervisor.server;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.lax1dude.eaglercraft.backend.util.HashedTimingWheel;
 
-import io.netty.channel.EventLoop;
 
 public class TimeoutLoop {
 
@@ -30,69 +28,35 @@ public class TimeoutLoop {
 
 		long expiresAt();
 
+		// Called from the timeout thread, implementations must hand off to their own event loop
 		void expire();
 
 	}
 
-	private class TimeoutEvent implements Runnable {
-
-		protected final Long key;
-
-		// The timeoutEvents ConcurrentMap compute method will synchronize this
-		protected final List<IExpirable> queue = new ArrayList<>();
+	private static final Logger logger = LoggerFactory.getLogger("TimeoutLoop");
 
-		protected TimeoutEvent(Long key) {
-			this.key = key;
-		}
-
-		@Override
-		public void run() {
-			if (timeoutEvents.remove(key) != null) {
-				for (int i = 0, l = queue.size(); i < l; ++i) {
-					queue.get(i).expire();
-				}
-			}
-		}
+	private final HashedTimingWheel<IExpirable> timeoutWheel;
 
+	public TimeoutLoop(long resolution) {
+		this.timeoutWheel = new HashedTimingWheel<>("Supervisor Timeout Thread", resolution, 256, IExpirable::expire,
+				null, (ex) -> logger.error("Caught exception in supervisor timeout thread", ex));
 	}
 
-	private final Map<Long, TimeoutEvent> timeoutEvents = new HashMap<>(128);
-
-	private final EventLoop scheduler;
-	private final long resolution;
-
-	public TimeoutLoop(EventLoop scheduler, long resolution) {
-		this.scheduler = scheduler;
-		this.resolution = resolution;
-	}
-
-	public boolean addFuture(IExpirable future) {
+	public HashedTimingWheel.Timeout<IExpirable> addFuture(IExpirable future) {
 		return addFuture(System.nanoTime(), future);
 	}
 
-	public boolean addFuture(long now, IExpirable future) {
+	public HashedTimingWheel.Timeout<IExpirable> addFuture(long now, IExpirable future) {
 		long expires = future.expiresAt();
 		if (now >= expires) {
 			future.expire();
-			return false;
-		}
-		long bucket = (expires + (resolution - 1)) / resolution;
-		Long bucketKey = bucket;
-		TimeoutEvent te = timeoutEvents.get(bucketKey);
-		if (te == null) {
-			te = new TimeoutEvent(bucketKey);
-			te.queue.add(future);
-			timeoutEvents.put(bucketKey, te);
-			long l = bucket * resolution - now;
-			scheduler.schedule(te, l > 0l ? l : 0l, TimeUnit.NANOSECONDS);
-		} else {
-			te.queue.add(future);
+			return null;
 		}
-		return true;
+		return timeoutWheel.add(expires, future);
 	}
 
 	public void cancelAll() {
-		timeoutEvents.clear();
+		timeoutWheel.cancelAll();
 	}
 
 }
@@ -16,11 +16,14 @@
 
 package net.lax1dude.eaglercraft.backend.supervisor.server.player;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.UUID;
 
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherCapeCustom;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherCapeError;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherCapeHash;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherCapePreset;
 
 public abstract class PlayerCapeData {
@@ -57,6 +60,7 @@ public abstract class PlayerCapeData {
 	public static class Custom extends PlayerCapeData {
 
 		public final byte[] customCape;
+		private volatile byte[] textureHash;
 
 		public Custom(byte[] customCape) {
 			this.customCape = customCape;
@@ -67,6 +71,24 @@ public abstract class PlayerCapeData {
 			return new SPacketSvOtherCapeCustom(playerUUID, customCape);
 		}
 
+		@Override
+		public EaglerSupervisorPacket makeHashResponse(UUID playerUUID) {
+			return new SPacketSvOtherCapeHash(playerUUID, getTextureHash());
+		}
+
+		private byte[] getTextureHash() {
+			byte[] ret = textureHash;
+			if (ret == null) {
+				try {
+					ret = MessageDigest.getInstance("SHA-1").digest(customCape);
+				} catch (NoSuchAlgorithmException e) {
+					throw new RuntimeException("This JRE does not support SHA-1!", e);
+				}
+				textureHash = ret;
+			}
+			return ret;
+		}
+
 	}
 
 	public static PlayerCapeData create(byte[] customSkin) {
@@ -75,4 +97,8 @@ public abstract class PlayerCapeData {
 
 	public abstract EaglerSupervisorPacket makeResponse(UUID playerUUID);
 
+	public EaglerSupervisorPacket makeHashResponse(UUID playerUUID) {
+		return makeResponse(playerUUID);
+	}
+
 }
\ No newline at end of file
@@ -16,11 +16,14 @@
 
 package net.lax1dude.eaglercraft.backend.supervisor.server.player;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.UUID;
 
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherSkinCustom;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherSkinError;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherSkinHash;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvOtherSkinPreset;
 
 public abstract class PlayerSkinData {
@@ -58,6 +61,7 @@ public abstract class PlayerSkinData {
 
 		public final int modelId;
 		public final byte[] customSkin;
+		private volatile byte[] textureHash;
 
 		public Custom(int modelId, byte[] customSkin) {
 			this.modelId = modelId;
@@ -69,6 +73,24 @@ public abstract class PlayerSkinData {
 			return new SPacketSvOtherSkinCustom(playerUUID, modelId, customSkin);
 		}
 
+		@Override
+		public EaglerSupervisorPacket makeHashResponse(UUID playerUUID) {
+			return new SPacketSvOtherSkinHash(playerUUID, modelId, getTextureHash());
+		}
+
+		private byte[] getTextureHash() {
+			byte[] ret = textureHash;
+			if (ret == null) {
+				try {
+					ret = MessageDigest.getInstance("SHA-1").digest(customSkin);
+				} catch (NoSuchAlgorithmException e) {
+					throw new RuntimeException("This JRE does not support SHA-1!", e);
+				}
+				textureHash = ret;
+			}
+			return ret;
+		}
+
 	}
 
 	public static PlayerSkinData create(int modelId, byte[] customSkin) {
@@ -77,4 +99,8 @@ public abstract class PlayerSkinData {
 
 	public abstract EaglerSupervisorPacket makeResponse(UUID playerUUID);
 
+	public EaglerSupervisorPacket makeHashResponse(UUID playerUUID) {
+		return makeResponse(playerUUID);
+	}
+
 }
\ No newline at end of file
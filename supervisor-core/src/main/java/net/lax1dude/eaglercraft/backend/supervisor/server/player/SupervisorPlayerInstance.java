@@ -33,6 +33,7 @@ import net.lax1dude.eaglercraft.backend.supervisor.EaglerXSupervisorServer;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvDropPlayerPartial;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvGetOtherCape;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvGetOtherSkin;
+import net.lax1dude.eaglercraft.backend.supervisor.server.PacketBroadcaster;
 import net.lax1dude.eaglercraft.backend.supervisor.server.SupervisorClientInstance;
 import net.lax1dude.eaglercraft.backend.supervisor.util.CachedTextureData;
 import net.lax1dude.eaglercraft.backend.supervisor.util.LoggerSv;
@@ -71,7 +72,7 @@ public class SupervisorPlayerInstance {
 		this.skinData = new ConcurrentLazyLoader<PlayerSkinData>() {
 			@Override
 			protected void loadImpl(Consumer<PlayerSkinData> cb) {
-				SupervisorPlayerInstance.this.owner.getHandler().channelWrite(new SPacketSvGetOtherSkin(playerUUID));
+				SupervisorPlayerInstance.this.owner.sendPacket(new SPacketSvGetOtherSkin(playerUUID));
 				skinDataWaiting = cb;
 			}
 
@@ -83,7 +84,7 @@ public class SupervisorPlayerInstance {
 		this.capeData = new ConcurrentLazyLoader<PlayerCapeData>() {
 			@Override
 			protected void loadImpl(Consumer<PlayerCapeData> cb) {
-				SupervisorPlayerInstance.this.owner.getHandler().channelWrite(new SPacketSvGetOtherCape(playerUUID));
+				SupervisorPlayerInstance.this.owner.sendPacket(new SPacketSvGetOtherCape(playerUUID));
 				capeDataWaiting = cb;
 			}
 
@@ -110,12 +111,17 @@ public class SupervisorPlayerInstance {
 		if (client == owner) {
 			return false;
 		}
+		boolean added;
 		clientsKnownLock.writeLock().lock();
 		try {
-			return clientsKnown.add(client.getNodeId());
+			added = clientsKnown.add(client.getNodeId());
 		} finally {
 			clientsKnownLock.writeLock().unlock();
 		}
+		if (added) {
+			client.addKnownPlayer(this);
+		}
+		return added;
 	}
 
 	public IntContainer allKnownClients() {
@@ -258,6 +264,15 @@ public class SupervisorPlayerInstance {
 		}
 	}
 
+	public void onOwnerResumed() {
+		if (skinDataWaiting != null) {
+			owner.sendPacket(new SPacketSvGetOtherSkin(playerUUID));
+		}
+		if (capeDataWaiting != null) {
+			owner.sendPacket(new SPacketSvGetOtherCape(playerUUID));
+		}
+	}
+
 	public void onDropProxyPlayerData(String serverToNotify, boolean skin, boolean cape) {
 		if (skin) {
 			skinData.clear();
@@ -281,10 +296,8 @@ public class SupervisorPlayerInstance {
 				mask |= SPacketSvDropPlayerPartial.DROP_PLAYER_SKIN;
 			if (cape)
 				mask |= SPacketSvDropPlayerPartial.DROP_PLAYER_CAPE;
-			SPacketSvDropPlayerPartial pkt = new SPacketSvDropPlayerPartial(playerUUID, serverToNotify, mask);
-			for (SupervisorClientInstance client : server.getClients(clientsKnownCopy)) {
-				client.getHandler().channelWrite(pkt);
-			}
+			PacketBroadcaster.broadcastPacket(server.getClients(clientsKnownCopy),
+					new SPacketSvDropPlayerPartial(playerUUID, serverToNotify, mask));
 		}
 	}
 
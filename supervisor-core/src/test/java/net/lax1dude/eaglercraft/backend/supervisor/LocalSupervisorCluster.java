@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Runs several supervisor shards on loopback ports in this JVM, shard 0 is the
+ * primary. Run main() to keep a cluster up for testing proxies against it.
+ */
+public class LocalSupervisorCluster implements AutoCloseable {
+
+	private final File dir;
+	private final InetSocketAddress[] addresses;
+	private final EaglerXSupervisorServer[] servers;
+	private final Thread[] threads;
+
+	public LocalSupervisorCluster(int shards, String secretKey) throws IOException {
+		this.dir = Files.createTempDirectory("supervisor-cluster").toFile();
+		this.addresses = new InetSocketAddress[shards];
+		this.servers = new EaglerXSupervisorServer[shards];
+		this.threads = new Thread[shards];
+		for (int i = 0; i < shards; ++i) {
+			addresses[i] = new InetSocketAddress("127.0.0.1", findFreePort());
+			File conf = new File(dir, "supervisor_shard" + i + ".properties");
+			try (PrintWriter w = new PrintWriter(
+					new OutputStreamWriter(Files.newOutputStream(conf.toPath()), StandardCharsets.UTF_8))) {
+				w.println("listen-addr=127.0.0.1:" + addresses[i].getPort());
+				w.println("secret-key=" + (secretKey != null ? secretKey : ""));
+				w.println("read-timeout=30000");
+				w.println("link-compression-threshold=-1");
+				w.println("node-resume-timeout=15000");
+				w.println("snapshot-file=");
+				w.println("cluster-shard-id=" + i);
+				w.println("status-http-enable=false");
+				w.println("download-vanilla-skins=false");
+			}
+			servers[i] = new EaglerXSupervisorServer(conf);
+		}
+	}
+
+	public void start(long timeout) throws IOException, InterruptedException {
+		for (int i = 0; i < servers.length; ++i) {
+			threads[i] = new Thread(servers[i], "Supervisor Shard #" + i);
+			threads[i].setDaemon(true);
+			threads[i].start();
+		}
+		long deadline = System.nanoTime() + timeout * 1000000l;
+		for (int i = 0; i < addresses.length; ++i) {
+			while (!canConnect(addresses[i])) {
+				if (!threads[i].isAlive()) {
+					throw new IOException("Supervisor shard #" + i + " failed to start");
+				}
+				if (System.nanoTime() > deadline) {
+					throw new IOException("Timed out waiting for supervisor shard #" + i + " to start");
+				}
+				Thread.sleep(50l);
+			}
+		}
+	}
+
+	public int getShardCount() {
+		return servers.length;
+	}
+
+	public InetSocketAddress getAddress(int shard) {
+		return addresses[shard];
+	}
+
+	public EaglerXSupervisorServer getServer(int shard) {
+		return servers[shard];
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		for (int i = 0; i < servers.length; ++i) {
+			servers[i].shutdown();
+		}
+		for (int i = 0; i < threads.length; ++i) {
+			if (threads[i] != null) {
+				threads[i].join(10000l);
+			}
+		}
+		File[] files = dir.listFiles();
+		if (files != null) {
+			for (File f : files) {
+				f.delete();
+			}
+		}
+		dir.delete();
+	}
+
+	private static int findFreePort() throws IOException {
+		try (ServerSocket sock = new ServerSocket(0)) {
+			return sock.getLocalPort();
+		}
+	}
+
+	private static boolean canConnect(InetSocketAddress addr) {
+		try (Socket sock = new Socket()) {
+			sock.connect(addr, 500);
+			return true;
+		} catch (IOException ex) {
+			return false;
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		int shards = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+		try (LocalSupervisorCluster cluster = new LocalSupervisorCluster(shards, args.length > 1 ? args[1] : null)) {
+			cluster.start(30000l);
+			StringBuilder str = new StringBuilder();
+			str.append("supervisor_address: 127.0.0.1:").append(cluster.getAddress(0).getPort()).append('\n');
+			str.append("supervisor_shard_addresses:\n");
+			for (int i = 1; i < shards; ++i) {
+				str.append("  - 127.0.0.1:").append(cluster.getAddress(i).getPort()).append('\n');
+			}
+			System.out.println(str);
+			while (true) {
+				Thread.sleep(1000l);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetSocketAddress;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.EaglerSupervisorProtocol;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.SupervisorDecoder;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.SupervisorEncoder;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.Varint21FrameDecoder;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.netty.Varint21FrameEncoder;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvHandshake;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client.CPacketSvRegisterPlayer;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvAcceptPlayer;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvHandshakeFailure;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvHandshakeSuccess;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server.SPacketSvRejectPlayer;
+
+class SupervisorClusterTest {
+
+	private static final String SECRET = "test";
+	private static final int[] PROTOCOLS = new int[] { EaglerSupervisorProtocol.V2.vers };
+
+	private static LocalSupervisorCluster cluster;
+	private static EventLoopGroup group;
+
+	@BeforeAll
+	static void setup() throws Exception {
+		group = new NioEventLoopGroup(2);
+		cluster = new LocalSupervisorCluster(3, SECRET);
+		cluster.start(30000l);
+	}
+
+	@AfterAll
+	static void teardown() throws Exception {
+		if (cluster != null) {
+			cluster.close();
+		}
+		if (group != null) {
+			group.shutdownGracefully().await();
+		}
+	}
+
+	@Test
+	void shardsAcceptTheNodeIdFromThePrimary() throws Exception {
+		TestClient primary = TestClient.connect(group, cluster.getAddress(0));
+		try {
+			SPacketSvHandshakeSuccess ok = primary.handshake(0, -1);
+			assertTrue(ok.nodeId > 0);
+			for (int i = 1; i < cluster.getShardCount(); ++i) {
+				TestClient shard = TestClient.connect(group, cluster.getAddress(i));
+				try {
+					SPacketSvHandshakeSuccess shardOk = shard.handshake(i, ok.nodeId);
+					assertEquals(ok.nodeId, shardOk.nodeId);
+				} finally {
+					shard.close();
+				}
+			}
+		} finally {
+			primary.close();
+		}
+	}
+
+	@Test
+	void shardRejectsWrongIndex() throws Exception {
+		TestClient client = TestClient.connect(group, cluster.getAddress(1));
+		try {
+			assertEquals(SPacketSvHandshakeFailure.FAILURE_CODE_SHARD_MISMATCH, client.handshakeFailure(2, 1000));
+		} finally {
+			client.close();
+		}
+		client = TestClient.connect(group, cluster.getAddress(0));
+		try {
+			assertEquals(SPacketSvHandshakeFailure.FAILURE_CODE_SHARD_MISMATCH, client.handshakeFailure(1, 1000));
+		} finally {
+			client.close();
+		}
+	}
+
+	@Test
+	void shardRejectsNodeIdInUse() throws Exception {
+		TestClient first = TestClient.connect(group, cluster.getAddress(2));
+		TestClient second = TestClient.connect(group, cluster.getAddress(2));
+		try {
+			assertEquals(2000, first.handshake(2, 2000).nodeId);
+			assertEquals(SPacketSvHandshakeFailure.FAILURE_CODE_NODE_ID_IN_USE, second.handshakeFailure(2, 2000));
+		} finally {
+			first.close();
+			second.close();
+		}
+	}
+
+	@Test
+	void playerRegistersOnPrimaryAndShard() throws Exception {
+		TestClient primary = TestClient.connect(group, cluster.getAddress(0));
+		TestClient shard = TestClient.connect(group, cluster.getAddress(1));
+		TestClient other = TestClient.connect(group, cluster.getAddress(0));
+		try {
+			int nodeId = primary.handshake(0, -1).nodeId;
+			shard.handshake(1, nodeId);
+			other.handshake(0, -1);
+			UUID player = UUID.randomUUID();
+			assertEquals(player, primary.register(player).playerUUID);
+			assertEquals(player, shard.register(player).playerUUID);
+			assertThrows(AssertionError.class, () -> other.register(player));
+		} finally {
+			primary.close();
+			shard.close();
+			other.close();
+		}
+	}
+
+	private static class TestClient extends ChannelInboundHandlerAdapter {
+
+		private final BlockingQueue<EaglerSupervisorPacket> received = new LinkedBlockingQueue<>();
+		private Channel channel;
+		private SupervisorDecoder decoder;
+		private SupervisorEncoder encoder;
+
+		private static TestClient connect(EventLoopGroup group, InetSocketAddress addr) throws Exception {
+			TestClient client = new TestClient();
+			client.channel = new Bootstrap().group(group).channel(NioSocketChannel.class)
+					.handler(new ChannelInitializer<Channel>() {
+						@Override
+						protected void initChannel(Channel ch) {
+							client.decoder = new SupervisorDecoder(EaglerSupervisorProtocol.SERVER_TO_CLIENT);
+							client.encoder = new SupervisorEncoder(EaglerSupervisorProtocol.CLIENT_TO_SERVER);
+							ch.pipeline().addLast(new Varint21FrameDecoder(), new Varint21FrameEncoder(),
+									client.decoder, client.encoder, client);
+						}
+					}).connect(addr).sync().channel();
+			return client;
+		}
+
+		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg) {
+			received.add((EaglerSupervisorPacket) msg);
+		}
+
+		private SPacketSvHandshakeSuccess handshake(int shardIndex, int nodeId) throws Exception {
+			channel.writeAndFlush(new CPacketSvHandshake(PROTOCOLS, SECRET, -1, shardIndex, nodeId)).sync();
+			SPacketSvHandshakeSuccess ok = expect(SPacketSvHandshakeSuccess.class);
+			EaglerSupervisorProtocol protocol = EaglerSupervisorProtocol.getByVersion(ok.selectedProtocol);
+			decoder.setConnectionProtocol(protocol);
+			encoder.setConnectionProtocol(protocol);
+			return ok;
+		}
+
+		private int handshakeFailure(int shardIndex, int nodeId) throws Exception {
+			channel.writeAndFlush(new CPacketSvHandshake(PROTOCOLS, SECRET, -1, shardIndex, nodeId)).sync();
+			return expect(SPacketSvHandshakeFailure.class).failureCode;
+		}
+
+		private SPacketSvAcceptPlayer register(UUID player) throws Exception {
+			channel.writeAndFlush(new CPacketSvRegisterPlayer(player, UUID.randomUUID(), 47, 4, "test")).sync();
+			EaglerSupervisorPacket pkt;
+			while ((pkt = received.poll(10l, TimeUnit.SECONDS)) != null) {
+				if (pkt instanceof SPacketSvAcceptPlayer accept && player.equals(accept.playerUUID)) {
+					return accept;
+				} else if (pkt instanceof SPacketSvRejectPlayer reject && player.equals(reject.playerUUID)) {
+					throw new AssertionError("Player was rejected, cause " + reject.cause);
+				}
+			}
+			throw new AssertionError("Timed out waiting for player registration");
+		}
+
+		private <T extends EaglerSupervisorPacket> T expect(Class<T> type) throws Exception {
+			EaglerSupervisorPacket pkt;
+			while ((pkt = received.poll(10l, TimeUnit.SECONDS)) != null) {
+				if (type.isInstance(pkt)) {
+					return type.cast(pkt);
+				}
+			}
+			throw new AssertionError("Timed out waiting for " + type.getSimpleName());
+		}
+
+		private void close() {
+			channel.close().syncUninterruptibly();
+		}
+
+	}
+
+}
@@ -78,6 +78,21 @@ public enum EaglerSupervisorProtocol {
 			define_SERVER_(0x2F, SPacketSvRPCResultSuccess.class),
 			define_SERVER_(0x30, SPacketSvRPCResultFail.class),
 			define_SERVER_(0x31, SPacketSvRPCResultMulti.class)
+	), V2(2, V1,
+			define_CLIENT_(0x32, CPacketSvGetOtherSkinBatch.class),
+			define_CLIENT_(0x33, CPacketSvGetOtherCapeBatch.class),
+			define_SERVER_(0x34, SPacketSvOtherSkinBatch.class),
+			define_SERVER_(0x35, SPacketSvOtherCapeBatch.class),
+			define_SERVER_(0x36, SPacketSvOtherSkinHash.class),
+			define_SERVER_(0x37, SPacketSvOtherCapeHash.class),
+			define_CLIENT_(0x38, CPacketSvGetOtherSkinData.class),
+			define_CLIENT_(0x39, CPacketSvGetOtherCapeData.class),
+			define_CLIENT_(0x3A, CPacketSvRegisterPlayerBatch.class),
+			define_SERVER_(0x3B, SPacketSvRegisterPlayerResults.class),
+			define_CLIENT_(0x3C, CPacketSvResyncPlayers.class),
+			define_SERVER_(0x3D, SPacketSvResyncMissingPlayers.class),
+			define_CLIENT_(0x3E, CPacketSvRPCExecuteAllStream.class),
+			define_SERVER_(0x3F, SPacketSvRPCResultStream.class)
 	);
 
 	public static final int CLIENT_TO_SERVER = 0;
@@ -93,7 +108,15 @@ public enum EaglerSupervisorProtocol {
 	private final Map<Class<? extends EaglerSupervisorPacket>, PacketDef> classMap = new HashMap<>();
 
 	private EaglerSupervisorProtocol(int vers, PacketDef... pkts) {
+		this(vers, null, pkts);
+	}
+
+	private EaglerSupervisorProtocol(int vers, EaglerSupervisorProtocol parent, PacketDef... pkts) {
 		this.vers = vers;
+		if (parent != null) {
+			System.arraycopy(parent.idMap, 0, idMap, 0, idMap.length);
+			classMap.putAll(parent.classMap);
+		}
 		for (int i = 0; i < pkts.length; ++i) {
 			PacketDef def = pkts[i];
 			if (idMap[def.id] != null) {
@@ -134,6 +157,15 @@ public enum EaglerSupervisorProtocol {
 
 	}
 
+	public static EaglerSupervisorProtocol getByVersion(int vers) {
+		for (EaglerSupervisorProtocol protocol : values()) {
+			if (protocol.vers == vers) {
+				return protocol;
+			}
+		}
+		return null;
+	}
+
 	public int getPacketID(Class<? extends EaglerSupervisorPacket> pkt, int dir) {
 		PacketDef def = classMap.get(pkt);
 		if (def != null && def.dir == dir) {
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor.protocol.netty;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.Inflater;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
+
+public class SupervisorCompressionDecoder extends MessageToMessageDecoder<ByteBuf> {
+
+	public static final int MAX_UNCOMPRESSED_LENGTH = 8388608;
+
+	private final int threshold;
+	private final Inflater inflater;
+
+	public SupervisorCompressionDecoder(int threshold) {
+		this.threshold = threshold;
+		this.inflater = new Inflater();
+	}
+
+	@Override
+	protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+		int len = EaglerSupervisorPacket.readVarInt(in);
+		if (len == 0) {
+			out.add(in.readRetainedSlice(in.readableBytes()));
+			return;
+		}
+		if (len < threshold) {
+			throw new CorruptedFrameException("Compressed packet is below the threshold: " + len);
+		}
+		if (len > MAX_UNCOMPRESSED_LENGTH) {
+			throw new CorruptedFrameException("Compressed packet is too large: " + len);
+		}
+		ByteBuf buf = ctx.alloc().ioBuffer(len, len);
+		try {
+			inflater.setInput(in.nioBuffer());
+			ByteBuffer dst = buf.nioBuffer(0, len);
+			while (dst.hasRemaining() && !inflater.finished()) {
+				if (inflater.inflate(dst) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+			}
+			if (dst.hasRemaining() || !inflater.finished()) {
+				throw new CorruptedFrameException("Compressed packet length does not match, expected " + len);
+			}
+			buf.writerIndex(len);
+			in.skipBytes(in.readableBytes());
+			out.add(buf.retain());
+		} finally {
+			inflater.reset();
+			buf.release();
+		}
+	}
+
+	@Override
+	public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+		super.handlerRemoved(ctx);
+		inflater.end();
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor.protocol.netty;
+
+import java.util.zip.Deflater;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
+
+public class SupervisorCompressionEncoder extends MessageToByteEncoder<ByteBuf> {
+
+	private final int threshold;
+	private final Deflater deflater;
+
+	public SupervisorCompressionEncoder(int threshold, int level) {
+		this.threshold = threshold;
+		this.deflater = new Deflater(level);
+	}
+
+	@Override
+	protected void encode(ChannelHandlerContext ctx, ByteBuf msg, ByteBuf out) throws Exception {
+		int len = msg.readableBytes();
+		if (len < threshold) {
+			out.writeByte(0);
+			out.writeBytes(msg);
+			return;
+		}
+		EaglerSupervisorPacket.writeVarInt(out, len);
+		deflater.setInput(msg.nioBuffer());
+		deflater.finish();
+		try {
+			while (!deflater.finished()) {
+				out.ensureWritable(Math.max(len >> 2, 256));
+				int wi = out.writerIndex();
+				out.writerIndex(wi + deflater.deflate(out.nioBuffer(wi, out.writableBytes())));
+			}
+		} finally {
+			deflater.reset();
+		}
+		msg.skipBytes(len);
+	}
+
+	@Override
+	protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, ByteBuf msg, boolean preferDirect) throws Exception {
+		int len = msg.readableBytes();
+		return ctx.alloc().ioBuffer(len < threshold ? len + 1 : (len >> 1) + 8);
+	}
+
+	@Override
+	public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+		super.handlerRemoved(ctx);
+		deflater.end();
+	}
+
+}
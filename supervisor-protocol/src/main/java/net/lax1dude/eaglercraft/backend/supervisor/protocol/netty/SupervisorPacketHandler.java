@@ -16,9 +16,12 @@
 
 package net.lax1dude.eaglercraft.backend.supervisor.protocol.netty;
 
+import java.util.zip.Deflater;
+
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
 import io.netty.util.ReferenceCountUtil;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.EaglerSupervisorProtocol;
 import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorHandler;
@@ -61,6 +64,14 @@ public class SupervisorPacketHandler extends ChannelInboundHandlerAdapter {
 		return protocol;
 	}
 
+	public void enableCompression(int threshold) {
+		ChannelPipeline pipeline = channel.pipeline();
+		pipeline.addAfter("Varint21FrameDecoder", "SupervisorCompressionDecoder",
+				new SupervisorCompressionDecoder(threshold));
+		pipeline.addAfter("Varint21FrameEncoder", "SupervisorCompressionEncoder",
+				new SupervisorCompressionEncoder(threshold, Deflater.DEFAULT_COMPRESSION));
+	}
+
 	public void setConnectionHandler(EaglerSupervisorHandler handler) {
 		this.handler = handler;
 	}
@@ -121,6 +121,34 @@ public interface EaglerSupervisorHandler {
 		throw new WrongSupervisorPacketException();
 	}
 
+	default void handleClient(CPacketSvGetOtherSkinBatch pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
+	default void handleClient(CPacketSvGetOtherCapeBatch pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
+	default void handleClient(CPacketSvGetOtherSkinData pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
+	default void handleClient(CPacketSvGetOtherCapeData pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
+	default void handleClient(CPacketSvRegisterPlayerBatch pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
+	default void handleClient(CPacketSvRPCExecuteAllStream pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
+	default void handleClient(CPacketSvResyncPlayers pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
 	default void handleServer(SPacketSvHandshakeSuccess pkt) {
 		throw new WrongSupervisorPacketException();
 	}
@@ -221,6 +249,34 @@ public interface EaglerSupervisorHandler {
 		throw new WrongSupervisorPacketException();
 	}
 
+	default void handleServer(SPacketSvOtherSkinBatch pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
+	default void handleServer(SPacketSvOtherCapeBatch pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
+	default void handleServer(SPacketSvOtherSkinHash pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
+	default void handleServer(SPacketSvOtherCapeHash pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
+	default void handleServer(SPacketSvRegisterPlayerResults pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
+	default void handleServer(SPacketSvResyncMissingPlayers pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
+	default void handleServer(SPacketSvRPCResultStream pkt) {
+		throw new WrongSupervisorPacketException();
+	}
+
 	void handleDisconnected();
 
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.UUID;
+
+import io.netty.buffer.ByteBuf;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorHandler;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
+
+public class CPacketSvGetOtherCapeBatch implements EaglerSupervisorPacket {
+
+	public Collection<UUID> uuids;
+
+	public CPacketSvGetOtherCapeBatch() {
+	}
+
+	public CPacketSvGetOtherCapeBatch(Collection<UUID> uuids) {
+		this.uuids = uuids;
+	}
+
+	@Override
+	public void readPacket(ByteBuf buffer) {
+		int cnt = EaglerSupervisorPacket.readVarInt(buffer);
+		if (cnt > (buffer.readableBytes() >> 4)) {
+			throw new IndexOutOfBoundsException("UUID count " + cnt + " exceeds packet length");
+		}
+		uuids = new ArrayList<>(cnt);
+		for (int i = 0; i < cnt; ++i) {
+			uuids.add(new UUID(buffer.readLong(), buffer.readLong()));
+		}
+	}
+
+	@Override
+	public void writePacket(ByteBuf buffer) {
+		EaglerSupervisorPacket.writeVarInt(buffer, uuids.size());
+		for (UUID uuid : uuids) {
+			buffer.writeLong(uuid.getMostSignificantBits());
+			buffer.writeLong(uuid.getLeastSignificantBits());
+		}
+	}
+
+	@Override
+	public void handlePacket(EaglerSupervisorHandler handler) {
+		handler.handleClient(this);
+	}
+
+}
@@ -26,6 +26,9 @@ public class CPacketSvHandshake implements EaglerSupervisorPacket {
 
 	public int[] supportedProtocols;
 	public String secretKey;
+	public int compressionThreshold = -1;
+	public int shardIndex = -1;
+	public int nodeId = -1;
 
 	public CPacketSvHandshake() {
 	}
@@ -35,6 +38,21 @@ public class CPacketSvHandshake implements EaglerSupervisorPacket {
 		this.secretKey = secretKey;
 	}
 
+	public CPacketSvHandshake(int[] supportedProtocols, String secretKey, int compressionThreshold) {
+		this.supportedProtocols = supportedProtocols;
+		this.secretKey = secretKey;
+		this.compressionThreshold = compressionThreshold;
+	}
+
+	public CPacketSvHandshake(int[] supportedProtocols, String secretKey, int compressionThreshold, int shardIndex,
+			int nodeId) {
+		this.supportedProtocols = supportedProtocols;
+		this.secretKey = secretKey;
+		this.compressionThreshold = compressionThreshold;
+		this.shardIndex = shardIndex;
+		this.nodeId = nodeId;
+	}
+
 	@Override
 	public void readPacket(ByteBuf buffer) {
 		supportedProtocols = new int[buffer.readUnsignedShort()];
@@ -47,6 +65,18 @@ public class CPacketSvHandshake implements EaglerSupervisorPacket {
 		} else {
 			secretKey = null;
 		}
+		if (buffer.isReadable()) {
+			compressionThreshold = EaglerSupervisorPacket.readVarInt(buffer);
+		} else {
+			compressionThreshold = -1;
+		}
+		if (buffer.isReadable()) {
+			shardIndex = EaglerSupervisorPacket.readVarInt(buffer);
+			nodeId = EaglerSupervisorPacket.readVarInt(buffer);
+		} else {
+			shardIndex = -1;
+			nodeId = -1;
+		}
 	}
 
 	@Override
@@ -68,6 +98,13 @@ public class CPacketSvHandshake implements EaglerSupervisorPacket {
 		} else {
 			buffer.writeShort(0);
 		}
+		if (compressionThreshold >= 0 || shardIndex >= 0) {
+			EaglerSupervisorPacket.writeVarInt(buffer, compressionThreshold);
+		}
+		if (shardIndex >= 0) {
+			EaglerSupervisorPacket.writeVarInt(buffer, shardIndex);
+			EaglerSupervisorPacket.writeVarInt(buffer, nodeId);
+		}
 	}
 
 	@Override
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client;
+
+import java.util.UUID;
+
+import io.netty.buffer.ByteBuf;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorHandler;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.util.IInjectedPayload;
+
+public class CPacketSvRPCExecuteAllStream extends CPacketSvRPCExecuteAll {
+
+	public int quorum;
+
+	public CPacketSvRPCExecuteAllStream() {
+	}
+
+	public CPacketSvRPCExecuteAllStream(UUID requestUUID, int timeout, int quorum, int nameLength, ByteBuf payload) {
+		super(requestUUID, timeout, nameLength, payload);
+		this.quorum = quorum;
+	}
+
+	public CPacketSvRPCExecuteAllStream(UUID requestUUID, int timeout, int quorum, IInjectedPayload injected) {
+		super(requestUUID, timeout, injected);
+		this.quorum = quorum;
+	}
+
+	@Override
+	public void readPacket(ByteBuf buffer) {
+		super.readPacket(buffer);
+		quorum = EaglerSupervisorPacket.readVarInt(buffer);
+	}
+
+	@Override
+	public void writePacket(ByteBuf buffer) {
+		super.writePacket(buffer);
+		EaglerSupervisorPacket.writeVarInt(buffer, quorum);
+	}
+
+	@Override
+	public void handlePacket(EaglerSupervisorHandler handler) {
+		handler.handleClient(this);
+	}
+
+}
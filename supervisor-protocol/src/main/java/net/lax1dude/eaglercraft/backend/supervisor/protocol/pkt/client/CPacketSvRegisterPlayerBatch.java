@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import io.netty.buffer.ByteBuf;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorHandler;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
+
+public class CPacketSvRegisterPlayerBatch implements EaglerSupervisorPacket {
+
+	public Collection<CPacketSvRegisterPlayer> players;
+
+	public CPacketSvRegisterPlayerBatch() {
+	}
+
+	public CPacketSvRegisterPlayerBatch(Collection<CPacketSvRegisterPlayer> players) {
+		this.players = players;
+	}
+
+	@Override
+	public void readPacket(ByteBuf buffer) {
+		int cnt = EaglerSupervisorPacket.readVarInt(buffer);
+		if (cnt > (buffer.readableBytes() / 35)) {
+			throw new IndexOutOfBoundsException("Player count " + cnt + " exceeds packet length");
+		}
+		players = new ArrayList<>(cnt);
+		for (int i = 0; i < cnt; ++i) {
+			CPacketSvRegisterPlayer pkt = new CPacketSvRegisterPlayer();
+			pkt.readPacket(buffer);
+			players.add(pkt);
+		}
+	}
+
+	@Override
+	public void writePacket(ByteBuf buffer) {
+		EaglerSupervisorPacket.writeVarInt(buffer, players.size());
+		for (CPacketSvRegisterPlayer pkt : players) {
+			pkt.writePacket(buffer);
+		}
+	}
+
+	@Override
+	public void handlePacket(EaglerSupervisorHandler handler) {
+		handler.handleClient(this);
+	}
+
+}
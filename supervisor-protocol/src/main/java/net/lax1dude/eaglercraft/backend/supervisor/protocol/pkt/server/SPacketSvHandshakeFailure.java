@@ -25,6 +25,8 @@ public class SPacketSvHandshakeFailure implements EaglerSupervisorPacket {
 	public static final int FAILURE_CODE_OUTDATED_SERVER = 0;
 	public static final int FAILURE_CODE_OUTDATED_CLIENT = 1;
 	public static final int FAILURE_CODE_INVALID_SECRET = 2;
+	public static final int FAILURE_CODE_SHARD_MISMATCH = 3;
+	public static final int FAILURE_CODE_NODE_ID_IN_USE = 4;
 	public static final int FAILURE_CODE_INTERNAL_ERROR = 0xFF;
 
 	public int failureCode;
@@ -59,6 +61,10 @@ public class SPacketSvHandshakeFailure implements EaglerSupervisorPacket {
 			return "FAILURE_CODE_OUTDATED_CLIENT";
 		case FAILURE_CODE_INVALID_SECRET:
 			return "FAILURE_CODE_INVALID_SECRET";
+		case FAILURE_CODE_SHARD_MISMATCH:
+			return "FAILURE_CODE_SHARD_MISMATCH";
+		case FAILURE_CODE_NODE_ID_IN_USE:
+			return "FAILURE_CODE_NODE_ID_IN_USE";
 		case FAILURE_CODE_INTERNAL_ERROR:
 			return "FAILURE_CODE_INTERNAL_ERROR";
 		default:
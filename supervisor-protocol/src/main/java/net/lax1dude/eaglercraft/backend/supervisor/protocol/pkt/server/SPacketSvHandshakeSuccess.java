@@ -24,6 +24,8 @@ public class SPacketSvHandshakeSuccess implements EaglerSupervisorPacket {
 
 	public int selectedProtocol;
 	public int nodeId;
+	public int compressionThreshold = -1;
+	public boolean resumed = false;
 
 	public SPacketSvHandshakeSuccess() {
 	}
@@ -33,16 +35,41 @@ public class SPacketSvHandshakeSuccess implements EaglerSupervisorPacket {
 		this.nodeId = nodeId;
 	}
 
+	public SPacketSvHandshakeSuccess(int selectedProtocol, int nodeId, int compressionThreshold) {
+		this.selectedProtocol = selectedProtocol;
+		this.nodeId = nodeId;
+		this.compressionThreshold = compressionThreshold;
+	}
+
+	public SPacketSvHandshakeSuccess(int selectedProtocol, int nodeId, int compressionThreshold, boolean resumed) {
+		this.selectedProtocol = selectedProtocol;
+		this.nodeId = nodeId;
+		this.compressionThreshold = compressionThreshold;
+		this.resumed = resumed;
+	}
+
 	@Override
 	public void readPacket(ByteBuf buffer) {
 		selectedProtocol = buffer.readUnsignedShort();
 		nodeId = EaglerSupervisorPacket.readVarInt(buffer);
+		if (buffer.isReadable()) {
+			compressionThreshold = EaglerSupervisorPacket.readVarInt(buffer);
+		} else {
+			compressionThreshold = -1;
+		}
+		resumed = buffer.isReadable() && buffer.readBoolean();
 	}
 
 	@Override
 	public void writePacket(ByteBuf buffer) {
 		buffer.writeShort(selectedProtocol);
 		EaglerSupervisorPacket.writeVarInt(buffer, nodeId);
+		if (compressionThreshold >= 0 || resumed) {
+			EaglerSupervisorPacket.writeVarInt(buffer, compressionThreshold);
+		}
+		if (resumed) {
+			buffer.writeBoolean(true);
+		}
 	}
 
 	@Override
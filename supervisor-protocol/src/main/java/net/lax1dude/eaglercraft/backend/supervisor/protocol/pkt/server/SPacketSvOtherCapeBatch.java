@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import io.netty.buffer.ByteBuf;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorHandler;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
+
+public class SPacketSvOtherCapeBatch implements EaglerSupervisorPacket {
+
+	public static final int TYPE_PRESET = 0;
+	public static final int TYPE_CUSTOM = 1;
+	public static final int TYPE_ERROR = 2;
+	public static final int TYPE_HASH = 3;
+
+	public Collection<EaglerSupervisorPacket> responses;
+
+	public SPacketSvOtherCapeBatch() {
+	}
+
+	public SPacketSvOtherCapeBatch(Collection<EaglerSupervisorPacket> responses) {
+		this.responses = responses;
+	}
+
+	@Override
+	public void readPacket(ByteBuf buffer) {
+		int cnt = EaglerSupervisorPacket.readVarInt(buffer);
+		if (cnt > (buffer.readableBytes() / 17)) {
+			throw new IndexOutOfBoundsException("Response count " + cnt + " exceeds packet length");
+		}
+		responses = new ArrayList<>(cnt);
+		for (int i = 0; i < cnt; ++i) {
+			EaglerSupervisorPacket pkt;
+			int type = buffer.readUnsignedByte();
+			switch (type) {
+			case TYPE_PRESET:
+				pkt = new SPacketSvOtherCapePreset();
+				break;
+			case TYPE_CUSTOM:
+				pkt = new SPacketSvOtherCapeCustom();
+				break;
+			case TYPE_ERROR:
+				pkt = new SPacketSvOtherCapeError();
+				break;
+			case TYPE_HASH:
+				pkt = new SPacketSvOtherCapeHash();
+				break;
+			default:
+				throw new IllegalStateException("Unknown cape response type: " + type);
+			}
+			pkt.readPacket(buffer);
+			responses.add(pkt);
+		}
+	}
+
+	@Override
+	public void writePacket(ByteBuf buffer) {
+		EaglerSupervisorPacket.writeVarInt(buffer, responses.size());
+		for (EaglerSupervisorPacket pkt : responses) {
+			if (pkt instanceof SPacketSvOtherCapePreset) {
+				buffer.writeByte(TYPE_PRESET);
+			} else if (pkt instanceof SPacketSvOtherCapeCustom) {
+				buffer.writeByte(TYPE_CUSTOM);
+			} else if (pkt instanceof SPacketSvOtherCapeError) {
+				buffer.writeByte(TYPE_ERROR);
+			} else if (pkt instanceof SPacketSvOtherCapeHash) {
+				buffer.writeByte(TYPE_HASH);
+			} else {
+				throw new IllegalArgumentException("Packet " + pkt.getClass().getSimpleName()
+						+ " is not a cape response");
+			}
+			pkt.writePacket(buffer);
+		}
+	}
+
+	@Override
+	public void handlePacket(EaglerSupervisorHandler handler) {
+		handler.handleServer(this);
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server;
+
+import java.util.UUID;
+
+import io.netty.buffer.ByteBuf;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorHandler;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
+
+public class SPacketSvOtherCapeHash implements EaglerSupervisorPacket {
+
+	public UUID uuid;
+	public byte[] textureHash;
+
+	public SPacketSvOtherCapeHash() {
+	}
+
+	public SPacketSvOtherCapeHash(UUID uuid, byte[] textureHash) {
+		this.uuid = uuid;
+		this.textureHash = textureHash;
+	}
+
+	@Override
+	public void readPacket(ByteBuf buffer) {
+		uuid = new UUID(buffer.readLong(), buffer.readLong());
+		textureHash = new byte[20];
+		buffer.readBytes(textureHash);
+	}
+
+	@Override
+	public void writePacket(ByteBuf buffer) {
+		buffer.writeLong(uuid.getMostSignificantBits());
+		buffer.writeLong(uuid.getLeastSignificantBits());
+		if (textureHash.length != 20) {
+			throw new IllegalArgumentException("Texture hash is the wrong length");
+		}
+		buffer.writeBytes(textureHash);
+	}
+
+	@Override
+	public void handlePacket(EaglerSupervisorHandler handler) {
+		handler.handleServer(this);
+	}
+
+}
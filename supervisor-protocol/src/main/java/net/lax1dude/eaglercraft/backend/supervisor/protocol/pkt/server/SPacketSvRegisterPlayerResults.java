@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import io.netty.buffer.ByteBuf;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorHandler;
+import net.lax1dude.eaglercraft.backend.supervisor.protocol.pkt.EaglerSupervisorPacket;
+
+public class SPacketSvRegisterPlayerResults implements EaglerSupervisorPacket {
+
+	public static final int TYPE_ACCEPT = 0;
+	public static final int TYPE_REJECT = 1;
+
+	public Collection<EaglerSupervisorPacket> results;
+
+	public SPacketSvRegisterPlayerResults() {
+	}
+
+	public SPacketSvRegisterPlayerResults(Collection<EaglerSupervisorPacket> results) {
+		this.results = results;
+	}
+
+	@Override
+	public void readPacket(ByteBuf buffer) {
+		int cnt = EaglerSupervisorPacket.readVarInt(buffer);
+		if (cnt > (buffer.readableBytes() / 17)) {
+			throw new IndexOutOfBoundsException("Result count " + cnt + " exceeds packet length");
+		}
+		results = new ArrayList<>(cnt);
+		for (int i = 0; i < cnt; ++i) {
+			EaglerSupervisorPacket pkt;
+			int type = buffer.readUnsignedByte();
+			switch (type) {
+			case TYPE_ACCEPT:
+				pkt = new SPacketSvAcceptPlayer();
+				break;
+			case TYPE_REJECT:
+				pkt = new SPacketSvRejectPlayer();
+				break;
+			default:
+				throw new IllegalStateException("Unknown register result type: " + type);
+			}
+			pkt.readPacket(buffer);
+			results.add(pkt);
+		}
+	}
+
+	@Override
+	public void writePacket(ByteBuf buffer) {
+		EaglerSupervisorPacket.writeVarInt(buffer, results.size());
+		for (EaglerSupervisorPacket pkt : results) {
+			if (pkt instanceof SPacketSvAcceptPlayer) {
+				buffer.writeByte(TYPE_ACCEPT);
+			} else if (pkt instanceof SPacketSvRejectPlayer) {
+				buffer.writeByte(TYPE_REJECT);
+			} else {
+				throw new IllegalArgumentException("Packet " + pkt.getClass().getSimpleName()
+						+ " is not a register result");
+			}
+			pkt.writePacket(buffer);
+		}
+	}
+
+	@Override
+	public void handlePacket(EaglerSupervisorHandler handler) {
+		handler.handleServer(this);
+	}
+
+}
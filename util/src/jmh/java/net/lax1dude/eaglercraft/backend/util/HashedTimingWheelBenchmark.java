@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the timing wheel against the per-bucket scheduled task loops it
+ * replaced, the bucketed loops cannot cancel so their entries stay queued
+ * until the bucket fires
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HashedTimingWheelBenchmark {
+
+	private static final Object VALUE = new Object();
+	private static final long RESOLUTION = 50l * 1000000l;
+
+	@Param({ "1000", "10000" })
+	public long timeoutMillis;
+
+	private long timeoutNanos;
+	private ScheduledExecutorService scheduler;
+	private HashedTimingWheel<Object> wheel;
+	private BucketedTimeoutLoop<Object> buckets;
+
+	@Setup
+	public void setup() {
+		timeoutNanos = timeoutMillis * 1000000l;
+		scheduler = Executors.newSingleThreadScheduledExecutor();
+		wheel = new HashedTimingWheel<>("Benchmark Timeout Thread", RESOLUTION, 256, (v) -> {
+		}, null, Throwable::printStackTrace);
+		buckets = new BucketedTimeoutLoop<>(scheduler, RESOLUTION, (v) -> {
+		});
+	}
+
+	@TearDown
+	public void tearDown() {
+		wheel.cancelAll();
+		buckets.cancelAll();
+		scheduler.shutdownNow();
+	}
+
+	@Benchmark
+	public HashedTimingWheel.Timeout<Object> wheelAdd() {
+		return wheel.add(System.nanoTime() + timeoutNanos, VALUE);
+	}
+
+	@Benchmark
+	public boolean wheelAddCancel() {
+		return wheel.add(System.nanoTime() + timeoutNanos, VALUE).cancel();
+	}
+
+	@Benchmark
+	public boolean bucketsAdd() {
+		return buckets.add(System.nanoTime() + timeoutNanos, VALUE);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public boolean wheelAddCancelContended() {
+		return wheel.add(System.nanoTime() + timeoutNanos, VALUE).cancel();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public boolean bucketsAddContended() {
+		return buckets.add(System.nanoTime() + timeoutNanos, VALUE);
+	}
+
+	/**
+	 * The loop previously used by SupervisorTimeoutLoop, one scheduled task per
+	 * bucket of boxed Long keys
+	 */
+	static class BucketedTimeoutLoop<T> {
+
+		private class TimeoutEvent implements Runnable {
+
+			protected final Long key;
+
+			// The timeoutEvents ConcurrentMap compute method will synchronize this
+			protected final List<T> queue = new ArrayList<>();
+
+			protected TimeoutEvent(Long key) {
+				this.key = key;
+			}
+
+			@Override
+			public void run() {
+				if (timeoutEvents.remove(key) != null) {
+					for (int i = 0, l = queue.size(); i < l; ++i) {
+						handler.accept(queue.get(i));
+					}
+				}
+			}
+
+		}
+
+		private class Witness implements BiFunction<Long, TimeoutEvent, TimeoutEvent> {
+
+			protected final T value;
+			protected boolean schedule = false;
+
+			protected Witness(T value) {
+				this.value = value;
+			}
+
+			@Override
+			public TimeoutEvent apply(Long k, TimeoutEvent v) {
+				if (v != null) {
+					v.queue.add(value);
+					return v;
+				} else {
+					TimeoutEvent te = new TimeoutEvent(k);
+					te.queue.add(value);
+					schedule = true;
+					return te;
+				}
+			}
+
+		}
+
+		private final ConcurrentMap<Long, TimeoutEvent> timeoutEvents = new ConcurrentHashMap<>(256, 0.75f, 16);
+
+		private final ScheduledExecutorService scheduler;
+		private final long resolution;
+		private final Consumer<T> handler;
+
+		BucketedTimeoutLoop(ScheduledExecutorService scheduler, long resolution, Consumer<T> handler) {
+			this.scheduler = scheduler;
+			this.resolution = resolution;
+			this.handler = handler;
+		}
+
+		boolean add(long expires, T value) {
+			long now = System.nanoTime();
+			if (now >= expires) {
+				handler.accept(value);
+				return false;
+			}
+			long bucket = (expires + (resolution - 1)) / resolution;
+			Witness witness = new Witness(value);
+			TimeoutEvent te = timeoutEvents.compute(bucket, witness);
+			if (witness.schedule) {
+				long l = (bucket * resolution - now) / 1000000l;
+				scheduler.schedule(te, l > 0l ? l : 0l, TimeUnit.MILLISECONDS);
+			}
+			return true;
+		}
+
+		void cancelAll() {
+			timeoutEvents.clear();
+		}
+
+	}
+
+}
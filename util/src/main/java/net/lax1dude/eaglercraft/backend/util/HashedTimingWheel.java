@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2025 lax1dude. All Rights Reserved.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+ * IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+ * NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * 
+ */
+
+package net.lax1dude.eaglercraft.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class HashedTimingWheel<T> {
+
+	public static final class Timeout<T> {
+
+		private final HashedTimingWheel<T> wheel;
+		private T value;
+		private long rounds;
+		private int slot = -1;
+		private Timeout<T> prev;
+		private Timeout<T> next;
+
+		private Timeout(HashedTimingWheel<T> wheel, T value) {
+			this.wheel = wheel;
+			this.value = value;
+		}
+
+		public boolean cancel() {
+			return wheel.remove(this);
+		}
+
+	}
+
+	private static final long LINGER_MILLIS = 30000l;
+
+	private final String name;
+	private final Consumer<T> handler;
+	private final Executor executor;
+	private final Consumer<Throwable> exceptionHandler;
+	private final long tickNanos;
+	private final Timeout<T>[] slots;
+	private final int mask;
+	private final long startTime;
+	private long tick = 0l;
+	private int count = 0;
+	private Thread thread = null;
+
+	@SuppressWarnings("unchecked")
+	public HashedTimingWheel(String name, long tickNanos, int ticksPerWheel, Consumer<T> handler,
+			Executor executor, Consumer<Throwable> exceptionHandler) {
+		if (tickNanos <= 0l) {
+			throw new IllegalArgumentException("tickNanos must be positive");
+		}
+		int size = Integer.highestOneBit(Math.max(ticksPerWheel, 2) - 1) << 1;
+		this.name = name;
+		this.handler = handler;
+		this.executor = executor;
+		this.exceptionHandler = exceptionHandler;
+		this.tickNanos = tickNanos;
+		this.slots = new Timeout[size];
+		this.mask = size - 1;
+		this.startTime = System.nanoTime();
+	}
+
+	public Timeout<T> add(long expiresAt, T value) {
+		Timeout<T> timeout = new Timeout<>(this, value);
+		synchronized (this) {
+			if (count == 0) {
+				long current = (System.nanoTime() - startTime) / tickNanos;
+				if (current > tick) {
+					tick = current;
+				}
+			}
+			long target = (expiresAt - startTime + tickNanos - 1l) / tickNanos;
+			if (target < tick) {
+				target = tick;
+			}
+			int slot = (int) (target & mask);
+			timeout.slot = slot;
+			timeout.rounds = (target - tick) / slots.length;
+			Timeout<T> head = slots[slot];
+			if (head != null) {
+				head.prev = timeout;
+				timeout.next = head;
+			}
+			slots[slot] = timeout;
+			if (count++ == 0) {
+				if (thread == null) {
+					startThread();
+				} else {
+					notifyAll();
+				}
+			}
+		}
+		return timeout;
+	}
+
+	private synchronized boolean remove(Timeout<T> timeout) {
+		if (timeout.slot == -1) {
+			return false;
+		}
+		unlink(timeout);
+		timeout.value = null;
+		--count;
+		return true;
+	}
+
+	private void unlink(Timeout<T> timeout) {
+		Timeout<T> prev = timeout.prev;
+		Timeout<T> next = timeout.next;
+		if (prev != null) {
+			prev.next = next;
+		} else {
+			slots[timeout.slot] = next;
+		}
+		if (next != null) {
+			next.prev = prev;
+		}
+		timeout.prev = null;
+		timeout.next = null;
+		timeout.slot = -1;
+	}
+
+	public synchronized int size() {
+		return count;
+	}
+
+	public synchronized void cancelAll() {
+		for (int i = 0; i < slots.length; ++i) {
+			Timeout<T> t = slots[i];
+			slots[i] = null;
+			while (t != null) {
+				Timeout<T> next = t.next;
+				t.prev = null;
+				t.next = null;
+				t.slot = -1;
+				t.value = null;
+				t = next;
+			}
+		}
+		count = 0;
+		notifyAll();
+	}
+
+	private void startThread() {
+		Thread t = new Thread(this::run, name);
+		t.setDaemon(true);
+		thread = t;
+		t.start();
+	}
+
+	private void run() {
+		try {
+			runLoop();
+		} finally {
+			synchronized (this) {
+				if (thread == Thread.currentThread()) {
+					thread = null;
+					if (count > 0) {
+						startThread();
+					}
+				}
+			}
+		}
+	}
+
+	private void runLoop() {
+		List<T> expired = new ArrayList<>();
+		while (true) {
+			synchronized (this) {
+				if (count == 0) {
+					try {
+						wait(LINGER_MILLIS);
+					} catch (InterruptedException ex) {
+					}
+					if (count == 0) {
+						thread = null;
+						return;
+					}
+					continue;
+				}
+				long delay = startTime + tick * tickNanos - System.nanoTime();
+				if (delay > 0l) {
+					try {
+						TimeUnit.NANOSECONDS.timedWait(this, delay);
+					} catch (InterruptedException ex) {
+					}
+					continue;
+				}
+				Timeout<T> t = slots[(int) (tick & mask)];
+				while (t != null) {
+					Timeout<T> next = t.next;
+					if (t.rounds <= 0l) {
+						expired.add(t.value);
+						t.value = null;
+						unlink(t);
+						--count;
+					} else {
+						--t.rounds;
+					}
+					t = next;
+				}
+				++tick;
+			}
+			if (!expired.isEmpty()) {
+				if (executor != null) {
+					List<T> batch = expired;
+					expired = new ArrayList<>();
+					try {
+						executor.execute(() -> {
+							for (int i = 0, l = batch.size(); i < l; ++i) {
+								expire(batch.get(i));
+							}
+						});
+					} catch (Exception ex) {
+						exceptionHandler.accept(ex);
+					}
+				} else {
+					for (int i = 0, l = expired.size(); i < l; ++i) {
+						expire(expired.get(i));
+					}
+					expired.clear();
+				}
+			}
+		}
+	}
+
+	private void expire(T value) {
+		try {
+			handler.accept(value);
+		} catch (Exception ex) {
+			exceptionHandler.accept(ex);
+		}
+	}
+
+}